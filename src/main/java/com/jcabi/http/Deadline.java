@@ -0,0 +1,290 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.http;
+
+import com.jcabi.log.Logger;
+import com.jcabi.log.VerboseThreads;
+import java.io.Closeable;
+import java.io.InterruptedIOException;
+import java.util.Collection;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.ToString;
+
+/**
+ * Absolute deadline of a request, which may also be cancelled.
+ *
+ * <p>Connect and read timeouts limit every socket operation, while a
+ * request with retries and redirects consists of many of them. A deadline
+ * limits the entire request, with all its attempts. Every attempt gets
+ * only the time that is left, and when it is over, or when the deadline
+ * is cancelled, connections in progress are aborted and the request fails
+ * with {@link InterruptedIOException}:
+ *
+ * <pre> Deadline deadline = new Deadline(5L, TimeUnit.SECONDS);
+ * String html = new JdkRequest("http://goggle.com")
+ *   .through(RetryWire.class)
+ *   .deadline(deadline)
+ *   .fetch()
+ *   .body();</pre>
+ *
+ * <p>Another thread may call {@link #cancel()} at any moment, in order
+ * to stop the request. The deadline starts when it is created, not when
+ * the request is sent, so a new one should be made for every request.
+ *
+ * <p>The class is thread-safe.
+ *
+ * @since 2.0
+ */
+@ToString(of = { "expires", "cancelled" })
+public final class Deadline {
+
+    /**
+     * Deadline that never comes and can't be cancelled, used by default.
+     */
+    public static final Deadline NEVER = new Deadline();
+
+    /**
+     * Nanoseconds in a millisecond.
+     */
+    private static final long MILLI = TimeUnit.MILLISECONDS.toNanos(1L);
+
+    /**
+     * Timer of all deadlines.
+     */
+    private static final ScheduledThreadPoolExecutor TIMER =
+        Deadline.timer();
+
+    /**
+     * When it expires, in nanoseconds of {@link System#nanoTime()},
+     * or {@link Long#MAX_VALUE} if never.
+     */
+    private final transient long expires;
+
+    /**
+     * Is it cancelled?
+     */
+    private final transient AtomicBoolean cancelled;
+
+    /**
+     * Actions aborting requests in progress.
+     */
+    private final transient Collection<Runnable> aborts;
+
+    /**
+     * Public ctor, without a time limit.
+     */
+    public Deadline() {
+        this(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Public ctor.
+     * @param millis Milliseconds from now
+     */
+    public Deadline(final long millis) {
+        this(millis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Public ctor.
+     *
+     * <p>Time too long to be counted in nanoseconds of
+     * {@link System#nanoTime()} means no time limit.
+     * @param amount Time from now
+     * @param unit Unit of time
+     */
+    public Deadline(final long amount, final TimeUnit unit) {
+        final long nanos = unit.toNanos(Math.max(amount, 0L));
+        final long now = System.nanoTime();
+        if (nanos == Long.MAX_VALUE || now + nanos < now) {
+            this.expires = Long.MAX_VALUE;
+        } else {
+            this.expires = now + nanos;
+        }
+        this.cancelled = new AtomicBoolean();
+        this.aborts = new ConcurrentLinkedQueue<>();
+    }
+
+    /**
+     * Cancel it, aborting all requests in progress.
+     */
+    public void cancel() {
+        if (this == Deadline.NEVER) {
+            throw new IllegalStateException(
+                "the default deadline can't be cancelled, use a new one"
+            );
+        }
+        if (this.cancelled.compareAndSet(false, true)) {
+            this.abort();
+        }
+    }
+
+    /**
+     * Is it over, because it expired or was cancelled?
+     * @return TRUE if it is over
+     */
+    public boolean over() {
+        return this.cancelled.get() || this.nanos() <= 0L;
+    }
+
+    /**
+     * How much time is left.
+     * @return Milliseconds, zero if it is over, or {@link Long#MAX_VALUE}
+     *  if there is no time limit
+     */
+    public long millis() {
+        final long left;
+        if (this.cancelled.get()) {
+            left = 0L;
+        } else if (this.expires == Long.MAX_VALUE) {
+            left = Long.MAX_VALUE;
+        } else {
+            left = TimeUnit.NANOSECONDS.toMillis(Math.max(this.nanos(), 0L));
+        }
+        return left;
+    }
+
+    /**
+     * Throw if it is over.
+     * @throws InterruptedIOException If it expired or was cancelled
+     */
+    public void check() throws InterruptedIOException {
+        if (this.over()) {
+            throw this.failure(null);
+        }
+    }
+
+    /**
+     * Exception of a request that is stopped because it is over.
+     * @param cause The exception the request failed with, or NULL
+     * @return The exception to throw
+     */
+    public InterruptedIOException failure(final Throwable cause) {
+        final InterruptedIOException failure;
+        if (this.cancelled.get()) {
+            failure = new InterruptedIOException("the request was cancelled");
+        } else {
+            failure = new InterruptedIOException(
+                "the deadline of the request expired"
+            );
+        }
+        failure.initCause(cause);
+        return failure;
+    }
+
+    /**
+     * Socket timeout that doesn't let the socket outlive the deadline,
+     * rounded up to the next millisecond.
+     * @param timeout Timeout in milliseconds, zero meaning no timeout
+     * @return Timeout in milliseconds, zero meaning no timeout
+     * @throws InterruptedIOException If it is over already
+     */
+    public int timeout(final int timeout) throws InterruptedIOException {
+        this.check();
+        final int result;
+        if (this.expires == Long.MAX_VALUE) {
+            result = timeout;
+        } else {
+            final long nanos = this.nanos();
+            final int left = (int) Math.max(
+                1L,
+                Math.min(
+                    TimeUnit.NANOSECONDS.toMillis(nanos)
+                        + Long.signum(nanos % Deadline.MILLI),
+                    Integer.MAX_VALUE
+                )
+            );
+            if (timeout > 0) {
+                result = Math.min(timeout, left);
+            } else {
+                result = left;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Register an action that aborts a request in progress, when it
+     * expires or is cancelled.
+     *
+     * <p>The returned handle must be closed when the request is
+     * finished, in order to unregister the action.
+     * @param abort The action
+     * @return Handle of the registration
+     */
+    public Closeable watch(final Runnable abort) {
+        final Closeable handle;
+        if (this == Deadline.NEVER) {
+            handle = () -> { };
+        } else {
+            this.aborts.add(abort);
+            final ScheduledFuture<?> timer;
+            if (this.expires == Long.MAX_VALUE) {
+                timer = null;
+            } else {
+                timer = Deadline.TIMER.schedule(
+                    this::abort, this.nanos(), TimeUnit.NANOSECONDS
+                );
+            }
+            if (this.cancelled.get()) {
+                this.abort();
+            }
+            handle = () -> {
+                this.aborts.remove(abort);
+                if (timer != null) {
+                    timer.cancel(false);
+                }
+            };
+        }
+        return handle;
+    }
+
+    /**
+     * Nanoseconds left.
+     * @return Nanoseconds, negative if expired
+     */
+    private long nanos() {
+        final long left;
+        if (this.expires == Long.MAX_VALUE) {
+            left = Long.MAX_VALUE;
+        } else {
+            left = this.expires - System.nanoTime();
+        }
+        return left;
+    }
+
+    /**
+     * Run all abort actions.
+     */
+    private void abort() {
+        for (final Runnable action : this.aborts) {
+            try {
+                action.run();
+            // @checkstyle IllegalCatchCheck (1 line)
+            } catch (final RuntimeException ex) {
+                Logger.debug(
+                    this, "Failed to abort a request: %[exception]s", ex
+                );
+            }
+        }
+    }
+
+    /**
+     * Make a timer.
+     * @return Timer
+     */
+    private static ScheduledThreadPoolExecutor timer() {
+        final ScheduledThreadPoolExecutor timer =
+            new ScheduledThreadPoolExecutor(
+                1, new VerboseThreads(Deadline.class)
+            );
+        timer.setRemoveOnCancelPolicy(true);
+        return timer;
+    }
+}
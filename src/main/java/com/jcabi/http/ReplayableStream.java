@@ -0,0 +1,198 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.http;
+
+import com.google.common.io.ByteStreams;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import lombok.ToString;
+
+/**
+ * Body of a request, which may be sent many times, for example by
+ * {@link com.jcabi.http.wire.RetryWire} and
+ * {@link com.jcabi.http.wire.AutoRedirectingWire}.
+ *
+ * <p>The stream doesn't keep its content, it only knows how to open
+ * the content again and again: it may be an array of bytes, a region
+ * of a file, or any source of fresh streams. Large bodies, which are
+ * kept in files, are never copied into the heap:
+ *
+ * <pre> new JdkRequest("http://example.com/upload")
+ *   .method(Request.PUT)
+ *   .through(RetryWire.class)
+ *   .fetch(new ReplayableStream(new File("/tmp/video.mp4")));</pre>
+ *
+ * <p>Every call of {@link #replay()} returns a new stream, which reads
+ * the content from the beginning. The content is opened only when
+ * the stream is read for the first time.
+ *
+ * <p>{@link Request#fetch()} always sends its body as a replayable
+ * stream. Wires that send a request many times use {@link #of(InputStream)}
+ * to make any other stream replayable, by reading it into memory.
+ *
+ * <p>The class is not thread-safe, as any other stream, but
+ * {@link #replay()} may be called from many threads.
+ *
+ * @since 2.0
+ */
+@ToString(of = "size")
+@SuppressWarnings("PMD.ProhibitPublicStaticMethods")
+public final class ReplayableStream extends InputStream {
+
+    /**
+     * Source of the content.
+     */
+    private final transient ReplayableStream.Source source;
+
+    /**
+     * Length of the content, in bytes, or -1 if unknown.
+     */
+    private final transient long size;
+
+    /**
+     * Stream being read, or NULL if it is not opened yet.
+     */
+    private transient InputStream stream;
+
+    /**
+     * Public ctor.
+     * @param bytes The content, which must not be changed later
+     */
+    public ReplayableStream(final byte[] bytes) {
+        this(() -> new ByteArrayInputStream(bytes), bytes.length);
+    }
+
+    /**
+     * Public ctor.
+     * @param file The file with the content
+     */
+    public ReplayableStream(final File file) {
+        this(file, 0L, file.length());
+    }
+
+    /**
+     * Public ctor.
+     * @param file The file with the content
+     * @param offset Position of the content in the file
+     * @param length Length of the content
+     */
+    public ReplayableStream(final File file, final long offset,
+        final long length) {
+        this(
+            () -> ByteStreams.limit(
+                Channels.newInputStream(
+                    FileChannel.open(file.toPath(), StandardOpenOption.READ)
+                        .position(offset)
+                ),
+                length
+            ),
+            length
+        );
+    }
+
+    /**
+     * Public ctor.
+     * @param src Source of the content
+     * @param length Length of the content, or -1 if unknown
+     */
+    public ReplayableStream(final ReplayableStream.Source src,
+        final long length) {
+        super();
+        this.source = src;
+        this.size = length;
+    }
+
+    /**
+     * Make the stream replayable, reading it into memory if necessary.
+     * @param input The stream
+     * @return Replayable stream
+     * @throws IOException If fails to read
+     */
+    public static ReplayableStream of(final InputStream input)
+        throws IOException {
+        final ReplayableStream replayable;
+        if (input instanceof ReplayableStream) {
+            replayable = (ReplayableStream) input;
+        } else {
+            replayable = new ReplayableStream(ByteStreams.toByteArray(input));
+        }
+        return replayable;
+    }
+
+    /**
+     * Make a new stream, which reads the same content from the beginning.
+     * @return The stream
+     */
+    public ReplayableStream replay() {
+        return new ReplayableStream(this.source, this.size);
+    }
+
+    /**
+     * Length of the content.
+     * @return Length in bytes, or -1 if unknown
+     */
+    public long length() {
+        return this.size;
+    }
+
+    @Override
+    public int read() throws IOException {
+        return this.opened().read();
+    }
+
+    @Override
+    public int read(final byte[] buf, final int off, final int len)
+        throws IOException {
+        return this.opened().read(buf, off, len);
+    }
+
+    @Override
+    public long skip(final long num) throws IOException {
+        return this.opened().skip(num);
+    }
+
+    @Override
+    public int available() throws IOException {
+        return this.opened().available();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (this.stream != null) {
+            this.stream.close();
+        }
+    }
+
+    /**
+     * The stream being read, opened if necessary.
+     * @return The stream
+     * @throws IOException If fails to open
+     */
+    private InputStream opened() throws IOException {
+        if (this.stream == null) {
+            this.stream = this.source.open();
+        }
+        return this.stream;
+    }
+
+    /**
+     * Source of the content.
+     *
+     * @since 2.0
+     */
+    public interface Source {
+        /**
+         * Open the content from the beginning.
+         * @return New stream
+         * @throws IOException If fails
+         */
+        InputStream open() throws IOException;
+    }
+}
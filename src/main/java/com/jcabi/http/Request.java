@@ -150,6 +150,29 @@ public interface Request {
      */
     Request timeout(int connect, int read);
 
+    /**
+     * Use this deadline for the entire request, including all its
+     * retries and redirects.
+     *
+     * <p>By default the deadline is ignored and the same request is
+     * returned, for implementations made before 2.0.
+     * @param deadline The deadline
+     * @return New alternated request
+     * @since 2.0
+     */
+    default Request deadline(final Deadline deadline) {
+        return this;
+    }
+
+    /**
+     * Get the deadline of the request.
+     * @return The deadline, {@link Deadline#NEVER} if it is not set
+     * @since 2.0
+     */
+    default Deadline deadline() {
+        return Deadline.NEVER;
+    }
+
     /**
      * Execute it with a specified HTTP method.
      * @return Response
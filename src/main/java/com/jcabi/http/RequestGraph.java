@@ -0,0 +1,339 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.http;
+
+import com.jcabi.log.VerboseThreads;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+/**
+ * Graph of dependent requests, which are fetched as soon as the
+ * responses they depend on are ready.
+ *
+ * <p>Every node of the graph makes requests from the responses of the
+ * nodes it depends on, for example, one request for every link found in
+ * a list. Nodes that don't depend on each other run concurrently, so the
+ * whole graph takes about as long as its longest chain of requests:
+ *
+ * <pre> RequestGraph.Results results = new RequestGraph()
+ *   .node("list", done -> Collections.singleton(new JdkRequest(uri)))
+ *   .node(
+ *     "items", Collections.singleton("list"),
+ *     done -> links(done.get("list").get(0))
+ *   )
+ *   .fetch(8, new Deadline(10L, TimeUnit.SECONDS));
+ * List&lt;Response&gt; items = results.get("items");</pre>
+ *
+ * <p>A node may only depend on nodes added before it, so the graph never
+ * has cycles. No more than the given number of requests are in flight at
+ * the same time, and all of them share the deadline, which may also be
+ * cancelled by the caller. When a request fails, the requests in
+ * progress are aborted, nodes that didn't start
+ * yet are skipped, and {@link #fetch(int, Deadline)} throws the
+ * exception of the failed request.
+ *
+ * <p>The class is immutable and thread-safe.
+ *
+ * @since 2.0
+ */
+@ToString(of = "nodes")
+@EqualsAndHashCode(of = "nodes")
+public final class RequestGraph {
+
+    /**
+     * Nodes, in the order they were added.
+     */
+    private final transient Map<String, RequestGraph.Node> nodes;
+
+    /**
+     * Public ctor.
+     */
+    public RequestGraph() {
+        this(Collections.emptyMap());
+    }
+
+    /**
+     * Ctor.
+     * @param map Nodes
+     */
+    private RequestGraph(final Map<String, RequestGraph.Node> map) {
+        this.nodes = map;
+    }
+
+    /**
+     * With a node that depends on nothing.
+     * @param name Name of the node
+     * @param step What requests to make
+     * @return New graph
+     */
+    public RequestGraph node(final String name, final RequestGraph.Step step) {
+        return this.node(name, Collections.emptyList(), step);
+    }
+
+    /**
+     * With a node.
+     * @param name Name of the node
+     * @param deps Names of the nodes it depends on
+     * @param step What requests to make
+     * @return New graph
+     */
+    public RequestGraph node(final String name, final Collection<String> deps,
+        final RequestGraph.Step step) {
+        if (this.nodes.containsKey(name)) {
+            throw new IllegalArgumentException(
+                String.format("node \"%s\" already exists", name)
+            );
+        }
+        for (final String dep : deps) {
+            if (!this.nodes.containsKey(dep)) {
+                throw new IllegalArgumentException(
+                    String.format(
+                        "node \"%s\" depends on \"%s\", which is not added yet",
+                        name, dep
+                    )
+                );
+            }
+        }
+        final Map<String, RequestGraph.Node> map =
+            new LinkedHashMap<>(this.nodes);
+        map.put(name, new RequestGraph.Node(deps, step));
+        return new RequestGraph(Collections.unmodifiableMap(map));
+    }
+
+    /**
+     * Fetch all requests of the graph.
+     * @param parallelism Maximum number of requests in flight
+     * @param deadline Deadline of the entire graph
+     * @return Responses of all nodes
+     * @throws IOException If any request fails
+     */
+    public RequestGraph.Results fetch(final int parallelism,
+        final Deadline deadline) throws IOException {
+        final Deadline guard = new Deadline(deadline.millis());
+        final Closeable link = deadline.watch(guard::cancel);
+        final ExecutorService pool = Executors.newFixedThreadPool(
+            Math.max(parallelism, 1), new VerboseThreads(RequestGraph.class)
+        );
+        final Map<String, List<Response>> done = new ConcurrentHashMap<>(0);
+        final RequestGraph.Results results = new RequestGraph.Results(done);
+        final Map<String, CompletableFuture<List<Response>>> futures =
+            new LinkedHashMap<>(0);
+        try {
+            for (final Map.Entry<String, RequestGraph.Node> node
+                : this.nodes.entrySet()) {
+                futures.put(
+                    node.getKey(),
+                    CompletableFuture.allOf(
+                        node.getValue().deps.stream()
+                            .map(futures::get)
+                            .toArray(CompletableFuture<?>[]::new)
+                    ).thenComposeAsync(
+                        ignored -> RequestGraph.fetch(
+                            node.getValue().step, results, guard, pool
+                        ),
+                        pool
+                    ).whenComplete(
+                        (rsps, error) -> {
+                            if (error == null) {
+                                done.put(node.getKey(), rsps);
+                            } else {
+                                guard.cancel();
+                            }
+                        }
+                    )
+                );
+            }
+            CompletableFuture.allOf(
+                futures.values().toArray(new CompletableFuture<?>[0])
+            ).get();
+        } catch (final InterruptedException ex) {
+            guard.cancel();
+            Thread.currentThread().interrupt();
+            throw guard.failure(ex);
+        } catch (final ExecutionException ex) {
+            throw RequestGraph.unwrap(ex.getCause());
+        } finally {
+            link.close();
+            pool.shutdownNow();
+        }
+        return results;
+    }
+
+    /**
+     * Make requests of a node and fetch them.
+     * @param step The step of the node
+     * @param done Responses of finished nodes
+     * @param deadline Deadline of requests, cancelled when any of them
+     *  fails
+     * @param pool Threads
+     * @return Responses, in the order of requests
+     */
+    private static CompletableFuture<List<Response>> fetch(
+        final RequestGraph.Step step, final RequestGraph.Results done,
+        final Deadline deadline, final Executor pool) {
+        final List<CompletableFuture<Response>> list = new ArrayList<>(0);
+        CompletableFuture<List<Response>> future;
+        try {
+            for (final Request req : step.requests(done)) {
+                list.add(
+                    CompletableFuture.supplyAsync(
+                        () -> {
+                            try {
+                                return req.deadline(deadline).fetch();
+                            } catch (final IOException ex) {
+                                deadline.cancel();
+                                throw new CompletionException(ex);
+                            }
+                        },
+                        pool
+                    )
+                );
+            }
+            future = CompletableFuture.allOf(
+                list.toArray(new CompletableFuture<?>[0])
+            ).thenApply(
+                ignored -> {
+                    final List<Response> rsps = new ArrayList<>(list.size());
+                    for (final CompletableFuture<Response> rsp : list) {
+                        rsps.add(rsp.join());
+                    }
+                    return Collections.unmodifiableList(rsps);
+                }
+            );
+        } catch (final IOException ex) {
+            future = new CompletableFuture<>();
+            future.completeExceptionally(ex);
+        }
+        return future;
+    }
+
+    /**
+     * Exception that failed the graph.
+     * @param cause Cause of the failure
+     * @return Exception to throw
+     */
+    private static IOException unwrap(final Throwable cause) {
+        Throwable error = cause;
+        while (error instanceof CompletionException
+            && error.getCause() != null) {
+            error = error.getCause();
+        }
+        if (error instanceof RuntimeException) {
+            throw (RuntimeException) error;
+        }
+        if (error instanceof Error) {
+            throw (Error) error;
+        }
+        final IOException failure;
+        if (error instanceof IOException) {
+            failure = (IOException) error;
+        } else {
+            failure = new IOException(error);
+        }
+        return failure;
+    }
+
+    /**
+     * What requests a node makes.
+     *
+     * @since 2.0
+     */
+    @FunctionalInterface
+    public interface Step {
+        /**
+         * Make requests from responses of the nodes it depends on.
+         * @param done Responses of finished nodes
+         * @return Requests to fetch, maybe none
+         * @throws IOException If fails
+         */
+        Iterable<Request> requests(RequestGraph.Results done)
+            throws IOException;
+    }
+
+    /**
+     * Responses of nodes.
+     *
+     * @since 2.0
+     */
+    @ToString(of = "map")
+    public static final class Results {
+
+        /**
+         * Responses, by names of nodes.
+         */
+        private final transient Map<String, List<Response>> map;
+
+        /**
+         * Ctor.
+         * @param rsps Responses, by names of nodes
+         */
+        Results(final Map<String, List<Response>> rsps) {
+            this.map = rsps;
+        }
+
+        /**
+         * Responses of the node.
+         * @param name Name of the node
+         * @return Responses, in the order of its requests
+         */
+        public List<Response> get(final String name) {
+            final List<Response> rsps = this.map.get(name);
+            if (rsps == null) {
+                throw new IllegalArgumentException(
+                    String.format(
+                        "node \"%s\" is not finished, known nodes: %s",
+                        name, Arrays.toString(this.map.keySet().toArray())
+                    )
+                );
+            }
+            return rsps;
+        }
+    }
+
+    /**
+     * Node of the graph.
+     *
+     * @since 2.0
+     */
+    @EqualsAndHashCode(of = { "deps", "step" })
+    private static final class Node {
+
+        /**
+         * Names of nodes it depends on.
+         */
+        private final transient Collection<String> deps;
+
+        /**
+         * What requests to make.
+         */
+        private final transient RequestGraph.Step step;
+
+        /**
+         * Ctor.
+         * @param names Names of nodes it depends on
+         * @param stp What requests to make
+         */
+        Node(final Collection<String> names, final RequestGraph.Step stp) {
+            this.deps = new ArrayList<>(names);
+            this.step = stp;
+        }
+    }
+}
@@ -0,0 +1,478 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.http;
+
+import com.jcabi.log.Logger;
+import com.jcabi.log.VerboseThreads;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import lombok.ToString;
+
+/**
+ * Many requests fetched in parallel, with limits of concurrency.
+ *
+ * <p>No more than the given number of requests are in flight at the same
+ * time, and no more than the other number of them to the same host.
+ * Hosts take turns, so that a thousand requests to one of them don't
+ * delay a few requests to another one. A failure of one request doesn't
+ * stop the others, every one of them gets its own {@link Requests.Result},
+ * where a runtime exception is wrapped into an {@link IOException}:
+ *
+ * <pre> List&lt;Requests.Result&gt; results = Requests.fetchAll(requests, 16);
+ * for (final Requests.Result result : results) {
+ *   if (!result.failed()) {
+ *     System.out.println(result.response().body());
+ *   }
+ * }</pre>
+ *
+ * <p>Results may also be taken one by one, as soon as they are ready,
+ * see {@link #fetch(Iterable, Consumer)}. Requests are sent from a pool
+ * of threads, which lives as long as the call. All requests are read from
+ * the iterable before the first one is sent.
+ *
+ * <p>The class is immutable and thread-safe.
+ *
+ * @since 2.0
+ */
+@ToString(of = { "total", "host" })
+public final class Requests {
+
+    /**
+     * Maximum number of requests in flight.
+     */
+    private final transient int total;
+
+    /**
+     * Maximum number of requests in flight to one host.
+     */
+    private final transient int host;
+
+    /**
+     * Public ctor, without a limit for hosts.
+     * @param parallelism Maximum number of requests in flight
+     */
+    public Requests(final int parallelism) {
+        this(parallelism, parallelism);
+    }
+
+    /**
+     * Public ctor.
+     * @param parallelism Maximum number of requests in flight
+     * @param hosts Maximum number of requests in flight to one host
+     */
+    public Requests(final int parallelism, final int hosts) {
+        this.total = Math.max(parallelism, 1);
+        this.host = Math.max(hosts, 1);
+    }
+
+    /**
+     * Fetch all requests, with the limit of concurrency.
+     * @param requests The requests
+     * @param parallelism Maximum number of requests in flight
+     * @return Results, in the order of requests
+     * @throws InterruptedIOException If interrupted while waiting
+     */
+    @SuppressWarnings("PMD.ProhibitPublicStaticMethods")
+    public static List<Requests.Result> fetchAll(
+        final Iterable<Request> requests, final int parallelism)
+        throws InterruptedIOException {
+        return new Requests(parallelism).fetch(requests);
+    }
+
+    /**
+     * Host of the URI, with the port if it is explicit, the way requests
+     * are grouped by hosts, in this class and in wires.
+     * @param home The URI
+     * @return Host and port, or the URI itself if it has no host
+     * @since 2.0
+     */
+    @SuppressWarnings("PMD.ProhibitPublicStaticMethods")
+    public static String host(final String home) {
+        final URI uri = URI.create(home);
+        String host = uri.getHost();
+        if (host == null) {
+            host = home;
+        } else if (uri.getPort() >= 0) {
+            host = String.format("%s:%d", host, uri.getPort());
+        }
+        return host;
+    }
+
+    /**
+     * Fetch all requests.
+     * @param requests The requests
+     * @return Results, in the order of requests
+     * @throws InterruptedIOException If interrupted while waiting
+     */
+    public List<Requests.Result> fetch(final Iterable<Request> requests)
+        throws InterruptedIOException {
+        final List<Requests.Result> results = new ArrayList<>(0);
+        this.fetch(
+            requests,
+            result -> {
+                synchronized (results) {
+                    while (results.size() <= result.index()) {
+                        results.add(null);
+                    }
+                    results.set(result.index(), result);
+                }
+            }
+        );
+        return results;
+    }
+
+    /**
+     * Fetch all requests, passing every result to the listener as soon
+     * as it is ready.
+     *
+     * <p>The listener is called from many threads at the same time, and
+     * the method returns when all results are passed to it.
+     * @param requests The requests
+     * @param listener Listener of results
+     * @throws InterruptedIOException If interrupted while waiting
+     */
+    public void fetch(final Iterable<Request> requests,
+        final Consumer<Requests.Result> listener)
+        throws InterruptedIOException {
+        final Requests.Queue queue = new Requests.Queue(requests, this.host);
+        final int threads = Math.min(this.total, queue.size());
+        if (threads > 0) {
+            final ExecutorService service = Executors.newFixedThreadPool(
+                threads, new VerboseThreads(Requests.class)
+            );
+            for (int idx = 0; idx < threads; ++idx) {
+                service.execute(() -> Requests.work(queue, listener));
+            }
+            service.shutdown();
+            try {
+                service.awaitTermination(Long.MAX_VALUE, TimeUnit.DAYS);
+            } catch (final InterruptedException ex) {
+                service.shutdownNow();
+                Thread.currentThread().interrupt();
+                final InterruptedIOException failure =
+                    new InterruptedIOException("interrupted while fetching");
+                failure.initCause(ex);
+                throw failure;
+            }
+        }
+    }
+
+    /**
+     * Fetch requests from the queue until it is empty.
+     * @param queue The queue
+     * @param listener Listener of results
+     */
+    private static void work(final Requests.Queue queue,
+        final Consumer<Requests.Result> listener) {
+        Requests.Task task = queue.next();
+        while (task != null) {
+            Requests.Result result;
+            try {
+                result = new Requests.Result(
+                    task.index, task.request, task.request.fetch(), null
+                );
+            } catch (final IOException ex) {
+                result = new Requests.Result(
+                    task.index, task.request, null, ex
+                );
+            // @checkstyle IllegalCatchCheck (1 line)
+            } catch (final RuntimeException ex) {
+                result = new Requests.Result(
+                    task.index, task.request, null, new IOException(ex)
+                );
+            } finally {
+                queue.done(task);
+            }
+            try {
+                listener.accept(result);
+            // @checkstyle IllegalCatchCheck (1 line)
+            } catch (final RuntimeException ex) {
+                Logger.warn(
+                    Requests.class, "Listener of results failed: %[exception]s",
+                    ex
+                );
+            }
+            task = queue.next();
+        }
+    }
+
+    /**
+     * Result of one request.
+     *
+     * @since 2.0
+     */
+    @ToString(of = { "position", "response", "failure" })
+    public static final class Result {
+
+        /**
+         * Position of the request.
+         */
+        private final transient int position;
+
+        /**
+         * The request.
+         */
+        private final transient Request req;
+
+        /**
+         * Response, or NULL if failed.
+         */
+        private final transient Response response;
+
+        /**
+         * Failure, or NULL if succeeded.
+         */
+        private final transient IOException failure;
+
+        /**
+         * Ctor.
+         * @param index Position of the request
+         * @param request The request
+         * @param rsp Response or NULL
+         * @param error Failure or NULL
+         * @checkstyle ParameterNumberCheck (5 lines)
+         */
+        Result(final int index, final Request request, final Response rsp,
+            final IOException error) {
+            this.position = index;
+            this.req = request;
+            this.response = rsp;
+            this.failure = error;
+        }
+
+        /**
+         * Position of the request, starting from zero.
+         * @return Position
+         */
+        public int index() {
+            return this.position;
+        }
+
+        /**
+         * The request.
+         * @return Request
+         */
+        public Request request() {
+            return this.req;
+        }
+
+        /**
+         * Did it fail?
+         * @return TRUE if the request failed
+         */
+        public boolean failed() {
+            return this.failure != null;
+        }
+
+        /**
+         * The response.
+         * @return Response
+         * @throws IOException If the request failed
+         */
+        public Response response() throws IOException {
+            if (this.failure != null) {
+                throw new IOException(
+                    String.format("request #%d failed", this.position),
+                    this.failure
+                );
+            }
+            return this.response;
+        }
+
+        /**
+         * The failure.
+         * @return Exception, or NULL if the request succeeded
+         */
+        public IOException error() {
+            return this.failure;
+        }
+    }
+
+    /**
+     * One request to fetch.
+     *
+     * @since 2.0
+     */
+    private static final class Task {
+
+        /**
+         * Position of the request.
+         */
+        private final transient int index;
+
+        /**
+         * The request.
+         */
+        private final transient Request request;
+
+        /**
+         * Queue of the host.
+         */
+        private final transient Requests.Host host;
+
+        /**
+         * Ctor.
+         * @param idx Position of the request
+         * @param req The request
+         * @param queue Queue of the host
+         */
+        Task(final int idx, final Request req, final Requests.Host queue) {
+            this.index = idx;
+            this.request = req;
+            this.host = queue;
+        }
+    }
+
+    /**
+     * Requests to one host.
+     *
+     * @since 2.0
+     */
+    private static final class Host {
+
+        /**
+         * Requests waiting.
+         */
+        private final transient Deque<Requests.Task> waiting;
+
+        /**
+         * Requests in flight.
+         */
+        private transient int flight;
+
+        /**
+         * Ctor.
+         */
+        Host() {
+            this.waiting = new ArrayDeque<>(0);
+        }
+    }
+
+    /**
+     * Requests of all hosts, which take turns.
+     *
+     * @since 2.0
+     */
+    private static final class Queue {
+
+        /**
+         * Hosts.
+         */
+        private final transient Requests.Host[] hosts;
+
+        /**
+         * Maximum number of requests in flight to one host.
+         */
+        private final transient int limit;
+
+        /**
+         * Total number of requests.
+         */
+        private final transient int count;
+
+        /**
+         * Requests not taken yet.
+         */
+        private transient int left;
+
+        /**
+         * Host of the next turn.
+         */
+        private transient int turn;
+
+        /**
+         * Ctor.
+         * @param requests All requests
+         * @param max Maximum number of requests in flight to one host
+         */
+        Queue(final Iterable<Request> requests, final int max) {
+            final Map<String, Requests.Host> map = new LinkedHashMap<>(0);
+            int idx = 0;
+            final Iterator<Request> iterator = requests.iterator();
+            while (iterator.hasNext()) {
+                final Request req = iterator.next();
+                final Requests.Host host = map.computeIfAbsent(
+                    Requests.host(req.uri().get().toString()),
+                    key -> new Requests.Host()
+                );
+                host.waiting.add(new Requests.Task(idx, req, host));
+                ++idx;
+            }
+            this.hosts = map.values().toArray(new Requests.Host[0]);
+            this.limit = max;
+            this.count = idx;
+            this.left = idx;
+        }
+
+        /**
+         * Total number of requests.
+         * @return Number
+         */
+        int size() {
+            return this.count;
+        }
+
+        /**
+         * Take the next request, waiting for a host to be free.
+         * @return The request, or NULL if there are no more
+         */
+        synchronized Requests.Task next() {
+            Requests.Task task = null;
+            while (task == null && this.left > 0) {
+                task = this.poll();
+                if (task == null) {
+                    try {
+                        this.wait();
+                    } catch (final InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                        this.left = 0;
+                    }
+                }
+            }
+            return task;
+        }
+
+        /**
+         * The request is finished.
+         * @param task The request
+         */
+        synchronized void done(final Requests.Task task) {
+            --task.host.flight;
+            this.notifyAll();
+        }
+
+        /**
+         * Take the next request of a host that is free.
+         * @return The request or NULL if all hosts are busy
+         */
+        private Requests.Task poll() {
+            Requests.Task task = null;
+            for (int step = 0; step < this.hosts.length && task == null;
+                ++step) {
+                final Requests.Host host =
+                    this.hosts[(this.turn + step) % this.hosts.length];
+                if (host.flight < this.limit && !host.waiting.isEmpty()) {
+                    task = host.waiting.poll();
+                    ++host.flight;
+                    --this.left;
+                    this.turn = (this.turn + step + 1) % this.hosts.length;
+                }
+            }
+            return task;
+        }
+    }
+}
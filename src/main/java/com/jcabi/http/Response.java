@@ -71,6 +71,18 @@ public interface Response {
      */
     byte[] binary();
 
+    /**
+     * Durations of phases of the request, measured by the transport.
+     *
+     * <p>By default nothing is measured, for implementations made
+     * before 2.0.
+     * @return Timings, or {@link Timings#UNKNOWN} if not measured
+     * @since 2.0
+     */
+    default Timings timings() {
+        return Timings.UNKNOWN;
+    }
+
     /**
      * Convert it to another type, by encapsulation.
      * @param type Type to use
@@ -0,0 +1,170 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.http;
+
+import com.jcabi.aspects.Immutable;
+import java.util.concurrent.TimeUnit;
+import lombok.EqualsAndHashCode;
+
+/**
+ * Durations of phases of a request, see {@link Response#timings()}.
+ *
+ * <p>A slow request may be slow because of the name resolution, the TCP
+ * connection, the TLS handshake, the server or the download of a large
+ * body. Transports measure every phase separately, in nanoseconds:
+ *
+ * <pre> Timings timings = new JdkRequest("https://www.google.com")
+ *   .fetch()
+ *   .timings();
+ * long tls = timings.tls();</pre>
+ *
+ * <p>A phase that didn't happen or wasn't measured is -1, for example the
+ * handshake of plain HTTP, or all phases of a response that was not
+ * received from the network, like the one of
+ * {@link com.jcabi.http.request.FakeRequest}. When a kept-alive
+ * connection is reused, its connect phase is close to zero and there is
+ * no handshake. A name that was resolved before is taken from the cache,
+ * so its resolution is close to zero too.
+ *
+ * <p>The class is immutable and thread-safe.
+ *
+ * @since 2.0
+ */
+@Immutable
+@EqualsAndHashCode
+public final class Timings {
+
+    /**
+     * Nothing was measured.
+     */
+    public static final Timings UNKNOWN = new Timings(-1L, -1L, -1L, -1L, -1L);
+
+    /**
+     * Name resolution.
+     */
+    private final transient long resolve;
+
+    /**
+     * TCP connection.
+     */
+    private final transient long conn;
+
+    /**
+     * TLS handshake.
+     */
+    private final transient long handshake;
+
+    /**
+     * Sending the request and waiting for the first byte of the response.
+     */
+    private final transient long wait;
+
+    /**
+     * Reading the response.
+     */
+    private final transient long read;
+
+    /**
+     * Public ctor, with all durations in nanoseconds, or -1 if unknown.
+     * @param dns Name resolution
+     * @param connect TCP connection
+     * @param tls TLS handshake
+     * @param first Sending the request and waiting for the first byte
+     * @param download Reading the response
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    public Timings(final long dns, final long connect, final long tls,
+        final long first, final long download) {
+        this.resolve = dns;
+        this.conn = connect;
+        this.handshake = tls;
+        this.wait = first;
+        this.read = download;
+    }
+
+    /**
+     * Name resolution.
+     * @return Nanoseconds, or -1 if unknown
+     */
+    public long dns() {
+        return this.resolve;
+    }
+
+    /**
+     * TCP connection, after the name is resolved.
+     * @return Nanoseconds, or -1 if unknown
+     */
+    public long connect() {
+        return this.conn;
+    }
+
+    /**
+     * TLS handshake, after the TCP connection is established.
+     * @return Nanoseconds, or -1 if unknown
+     */
+    public long tls() {
+        return this.handshake;
+    }
+
+    /**
+     * Time to the first byte: sending the request and waiting for the
+     * status line and headers of the response.
+     * @return Nanoseconds, or -1 if unknown
+     */
+    public long firstByte() {
+        return this.wait;
+    }
+
+    /**
+     * Reading the body of the response.
+     * @return Nanoseconds, or -1 if unknown
+     */
+    public long download() {
+        return this.read;
+    }
+
+    /**
+     * All phases that are known.
+     * @return Nanoseconds, or -1 if nothing is known
+     */
+    public long total() {
+        long total = -1L;
+        for (final long phase : new long[] {
+            this.resolve, this.conn, this.handshake, this.wait, this.read,
+        }) {
+            if (phase >= 0L) {
+                total = Math.max(total, 0L) + phase;
+            }
+        }
+        return total;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+            "dns=%s connect=%s tls=%s ttfb=%s download=%s",
+            Timings.text(this.resolve), Timings.text(this.conn),
+            Timings.text(this.handshake), Timings.text(this.wait),
+            Timings.text(this.read)
+        );
+    }
+
+    /**
+     * Print a duration.
+     * @param nanos Nanoseconds, or -1
+     * @return Milliseconds with a fraction, or a dash
+     */
+    private static String text(final long nanos) {
+        final String text;
+        if (nanos < 0L) {
+            text = "-";
+        } else {
+            text = String.format(
+                "%.1fms", (double) nanos / TimeUnit.MILLISECONDS.toNanos(1L)
+            );
+        }
+        return text;
+    }
+}
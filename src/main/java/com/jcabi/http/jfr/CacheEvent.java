@@ -0,0 +1,70 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.http.jfr;
+
+import com.jcabi.http.Requests;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Response looked up in a cache, see {@link Flight#cache(Class, String,
+ * Flight.Lookup)}.
+ *
+ * @since 2.0
+ */
+@Name("com.jcabi.http.Cache")
+@Label("HTTP Cache Lookup")
+@Category({ "jcabi-http" })
+@Description("Response looked up in a cache of a wire")
+@StackTrace(false)
+final class CacheEvent extends Event {
+
+    /**
+     * Name of the wire.
+     */
+    @Label("Wire")
+    private String wire;
+
+    /**
+     * Host and port.
+     */
+    @Label("Host")
+    private String host;
+
+    /**
+     * URI of the request.
+     */
+    @Label("URI")
+    private String uri;
+
+    /**
+     * Result of the lookup.
+     */
+    @Label("Result")
+    @Description("HIT, MISS or STALE")
+    private String result;
+
+    /**
+     * Commit the event, if it is recorded.
+     * @param wire Name of the wire
+     * @param home URI of the request
+     * @param result Result of the lookup
+     */
+    static void emit(final String wire, final String home,
+        final String result) {
+        final CacheEvent event = new CacheEvent();
+        if (event.shouldCommit()) {
+            event.wire = wire;
+            event.host = Requests.host(home);
+            event.uri = home;
+            event.result = result;
+            event.commit();
+        }
+    }
+}
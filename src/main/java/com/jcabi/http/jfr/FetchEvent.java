@@ -0,0 +1,106 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.http.jfr;
+
+import com.jcabi.http.Requests;
+import com.jcabi.http.Response;
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Request fetched, see {@link Flight#fetching()}.
+ *
+ * @since 2.0
+ */
+@Name("com.jcabi.http.Fetch")
+@Label("HTTP Request")
+@Category({ "jcabi-http" })
+@Description("HTTP request sent and its response received")
+final class FetchEvent extends Event {
+
+    /**
+     * HTTP method.
+     */
+    @Label("Method")
+    private String method;
+
+    /**
+     * Host and port.
+     */
+    @Label("Host")
+    private String host;
+
+    /**
+     * URI of the request.
+     */
+    @Label("URI")
+    private String uri;
+
+    /**
+     * HTTP status, or zero.
+     */
+    @Label("Status")
+    @Description("HTTP status of the response, or zero if the request failed")
+    private int status;
+
+    /**
+     * Length of the body of the response, or -1.
+     */
+    @Label("Received")
+    @DataAmount
+    private long received;
+
+    /**
+     * Message of the failure, or NULL.
+     */
+    @Label("Failure")
+    private String failure;
+
+    /**
+     * Start the event, if it is recorded.
+     * @return The event, or NULL
+     */
+    static Object start() {
+        FetchEvent event = new FetchEvent();
+        if (event.isEnabled()) {
+            event.begin();
+        } else {
+            event = null;
+        }
+        return event;
+    }
+
+    /**
+     * Finish the event.
+     * @param started The event, see {@link #start()}
+     * @param method HTTP method
+     * @param home URI of the request
+     * @param rsp The response, or NULL if failed
+     * @param failure Message of the failure, or NULL
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    static void finish(final Object started, final String method,
+        final String home, final Response rsp, final String failure) {
+        final FetchEvent event = FetchEvent.class.cast(started);
+        event.end();
+        if (event.shouldCommit()) {
+            event.method = method;
+            event.host = Requests.host(home);
+            event.uri = home;
+            if (rsp == null) {
+                event.received = -1L;
+            } else {
+                event.status = rsp.status();
+                event.received = rsp.binary().length;
+            }
+            event.failure = failure;
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.http.jfr;
+
+import com.jcabi.http.Response;
+import java.io.IOException;
+
+/**
+ * Events of Java Flight Recorder, emitted by requests and wires.
+ *
+ * <p>Every request fetched emits {@code com.jcabi.http.Fetch}, with its
+ * method, host, status, length of the body and duration. Caching wires
+ * emit {@code com.jcabi.http.Cache} on every lookup,
+ * {@link com.jcabi.http.wire.RetryWire} emits {@code com.jcabi.http.Retry}
+ * before every next attempt and
+ * {@link com.jcabi.http.wire.AutoRedirectingWire} emits
+ * {@code com.jcabi.http.Redirect} for every hop. They are all in the
+ * "jcabi-http" category and may be recorded together with GC and lock
+ * events, for example:
+ *
+ * <pre> java -XX:StartFlightRecording=filename=app.jfr ...
+ * jfr print --categories jcabi-http app.jfr</pre>
+ *
+ * <p>When nothing records these events, they cost a check of a flag and
+ * nothing else. On a JVM without Flight Recorder, like Java 8 before
+ * update 262, they are never created at all.
+ *
+ * <p>The class is thread-safe.
+ *
+ * @since 2.0
+ */
+@SuppressWarnings("PMD.ProhibitPublicStaticMethods")
+public final class Flight {
+
+    /**
+     * Is Flight Recorder in this JVM?
+     */
+    private static final boolean ON = Flight.available();
+
+    /**
+     * Utility class.
+     */
+    private Flight() {
+        // intentionally empty
+    }
+
+    /**
+     * A request is about to be sent.
+     * @return Event started, or NULL if it is not recorded
+     */
+    public static Object fetching() {
+        Object started = null;
+        if (Flight.ON) {
+            started = FetchEvent.start();
+        }
+        return started;
+    }
+
+    /**
+     * A response to the request is received.
+     * @param started Event, see {@link #fetching()}
+     * @param method HTTP method
+     * @param home URI of the request
+     * @param rsp The response
+     */
+    public static void fetched(final Object started, final String method,
+        final String home, final Response rsp) {
+        if (started != null) {
+            FetchEvent.finish(started, method, home, rsp, null);
+        }
+    }
+
+    /**
+     * The request failed without a response.
+     * @param started Event, see {@link #fetching()}
+     * @param method HTTP method
+     * @param home URI of the request
+     * @param failure The failure
+     */
+    public static void failed(final Object started, final String method,
+        final String home, final IOException failure) {
+        if (started != null) {
+            FetchEvent.finish(
+                started, method, home, null,
+                String.valueOf(failure.getMessage())
+            );
+        }
+    }
+
+    /**
+     * A response is looked up in a cache.
+     * @param wire Type of the wire
+     * @param home URI of the request
+     * @param result What was found
+     */
+    public static void cache(final Class<?> wire, final String home,
+        final Flight.Lookup result) {
+        if (Flight.ON) {
+            CacheEvent.emit(wire.getSimpleName(), home, result.name());
+        }
+    }
+
+    /**
+     * An attempt of a request failed and it is going to be retried.
+     * @param method HTTP method
+     * @param home URI of the request
+     * @param attempt Number of the attempt that failed, from one
+     * @param status HTTP status, or zero if there is no response
+     * @param failure Message of the failure, or NULL
+     * @param delay Delay before the next attempt, in milliseconds
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    public static void retry(final String method, final String home,
+        final int attempt, final int status, final String failure,
+        final long delay) {
+        if (Flight.ON) {
+            RetryEvent.emit(method, home, attempt, status, failure, delay);
+        }
+    }
+
+    /**
+     * A redirect is followed.
+     * @param method HTTP method of the next request
+     * @param from URI redirected
+     * @param target URI of the next request
+     * @param status HTTP status of the redirect
+     * @param hop Number of the hop, from one
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    public static void redirect(final String method, final String from,
+        final String target, final int status, final int hop) {
+        if (Flight.ON) {
+            RedirectEvent.emit(method, from, target, status, hop);
+        }
+    }
+
+    /**
+     * Is Flight Recorder in this JVM?
+     * @return TRUE if it is
+     */
+    private static boolean available() {
+        boolean found;
+        try {
+            Class.forName(
+                "jdk.jfr.Event", false, Flight.class.getClassLoader()
+            );
+            found = true;
+        } catch (final ClassNotFoundException ex) {
+            found = false;
+        }
+        return found;
+    }
+
+    /**
+     * Result of a lookup in a cache.
+     *
+     * @since 2.0
+     */
+    public enum Lookup {
+        /**
+         * Fresh response found and returned, without a request.
+         */
+        HIT,
+
+        /**
+         * Nothing found, the request is sent.
+         */
+        MISS,
+
+        /**
+         * Stale response found and revalidated, or replaced.
+         */
+        STALE
+    }
+}
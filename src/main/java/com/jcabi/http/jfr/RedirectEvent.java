@@ -0,0 +1,78 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.http.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Redirect followed, see {@link Flight#redirect(String, String, String,
+ * int, int)}.
+ *
+ * @since 2.0
+ */
+@Name("com.jcabi.http.Redirect")
+@Label("HTTP Redirect")
+@Category({ "jcabi-http" })
+@Description("Redirect to another URI followed")
+@StackTrace(false)
+final class RedirectEvent extends Event {
+
+    /**
+     * HTTP method of the next request.
+     */
+    @Label("Method")
+    private String method;
+
+    /**
+     * URI redirected.
+     */
+    @Label("From")
+    private String from;
+
+    /**
+     * URI of the next request.
+     */
+    @Label("To")
+    private String target;
+
+    /**
+     * HTTP status of the redirect.
+     */
+    @Label("Status")
+    private int status;
+
+    /**
+     * Number of the hop, starting from one.
+     */
+    @Label("Hop")
+    private int hop;
+
+    /**
+     * Commit the event, if it is recorded.
+     * @param method HTTP method of the next request
+     * @param from URI redirected
+     * @param target URI of the next request
+     * @param status HTTP status of the redirect
+     * @param hop Number of the hop
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    static void emit(final String method, final String from,
+        final String target, final int status, final int hop) {
+        final RedirectEvent event = new RedirectEvent();
+        if (event.shouldCommit()) {
+            event.method = method;
+            event.from = from;
+            event.target = target;
+            event.status = status;
+            event.hop = hop;
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.http.jfr;
+
+import com.jcabi.http.Requests;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Request retried, see {@link Flight#retry(String, String, int, int,
+ * String, long)}.
+ *
+ * @since 2.0
+ */
+@Name("com.jcabi.http.Retry")
+@Label("HTTP Retry")
+@Category({ "jcabi-http" })
+@Description("Attempt of a request failed and it is going to be retried")
+@StackTrace(false)
+final class RetryEvent extends Event {
+
+    /**
+     * HTTP method.
+     */
+    @Label("Method")
+    private String method;
+
+    /**
+     * Host and port.
+     */
+    @Label("Host")
+    private String host;
+
+    /**
+     * URI of the request.
+     */
+    @Label("URI")
+    private String uri;
+
+    /**
+     * Number of the attempt that failed, starting from one.
+     */
+    @Label("Attempt")
+    private int attempt;
+
+    /**
+     * HTTP status of the failed attempt, or zero.
+     */
+    @Label("Status")
+    private int status;
+
+    /**
+     * Message of the failure, or NULL.
+     */
+    @Label("Failure")
+    private String failure;
+
+    /**
+     * Delay before the next attempt.
+     */
+    @Label("Delay")
+    @Timespan(Timespan.MILLISECONDS)
+    private long delay;
+
+    /**
+     * Commit the event, if it is recorded.
+     * @param method HTTP method
+     * @param home URI of the request
+     * @param attempt Number of the attempt
+     * @param status HTTP status, or zero
+     * @param failure Message of the failure, or NULL
+     * @param delay Delay in milliseconds
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    static void emit(final String method, final String home,
+        final int attempt, final int status, final String failure,
+        final long delay) {
+        final RetryEvent event = new RetryEvent();
+        if (event.shouldCommit()) {
+            event.method = method;
+            event.host = Requests.host(home);
+            event.uri = home;
+            event.attempt = attempt;
+            event.status = status;
+            event.failure = failure;
+            event.delay = delay;
+            event.commit();
+        }
+    }
+}
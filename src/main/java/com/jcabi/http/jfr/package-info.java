@@ -0,0 +1,11 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+
+/**
+ * Events of Java Flight Recorder.
+ *
+ * @since 2.0
+ */
+package com.jcabi.http.jfr;
@@ -0,0 +1,395 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.http.mock;
+
+import com.jcabi.log.Logger;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import lombok.ToString;
+
+/**
+ * In-process server of memcached text protocol, for tests of shared
+ * caches, for example of {@link com.jcabi.http.wire.MemcachedStore}.
+ *
+ * <pre> MkMemcached cache = new MkMemcached().start();
+ * try {
+ *   new JdkRequest(container.home())
+ *     .through(
+ *       SharedCachingWire.class,
+ *       new MemcachedStore("localhost", cache.port())
+ *     )
+ *     .fetch();
+ * } finally {
+ *   cache.stop();
+ * }</pre>
+ *
+ * <p>Commands {@code get}, {@code gets}, {@code set}, {@code add},
+ * {@code replace}, {@code delete}, {@code flush_all}, {@code version}
+ * and {@code quit} are supported, values are kept in memory without
+ * any limits. The server listens on the loopback interface only.
+ *
+ * <p>The class is thread-safe.
+ *
+ * @since 2.0
+ */
+@ToString(of = "port")
+@SuppressWarnings("PMD.TooManyMethods")
+public final class MkMemcached implements Closeable {
+
+    /**
+     * Longest relative expiration time, in seconds.
+     */
+    private static final long MONTH = 30L * 24L * 60L * 60L;
+
+    /**
+     * Longest command line.
+     */
+    private static final int LINE = 2048;
+
+    /**
+     * Values, by keys.
+     */
+    private final transient ConcurrentMap<String, MkMemcached.Item> items =
+        new ConcurrentHashMap<>(0);
+
+    /**
+     * Connections open.
+     */
+    private final transient Set<Socket> sockets =
+        ConcurrentHashMap.newKeySet();
+
+    /**
+     * Server socket.
+     */
+    private transient ServerSocket server;
+
+    /**
+     * Threads of the server.
+     */
+    private transient ExecutorService threads;
+
+    /**
+     * Port where it works.
+     */
+    private transient int port;
+
+    /**
+     * Start on a random port.
+     * @return This object
+     * @throws IOException If fails
+     */
+    public MkMemcached start() throws IOException {
+        return this.start(0);
+    }
+
+    /**
+     * Start on the given port.
+     * @param prt Port to listen on
+     * @return This object
+     * @throws IOException If fails
+     */
+    public synchronized MkMemcached start(final int prt) throws IOException {
+        if (this.port != 0) {
+            throw new IllegalStateException(
+                String.format(
+                    "already listening on port %d, use #stop() first",
+                    this.port
+                )
+            );
+        }
+        this.server = new ServerSocket(
+            prt, 0, InetAddress.getLoopbackAddress()
+        );
+        this.port = this.server.getLocalPort();
+        this.threads = Executors.newCachedThreadPool(
+            task -> {
+                final Thread thread = new Thread(task, "MkMemcached");
+                thread.setDaemon(true);
+                return thread;
+            }
+        );
+        final ServerSocket socket = this.server;
+        this.threads.execute(() -> this.accept(socket));
+        Logger.info(this, "started on port #%s", this.port);
+        return this;
+    }
+
+    /**
+     * Port where it works.
+     * @return Port
+     */
+    public synchronized int port() {
+        return this.port;
+    }
+
+    /**
+     * Number of values kept, including expired ones.
+     * @return Total
+     */
+    public int size() {
+        return this.items.size();
+    }
+
+    /**
+     * Stop it and forget all values.
+     * @throws IOException If fails
+     */
+    public synchronized void stop() throws IOException {
+        if (this.server != null) {
+            this.server.close();
+            for (final Socket socket : this.sockets) {
+                socket.close();
+            }
+            this.threads.shutdownNow();
+            try {
+                this.threads.awaitTermination(1L, TimeUnit.MINUTES);
+            } catch (final InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IOException(ex);
+            }
+            this.server = null;
+            this.port = 0;
+            this.items.clear();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.stop();
+    }
+
+    /**
+     * Accept connections, until the socket is closed.
+     * @param socket Server socket
+     */
+    private void accept(final ServerSocket socket) {
+        try {
+            while (!socket.isClosed()) {
+                final Socket client = socket.accept();
+                this.sockets.add(client);
+                this.threads.execute(() -> this.serve(client));
+            }
+        } catch (final IOException ex) {
+            Logger.debug(this, "stopped accepting: %s", ex);
+        }
+    }
+
+    /**
+     * Serve one connection, until it is closed.
+     * @param socket The connection
+     */
+    private void serve(final Socket socket) {
+        try (Socket client = socket) {
+            final InputStream input = new BufferedInputStream(
+                client.getInputStream()
+            );
+            final OutputStream output = new BufferedOutputStream(
+                client.getOutputStream()
+            );
+            for (String line = MkMemcached.line(input); line != null
+                && !"quit".equals(line); line = MkMemcached.line(input)) {
+                this.command(line.split(" +"), input, output);
+                output.flush();
+            }
+        } catch (final IOException | IllegalArgumentException
+            | NegativeArraySizeException ex) {
+            Logger.debug(this, "connection closed: %s", ex);
+        } finally {
+            this.sockets.remove(socket);
+        }
+    }
+
+    /**
+     * Execute one command.
+     * @param args Command and its arguments
+     * @param input Input of the connection
+     * @param output Output of the connection
+     * @throws IOException If fails
+     */
+    private void command(final String[] args, final InputStream input,
+        final OutputStream output) throws IOException {
+        final String cmd = args[0];
+        if ("get".equals(cmd) || "gets".equals(cmd)) {
+            this.get(args, output);
+        } else if (args.length >= 5 && ("set".equals(cmd)
+            || "add".equals(cmd) || "replace".equals(cmd))) {
+            final byte[] data = new byte[Integer.parseInt(args[4])];
+            new DataInputStream(input).readFully(data);
+            if ("".equals(MkMemcached.line(input))) {
+                MkMemcached.reply(output, this.set(args, data));
+            } else {
+                MkMemcached.reply(output, "CLIENT_ERROR bad data chunk");
+            }
+        } else if ("delete".equals(cmd) && args.length >= 2) {
+            if (this.items.remove(args[1]) == null) {
+                MkMemcached.reply(output, "NOT_FOUND");
+            } else {
+                MkMemcached.reply(output, "DELETED");
+            }
+        } else if ("flush_all".equals(cmd)) {
+            this.items.clear();
+            MkMemcached.reply(output, "OK");
+        } else if ("version".equals(cmd)) {
+            MkMemcached.reply(output, "VERSION 1.6.0");
+        } else {
+            MkMemcached.reply(output, "ERROR");
+        }
+    }
+
+    /**
+     * Send values of the keys.
+     * @param args Command and keys
+     * @param output Output of the connection
+     * @throws IOException If fails
+     */
+    private void get(final String[] args, final OutputStream output)
+        throws IOException {
+        final long now = System.currentTimeMillis();
+        for (int idx = 1; idx < args.length; ++idx) {
+            final MkMemcached.Item item = this.items.get(args[idx]);
+            if (item != null && item.expires <= now) {
+                this.items.remove(args[idx], item);
+            } else if (item != null) {
+                MkMemcached.reply(
+                    output,
+                    String.format(
+                        "VALUE %s %s %d", args[idx], item.flags,
+                        item.data.length
+                    )
+                );
+                output.write(item.data);
+                MkMemcached.reply(output, "");
+            }
+        }
+        MkMemcached.reply(output, "END");
+    }
+
+    /**
+     * Store a value.
+     * @param args Command, key, flags, expiration time and length
+     * @param data The value
+     * @return Reply
+     */
+    private String set(final String[] args, final byte[] data) {
+        final long exp = Long.parseLong(args[3]);
+        final long expires;
+        if (exp == 0L) {
+            expires = Long.MAX_VALUE;
+        } else if (exp > MkMemcached.MONTH) {
+            expires = TimeUnit.SECONDS.toMillis(exp);
+        } else {
+            expires = System.currentTimeMillis()
+                + TimeUnit.SECONDS.toMillis(exp);
+        }
+        final MkMemcached.Item item = new MkMemcached.Item(
+            data, args[2], expires
+        );
+        final boolean stored;
+        if ("add".equals(args[0])) {
+            stored = this.items.putIfAbsent(args[1], item) == null;
+        } else if ("replace".equals(args[0])) {
+            stored = this.items.replace(args[1], item) != null;
+        } else {
+            this.items.put(args[1], item);
+            stored = true;
+        }
+        final String reply;
+        if (stored) {
+            reply = "STORED";
+        } else {
+            reply = "NOT_STORED";
+        }
+        return reply;
+    }
+
+    /**
+     * Read one line.
+     * @param input The input
+     * @return The line, without line ending, or NULL at the end of input
+     * @throws IOException If fails
+     */
+    private static String line(final InputStream input) throws IOException {
+        final ByteArrayOutputStream line = new ByteArrayOutputStream();
+        int chr = input.read();
+        while (chr >= 0 && chr != '\n') {
+            if (line.size() > MkMemcached.LINE) {
+                throw new IOException("too long command line");
+            }
+            if (chr != '\r') {
+                line.write(chr);
+            }
+            chr = input.read();
+        }
+        String text = null;
+        if (chr >= 0) {
+            text = new String(line.toByteArray(), StandardCharsets.US_ASCII);
+        }
+        return text;
+    }
+
+    /**
+     * Send a reply line.
+     * @param output The output
+     * @param line The line, without line ending
+     * @throws IOException If fails
+     */
+    private static void reply(final OutputStream output, final String line)
+        throws IOException {
+        output.write(line.getBytes(StandardCharsets.US_ASCII));
+        output.write('\r');
+        output.write('\n');
+    }
+
+    /**
+     * Value kept.
+     *
+     * @since 2.0
+     */
+    private static final class Item {
+
+        /**
+         * The value.
+         */
+        private final transient byte[] data;
+
+        /**
+         * Flags of the value, as sent by the client.
+         */
+        private final transient String flags;
+
+        /**
+         * Moment when it expires, in milliseconds.
+         */
+        private final transient long expires;
+
+        /**
+         * Ctor.
+         * @param bytes The value
+         * @param flgs Flags of the value
+         * @param exp Moment when it expires, in milliseconds
+         */
+        Item(final byte[] bytes, final String flgs, final long exp) {
+            this.data = bytes;
+            this.flags = flgs;
+            this.expires = exp;
+        }
+    }
+}
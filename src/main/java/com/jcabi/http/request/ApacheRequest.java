@@ -5,7 +5,7 @@
 package com.jcabi.http.request;
 
 import com.jcabi.aspects.Immutable;
-import com.jcabi.aspects.Loggable;
+import com.jcabi.http.Deadline;
 import com.jcabi.http.ImmutableHeader;
 import com.jcabi.http.Request;
 import com.jcabi.http.RequestBody;
@@ -13,23 +13,38 @@ import com.jcabi.http.RequestURI;
 import com.jcabi.http.Response;
 import com.jcabi.http.Wire;
 import com.jcabi.immutable.Array;
+import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
+import java.net.InetAddress;
 import java.net.URI;
 import java.net.URL;
 import java.util.Collection;
 import java.util.LinkedList;
 import java.util.Map;
+import javax.net.ssl.SSLSocket;
+import javax.net.ssl.SSLSocketFactory;
 import lombok.EqualsAndHashCode;
 import lombok.ToString;
 import org.apache.http.Header;
+import org.apache.http.HttpClientConnection;
 import org.apache.http.HttpEntity;
+import org.apache.http.HttpException;
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpResponse;
 import org.apache.http.client.config.RequestConfig;
 import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpEntityEnclosingRequestBase;
+import org.apache.http.conn.ssl.DefaultHostnameVerifier;
+import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
+import org.apache.http.conn.util.PublicSuffixMatcherLoader;
 import org.apache.http.entity.BufferedHttpEntity;
 import org.apache.http.entity.InputStreamEntity;
+import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.SystemDefaultDnsResolver;
+import org.apache.http.protocol.HttpContext;
+import org.apache.http.protocol.HttpRequestExecutor;
 import org.apache.http.util.EntityUtils;
 
 /**
@@ -44,7 +59,6 @@ import org.apache.http.util.EntityUtils;
 @Immutable
 @EqualsAndHashCode(of = "base")
 @ToString(of = "base")
-@Loggable(Loggable.DEBUG)
 @SuppressWarnings("PMD.TooManyMethods")
 public final class ApacheRequest implements Request {
 
@@ -61,20 +75,31 @@ public final class ApacheRequest implements Request {
             final InputStream content,
             final int connect,
             final int read) throws IOException {
-            try (CloseableHttpResponse response = HttpClients.createSystem()
-                .execute(
-                    this.httpRequest(
-                        home, method, headers, content,
-                        connect, read
-                    )
-                )) {
+            final Deadline deadline = req.deadline();
+            final HttpEntityEnclosingRequestBase request = this.httpRequest(
+                home, method, headers, content,
+                deadline.timeout(connect), deadline.timeout(read)
+            );
+            final Closeable watch = deadline.watch(request::abort);
+            final Phases phases = Phases.begin();
+            try (CloseableHttpResponse response = ApacheRequest.client(phases)
+                .execute(request)) {
                 return new DefaultResponse(
                     req,
                     response.getStatusLine().getStatusCode(),
                     response.getStatusLine().getReasonPhrase(),
                     this.headers(response.getAllHeaders()),
-                    this.consume(response.getEntity())
+                    this.consume(response.getEntity()),
+                    phases.end()
                 );
+            } catch (final IOException ex) {
+                if (deadline.over()) {
+                    throw deadline.failure(ex);
+                }
+                throw ex;
+            } finally {
+                phases.forget();
+                watch.close();
             }
         }
 
@@ -223,6 +248,16 @@ public final class ApacheRequest implements Request {
         return this.base.timeout(connect, read);
     }
 
+    @Override
+    public Request deadline(final Deadline deadline) {
+        return this.base.deadline(deadline);
+    }
+
+    @Override
+    public Deadline deadline() {
+        return this.base.deadline();
+    }
+
     @Override
     public Response fetch() throws IOException {
         return this.base.fetch();
@@ -243,4 +278,81 @@ public final class ApacheRequest implements Request {
     public Request through(final Wire wire) {
         return this.base.through(wire);
     }
+
+    /**
+     * Make a client configured by system properties, like
+     * {@link HttpClients#createSystem()}, which marks phases of the
+     * request.
+     * @param phases Phases of the request
+     * @return Client
+     */
+    private static CloseableHttpClient client(final Phases phases) {
+        return HttpClients.custom()
+            .useSystemProperties()
+            .setDnsResolver(
+                host -> {
+                    Phases.resolving();
+                    final InetAddress[] addresses =
+                        SystemDefaultDnsResolver.INSTANCE.resolve(host);
+                    Phases.resolved();
+                    return addresses;
+                }
+            )
+            .setSSLSocketFactory(
+                new SSLConnectionSocketFactory(
+                    (SSLSocketFactory) SSLSocketFactory.getDefault(),
+                    ApacheRequest.split(System.getProperty("https.protocols")),
+                    ApacheRequest.split(
+                        System.getProperty("https.cipherSuites")
+                    ),
+                    new DefaultHostnameVerifier(
+                        PublicSuffixMatcherLoader.getDefault()
+                    )
+                ) {
+                    @Override
+                    protected void prepareSocket(final SSLSocket socket) {
+                        Phases.handshaking();
+                    }
+                }
+            )
+            .setRequestExecutor(
+                new HttpRequestExecutor() {
+                    @Override
+                    protected HttpResponse doSendRequest(
+                        final HttpRequest request,
+                        final HttpClientConnection conn,
+                        final HttpContext context
+                    ) throws IOException, HttpException {
+                        phases.connected();
+                        return super.doSendRequest(request, conn, context);
+                    }
+
+                    @Override
+                    protected HttpResponse doReceiveResponse(
+                        final HttpRequest request,
+                        final HttpClientConnection conn,
+                        final HttpContext context
+                    ) throws IOException, HttpException {
+                        final HttpResponse response =
+                            super.doReceiveResponse(request, conn, context);
+                        phases.received();
+                        return response;
+                    }
+                }
+            )
+            .build();
+    }
+
+    /**
+     * Split a list from a system property.
+     * @param value Value of the property, or NULL
+     * @return Items, or NULL if there are none
+     */
+    private static String[] split(final String value) {
+        String[] items = null;
+        if (value != null && !value.trim().isEmpty()) {
+            items = value.trim().split(" *, *");
+        }
+        return items;
+    }
 }
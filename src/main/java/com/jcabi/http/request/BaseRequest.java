@@ -7,20 +7,22 @@ package com.jcabi.http.request;
 import com.fasterxml.jackson.databind.util.ClassUtil;
 import com.google.common.base.Joiner;
 import com.jcabi.aspects.Immutable;
-import com.jcabi.aspects.Loggable;
+import com.jcabi.http.Deadline;
 import com.jcabi.http.ImmutableHeader;
+import com.jcabi.http.ReplayableStream;
 import com.jcabi.http.Request;
 import com.jcabi.http.RequestBody;
 import com.jcabi.http.RequestURI;
 import com.jcabi.http.Response;
+import com.jcabi.http.Timings;
 import com.jcabi.http.Wire;
+import com.jcabi.http.jfr.Flight;
 import com.jcabi.immutable.Array;
 import com.jcabi.log.Logger;
 import jakarta.json.Json;
 import jakarta.json.JsonStructure;
 import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.UriBuilder;
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.StringWriter;
@@ -46,7 +48,6 @@ import lombok.EqualsAndHashCode;
  */
 @Immutable
 @EqualsAndHashCode(of = {"home", "mtd", "hdrs", "content"})
-@Loggable(Loggable.DEBUG)
 // @todo #87:30min Refactor this class to get rid of PMD.GodClass.
 //  This can be done if MultiPartFormBody and
 //  FormEncodedBody are pulled out. Also, the two
@@ -102,6 +103,11 @@ public final class BaseRequest implements Request {
      */
     private final transient int read;
 
+    /**
+     * Deadline of the request.
+     */
+    private final transient Deadline limit;
+
     /**
      * Headers.
      */
@@ -159,6 +165,28 @@ public final class BaseRequest implements Request {
         final Iterable<Map.Entry<String, String>> headers,
         final String method, final byte[] body,
         final int cnct, final int rdd
+    ) {
+        this(wre, uri, headers, method, body, cnct, rdd, Deadline.NEVER);
+    }
+
+    /**
+     * Public ctor.
+     * @param wre Wire
+     * @param uri The resource to work with
+     * @param headers Headers
+     * @param method HTTP method
+     * @param body HTTP request body
+     * @param cnct Connect timeout for http connection
+     * @param rdd Read timeout for http connection
+     * @param deadline Deadline of the request
+     * @since 2.0
+     * @checkstyle ParameterNumberCheck (10 lines)
+     */
+    public BaseRequest(
+        final Wire wre, final String uri,
+        final Iterable<Map.Entry<String, String>> headers,
+        final String method, final byte[] body,
+        final int cnct, final int rdd, final Deadline deadline
     ) {
         this.wire = wre;
         this.home = BaseRequest.createUri(uri).toString();
@@ -167,6 +195,7 @@ public final class BaseRequest implements Request {
         this.content = body.clone();
         this.connect = cnct;
         this.read = rdd;
+        this.limit = deadline;
     }
 
     @Override
@@ -183,7 +212,8 @@ public final class BaseRequest implements Request {
             this.mtd,
             this.content,
             this.connect,
-            this.read
+            this.read,
+            this.limit
         );
     }
 
@@ -204,7 +234,8 @@ public final class BaseRequest implements Request {
             this.mtd,
             this.content,
             this.connect,
-            this.read
+            this.read,
+            this.limit
         );
     }
 
@@ -227,7 +258,8 @@ public final class BaseRequest implements Request {
             method,
             this.content,
             this.connect,
-            this.read
+            this.read,
+            this.limit
         );
     }
 
@@ -240,13 +272,33 @@ public final class BaseRequest implements Request {
             this.mtd,
             this.content,
             cnct,
-            rdd
+            rdd,
+            this.limit
         );
     }
 
+    @Override
+    public Request deadline(final Deadline deadline) {
+        return new BaseRequest(
+            this.wire,
+            this.home,
+            this.hdrs,
+            this.mtd,
+            this.content,
+            this.connect,
+            this.read,
+            deadline
+        );
+    }
+
+    @Override
+    public Deadline deadline() {
+        return this.limit;
+    }
+
     @Override
     public Response fetch() throws IOException {
-        return this.fetchResponse(new ByteArrayInputStream(this.content));
+        return this.fetchResponse(new ReplayableStream(this.content));
     }
 
     @Override
@@ -276,7 +328,8 @@ public final class BaseRequest implements Request {
             this.mtd,
             this.content,
             this.connect,
-            this.read
+            this.read,
+            this.limit
         );
     }
 
@@ -338,25 +391,35 @@ public final class BaseRequest implements Request {
      */
     private Response fetchResponse(final InputStream stream)
         throws IOException {
-        final long start = System.currentTimeMillis();
-        final Response response = this.wire.send(
-            this, this.home, this.mtd,
-            this.hdrs, stream, this.connect,
-            this.read
-        );
-        final URI uri = URI.create(this.home);
-        if (Logger.isInfoEnabled(this)) {
-            Logger.info(
-                this,
-                "#fetch(%s %s%s %s): [%d %s] in %[ms]s",
-                this.mtd,
-                uri.getHost(),
-                // @checkstyle AvoidInlineConditionalsCheck (1 line)
-                uri.getPort() > 0 ? String.format(":%d", uri.getPort()) : "",
-                uri.getPath(),
-                response.status(),
-                response.reason(),
-                System.currentTimeMillis() - start
+        this.limit.check();
+        final RequestLog log = RequestLog.active();
+        long start = 0L;
+        if (log != null) {
+            start = System.nanoTime();
+        }
+        final Object flight = Flight.fetching();
+        final Response response;
+        try {
+            response = this.wire.send(
+                this, this.home, this.mtd,
+                this.hdrs, stream, this.connect,
+                this.read
+            );
+        } catch (final IOException ex) {
+            Flight.failed(flight, this.mtd, this.home, ex);
+            if (log != null) {
+                log.record(
+                    this.mtd, this.home, 0, String.valueOf(ex.getMessage()),
+                    System.nanoTime() - start, Timings.UNKNOWN
+                );
+            }
+            throw ex;
+        }
+        Flight.fetched(flight, this.mtd, this.home, response);
+        if (log != null) {
+            log.record(
+                this.mtd, this.home, response.status(), response.reason(),
+                System.nanoTime() - start, response.timings()
             );
         }
         return response;
@@ -432,7 +495,6 @@ public final class BaseRequest implements Request {
      */
     @Immutable
     @EqualsAndHashCode(of = "address")
-    @Loggable(Loggable.DEBUG)
     private static final class BaseUri implements RequestURI {
         /**
          * URI encapsulated.
@@ -468,7 +530,8 @@ public final class BaseRequest implements Request {
                 this.owner.mtd,
                 this.owner.content,
                 this.owner.connect,
-                this.owner.read
+                this.owner.read,
+                this.owner.limit
             );
         }
 
@@ -579,7 +642,8 @@ public final class BaseRequest implements Request {
                 this.owner.mtd,
                 this.text,
                 this.owner.connect,
-                this.owner.read
+                this.owner.read,
+                this.owner.limit
             );
         }
 
@@ -686,7 +750,6 @@ public final class BaseRequest implements Request {
      */
     @Immutable
     @EqualsAndHashCode(of = "text")
-    @Loggable(Loggable.DEBUG)
     private static final class FormEncodedBody implements RequestBody {
 
         /**
@@ -726,7 +789,8 @@ public final class BaseRequest implements Request {
                 this.owner.mtd,
                 this.text,
                 this.owner.connect,
-                this.owner.read
+                this.owner.read,
+                this.owner.limit
             );
         }
 
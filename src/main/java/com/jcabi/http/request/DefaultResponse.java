@@ -5,10 +5,10 @@
 package com.jcabi.http.request;
 
 import com.jcabi.aspects.Immutable;
-import com.jcabi.aspects.Loggable;
 import com.jcabi.http.Request;
 import com.jcabi.http.RequestBody;
 import com.jcabi.http.Response;
+import com.jcabi.http.Timings;
 import com.jcabi.immutable.Array;
 import com.jcabi.log.Logger;
 import java.lang.reflect.InvocationTargetException;
@@ -27,7 +27,6 @@ import lombok.EqualsAndHashCode;
  */
 @Immutable
 @EqualsAndHashCode(of = { "req", "code", "phrase", "hdrs", "content" })
-@Loggable(Loggable.DEBUG)
 public final class DefaultResponse implements Response {
 
     /**
@@ -62,6 +61,11 @@ public final class DefaultResponse implements Response {
     //@checkstyle ParameterNumber (15 lines)
     private final transient byte[] content;
 
+    /**
+     * Durations of phases of the request.
+     */
+    private final transient Timings phases;
+
     /**
      * Public ctor.
      * @param request The request
@@ -73,11 +77,28 @@ public final class DefaultResponse implements Response {
     public DefaultResponse(final Request request, final int status,
         final String reason, final Array<Map.Entry<String, String>> headers,
         final byte[] body) {
+        this(request, status, reason, headers, body, Timings.UNKNOWN);
+    }
+
+    /**
+     * Public ctor.
+     * @param request The request
+     * @param status HTTP status
+     * @param reason HTTP reason phrase
+     * @param headers HTTP headers
+     * @param body Body of HTTP response
+     * @param timings Durations of phases of the request
+     * @since 2.0
+     */
+    public DefaultResponse(final Request request, final int status,
+        final String reason, final Array<Map.Entry<String, String>> headers,
+        final byte[] body, final Timings timings) {
         this.req = request;
         this.code = status;
         this.phrase = reason;
         this.hdrs = headers;
         this.content = body.clone();
+        this.phases = timings;
     }
 
     @Override
@@ -128,6 +149,11 @@ public final class DefaultResponse implements Response {
         return this.content.clone();
     }
 
+    @Override
+    public Timings timings() {
+        return this.phases;
+    }
+
     // @checkstyle MethodName (4 lines)
     @Override
     @SuppressWarnings("PMD.ShortMethodName")
@@ -6,6 +6,7 @@ package com.jcabi.http.request;
 
 import com.jcabi.aspects.Immutable;
 import com.jcabi.aspects.Loggable;
+import com.jcabi.http.Deadline;
 import com.jcabi.http.ImmutableHeader;
 import com.jcabi.http.Request;
 import com.jcabi.http.RequestBody;
@@ -155,6 +156,16 @@ public final class FakeRequest implements Request {
         return this.base.timeout(connect, read);
     }
 
+    @Override
+    public Request deadline(final Deadline deadline) {
+        return this.base.deadline(deadline);
+    }
+
+    @Override
+    public Deadline deadline() {
+        return this.base.deadline();
+    }
+
     @Override
     public Response fetch() throws IOException {
         return this.base.fetch();
@@ -5,7 +5,7 @@
 package com.jcabi.http.request;
 
 import com.jcabi.aspects.Immutable;
-import com.jcabi.aspects.Loggable;
+import com.jcabi.http.Deadline;
 import com.jcabi.http.ImmutableHeader;
 import com.jcabi.http.Request;
 import com.jcabi.http.RequestBody;
@@ -13,19 +13,29 @@ import com.jcabi.http.RequestURI;
 import com.jcabi.http.Response;
 import com.jcabi.http.Wire;
 import com.jcabi.immutable.Array;
+import com.jcabi.log.Logger;
 import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.net.HttpURLConnection;
+import java.net.InetAddress;
+import java.net.Proxy;
+import java.net.ProxySelector;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
 import java.net.URLConnection;
+import java.net.UnknownHostException;
 import java.util.Collection;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Pattern;
+import javax.net.ssl.HttpsURLConnection;
+import javax.net.ssl.SSLSocketFactory;
 import lombok.EqualsAndHashCode;
 import lombok.ToString;
 
@@ -45,7 +55,6 @@ import lombok.ToString;
 @Immutable
 @EqualsAndHashCode(of = "base")
 @ToString(of = "base")
-@Loggable(Loggable.DEBUG)
 @SuppressWarnings("PMD.TooManyMethods")
 public final class JdkRequest implements Request {
 
@@ -64,36 +73,53 @@ public final class JdkRequest implements Request {
             final int connect,
             final int read
         ) throws IOException {
+            final Deadline deadline = req.deadline();
             final HttpURLConnection conn = JdkRequest.openConnection(home);
+            final Closeable watch = deadline.watch(conn::disconnect);
+            final Phases phases = Phases.begin();
             try {
-                conn.setConnectTimeout(connect);
-                conn.setReadTimeout(read);
+                conn.setConnectTimeout(deadline.timeout(connect));
+                conn.setReadTimeout(deadline.timeout(read));
                 conn.setRequestMethod(method);
                 conn.setUseCaches(false);
                 conn.setInstanceFollowRedirects(false);
                 for (final Map.Entry<String, String> header : headers) {
                     conn.addRequestProperty(header.getKey(), header.getValue());
                 }
-                if (method.equals(Request.POST) || method.equals(Request.PUT)
-                    || method.equals(Request.PATCH)) {
-                    conn.setDoOutput(true);
-                    try (OutputStream output = conn.getOutputStream()) {
-                        this.writeFully(content, output);
+                final boolean output = method.equals(Request.POST)
+                    || method.equals(Request.PUT)
+                    || method.equals(Request.PATCH);
+                conn.setDoOutput(output);
+                JdkRequest.resolve(conn.getURL());
+                JdkRequest.timed(conn);
+                conn.connect();
+                phases.connected();
+                if (output) {
+                    try (OutputStream stream = conn.getOutputStream()) {
+                        this.writeFully(content, stream);
                     }
                 }
+                final int status = conn.getResponseCode();
+                phases.received();
                 return new DefaultResponse(
                     req,
-                    conn.getResponseCode(),
+                    status,
                     conn.getResponseMessage(),
                     this.headers(conn.getHeaderFields()),
-                    this.body(conn)
+                    this.body(conn),
+                    phases.end()
                 );
             } catch (final IOException exp) {
+                if (deadline.over()) {
+                    throw deadline.failure(exp);
+                }
                 throw new IOException(
                     String.format("Failed %s request to %s", method, home),
                     exp
                 );
             } finally {
+                phases.forget();
+                watch.close();
                 conn.disconnect();
             }
         }
@@ -170,6 +196,18 @@ public final class JdkRequest implements Request {
         }
     };
 
+    /**
+     * IPv4 address, which needs no resolution.
+     */
+    private static final Pattern ADDRESS =
+        Pattern.compile("\\d{1,3}(\\.\\d{1,3}){3}");
+
+    /**
+     * Factory of TLS sockets that wraps the default one.
+     */
+    private static final AtomicReference<TimedSocketFactory> SOCKETS =
+        new AtomicReference<>();
+
     /**
      * Base request.
      */
@@ -234,6 +272,16 @@ public final class JdkRequest implements Request {
         return this.base.timeout(connect, read);
     }
 
+    @Override
+    public Request deadline(final Deadline deadline) {
+        return this.base.deadline(deadline);
+    }
+
+    @Override
+    public Deadline deadline() {
+        return this.base.deadline();
+    }
+
     @Override
     public Response fetch() throws IOException {
         return this.base.fetch();
@@ -257,6 +305,76 @@ public final class JdkRequest implements Request {
         return this.base.through(wire);
     }
 
+    /**
+     * Resolve the name of the host in advance, in order to measure how
+     * long it takes.
+     *
+     * <p>The connection resolves it again, but gets the address from
+     * the cache of {@link InetAddress}. A name that can't be resolved is
+     * left to the connection. When the request goes through a proxy, the
+     * name is resolved by the proxy, and not here.
+     * @param url The URL
+     */
+    private static void resolve(final URL url) {
+        final String host = url.getHost();
+        if (!host.isEmpty() && host.charAt(0) != '['
+            && !JdkRequest.ADDRESS.matcher(host).matches()
+            && !JdkRequest.proxied(url)) {
+            Phases.resolving();
+            try {
+                InetAddress.getAllByName(host);
+                Phases.resolved();
+            } catch (final UnknownHostException ex) {
+                Logger.debug(
+                    JdkRequest.class, "Can't resolve %s: %s",
+                    host, ex.getMessage()
+                );
+            }
+        }
+    }
+
+    /**
+     * Does the connection to this URL go through a proxy, according to
+     * the default {@link ProxySelector}, which also knows about
+     * {@code http.proxyHost} and {@code https.proxyHost}?
+     * @param url The URL
+     * @return TRUE if it does
+     */
+    private static boolean proxied(final URL url) {
+        final ProxySelector selector = ProxySelector.getDefault();
+        boolean proxied = false;
+        if (selector != null) {
+            try {
+                final List<Proxy> proxies = selector.select(url.toURI());
+                proxied = proxies != null && !proxies.isEmpty()
+                    && proxies.get(0).type() != Proxy.Type.DIRECT;
+            } catch (final URISyntaxException | IllegalArgumentException ex) {
+                proxied = false;
+            }
+        }
+        return proxied;
+    }
+
+    /**
+     * Measure the TLS handshake of the connection, if it is HTTPS with
+     * the default factory of sockets.
+     * @param conn The connection
+     */
+    private static void timed(final HttpURLConnection conn) {
+        if (conn instanceof HttpsURLConnection) {
+            final HttpsURLConnection https = (HttpsURLConnection) conn;
+            final SSLSocketFactory factory = https.getSSLSocketFactory();
+            if (factory == HttpsURLConnection.getDefaultSSLSocketFactory()) {
+                TimedSocketFactory timed = JdkRequest.SOCKETS.get();
+                if (timed == null || !timed.wraps(factory)) {
+                    timed = new TimedSocketFactory(factory);
+                    JdkRequest.SOCKETS.set(timed);
+                }
+                https.setSSLSocketFactory(timed);
+            }
+        }
+    }
+
     /**
      * Open HTTP connection.
      * @param url URL.
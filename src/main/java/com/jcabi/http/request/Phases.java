@@ -0,0 +1,164 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.http.request;
+
+import com.jcabi.http.Timings;
+
+/**
+ * Moments when phases of a request end, turned into {@link Timings}.
+ *
+ * <p>Transports start it in the thread that sends the request. Name
+ * resolvers and socket factories, which know nothing about the request,
+ * mark the moments through the static methods, which do nothing when
+ * the thread doesn't send a request.
+ *
+ * <p>The class is not thread-safe, it is used by one thread only.
+ *
+ * @since 2.0
+ */
+final class Phases {
+
+    /**
+     * Phases of the request being sent by the current thread.
+     */
+    private static final ThreadLocal<Phases> CURRENT = new ThreadLocal<>();
+
+    /**
+     * When the request started.
+     */
+    private final transient long start;
+
+    /**
+     * When the name resolution started, or -1.
+     */
+    private transient long resolving;
+
+    /**
+     * When the name was resolved, or -1.
+     */
+    private transient long resolved;
+
+    /**
+     * When the TLS handshake started, or -1.
+     */
+    private transient long handshaking;
+
+    /**
+     * When the connection was ready, or -1.
+     */
+    private transient long ready;
+
+    /**
+     * When the first byte of the response arrived, or -1.
+     */
+    private transient long first;
+
+    /**
+     * Ctor.
+     * @param now Current time, in nanoseconds
+     */
+    private Phases(final long now) {
+        this.start = now;
+        this.resolving = -1L;
+        this.resolved = -1L;
+        this.handshaking = -1L;
+        this.ready = -1L;
+        this.first = -1L;
+    }
+
+    /**
+     * Start a request in the current thread.
+     * @return Phases of it
+     */
+    static Phases begin() {
+        final Phases phases = new Phases(System.nanoTime());
+        Phases.CURRENT.set(phases);
+        return phases;
+    }
+
+    /**
+     * Name resolution of the current request starts.
+     */
+    static void resolving() {
+        final Phases phases = Phases.CURRENT.get();
+        if (phases != null) {
+            phases.resolving = System.nanoTime();
+        }
+    }
+
+    /**
+     * Name of the current request is resolved.
+     */
+    static void resolved() {
+        final Phases phases = Phases.CURRENT.get();
+        if (phases != null) {
+            phases.resolved = System.nanoTime();
+        }
+    }
+
+    /**
+     * TLS handshake of the current request starts.
+     */
+    static void handshaking() {
+        final Phases phases = Phases.CURRENT.get();
+        if (phases != null) {
+            phases.handshaking = System.nanoTime();
+        }
+    }
+
+    /**
+     * The connection is ready, the request is about to be sent.
+     */
+    void connected() {
+        this.ready = System.nanoTime();
+    }
+
+    /**
+     * The status line and headers of the response arrived.
+     */
+    void received() {
+        this.first = System.nanoTime();
+    }
+
+    /**
+     * The request is over, successfully or not.
+     */
+    void forget() {
+        Phases.CURRENT.remove();
+    }
+
+    /**
+     * The response is read.
+     * @return Timings
+     */
+    Timings end() {
+        final long now = System.nanoTime();
+        long dns = -1L;
+        long since = this.start;
+        if (this.resolving >= 0L && this.resolved >= 0L) {
+            dns = this.resolved - this.resolving;
+            since = this.resolved;
+        }
+        long connect = -1L;
+        long tls = -1L;
+        if (this.ready >= 0L) {
+            if (this.handshaking >= 0L) {
+                connect = this.handshaking - since;
+                tls = this.ready - this.handshaking;
+            } else {
+                connect = this.ready - since;
+            }
+        }
+        long wait = -1L;
+        long download = -1L;
+        if (this.first >= 0L) {
+            if (this.ready >= 0L) {
+                wait = this.first - this.ready;
+            }
+            download = now - this.first;
+        }
+        return new Timings(dns, connect, tls, wait, download);
+    }
+}
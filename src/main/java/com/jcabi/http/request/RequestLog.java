@@ -0,0 +1,443 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.http.request;
+
+import com.jcabi.http.Timings;
+import com.jcabi.log.Logger;
+import com.jcabi.log.VerboseThreads;
+import java.io.Closeable;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import lombok.ToString;
+
+/**
+ * Log of requests fetched by {@link BaseRequest}, written by a background
+ * thread.
+ *
+ * <p>The thread that fetches a request only fills an event, taken from a
+ * ring of events made in advance, and goes on; the background thread
+ * passes events to the {@link RequestLog.Sink} one by one. When the ring
+ * is full, new events are dropped and counted, see {@link #dropped()}.
+ * Only a share of successful requests is logged, if the rate is below
+ * one, while failures and server errors are always logged:
+ *
+ * <pre> RequestLog.install(
+ *   new RequestLog(
+ *     0.01d, 4096,
+ *     event -&gt; System.out.printf(
+ *       "%s %s %d%n", event.method(), event.home(), event.status()
+ *     )
+ *   )
+ * );</pre>
+ *
+ * <p>By default, all requests are logged through {@link Logger} at the
+ * INFO level, as they always were, see {@link #RequestLog()}. However,
+ * unlike before, no more than 4096 lines wait to be written: during a
+ * burst of requests, lines beyond that are dropped. The writer thread of
+ * the default log starts when the class is loaded and sleeps until
+ * there is something to write.
+ * {@code RequestLog.install(null)} turns the log off completely: requests
+ * then don't even look at the clock.
+ *
+ * <p>The class is thread-safe and lock-free, except the sink, which is
+ * called from one thread only.
+ *
+ * @since 2.0
+ */
+@ToString(of = { "rate", "mask" })
+@SuppressWarnings("PMD.TooManyMethods")
+public final class RequestLog implements Closeable {
+
+    /**
+     * The log used by all requests, or NULL if it is off.
+     */
+    private static volatile RequestLog active = new RequestLog();
+
+    /**
+     * Share of successful requests to log.
+     */
+    private final transient double rate;
+
+    /**
+     * Ring of events.
+     */
+    private final transient RequestLog.Event[] ring;
+
+    /**
+     * Mask of the position in the ring.
+     */
+    private final transient int mask;
+
+    /**
+     * Where events go.
+     */
+    private final transient RequestLog.Sink sink;
+
+    /**
+     * Number of events taken by requests.
+     */
+    private final transient AtomicLong head;
+
+    /**
+     * Number of events written by the writer.
+     */
+    private volatile long tail;
+
+    /**
+     * Number of events dropped.
+     */
+    private final transient LongAdder lost;
+
+    /**
+     * Background thread that writes events.
+     */
+    private final transient Thread writer;
+
+    /**
+     * Is the writer sleeping?
+     */
+    private volatile boolean sleeping;
+
+    /**
+     * Is it closed?
+     */
+    private volatile boolean closed;
+
+    /**
+     * Public ctor, of the log of all requests through {@link Logger}.
+     */
+    public RequestLog() {
+        // @checkstyle MagicNumber (1 line)
+        this(1.0d, 4096, new RequestLog.Logged());
+    }
+
+    /**
+     * Public ctor.
+     * @param share Share of successful requests to log, from zero to one
+     * @param capacity Maximum number of events waiting to be written
+     * @param snk Where events go
+     */
+    public RequestLog(final double share, final int capacity,
+        final RequestLog.Sink snk) {
+        this.rate = share;
+        int size = 1;
+        while (size < capacity && size < 1 << 30) {
+            size <<= 1;
+        }
+        this.ring = new RequestLog.Event[size];
+        for (int idx = 0; idx < size; ++idx) {
+            this.ring[idx] = new RequestLog.Event();
+        }
+        this.mask = size - 1;
+        this.sink = snk;
+        this.head = new AtomicLong();
+        this.lost = new LongAdder();
+        this.writer = new VerboseThreads(RequestLog.class)
+            .newThread(this::write);
+        this.writer.start();
+    }
+
+    /**
+     * Use this log for all requests, closing the one used before.
+     * @param log The log, or NULL to turn logging off
+     */
+    @SuppressWarnings("PMD.ProhibitPublicStaticMethods")
+    public static void install(final RequestLog log) {
+        final RequestLog before = RequestLog.active;
+        RequestLog.active = log;
+        if (before != null && before != log) {
+            before.close();
+        }
+    }
+
+    /**
+     * The log used by all requests.
+     * @return The log, or NULL if logging is off
+     */
+    static RequestLog active() {
+        return RequestLog.active;
+    }
+
+    /**
+     * Number of events dropped because the ring was full.
+     * @return Number of events
+     */
+    public long dropped() {
+        return this.lost.sum();
+    }
+
+    /**
+     * Stop the writer, after it writes the events it has.
+     */
+    @Override
+    public void close() {
+        this.closed = true;
+        LockSupport.unpark(this.writer);
+        if (Thread.currentThread() != this.writer) {
+            try {
+                this.writer.join(TimeUnit.SECONDS.toMillis(1L));
+            } catch (final InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Log a request.
+     * @param method HTTP method
+     * @param home URI of the request
+     * @param status HTTP status, or zero if failed
+     * @param reason Reason phrase, or a message of the failure
+     * @param nanos Duration, in nanoseconds
+     * @param timings Phases of the request
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    void record(final String method, final String home, final int status,
+        final String reason, final long nanos, final Timings timings) {
+        if (status == 0 || status >= HttpURLConnection.HTTP_INTERNAL_ERROR
+            || this.rate >= 1.0d
+            || ThreadLocalRandom.current().nextDouble() < this.rate) {
+            final long seq = this.claim();
+            if (seq < 0L) {
+                this.lost.increment();
+            } else {
+                final RequestLog.Event event =
+                    this.ring[(int) seq & this.mask];
+                event.method = method;
+                event.home = home;
+                event.status = status;
+                event.reason = reason;
+                event.nanos = nanos;
+                event.timings = timings;
+                event.published = seq + 1L;
+                if (this.sleeping) {
+                    LockSupport.unpark(this.writer);
+                }
+            }
+        }
+    }
+
+    /**
+     * Take the next event of the ring.
+     * @return Its sequence number, or -1 if the ring is full or closed
+     */
+    private long claim() {
+        long seq = -1L;
+        while (!this.closed) {
+            final long next = this.head.get();
+            if (next - this.tail >= this.ring.length) {
+                break;
+            }
+            if (this.head.compareAndSet(next, next + 1L)) {
+                seq = next;
+                break;
+            }
+        }
+        return seq;
+    }
+
+    /**
+     * Write events until closed.
+     */
+    private void write() {
+        while (!this.closed || this.tail < this.head.get()) {
+            final RequestLog.Event event =
+                this.ring[(int) this.tail & this.mask];
+            if (event.published == this.tail + 1L) {
+                try {
+                    this.sink.write(event);
+                // @checkstyle IllegalCatchCheck (1 line)
+                } catch (final RuntimeException ex) {
+                    Logger.warn(
+                        this, "Sink of request log failed: %[exception]s", ex
+                    );
+                }
+                event.clear();
+                this.tail = this.tail + 1L;
+            } else {
+                this.sleeping = true;
+                if (event.published != this.tail + 1L && !this.closed) {
+                    LockSupport.park(this);
+                }
+                this.sleeping = false;
+            }
+        }
+    }
+
+    /**
+     * Where events of the log go.
+     *
+     * @since 2.0
+     */
+    @FunctionalInterface
+    public interface Sink {
+        /**
+         * Write an event, which is reused as soon as the method returns,
+         * so it must not be kept.
+         * @param event The event
+         */
+        void write(RequestLog.Event event);
+    }
+
+    /**
+     * One request in the log, reused for many requests.
+     *
+     * @since 2.0
+     */
+    @ToString(of = { "method", "home", "status", "nanos" })
+    public static final class Event {
+
+        /**
+         * Sequence number of the event plus one, when it is ready.
+         */
+        private volatile long published;
+
+        /**
+         * HTTP method.
+         */
+        private transient String method;
+
+        /**
+         * URI of the request.
+         */
+        private transient String home;
+
+        /**
+         * HTTP status, or zero.
+         */
+        private transient int status;
+
+        /**
+         * Reason phrase or message of the failure.
+         */
+        private transient String reason;
+
+        /**
+         * Duration, in nanoseconds.
+         */
+        private transient long nanos;
+
+        /**
+         * Phases of the request.
+         */
+        private transient Timings timings;
+
+        /**
+         * Ctor.
+         */
+        Event() {
+            this.clear();
+        }
+
+        /**
+         * HTTP method.
+         * @return Method
+         */
+        public String method() {
+            return this.method;
+        }
+
+        /**
+         * URI of the request.
+         * @return URI
+         */
+        public String home() {
+            return this.home;
+        }
+
+        /**
+         * HTTP status.
+         * @return Status, or zero if the request failed
+         */
+        public int status() {
+            return this.status;
+        }
+
+        /**
+         * Reason phrase of the response, or the message of the failure.
+         * @return Text
+         */
+        public String reason() {
+            return this.reason;
+        }
+
+        /**
+         * Did the request fail without a response?
+         * @return TRUE if failed
+         */
+        public boolean failed() {
+            return this.status == 0;
+        }
+
+        /**
+         * Duration of the request.
+         * @return Nanoseconds
+         */
+        public long nanos() {
+            return this.nanos;
+        }
+
+        /**
+         * Phases of the request.
+         * @return Timings
+         */
+        public Timings timings() {
+            return this.timings;
+        }
+
+        /**
+         * Forget the request, so that nothing is kept from being
+         * collected.
+         */
+        private void clear() {
+            this.method = "";
+            this.home = "";
+            this.status = 0;
+            this.reason = "";
+            this.nanos = 0L;
+            this.timings = Timings.UNKNOWN;
+        }
+    }
+
+    /**
+     * Sink that writes to {@link Logger}, as requests always did.
+     *
+     * @since 2.0
+     */
+    private static final class Logged implements RequestLog.Sink {
+        @Override
+        public void write(final RequestLog.Event event) {
+            if (Logger.isInfoEnabled(BaseRequest.class)) {
+                final URI uri = URI.create(event.home());
+                final String port;
+                if (uri.getPort() > 0) {
+                    port = String.format(":%d", uri.getPort());
+                } else {
+                    port = "";
+                }
+                if (event.failed()) {
+                    Logger.info(
+                        BaseRequest.class,
+                        "#fetch(%s %s%s %s): failed in %[nano]s: %s",
+                        event.method(), uri.getHost(), port, uri.getPath(),
+                        event.nanos(), event.reason()
+                    );
+                } else {
+                    Logger.info(
+                        BaseRequest.class,
+                        "#fetch(%s %s%s %s): [%d %s] in %[nano]s",
+                        event.method(), uri.getHost(), port, uri.getPath(),
+                        event.status(), event.reason(), event.nanos()
+                    );
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.http.request;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.Socket;
+import javax.net.ssl.HttpsURLConnection;
+import javax.net.ssl.SSLSocketFactory;
+
+/**
+ * Factory of TLS sockets that marks the start of a handshake,
+ * see {@link Phases}.
+ *
+ * <p>It doesn't make unconnected sockets, so that
+ * {@link HttpsURLConnection} first connects a plain socket and then asks
+ * the factory to layer TLS over it, which is the moment the handshake
+ * starts. The same instance must be used for all connections, since
+ * connections are kept alive and reused only with the same factory.
+ *
+ * <p>The class is immutable and thread-safe.
+ *
+ * @since 2.0
+ */
+final class TimedSocketFactory extends SSLSocketFactory {
+
+    /**
+     * Original factory.
+     */
+    private final transient SSLSocketFactory origin;
+
+    /**
+     * Ctor.
+     * @param factory Original factory
+     */
+    TimedSocketFactory(final SSLSocketFactory factory) {
+        super();
+        this.origin = factory;
+    }
+
+    /**
+     * Is it a wrapper of this factory?
+     * @param factory The factory
+     * @return TRUE if it wraps this very factory
+     */
+    boolean wraps(final SSLSocketFactory factory) {
+        return this.origin == factory;
+    }
+
+    @Override
+    public String[] getDefaultCipherSuites() {
+        return this.origin.getDefaultCipherSuites();
+    }
+
+    @Override
+    public String[] getSupportedCipherSuites() {
+        return this.origin.getSupportedCipherSuites();
+    }
+
+    // @checkstyle ParameterNumber (3 lines)
+    @Override
+    public Socket createSocket(final Socket socket, final String host,
+        final int port, final boolean close) throws IOException {
+        Phases.handshaking();
+        return this.origin.createSocket(socket, host, port, close);
+    }
+
+    @Override
+    public Socket createSocket(final String host, final int port)
+        throws IOException {
+        return this.origin.createSocket(host, port);
+    }
+
+    // @checkstyle ParameterNumber (3 lines)
+    @Override
+    public Socket createSocket(final String host, final int port,
+        final InetAddress local, final int lport) throws IOException {
+        return this.origin.createSocket(host, port, local, lport);
+    }
+
+    @Override
+    public Socket createSocket(final InetAddress host, final int port)
+        throws IOException {
+        return this.origin.createSocket(host, port);
+    }
+
+    // @checkstyle ParameterNumber (3 lines)
+    @Override
+    public Socket createSocket(final InetAddress host, final int port,
+        final InetAddress local, final int lport) throws IOException {
+        return this.origin.createSocket(host, port, local, lport);
+    }
+}
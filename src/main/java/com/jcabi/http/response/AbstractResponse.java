@@ -7,6 +7,7 @@ package com.jcabi.http.response;
 import com.jcabi.aspects.Immutable;
 import com.jcabi.http.Request;
 import com.jcabi.http.Response;
+import com.jcabi.http.Timings;
 import java.util.List;
 import java.util.Map;
 import lombok.EqualsAndHashCode;
@@ -68,6 +69,11 @@ abstract class AbstractResponse implements Response {
         return this.response.binary();
     }
 
+    @Override
+    public final Timings timings() {
+        return this.response.timings();
+    }
+
     // @checkstyle MethodName (4 lines)
     @Override
     @SuppressWarnings("PMD.ShortMethodName")
@@ -75,4 +81,20 @@ abstract class AbstractResponse implements Response {
         return this.response.as(type);
     }
 
+    /**
+     * Representations kept by the decorated response.
+     * @return Representations or NULL if the response doesn't keep them
+     */
+    final Representations representations() {
+        final Representations found;
+        if (this.response instanceof Representations) {
+            found = (Representations) this.response;
+        } else if (this.response instanceof AbstractResponse) {
+            found = ((AbstractResponse) this.response).representations();
+        } else {
+            found = null;
+        }
+        return found;
+    }
+
 }
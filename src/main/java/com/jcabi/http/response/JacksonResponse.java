@@ -12,17 +12,28 @@ import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.jcabi.aspects.Immutable;
 import com.jcabi.http.Response;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.Arrays;
 import lombok.EqualsAndHashCode;
 
 /**
  * A JSON response provided by the Jackson Project.
  *
+ * <p>If the response keeps parsed representations of its body (see
+ * {@link Representations}), the body is parsed only once, while every
+ * reader gets its own deep copy of the tree, since Jackson trees
+ * are mutable. Copying a tree is much cheaper than parsing.
+ *
  * @since 1.17
  */
 @Immutable
 @EqualsAndHashCode(callSuper = true)
 public final class JacksonResponse extends AbstractResponse {
+    /**
+     * Kind of the representation, see {@link Representations}.
+     */
+    private static final String KIND = "jackson";
+
     /**
      * Ctor.
      *
@@ -38,9 +49,42 @@ public final class JacksonResponse extends AbstractResponse {
      * @return JSON reader.
      */
     public JsonReader json() {
-        return new JsonReader(
-            this.binary()
-        );
+        final Representations kept = this.representations();
+        final JsonReader reader;
+        if (kept == null) {
+            reader = new JsonReader(
+                this.binary()
+            );
+        } else {
+            reader = new JsonReader(
+                () -> JacksonResponse.tree(kept).deepCopy()
+            );
+        }
+        return reader;
+    }
+
+    /**
+     * Get the tree parsed only once.
+     * @param kept Representations of the body
+     * @return The tree, which must not be modified
+     * @throws IOException If the body is not a valid JSON
+     */
+    private static JsonNode tree(final Representations kept)
+        throws IOException {
+        try {
+            return kept.parsed(
+                JacksonResponse.KIND,
+                body -> {
+                    try {
+                        return JsonReader.MAPPER.readTree(body);
+                    } catch (final IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                }
+            );
+        } catch (final UncheckedIOException ex) {
+            throw ex.getCause();
+        }
     }
 
     /**
@@ -57,9 +101,9 @@ public final class JacksonResponse extends AbstractResponse {
             .enable(JsonReadFeature.ALLOW_UNESCAPED_CONTROL_CHARS.mappedFeature());
 
         /**
-         * Response body.
+         * Source of the tree.
          */
-        private final transient byte[] body;
+        private final transient JacksonResponse.Tree source;
 
         /**
          * Public constructor.
@@ -67,7 +111,16 @@ public final class JacksonResponse extends AbstractResponse {
          * @param bytes The HTTP response body as an array of bytes.
          */
         public JsonReader(final byte[] bytes) {
-            this.body = Arrays.copyOf(bytes, bytes.length);
+            this(JsonReader.parser(Arrays.copyOf(bytes, bytes.length)));
+        }
+
+        /**
+         * Ctor.
+         *
+         * @param tree Source of the tree
+         */
+        private JsonReader(final JacksonResponse.Tree tree) {
+            this.source = tree;
         }
 
         /**
@@ -111,7 +164,31 @@ public final class JacksonResponse extends AbstractResponse {
          * @throws IOException If the body is not a valid JSON.
          */
         public JsonNode read() throws IOException {
-            return MAPPER.readTree(this.body);
+            return this.source.read();
         }
+
+        /**
+         * Make a source, which parses the body every time.
+         *
+         * @param body The body
+         * @return Source of the tree
+         */
+        private static JacksonResponse.Tree parser(final byte[] body) {
+            return () -> JsonReader.MAPPER.readTree(body);
+        }
+    }
+
+    /**
+     * Source of a JSON tree.
+     *
+     * @since 2.0
+     */
+    private interface Tree {
+        /**
+         * Read the tree.
+         * @return JSON node
+         * @throws IOException If the body is not a valid JSON
+         */
+        JsonNode read() throws IOException;
     }
 }
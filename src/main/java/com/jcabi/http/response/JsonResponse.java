@@ -8,6 +8,7 @@ import com.jcabi.aspects.Immutable;
 import com.jcabi.http.Response;
 import jakarta.json.Json;
 import jakarta.json.JsonArray;
+import jakarta.json.JsonException;
 import jakarta.json.JsonObject;
 import jakarta.json.JsonReader;
 import jakarta.json.JsonStructure;
@@ -32,6 +33,10 @@ import lombok.EqualsAndHashCode;
  *   .readObject()
  *   .getString("name");</pre>
  *
+ * <p>If the response keeps parsed representations of its body (see
+ * {@link Representations}), the body is parsed only once and the same
+ * immutable {@link JsonStructure} is read every time.
+ *
  * <p>The class is immutable and thread-safe.
  *
  * @since 0.8
@@ -47,6 +52,11 @@ public final class JsonResponse extends AbstractResponse {
         "[\u0000-\u0008\u000e-\u001f\u007f-\uffff]"
     );
 
+    /**
+     * Kind of the representation, see {@link Representations}.
+     */
+    private static final String KIND = "jakarta.json";
+
     /**
      * Public ctor.
      * @param resp Response
@@ -73,9 +83,23 @@ public final class JsonResponse extends AbstractResponse {
      * @return Json reader
      */
     public JsonReader json() {
-        final byte[] body = this.binary();
-        final String json;
-        json = new String(body, StandardCharsets.UTF_8);
+        final Representations kept = this.representations();
+        final JsonReader reader;
+        if (kept == null) {
+            reader = JsonResponse.reader(this.binary());
+        } else {
+            reader = new JsonResponse.ParsedReader(kept);
+        }
+        return reader;
+    }
+
+    /**
+     * Make a reader of the body.
+     * @param body The body
+     * @return Json reader
+     */
+    private static JsonReader reader(final byte[] body) {
+        final String json = new String(body, StandardCharsets.UTF_8);
         return new JsonResponse.VerboseReader(
             Json.createReader(
                 new StringReader(
@@ -172,4 +196,54 @@ public final class JsonResponse extends AbstractResponse {
         }
     }
 
+    /**
+     * Reader of a JSON structure parsed only once.
+     *
+     * @since 2.0
+     */
+    private static final class ParsedReader implements JsonReader {
+
+        /**
+         * Representations of the body.
+         */
+        private final transient Representations kept;
+
+        /**
+         * Ctor.
+         * @param reps Representations of the body
+         */
+        ParsedReader(final Representations reps) {
+            this.kept = reps;
+        }
+
+        @Override
+        public JsonObject readObject() {
+            final JsonStructure json = this.read();
+            if (!(json instanceof JsonObject)) {
+                throw new JsonException("JSON is not an object");
+            }
+            return (JsonObject) json;
+        }
+
+        @Override
+        public JsonArray readArray() {
+            final JsonStructure json = this.read();
+            if (!(json instanceof JsonArray)) {
+                throw new JsonException("JSON is not an array");
+            }
+            return (JsonArray) json;
+        }
+
+        @Override
+        public JsonStructure read() {
+            return this.kept.parsed(
+                JsonResponse.KIND, body -> JsonResponse.reader(body).read()
+            );
+        }
+
+        @Override
+        public void close() {
+            // nothing to close
+        }
+    }
 }
@@ -33,6 +33,9 @@ import org.jsoup.nodes.Entities;
  *  <li>Basic structure is guaranteed (i.e. html, head, body elements)
  * </ul>
  *
+ * <p>If the response keeps parsed representations of its body (see
+ * {@link Representations}), the HTML is cleaned only once.
+ *
  * <p>The class is immutable and thread-safe.
  *
  * @see <a href="http://jsoup.org/">Jsoup website</a>
@@ -42,6 +45,11 @@ import org.jsoup.nodes.Entities;
 @EqualsAndHashCode(callSuper = true)
 public final class JsoupResponse extends AbstractResponse {
 
+    /**
+     * Kind of the representation, see {@link Representations}.
+     */
+    private static final String KIND = "jsoup";
+
     /**
      * Public ctor.
      * @param resp Response
@@ -52,7 +60,25 @@ public final class JsoupResponse extends AbstractResponse {
 
     @Override
     public String body() {
-        final Document html = Jsoup.parse(super.body());
+        final Representations kept = this.representations();
+        final String body;
+        if (kept == null) {
+            body = JsoupResponse.clean(super.body());
+        } else {
+            body = kept.parsed(
+                JsoupResponse.KIND, bytes -> JsoupResponse.clean(super.body())
+            );
+        }
+        return body;
+    }
+
+    /**
+     * Parse the HTML and print it back, cleaned.
+     * @param text The HTML
+     * @return Clean HTML
+     */
+    private static String clean(final String text) {
+        final Document html = Jsoup.parse(text);
         html.outputSettings().syntax(Document.OutputSettings.Syntax.xml);
         html.outputSettings().escapeMode(Entities.EscapeMode.xhtml);
         return html.html();
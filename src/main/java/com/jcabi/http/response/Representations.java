@@ -0,0 +1,40 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.http.response;
+
+import java.util.function.Function;
+
+/**
+ * Response that keeps representations parsed from its body, for example
+ * a JSON structure or an XML document, so that the body is parsed only
+ * once.
+ *
+ * <p>Decorators of this package, such as {@link JsonResponse},
+ * {@link JacksonResponse}, {@link XmlResponse} and {@link JsoupResponse},
+ * use the representations kept by the response they decorate, if it
+ * implements this interface. Caching wires may keep such responses,
+ * see {@code com.jcabi.http.wire.BodyStorage#PARSED}.
+ *
+ * <p>Representations are shared by all readers of the response, so they
+ * must be immutable, or must be copied before they are given out.
+ *
+ * @since 2.0
+ */
+public interface Representations {
+
+    /**
+     * Get the representation of the body, parsing the body if the
+     * representation is not there yet.
+     *
+     * <p>If the parser fails, nothing is kept and the exception is
+     * thrown to the caller.
+     *
+     * @param kind Kind of the representation, for example "jackson"
+     * @param parser Parser of the body
+     * @param <T> Type of the representation
+     * @return The representation
+     */
+    <T> T parsed(String kind, Function<byte[], T> parser);
+}
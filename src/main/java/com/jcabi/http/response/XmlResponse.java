@@ -16,6 +16,7 @@ import java.net.URI;
 import java.util.Map;
 import javax.xml.namespace.NamespaceContext;
 import lombok.EqualsAndHashCode;
+import org.w3c.dom.Node;
 
 /**
  * XML response.
@@ -46,6 +47,11 @@ import lombok.EqualsAndHashCode;
  *   .fetch()
  *   .body();</pre>
  *
+ * <p>If the response keeps parsed representations of its body (see
+ * {@link Representations}), the body is parsed only once, while every
+ * call to {@link #xml()} gets its own deep copy of the DOM, since DOM
+ * is mutable. Copying a DOM is much cheaper than parsing.
+ *
  * <p>The class is immutable and thread-safe.
  *
  * @since 0.8
@@ -54,6 +60,11 @@ import lombok.EqualsAndHashCode;
 @EqualsAndHashCode(callSuper = true)
 public final class XmlResponse extends AbstractResponse {
 
+    /**
+     * Kind of the representation, see {@link Representations}.
+     */
+    private static final String KIND = "dom";
+
     /**
      * Map of namespaces.
      */
@@ -83,7 +94,21 @@ public final class XmlResponse extends AbstractResponse {
      * @return XML body
      */
     public XML xml() {
-        return new XMLDocument(this.body()).merge(this.context());
+        final Representations kept = this.representations();
+        final XML xml;
+        if (kept == null) {
+            xml = new XMLDocument(this.body());
+        } else {
+            final Node dom = kept.parsed(
+                XmlResponse.KIND, body -> new XMLDocument(this.body()).node()
+            );
+            final Node copy;
+            synchronized (dom) {
+                copy = dom.cloneNode(true);
+            }
+            xml = new XMLDocument(copy);
+        }
+        return xml.merge(this.context());
     }
 
     /**
@@ -7,16 +7,24 @@ package com.jcabi.http.wire;
 import com.jcabi.http.Request;
 import com.jcabi.http.Response;
 import com.jcabi.http.Wire;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.HttpURLConnection;
 import java.util.Collection;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
 
 /**
  * This is the base class to handle http responses with 304 state.
  *
+ * <p>The cache is bounded, the least recently used responses are evicted
+ * when there are too many of them or they take too much memory. Bodies
+ * of cached responses may be compressed and/or kept off the heap, and
+ * shared between responses with identical bodies, see
+ * {@link BodyStorage}.
+ *
  * @since 2.0
  */
 public abstract class AbstractHeaderBasedCachingWire implements Wire {
@@ -24,7 +32,17 @@ public abstract class AbstractHeaderBasedCachingWire implements Wire {
     /**
      * Cache.
      */
-    private final transient Map<Request, Response> cache;
+    private final transient BoundedCache<Fingerprint, Response> cache;
+
+    /**
+     * Fingerprints of requests, used as cache keys.
+     */
+    private final transient Fingerprints prints;
+
+    /**
+     * How bodies are kept in the cache.
+     */
+    private final transient BodyStorage storage;
 
     /**
      * Original wire.
@@ -51,10 +69,33 @@ public abstract class AbstractHeaderBasedCachingWire implements Wire {
     AbstractHeaderBasedCachingWire(
         final String scvh, final String cmch, final Wire wire
     ) {
+        this(scvh, cmch, wire, BodyStorage.HEAP);
+    }
+
+    /**
+     * Ctor.
+     * @param scvh Server Response Version Header name
+     * @param cmch Client Modification Check Header name
+     * @param wire Original wire
+     * @param bodies How to keep bodies of cached responses
+     */
+    AbstractHeaderBasedCachingWire(
+        final String scvh, final String cmch, final Wire wire,
+        final BodyStorage bodies
+    ) {
+        this.storage = bodies;
         this.scvh = scvh;
         this.cmch = cmch;
         this.origin = wire;
-        this.cache = new ConcurrentHashMap<>();
+        this.cache = new BoundedCache<>(
+            ConditionalCachingWire.ENTRIES, ConditionalCachingWire.BYTES,
+            CacheEntry::weight
+        );
+        this.prints = new Fingerprints();
+        CacheSnapshot.register(
+            this.getClass().getSimpleName(), this.cache,
+            AbstractHeaderBasedCachingWire::dump
+        );
     }
 
     // @checkstyle ParameterNumber (3 lines)
@@ -96,22 +137,64 @@ public abstract class AbstractHeaderBasedCachingWire implements Wire {
         final Collection<Map.Entry<String, String>> headers,
         final InputStream content, final int connect, final int read
     ) throws IOException {
+        final byte[] body = Fingerprints.bytes(content);
+        final Fingerprint key = this.prints.of(method, home, headers, body);
+        final Response cached = this.cached(key, req);
         final Response rsp;
-        if (this.cache.containsKey(req)) {
-            rsp = this.validateCacheWithServer(
-                req, home, method, headers, content, connect, read
+        if (cached == null) {
+            rsp = this.origin.send(
+                req, home, method, headers,
+                new ByteArrayInputStream(body), connect, read
             );
         } else {
-            rsp = this.origin.send(
-                req, home, method, headers, content, connect, read
+            rsp = this.validateCacheWithServer(
+                cached, req, home, method, headers,
+                new ByteArrayInputStream(body), connect, read
+            );
+        }
+        if (rsp != cached) {
+            this.updateCache(
+                key, this.prints.learn(key, rsp, headers, body), rsp
             );
-            this.updateCache(req, rsp);
         }
         return rsp;
     }
 
     /**
-     * Check response and update cache or evict from cache if needed.
+     * Find the response in cache or in the snapshot restored.
+     * @param key Fingerprint of the request
+     * @param req Request
+     * @return Response or NULL if absent
+     */
+    private Response cached(final Fingerprint key, final Request req) {
+        Response cached = this.cache.get(key);
+        if (cached == null) {
+            final CacheEntry warm = CacheSnapshot.find(
+                this.getClass().getSimpleName(), key, req
+            );
+            if (warm != null) {
+                cached = this.storage.stored(warm.response());
+                this.cache.put(key, cached);
+            }
+        }
+        return cached;
+    }
+
+    /**
+     * Send all entries of the cache to the sink.
+     * @param cache The cache
+     * @param sink The sink
+     */
+    private static void dump(final BoundedCache<Fingerprint, Response> cache,
+        final BiConsumer<Fingerprint, CacheEntry> sink) {
+        for (final Map.Entry<Fingerprint, Response> ent : cache.entries()) {
+            sink.accept(ent.getKey(), new CacheEntry(ent.getValue(), 0L));
+        }
+    }
+
+    /**
+     * Check response with the server.
+     * @param cached Response found in cache
      * @param req Request
      * @param home URI to fetch
      * @param method HTTP method
@@ -123,12 +206,11 @@ public abstract class AbstractHeaderBasedCachingWire implements Wire {
      * @throws IOException if fails
      * @checkstyle ParameterNumber (8 lines)
      */
-    private Response validateCacheWithServer(
+    private Response validateCacheWithServer(final Response cached,
         final Request req, final String home, final String method,
         final Collection<Map.Entry<String, String>> headers,
         final InputStream content, final int connect, final int read
     ) throws IOException {
-        final Response cached = this.cache.get(req);
         final Collection<Map.Entry<String, String>> hdrs = this.enrich(
             headers, cached
         );
@@ -137,22 +219,27 @@ public abstract class AbstractHeaderBasedCachingWire implements Wire {
         );
         if (result.status() == HttpURLConnection.HTTP_NOT_MODIFIED) {
             result = cached;
-        } else {
-            this.updateCache(req, result);
         }
         return result;
     }
 
     /**
-     * Add, update or evict response in cache.
-     * @param req The request to be used as key
+     * Add, update or evict response in cache. Responses with
+     * {@code Vary: *} are never added.
+     * @param key The key the response was looked up with
+     * @param learnt The key to store the response with
      * @param rsp The response to add/update
      */
-    private void updateCache(final Request req, final Response rsp) {
-        if (rsp.headers().containsKey(this.scvh)) {
-            this.cache.put(req, rsp);
+    private void updateCache(final Fingerprint key, final Fingerprint learnt,
+        final Response rsp) {
+        if (!learnt.equals(key)) {
+            this.cache.remove(key);
+        }
+        if (rsp.headers().containsKey(this.scvh)
+            && !Fingerprints.wildcard(rsp)) {
+            this.cache.put(learnt, this.storage.stored(rsp));
         } else if (rsp.status() == HttpURLConnection.HTTP_OK) {
-            this.cache.remove(req);
+            this.cache.remove(learnt);
         }
     }
 
@@ -5,18 +5,20 @@
 package com.jcabi.http.wire;
 
 import com.jcabi.aspects.Immutable;
+import com.jcabi.http.ReplayableStream;
 import com.jcabi.http.Request;
 import com.jcabi.http.Response;
 import com.jcabi.http.Wire;
+import com.jcabi.http.jfr.Flight;
 import jakarta.ws.rs.core.HttpHeaders;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.HttpURLConnection;
 import java.net.URI;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.TimeUnit;
 import lombok.EqualsAndHashCode;
 import lombok.ToString;
 
@@ -24,13 +26,24 @@ import lombok.ToString;
  * Auto Redirecting Wire.
  *
  * <p>This wire will retry a request a certain number of times (default: 5)
- * after a short delay when a HTTP response with a status code of 300-399 is
- * received. On every next attempt a new URL will be used, according
- * to the value of {@code Location} HTTP header of the response.
+ * when a HTTP response with a status code of 300-399 is received. On every
+ * next attempt a new URL will be used, according to the value of
+ * {@code Location} HTTP header of the response, relative to the URL of
+ * the previous attempt.
  *
  * <p>If the maximum number of retries are reached, the last response
  * received is returned to the caller, regardless of its status code.
  *
+ * <p>After {@code 303 See Other} the request is sent as {@code GET},
+ * without a body. After other redirects, including {@code 307} and
+ * {@code 308}, the method and the body stay the same. The body of the
+ * request is sent again on every attempt, without copying, if it is a
+ * {@link ReplayableStream}, otherwise it is read into memory first.
+ *
+ * <p>Permanent redirects, {@code 301} and {@code 308}, are remembered
+ * (up to a thousand of them, shared by all instances of the wire), and
+ * next requests to the same URL go straight to the new location.
+ *
  * <pre> String html = new JdkRequest("http://goggle.com")
  *   .through(AutoRedirectingWire.class)
  *   .header(HttpHeaders.ACCEPT, MediaType.TEXT_PLAIN)
@@ -45,6 +58,19 @@ import lombok.ToString;
 @ToString(of = "origin")
 @EqualsAndHashCode(of = { "origin", "max" })
 public final class AutoRedirectingWire implements Wire {
+
+    /**
+     * HTTP status code "Permanent Redirect".
+     */
+    private static final int PERMANENT = 308;
+
+    /**
+     * Permanent redirects, new locations by old URLs.
+     */
+    private static final BoundedCache<String, String> MOVED =
+        // @checkstyle MagicNumber (1 line)
+        new BoundedCache<>(1000, Long.MAX_VALUE, location -> 1L);
+
     /**
      * Original wire.
      */
@@ -81,14 +107,18 @@ public final class AutoRedirectingWire implements Wire {
         final InputStream content,
         final int connect,
         final int read) throws IOException {
+        ReplayableStream body = ReplayableStream.of(content);
+        String target = AutoRedirectingWire.moved(home, this.max);
+        String verb = method;
+        Collection<Map.Entry<String, String>> hdrs = headers;
         Response response = this.origin.send(
-            req, home, method, headers, content, connect, read
+            req, target, verb, hdrs, body.replay(), connect, read
         );
         int attempt = 1;
-        final URI uri = URI.create(home);
         while (attempt < this.max) {
-            if (response.status() < HttpURLConnection.HTTP_MULT_CHOICE
-                || response.status() >= HttpURLConnection.HTTP_BAD_REQUEST) {
+            final int status = response.status();
+            if (status < HttpURLConnection.HTTP_MULT_CHOICE
+                || status >= HttpURLConnection.HTTP_BAD_REQUEST) {
                 break;
             }
             final List<String> locations = response.headers().get(
@@ -97,22 +127,63 @@ public final class AutoRedirectingWire implements Wire {
             if (locations == null || locations.size() != 1) {
                 break;
             }
-            URI location = URI.create(locations.get(0));
-            if (!location.isAbsolute()) {
-                location = uri.resolve(location);
+            final String location = URI.create(target)
+                .resolve(URI.create(locations.get(0))).toString();
+            if (status == HttpURLConnection.HTTP_MOVED_PERM
+                || status == AutoRedirectingWire.PERMANENT) {
+                AutoRedirectingWire.MOVED.put(target, location);
             }
+            if (status == HttpURLConnection.HTTP_SEE_OTHER) {
+                verb = Request.GET;
+                hdrs = AutoRedirectingWire.bodiless(hdrs);
+                body = new ReplayableStream(new byte[0]);
+            }
+            Flight.redirect(verb, target, location, status, attempt);
+            target = location;
+            req.deadline().check();
             response = this.origin.send(
-                req, location.toString(),
-                method, headers, content, connect, read
+                req, target, verb, hdrs, body.replay(), connect, read
             );
-            try {
-                TimeUnit.SECONDS.sleep((long) attempt);
-            } catch (final InterruptedException ex) {
-                throw new IOException(ex);
-            }
             ++attempt;
         }
         return response;
     }
 
+    /**
+     * Follow remembered permanent redirects.
+     * @param home URL
+     * @param hops Maximum number of redirects to follow
+     * @return The URL where it is moved to
+     */
+    private static String moved(final String home, final int hops) {
+        String target = home;
+        String location = AutoRedirectingWire.MOVED.get(target);
+        int hop = 0;
+        while (location != null && hop < hops) {
+            target = location;
+            location = AutoRedirectingWire.MOVED.get(target);
+            ++hop;
+        }
+        return target;
+    }
+
+    /**
+     * Headers without the ones that describe the body.
+     * @param headers Headers
+     * @return Headers of a request without a body
+     */
+    private static Collection<Map.Entry<String, String>> bodiless(
+        final Collection<Map.Entry<String, String>> headers) {
+        final Collection<Map.Entry<String, String>> hdrs =
+            new ArrayList<>(headers.size());
+        for (final Map.Entry<String, String> header : headers) {
+            if (!HttpHeaders.CONTENT_TYPE.equalsIgnoreCase(header.getKey())
+                && !HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(
+                    header.getKey()
+                )) {
+                hdrs.add(header);
+            }
+        }
+        return hdrs;
+    }
 }
@@ -0,0 +1,453 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.http.wire;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.ToString;
+
+/**
+ * Endpoints of a replicated service and the state of each of them,
+ * shared by many {@link BalancingWire}s.
+ *
+ * <p>Every request goes to one endpoint, chosen by the policy:
+ * {@link Balancer.Policy#ROUND_ROBIN} takes them in turn,
+ * {@link Balancer.Policy#LEAST_OUTSTANDING} takes the one with the fewest
+ * requests in flight, and {@link Balancer.Policy#TWO_CHOICES}, the default,
+ * takes two random endpoints and picks the one with the lower cost,
+ * which is its moving average of response times multiplied by the number
+ * of its requests in flight. A failed request counts in the average as
+ * at least as long as the threshold of slow requests, so that an
+ * endpoint that fails fast doesn't look the cheapest.
+ *
+ * <p>A request fails if it throws {@link java.io.IOException}, returns
+ * a status code between 500 and 599, or takes longer than the threshold.
+ * When an endpoint fails a number of times in a row, it is ejected and
+ * gets no requests for a while. The time grows with every next
+ * ejection, up to ten times longer, and goes back to normal after
+ * a success.
+ * If all endpoints are ejected, all of them are used:
+ *
+ * <pre> Balancer balancer = new Balancer(
+ *   Arrays.asList("http://10.0.0.1:8080", "http://10.0.0.2:8080"),
+ *   Balancer.Policy.TWO_CHOICES, 5, 2_000L, 10_000L
+ * );
+ * new JdkRequest("http://users/profile?id=42")
+ *   .through(BalancingWire.class, balancer)
+ *   .fetch();</pre>
+ *
+ * <p>Endpoints are updated without locks, and choosing one doesn't
+ * allocate memory.
+ *
+ * <p>The class is thread-safe.
+ *
+ * @since 2.0
+ */
+@ToString(of = { "endpoints", "policy" })
+public final class Balancer {
+
+    /**
+     * Time when all endpoints are available, even ejected ones.
+     */
+    private static final long ANY = Long.MIN_VALUE;
+
+    /**
+     * Maximum factor of the ejection time.
+     */
+    private static final int BACKOFF = 10;
+
+    /**
+     * Weight of a new response time in the moving average, in percent.
+     */
+    private static final long WEIGHT = 30L;
+
+    /**
+     * All endpoints.
+     */
+    private final transient Balancer.Endpoint[] endpoints;
+
+    /**
+     * Policy.
+     */
+    private final transient Balancer.Policy policy;
+
+    /**
+     * Failures in a row that eject an endpoint.
+     */
+    private final transient int failures;
+
+    /**
+     * Duration of slow requests, in nanoseconds.
+     */
+    private final transient long slow;
+
+    /**
+     * How long an endpoint stays ejected, in nanoseconds.
+     */
+    private final transient long ejection;
+
+    /**
+     * Turn of round robin.
+     */
+    private final transient AtomicInteger turn;
+
+    /**
+     * Public ctor, with power of two choices, ejecting endpoints for
+     * thirty seconds after five failures or requests slower than ten
+     * seconds in a row.
+     * @param uris Base URIs of the endpoints
+     */
+    public Balancer(final Iterable<String> uris) {
+        this(uris, Balancer.Policy.TWO_CHOICES);
+    }
+
+    /**
+     * Public ctor, ejecting endpoints for thirty seconds after five
+     * failures or requests slower than ten seconds in a row.
+     * @param uris Base URIs of the endpoints
+     * @param plc Policy
+     */
+    public Balancer(final Iterable<String> uris, final Balancer.Policy plc) {
+        // @checkstyle MagicNumber (1 line)
+        this(uris, plc, 5, 10_000L, 30_000L);
+    }
+
+    /**
+     * Public ctor.
+     * @param uris Base URIs of the endpoints
+     * @param plc Policy
+     * @param max Failures in a row that eject an endpoint
+     * @param millis Duration of slow requests, in milliseconds
+     * @param eject How long an endpoint stays ejected, in milliseconds
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    public Balancer(final Iterable<String> uris, final Balancer.Policy plc,
+        final int max, final long millis, final long eject) {
+        final List<Balancer.Endpoint> list = new ArrayList<>(0);
+        for (final String uri : uris) {
+            list.add(new Balancer.Endpoint(uri));
+        }
+        if (list.isEmpty()) {
+            throw new IllegalArgumentException("no endpoints to balance");
+        }
+        this.endpoints = list.toArray(new Balancer.Endpoint[0]);
+        this.policy = plc;
+        this.failures = Math.max(max, 1);
+        this.slow = TimeUnit.MILLISECONDS.toNanos(millis);
+        this.ejection = TimeUnit.MILLISECONDS.toNanos(eject);
+        this.turn = new AtomicInteger();
+    }
+
+    /**
+     * Base URIs of endpoints that are not ejected now.
+     * @return Base URIs
+     */
+    public Collection<String> available() {
+        final long now = System.nanoTime();
+        final Collection<String> uris =
+            new ArrayList<>(this.endpoints.length);
+        for (final Balancer.Endpoint endpoint : this.endpoints) {
+            if (endpoint.available(now)) {
+                uris.add(endpoint.base);
+            }
+        }
+        return uris;
+    }
+
+    /**
+     * Choose an endpoint for the next request.
+     * @return The endpoint
+     */
+    Balancer.Endpoint choose() {
+        final long now = System.nanoTime();
+        int count = 0;
+        for (final Balancer.Endpoint endpoint : this.endpoints) {
+            if (endpoint.available(now)) {
+                ++count;
+            }
+        }
+        final long mark;
+        if (count == 0) {
+            mark = Balancer.ANY;
+            count = this.endpoints.length;
+        } else {
+            mark = now;
+        }
+        final Balancer.Endpoint chosen;
+        if (this.policy == Balancer.Policy.ROUND_ROBIN) {
+            chosen = this.nth(
+                Math.floorMod(this.turn.getAndIncrement(), count), mark
+            );
+        } else if (this.policy == Balancer.Policy.LEAST_OUTSTANDING) {
+            chosen = this.least(mark);
+        } else {
+            chosen = this.twoChoices(count, mark);
+        }
+        return chosen;
+    }
+
+    /**
+     * Record the outcome of a request.
+     * @param endpoint The endpoint
+     * @param failed TRUE if the request failed
+     * @param nanos Response time, in nanoseconds
+     */
+    void record(final Balancer.Endpoint endpoint, final boolean failed,
+        final long nanos) {
+        if (failed) {
+            endpoint.average(Math.max(nanos, this.slow));
+        } else {
+            endpoint.average(nanos);
+        }
+        if (failed || nanos > this.slow) {
+            if (endpoint.failures.incrementAndGet() >= this.failures) {
+                endpoint.failures.set(0);
+                final int times = Math.min(
+                    endpoint.ejections.incrementAndGet(), Balancer.BACKOFF
+                );
+                endpoint.ejected.set(
+                    System.nanoTime() + this.ejection * times
+                );
+            }
+        } else {
+            endpoint.failures.set(0);
+            endpoint.ejections.set(0);
+        }
+    }
+
+    /**
+     * Endpoint that is n-th among the available ones.
+     * @param index Position among available endpoints
+     * @param now Current time, or {@link #ANY} to count all
+     * @return The endpoint
+     */
+    private Balancer.Endpoint nth(final int index, final long now) {
+        int left = index;
+        Balancer.Endpoint found = this.endpoints[0];
+        for (final Balancer.Endpoint endpoint : this.endpoints) {
+            if (endpoint.available(now)) {
+                found = endpoint;
+                if (left == 0) {
+                    break;
+                }
+                --left;
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Endpoint with the fewest requests in flight, starting from
+     * a random one, so that ties are broken randomly.
+     * @param now Current time, or {@link #ANY} to count all
+     * @return The endpoint
+     */
+    private Balancer.Endpoint least(final long now) {
+        final int total = this.endpoints.length;
+        final int start = ThreadLocalRandom.current().nextInt(total);
+        Balancer.Endpoint best = this.endpoints[start];
+        int fewest = Integer.MAX_VALUE;
+        for (int idx = 0; idx < total; ++idx) {
+            final Balancer.Endpoint endpoint =
+                this.endpoints[(start + idx) % total];
+            final int flight = endpoint.outstanding.get();
+            if (endpoint.available(now) && flight < fewest) {
+                best = endpoint;
+                fewest = flight;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Cheaper of two random endpoints.
+     * @param count Number of available endpoints
+     * @param now Current time, or {@link #ANY} to count all
+     * @return The endpoint
+     */
+    private Balancer.Endpoint twoChoices(final int count, final long now) {
+        final Balancer.Endpoint chosen;
+        if (count == 1) {
+            chosen = this.nth(0, now);
+        } else {
+            final ThreadLocalRandom random = ThreadLocalRandom.current();
+            final int first = random.nextInt(count);
+            int second = random.nextInt(count - 1);
+            if (second >= first) {
+                ++second;
+            }
+            final Balancer.Endpoint one = this.nth(first, now);
+            final Balancer.Endpoint two = this.nth(second, now);
+            if (one.cost() <= two.cost()) {
+                chosen = one;
+            } else {
+                chosen = two;
+            }
+        }
+        return chosen;
+    }
+
+    /**
+     * How to choose an endpoint.
+     *
+     * @since 2.0
+     */
+    public enum Policy {
+        /**
+         * Take endpoints in turn.
+         */
+        ROUND_ROBIN,
+
+        /**
+         * Take the endpoint with the fewest requests in flight.
+         */
+        LEAST_OUTSTANDING,
+
+        /**
+         * Take the cheaper of two random endpoints, by response times
+         * and requests in flight.
+         */
+        TWO_CHOICES
+    }
+
+    /**
+     * One endpoint.
+     *
+     * @since 2.0
+     */
+    @ToString(of = "base")
+    static final class Endpoint {
+
+        /**
+         * Requests in flight.
+         */
+        private final transient AtomicInteger outstanding;
+
+        /**
+         * Base URI.
+         */
+        private final transient String base;
+
+        /**
+         * Base URI, without a trailing slash.
+         */
+        private final transient String prefix;
+
+        /**
+         * Moving average of response times, in nanoseconds, or zero.
+         */
+        private final transient AtomicLong ewma;
+
+        /**
+         * Failures in a row.
+         */
+        private final transient AtomicInteger failures;
+
+        /**
+         * Ejections in a row.
+         */
+        private final transient AtomicInteger ejections;
+
+        /**
+         * When the ejection is over, in nanoseconds.
+         */
+        private final transient AtomicLong ejected;
+
+        /**
+         * Ctor.
+         * @param uri Base URI
+         */
+        Endpoint(final String uri) {
+            this.base = uri;
+            if (uri.endsWith("/")) {
+                this.prefix = uri.substring(0, uri.length() - 1);
+            } else {
+                this.prefix = uri;
+            }
+            this.outstanding = new AtomicInteger();
+            this.ewma = new AtomicLong();
+            this.failures = new AtomicInteger();
+            this.ejections = new AtomicInteger();
+            this.ejected = new AtomicLong(System.nanoTime());
+        }
+
+        /**
+         * Move the URI of a request to this endpoint, keeping the path
+         * and the query.
+         * @param home URI of the request
+         * @return New URI
+         */
+        String rewrite(final String home) {
+            final URI uri = URI.create(home);
+            final StringBuilder text = new StringBuilder(this.prefix);
+            if (uri.getRawPath() != null) {
+                text.append(uri.getRawPath());
+            }
+            if (uri.getRawQuery() != null) {
+                text.append('?').append(uri.getRawQuery());
+            }
+            if (uri.getRawFragment() != null) {
+                text.append('#').append(uri.getRawFragment());
+            }
+            return text.toString();
+        }
+
+        /**
+         * A request starts.
+         */
+        void start() {
+            this.outstanding.incrementAndGet();
+        }
+
+        /**
+         * A request ends.
+         */
+        void end() {
+            this.outstanding.decrementAndGet();
+        }
+
+        /**
+         * Is it available, not ejected?
+         * @param now Current time, in nanoseconds
+         * @return TRUE if available
+         */
+        private boolean available(final long now) {
+            return now == Balancer.ANY || now - this.ejected.get() >= 0L;
+        }
+
+        /**
+         * Cost of the next request.
+         * @return Cost
+         */
+        private long cost() {
+            return this.ewma.get() * (this.outstanding.get() + 1L);
+        }
+
+        /**
+         * Add a response time to the moving average.
+         * @param nanos Response time, in nanoseconds
+         */
+        private void average(final long nanos) {
+            long before;
+            long after;
+            do {
+                before = this.ewma.get();
+                if (before == 0L) {
+                    after = Math.max(nanos, 1L);
+                } else {
+                    // @checkstyle MagicNumber (2 lines)
+                    after = before + (nanos - before) * Balancer.WEIGHT
+                        / 100L;
+                }
+            } while (!this.ewma.compareAndSet(before, after));
+        }
+    }
+}
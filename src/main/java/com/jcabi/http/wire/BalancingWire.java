@@ -0,0 +1,97 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.http.wire;
+
+import com.jcabi.aspects.Immutable;
+import com.jcabi.http.Request;
+import com.jcabi.http.Response;
+import com.jcabi.http.Wire;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.util.Collection;
+import java.util.Map;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+/**
+ * Wire that spreads requests across endpoints of a replicated service.
+ *
+ * <p>The scheme, the host and the port of every request are replaced by
+ * the ones of an endpoint, chosen by the {@link Balancer}, while the path
+ * and the query stay the same. Endpoints that fail are ejected for
+ * a while:
+ *
+ * <pre> String json = new JdkRequest("http://users/profile?id=42")
+ *   .through(
+ *     BalancingWire.class,
+ *     new Balancer(Arrays.asList("http://10.0.0.1", "http://10.0.0.2"))
+ *   )
+ *   .fetch()
+ *   .body();</pre>
+ *
+ * <p>The balancer keeps the state of endpoints, so the same instance
+ * should be used for all requests to the service. Put this wire under
+ * {@link RetryWire}, in order to retry failed requests on other
+ * endpoints.
+ *
+ * <p>The class is immutable and thread-safe.
+ *
+ * @since 2.0
+ */
+@Immutable
+@ToString(of = { "origin", "balancer" })
+@EqualsAndHashCode(of = { "origin", "balancer" })
+public final class BalancingWire implements Wire {
+
+    /**
+     * Original wire.
+     */
+    private final transient Wire origin;
+
+    /**
+     * Endpoints.
+     */
+    private final transient Balancer balancer;
+
+    /**
+     * Public ctor.
+     * @param wire Original wire
+     * @param endpoints Endpoints
+     */
+    public BalancingWire(final Wire wire, final Balancer endpoints) {
+        this.origin = wire;
+        this.balancer = endpoints;
+    }
+
+    // @checkstyle ParameterNumber (5 lines)
+    @Override
+    public Response send(final Request req, final String home,
+        final String method,
+        final Collection<Map.Entry<String, String>> headers,
+        final InputStream content,
+        final int connect,
+        final int read) throws IOException {
+        final Balancer.Endpoint endpoint = this.balancer.choose();
+        endpoint.start();
+        final long start = System.nanoTime();
+        final Response rsp;
+        boolean failed = true;
+        try {
+            rsp = this.origin.send(
+                req, endpoint.rewrite(home), method, headers, content,
+                connect, read
+            );
+            failed = rsp.status() >= HttpURLConnection.HTTP_INTERNAL_ERROR;
+        } finally {
+            endpoint.end();
+            this.balancer.record(
+                endpoint, failed && !req.deadline().over(),
+                System.nanoTime() - start
+            );
+        }
+        return rsp;
+    }
+}
@@ -0,0 +1,234 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.http.wire;
+
+import com.jcabi.http.ImmutableHeader;
+import com.jcabi.http.Request;
+import com.jcabi.http.Response;
+import com.jcabi.http.request.DefaultResponse;
+import com.jcabi.immutable.Array;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact binary form of a {@link Response}.
+ *
+ * <p>The format is: version byte, status code (four bytes), reason
+ * phrase, number of headers (four bytes), names and values of headers,
+ * length of the body (four bytes) and the body itself. Every string
+ * is its length (four bytes) followed by its bytes in UTF-8, or -1 if it
+ * is absent. All numbers
+ * are big-endian. The body is stored as is, so binary bodies are
+ * preserved byte by byte. The length of the body is -1 if the body
+ * is kept separately, see {@link #head(Response)}.
+ *
+ * @since 2.0
+ */
+final class BinaryResponse {
+
+    /**
+     * Version of the format.
+     */
+    private static final byte VERSION = 1;
+
+    /**
+     * Utility class.
+     */
+    private BinaryResponse() {
+        // intentionally empty
+    }
+
+    /**
+     * Encode the response.
+     * @param rsp The response
+     * @return Bytes
+     */
+    static byte[] encode(final Response rsp) {
+        return BinaryResponse.encode(rsp, rsp.binary());
+    }
+
+    /**
+     * Encode the response without its body, which is kept separately.
+     * @param rsp The response
+     * @return Bytes
+     */
+    static byte[] head(final Response rsp) {
+        return BinaryResponse.encode(rsp, null);
+    }
+
+    /**
+     * Decode the response.
+     * @param req The request to attach the response to
+     * @param buffer The bytes, from current position
+     * @return Response
+     * @throws IOException If the format is broken
+     */
+    static Response decode(final Request req, final ByteBuffer buffer)
+        throws IOException {
+        return BinaryResponse.decode(req, buffer, null);
+    }
+
+    /**
+     * Encode the response.
+     * @param rsp The response
+     * @param body The body or NULL if it is kept separately
+     * @return Bytes
+     */
+    private static byte[] encode(final Response rsp, final byte[] body) {
+        int size = 0;
+        if (body != null) {
+            size = body.length;
+        }
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream(
+            size + 256
+        );
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(BinaryResponse.VERSION);
+            out.writeInt(rsp.status());
+            BinaryResponse.write(out, rsp.reason());
+            final Collection<Map.Entry<String, String>> headers =
+                new ArrayList<>(rsp.headers().size());
+            for (final Map.Entry<String, List<String>> header
+                : rsp.headers().entrySet()) {
+                for (final String value : header.getValue()) {
+                    headers.add(new ImmutableHeader(header.getKey(), value));
+                }
+            }
+            out.writeInt(headers.size());
+            for (final Map.Entry<String, String> header : headers) {
+                BinaryResponse.write(out, header.getKey());
+                BinaryResponse.write(out, header.getValue());
+            }
+            if (body == null) {
+                out.writeInt(-1);
+            } else {
+                out.writeInt(body.length);
+                out.write(body);
+            }
+        } catch (final IOException ex) {
+            throw new IllegalStateException(ex);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Decode the response, which may have its body kept separately.
+     * @param req The request to attach the response to
+     * @param buffer The bytes, from current position
+     * @param separate The body kept separately, or NULL if there is none
+     * @return Response
+     * @throws IOException If the format is broken or the body is absent
+     */
+    static Response decode(final Request req, final ByteBuffer buffer,
+        final ByteBuffer separate) throws IOException {
+        final ByteBuffer src = buffer.duplicate();
+        try {
+            final byte version = src.get();
+            if (version != BinaryResponse.VERSION) {
+                throw new IOException(
+                    String.format("unknown format version %d", version)
+                );
+            }
+            final int status = src.getInt();
+            final String reason = BinaryResponse.read(src);
+            final int total = BinaryResponse.length(
+                src, Integer.BYTES + Integer.BYTES
+            );
+            final List<Map.Entry<String, String>> headers =
+                new ArrayList<>(total);
+            for (int idx = 0; idx < total; ++idx) {
+                headers.add(
+                    new ImmutableHeader(
+                        BinaryResponse.read(src), BinaryResponse.read(src)
+                    )
+                );
+            }
+            final int length = BinaryResponse.length(src, 1);
+            final byte[] body;
+            if (length != -1) {
+                body = new byte[length];
+                src.get(body);
+            } else if (separate == null) {
+                throw new IOException("body of the response is absent");
+            } else {
+                body = new byte[separate.remaining()];
+                separate.duplicate().get(body);
+            }
+            return new DefaultResponse(
+                req, status, reason, new Array<>(headers), body
+            );
+        } catch (final BufferUnderflowException
+            | IllegalArgumentException | NegativeArraySizeException ex) {
+            throw new IOException("broken binary response", ex);
+        }
+    }
+
+    /**
+     * Write a string.
+     * @param out Output
+     * @param text The text or NULL
+     * @throws IOException If fails
+     */
+    private static void write(final DataOutputStream out, final String text)
+        throws IOException {
+        if (text == null) {
+            out.writeInt(-1);
+        } else {
+            final byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    /**
+     * Read a string.
+     * @param src Source
+     * @return The text or NULL
+     * @throws IOException If its length is broken
+     */
+    private static String read(final ByteBuffer src) throws IOException {
+        final int length = BinaryResponse.length(src, 1);
+        final String text;
+        if (length < 0) {
+            text = null;
+        } else {
+            final byte[] bytes = new byte[length];
+            src.get(bytes);
+            text = new String(bytes, StandardCharsets.UTF_8);
+        }
+        return text;
+    }
+
+    /**
+     * Read a length, or a number of items, and check that the rest of
+     * the buffer can hold that many of them, before anything is
+     * allocated for them.
+     * @param src Source
+     * @param size Minimum size of one item, in bytes
+     * @return The length, or -1 if the items are absent
+     * @throws IOException If it is broken
+     */
+    private static int length(final ByteBuffer src, final int size)
+        throws IOException {
+        final int length = src.getInt();
+        if (length < -1 || length > src.remaining() / size) {
+            throw new IOException(
+                String.format(
+                    "broken length %d, only %d bytes left",
+                    length, src.remaining()
+                )
+            );
+        }
+        return length;
+    }
+}
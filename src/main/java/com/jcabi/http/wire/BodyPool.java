@@ -0,0 +1,352 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.http.wire;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+/**
+ * Pool of response bodies, addressed by their content.
+ *
+ * <p>Every body is identified by the SHA-256 digest of its bytes, so
+ * identical bodies of different responses, for example of the same
+ * resource behind different query strings, are kept in memory only
+ * once. Every body counts the cached responses that use it and leaves
+ * the pool when the last of them is evicted.
+ *
+ * <p>A pool may also keep representations parsed from bodies, such as
+ * JSON structures or XML documents, next to the bodies, so that every
+ * body is parsed only once. They leave the pool together with their
+ * bodies.
+ *
+ * <p>The class is thread-safe.
+ *
+ * @since 2.0
+ */
+@ToString(of = { "deflate", "direct", "memo" })
+final class BodyPool {
+
+    /**
+     * Bodies shorter than this are never compressed.
+     */
+    private static final int SHORT = 256;
+
+    /**
+     * Compress bodies?
+     */
+    private final transient boolean deflate;
+
+    /**
+     * Keep bodies off the heap?
+     */
+    private final transient boolean direct;
+
+    /**
+     * Keep parsed representations of bodies?
+     */
+    private final transient boolean memo;
+
+    /**
+     * Bodies, by digests.
+     */
+    private final transient ConcurrentMap<String, BodyPool.Body> bodies;
+
+    /**
+     * Ctor.
+     * @param dfl Compress bodies
+     * @param drct Keep bodies off the heap
+     */
+    BodyPool(final boolean dfl, final boolean drct) {
+        this(dfl, drct, false);
+    }
+
+    /**
+     * Ctor.
+     * @param dfl Compress bodies
+     * @param drct Keep bodies off the heap
+     * @param parsed Keep parsed representations of bodies
+     */
+    BodyPool(final boolean dfl, final boolean drct, final boolean parsed) {
+        this.deflate = dfl;
+        this.direct = drct;
+        this.memo = parsed;
+        this.bodies = new ConcurrentHashMap<>(0);
+    }
+
+    /**
+     * Find the body with the same content, or add a new one.
+     *
+     * <p>The body is not retained, the cache that keeps the response
+     * must retain it.
+     *
+     * @param bytes Content of the body
+     * @return Body
+     */
+    BodyPool.Body body(final byte[] bytes) {
+        final String key = BodyPool.digest(bytes);
+        BodyPool.Body body = this.bodies.get(key);
+        if (body == null) {
+            body = new BodyPool.Body(this, key, bytes);
+            final BodyPool.Body before = this.bodies.putIfAbsent(key, body);
+            if (before != null) {
+                body = before;
+            }
+        }
+        return body;
+    }
+
+    /**
+     * Number of bodies in the pool.
+     * @return Total
+     */
+    int size() {
+        return this.bodies.size();
+    }
+
+    /**
+     * Retain the value, if it is shared.
+     * @param value The value
+     */
+    static void retain(final Object value) {
+        if (value instanceof Shared) {
+            ((Shared) value).retain();
+        }
+    }
+
+    /**
+     * Release the value, if it is shared.
+     * @param value The value
+     */
+    static void release(final Object value) {
+        if (value instanceof Shared) {
+            ((Shared) value).release();
+        }
+    }
+
+    /**
+     * SHA-256 digest of the bytes, in URL-safe Base64.
+     * @param bytes The bytes
+     * @return Digest
+     */
+    static String digest(final byte[] bytes) {
+        try {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(
+                MessageDigest.getInstance("SHA-256").digest(bytes)
+            );
+        } catch (final NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /**
+     * Compress the bytes.
+     * @param bytes The bytes
+     * @return Compressed bytes
+     */
+    private static byte[] deflated(final byte[] bytes) {
+        final Deflater deflater = new Deflater();
+        try {
+            deflater.setInput(bytes);
+            deflater.finish();
+            final ByteArrayOutputStream out =
+                new ByteArrayOutputStream(bytes.length / 4);
+            // @checkstyle MagicNumber (1 line)
+            final byte[] buf = new byte[8192];
+            while (!deflater.finished()) {
+                out.write(buf, 0, deflater.deflate(buf));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    /**
+     * Decompress the bytes.
+     * @param bytes Compressed bytes
+     * @param size Length of the original bytes
+     * @return Original bytes
+     */
+    private static byte[] inflated(final byte[] bytes, final int size) {
+        final Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(bytes);
+            final byte[] body = new byte[size];
+            int done = 0;
+            while (done < size && !inflater.finished()
+                && !inflater.needsInput()) {
+                done += inflater.inflate(body, done, size - done);
+            }
+            return body;
+        } catch (final DataFormatException ex) {
+            throw new IllegalStateException(ex);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    /**
+     * Body in the pool, compressed and/or kept off the heap.
+     *
+     * @since 2.0
+     */
+    @ToString(of = { "key", "refs" })
+    @EqualsAndHashCode(of = "key")
+    static final class Body {
+
+        /**
+         * The pool.
+         */
+        private final transient BodyPool pool;
+
+        /**
+         * Digest of the content.
+         */
+        private final transient String key;
+
+        /**
+         * Content, compressed or not.
+         */
+        private final transient ByteBuffer data;
+
+        /**
+         * Length of the content, before compression, or -1 if it is
+         * not compressed.
+         */
+        private final transient int length;
+
+        /**
+         * Number of cached responses that use the body.
+         */
+        private final transient AtomicInteger refs;
+
+        /**
+         * Parsed representations, by kinds.
+         */
+        private final transient ConcurrentMap<String, Object> forms;
+
+        /**
+         * Ctor.
+         * @param owner The pool
+         * @param digest Digest of the content
+         * @param bytes The content
+         */
+        Body(final BodyPool owner, final String digest, final byte[] bytes) {
+            this.pool = owner;
+            this.key = digest;
+            this.refs = new AtomicInteger();
+            this.forms = new ConcurrentHashMap<>(0);
+            byte[] kept = bytes;
+            if (owner.deflate && bytes.length >= BodyPool.SHORT) {
+                kept = BodyPool.deflated(bytes);
+            }
+            if (kept.length >= bytes.length) {
+                kept = bytes;
+                this.length = -1;
+            } else {
+                this.length = bytes.length;
+            }
+            if (owner.direct) {
+                this.data = ByteBuffer.allocateDirect(kept.length);
+                this.data.put(kept);
+                this.data.flip();
+            } else {
+                this.data = ByteBuffer.wrap(kept);
+            }
+        }
+
+        /**
+         * Content of the body, decompressed and copied to the heap.
+         * @return Bytes
+         */
+        byte[] bytes() {
+            final byte[] stored = new byte[this.data.remaining()];
+            this.data.duplicate().get(stored);
+            final byte[] bytes;
+            if (this.length < 0) {
+                bytes = stored;
+            } else {
+                bytes = BodyPool.inflated(stored, this.length);
+            }
+            return bytes;
+        }
+
+        /**
+         * Representation of the content, parsed only once if the pool
+         * keeps representations.
+         * @param kind Kind of the representation
+         * @param parser Parser of the content
+         * @param <T> Type of the representation
+         * @return The representation
+         */
+        @SuppressWarnings("unchecked")
+        <T> T parsed(final String kind, final Function<byte[], T> parser) {
+            Object form = null;
+            if (this.pool.memo) {
+                form = this.forms.get(kind);
+            }
+            if (form == null) {
+                form = parser.apply(this.bytes());
+                if (this.pool.memo) {
+                    final Object before = this.forms.putIfAbsent(kind, form);
+                    if (before != null) {
+                        form = before;
+                    }
+                }
+            }
+            return (T) form;
+        }
+
+        /**
+         * Amount of memory taken by the content, in bytes.
+         * @return Weight
+         */
+        long weight() {
+            return (long) this.data.capacity();
+        }
+
+        /**
+         * Number of cached responses that use the body.
+         * @return Total
+         */
+        int references() {
+            return this.refs.get();
+        }
+
+        /**
+         * One more cached response uses the body.
+         *
+         * <p>If the body has left the pool before, it gets back.
+         */
+        void retain() {
+            if (this.refs.getAndIncrement() == 0) {
+                this.pool.bodies.putIfAbsent(this.key, this);
+            }
+        }
+
+        /**
+         * One cached response doesn't use the body any more.
+         *
+         * <p>The last one removes the body from the pool.
+         */
+        void release() {
+            if (this.refs.decrementAndGet() == 0) {
+                this.pool.bodies.remove(this.key, this);
+            }
+        }
+    }
+}
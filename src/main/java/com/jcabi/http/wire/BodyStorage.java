@@ -0,0 +1,123 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.http.wire;
+
+import com.jcabi.http.Response;
+
+/**
+ * How caching wires keep bodies of responses in memory.
+ *
+ * <p>By default, bodies are kept on the heap, as they are. Bodies of
+ * cached responses may also be compressed with deflate, or moved out of
+ * the heap into direct buffers, or both, for example:
+ *
+ * <pre> new JdkRequest(uri)
+ *   .through(ConditionalCachingWire.class, BodyStorage.DEFLATED_DIRECT)
+ *   .fetch();</pre>
+ *
+ * <p>All storages except {@link #HEAP} address bodies by their content
+ * (SHA-256 digest): identical bodies of different responses, for example
+ * of the same resource behind different query strings or tracking
+ * parameters, are kept only once and are shared by all caching wires
+ * that use the same storage. A body is counted by the cached responses
+ * that use it and is dropped when the last of them is evicted. The
+ * limits of caches still count a shared body in every response that
+ * uses it.
+ *
+ * <p>With {@link #PARSED}, representations of bodies parsed by
+ * {@link com.jcabi.http.response.JsonResponse},
+ * {@link com.jcabi.http.response.JacksonResponse},
+ * {@link com.jcabi.http.response.XmlResponse} and
+ * {@link com.jcabi.http.response.JsoupResponse} are kept next to the
+ * bodies, so a hot cached response is parsed only once, for example:
+ *
+ * <pre> JsonObject json = new JdkRequest(uri)
+ *   .through(CachingWire.class, "$never", BodyStorage.PARSED)
+ *   .fetch()
+ *   .as(JsonResponse.class)
+ *   .json()
+ *   .readObject();</pre>
+ *
+ * <p>Parsed representations are not counted by the limits of caches.
+ *
+ * <p>Compressed bodies are decompressed every time they are read,
+ * which costs CPU but allows to keep several times more text (JSON,
+ * XML, HTML) in the same memory. Bodies that don't shrink are kept
+ * uncompressed. Direct buffers are not scanned by the garbage collector,
+ * they are released when their responses are evicted and collected.
+ *
+ * @since 2.0
+ */
+public enum BodyStorage {
+
+    /**
+     * Bodies are kept on the heap, uncompressed.
+     */
+    HEAP(false, false, false),
+
+    /**
+     * Bodies are kept on the heap, uncompressed, shared between responses.
+     */
+    SHARED(false, false, false),
+
+    /**
+     * Bodies are kept on the heap, compressed.
+     */
+    DEFLATED(true, false, false),
+
+    /**
+     * Bodies are kept off the heap, uncompressed.
+     */
+    DIRECT(false, true, false),
+
+    /**
+     * Bodies are kept off the heap, compressed.
+     */
+    DEFLATED_DIRECT(true, true, false),
+
+    /**
+     * Bodies are kept on the heap, uncompressed, shared between responses,
+     * together with their parsed representations.
+     */
+    PARSED(false, false, true);
+
+    /**
+     * Pool of bodies.
+     */
+    private final BodyPool pool;
+
+    /**
+     * Ctor.
+     * @param dfl Compress bodies
+     * @param drct Keep bodies off the heap
+     * @param memo Keep parsed representations of bodies
+     */
+    BodyStorage(final boolean dfl, final boolean drct, final boolean memo) {
+        this.pool = new BodyPool(dfl, drct, memo);
+    }
+
+    /**
+     * Make a response to keep in a cache.
+     * @param rsp The response received
+     * @return The response to keep
+     */
+    Response stored(final Response rsp) {
+        final Response stored;
+        if (this == BodyStorage.HEAP || rsp instanceof CompactResponse) {
+            stored = rsp;
+        } else {
+            stored = new CompactResponse(rsp, this.pool);
+        }
+        return stored;
+    }
+
+    /**
+     * Pool of bodies.
+     * @return Pool
+     */
+    BodyPool bodies() {
+        return this.pool;
+    }
+}
@@ -0,0 +1,270 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.http.wire;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.ToLongFunction;
+import lombok.ToString;
+
+/**
+ * In-memory cache with a limited number of entries and a limited
+ * total weight, evicting the least recently used entries first.
+ *
+ * <p>The weight of every value is calculated once, when it is put
+ * into the cache, by the weigher provided in the constructor.
+ *
+ * <p>Evicted entries, including values too heavy to be stored at all,
+ * may be passed to a listener, which is called outside of the lock,
+ * in the thread that caused the eviction.
+ *
+ * <p>Values that are {@link Shared} are retained while they are in the
+ * cache and released when they leave it, for any reason.
+ *
+ * <p>The class is thread-safe.
+ *
+ * @param <K> Type of keys
+ * @param <V> Type of values
+ * @since 2.0
+ */
+@ToString(of = { "entries", "bytes", "total" })
+final class BoundedCache<K, V> {
+
+    /**
+     * Values, in access order.
+     */
+    private final transient LinkedHashMap<K, BoundedCache.Slot<V>> map;
+
+    /**
+     * Maximum number of entries.
+     */
+    private final transient int entries;
+
+    /**
+     * Maximum total weight.
+     */
+    private final transient long bytes;
+
+    /**
+     * Weigher of values.
+     */
+    private final transient ToLongFunction<V> weigher;
+
+    /**
+     * Listener of evicted entries.
+     */
+    private final transient BiConsumer<K, V> evicted;
+
+    /**
+     * Current total weight.
+     */
+    private transient long total;
+
+    /**
+     * Ctor.
+     * @param max Maximum number of entries
+     * @param weight Maximum total weight
+     * @param func Weigher of values
+     */
+    BoundedCache(final int max, final long weight,
+        final ToLongFunction<V> func) {
+        this(max, weight, func, (key, value) -> { });
+    }
+
+    /**
+     * Ctor.
+     * @param max Maximum number of entries
+     * @param weight Maximum total weight
+     * @param func Weigher of values
+     * @param listener Listener of evicted entries
+     */
+    BoundedCache(final int max, final long weight,
+        final ToLongFunction<V> func, final BiConsumer<K, V> listener) {
+        this.entries = max;
+        this.bytes = weight;
+        this.weigher = func;
+        this.evicted = listener;
+        // @checkstyle MagicNumber (1 line)
+        this.map = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * Get value by key, marking it as recently used.
+     * @param key The key
+     * @return The value or NULL if absent
+     */
+    public synchronized V get(final K key) {
+        final BoundedCache.Slot<V> slot = this.map.get(key);
+        final V value;
+        if (slot == null) {
+            value = null;
+        } else {
+            value = slot.value;
+        }
+        return value;
+    }
+
+    /**
+     * Put value into the cache, evicting old entries if necessary.
+     *
+     * <p>A value heavier than the entire cache is not stored at all.
+     *
+     * @param key The key
+     * @param value The value
+     */
+    public void put(final K key, final V value) {
+        final long weight = this.weigher.applyAsLong(value);
+        BodyPool.retain(value);
+        final Collection<Map.Entry<K, V>> gone = new LinkedList<>();
+        final V before;
+        synchronized (this) {
+            before = this.drop(key);
+            if (weight <= this.bytes) {
+                this.map.put(key, new BoundedCache.Slot<>(value, weight));
+                this.total += weight;
+                this.shrink(gone);
+            } else {
+                gone.add(new AbstractMap.SimpleImmutableEntry<>(key, value));
+            }
+        }
+        BodyPool.release(before);
+        for (final Map.Entry<K, V> ent : gone) {
+            this.evicted.accept(ent.getKey(), ent.getValue());
+            BodyPool.release(ent.getValue());
+        }
+    }
+
+    /**
+     * Remove the value.
+     * @param key The key
+     */
+    public void remove(final K key) {
+        final V before;
+        synchronized (this) {
+            before = this.drop(key);
+        }
+        BodyPool.release(before);
+    }
+
+    /**
+     * Remove all values.
+     */
+    public void clear() {
+        final Collection<BoundedCache.Slot<V>> gone;
+        synchronized (this) {
+            gone = new ArrayList<>(this.map.values());
+            this.map.clear();
+            this.total = 0L;
+        }
+        for (final BoundedCache.Slot<V> slot : gone) {
+            BodyPool.release(slot.value);
+        }
+    }
+
+    /**
+     * Copy of all entries, from the least recently used to the most
+     * recently used one.
+     * @return Keys and values
+     */
+    public synchronized Collection<Map.Entry<K, V>> entries() {
+        final Collection<Map.Entry<K, V>> all = new LinkedList<>();
+        for (final Map.Entry<K, BoundedCache.Slot<V>> ent
+            : this.map.entrySet()) {
+            all.add(
+                new AbstractMap.SimpleImmutableEntry<>(
+                    ent.getKey(), ent.getValue().value
+                )
+            );
+        }
+        return all;
+    }
+
+    /**
+     * Number of entries in the cache.
+     * @return Total number of entries
+     */
+    public synchronized int size() {
+        return this.map.size();
+    }
+
+    /**
+     * Total weight of all entries.
+     * @return Weight
+     */
+    public synchronized long weight() {
+        return this.total;
+    }
+
+    /**
+     * Remove the value, while holding the lock.
+     * @param key The key
+     * @return The value removed or NULL if absent
+     */
+    private V drop(final K key) {
+        final BoundedCache.Slot<V> slot = this.map.remove(key);
+        final V value;
+        if (slot == null) {
+            value = null;
+        } else {
+            this.total -= slot.weight;
+            value = slot.value;
+        }
+        return value;
+    }
+
+    /**
+     * Evict least recently used entries until the limits are respected.
+     * @param gone Collection to add evicted entries to
+     */
+    private void shrink(final Collection<Map.Entry<K, V>> gone) {
+        final Iterator<Map.Entry<K, BoundedCache.Slot<V>>> iter =
+            this.map.entrySet().iterator();
+        while (iter.hasNext()
+            && (this.map.size() > this.entries || this.total > this.bytes)) {
+            final Map.Entry<K, BoundedCache.Slot<V>> ent = iter.next();
+            this.total -= ent.getValue().weight;
+            gone.add(
+                new AbstractMap.SimpleImmutableEntry<>(
+                    ent.getKey(), ent.getValue().value
+                )
+            );
+            iter.remove();
+        }
+    }
+
+    /**
+     * Value together with its weight.
+     *
+     * @param <V> Type of value
+     * @since 2.0
+     */
+    private static final class Slot<V> {
+        /**
+         * The value.
+         */
+        private final V value;
+
+        /**
+         * Its weight.
+         */
+        private final long weight;
+
+        /**
+         * Ctor.
+         * @param val The value
+         * @param wgt Its weight
+         */
+        Slot(final V val, final long wgt) {
+            this.value = val;
+            this.weight = wgt;
+        }
+    }
+}
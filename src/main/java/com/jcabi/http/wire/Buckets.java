@@ -0,0 +1,75 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.http.wire;
+
+/**
+ * Buckets of a histogram, growing exponentially.
+ *
+ * <p>There are eight buckets for every power of two, so that the upper
+ * bound of a bucket is never more than about twelve percent larger than
+ * any value in it. Values below eight have buckets of their own.
+ *
+ * @since 2.0
+ */
+final class Buckets {
+
+    /**
+     * Bits of the value that select a bucket inside a power of two.
+     */
+    private static final int BITS = 3;
+
+    /**
+     * Buckets inside a power of two.
+     */
+    private static final int SUB = 1 << Buckets.BITS;
+
+    /**
+     * Number of buckets.
+     */
+    static final int SIZE = (Long.SIZE - Buckets.BITS) * Buckets.SUB;
+
+    /**
+     * Utility class.
+     */
+    private Buckets() {
+        // intentionally empty
+    }
+
+    /**
+     * Bucket of a value.
+     * @param number The value, negative ones count as zero
+     * @return Index of the bucket
+     */
+    static int index(final long number) {
+        final long value = Math.max(number, 0L);
+        final int exp = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        final int index;
+        if (exp < Buckets.BITS) {
+            index = (int) value;
+        } else {
+            final int shift = exp - Buckets.BITS;
+            index = (shift + 1) * Buckets.SUB
+                + (int) (value >>> shift & Buckets.SUB - 1);
+        }
+        return index;
+    }
+
+    /**
+     * The largest value in a bucket.
+     * @param index Index of the bucket
+     * @return The value
+     */
+    static long upper(final int index) {
+        final int shift = index / Buckets.SUB - 1;
+        final long upper;
+        if (shift < 0) {
+            upper = index;
+        } else {
+            upper = ((long) (index % Buckets.SUB + Buckets.SUB + 1) << shift)
+                - 1L;
+        }
+        return upper;
+    }
+}
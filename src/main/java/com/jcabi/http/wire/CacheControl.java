@@ -0,0 +1,141 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.http.wire;
+
+import java.util.Collection;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+/**
+ * Directives of {@code Cache-Control} HTTP header (RFC 7234 §5.2).
+ *
+ * <p>All values of all {@code Cache-Control} headers are merged together,
+ * directive names are case-insensitive.
+ *
+ * <p>The class is immutable and thread-safe.
+ *
+ * @since 2.0
+ */
+@ToString
+@EqualsAndHashCode
+final class CacheControl {
+
+    /**
+     * Directives found, with their values (empty if there is no value).
+     */
+    private final transient Map<String, String> directives;
+
+    /**
+     * Ctor.
+     * @param values All values of {@code Cache-Control} headers
+     */
+    CacheControl(final Iterable<String> values) {
+        this.directives = new ConcurrentHashMap<>(0);
+        for (final String value : values) {
+            for (final String part : value.split(",")) {
+                final String directive = part.trim();
+                if (directive.isEmpty()) {
+                    continue;
+                }
+                final int equals = directive.indexOf('=');
+                if (equals < 0) {
+                    this.directives.put(
+                        directive.toLowerCase(Locale.ENGLISH), ""
+                    );
+                } else {
+                    this.directives.put(
+                        directive.substring(0, equals).trim()
+                            .toLowerCase(Locale.ENGLISH),
+                        directive.substring(equals + 1).trim()
+                            .replace("\"", "")
+                    );
+                }
+            }
+        }
+    }
+
+    /**
+     * Build it from all headers with the given name.
+     * @param headers Headers
+     * @param name Name of the header to use
+     * @return Cache control
+     */
+    static CacheControl of(
+        final Collection<Map.Entry<String, String>> headers,
+        final String name
+    ) {
+        return new CacheControl(CacheControl.values(headers, name));
+    }
+
+    /**
+     * Find all values of the header, ignoring the case of its name.
+     * @param headers Headers
+     * @param name Name of the header
+     * @return All values found
+     */
+    static Collection<String> values(
+        final Collection<Map.Entry<String, String>> headers,
+        final String name
+    ) {
+        final Collection<String> found = new LinkedList<>();
+        for (final Map.Entry<String, String> header : headers) {
+            if (header.getKey().equalsIgnoreCase(name)) {
+                found.add(header.getValue());
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Find all values of the response header, ignoring the case of its name.
+     * @param headers Headers of a response
+     * @param name Name of the header
+     * @return All values found
+     */
+    static Collection<String> values(
+        final Map<String, List<String>> headers, final String name
+    ) {
+        final Collection<String> found = new LinkedList<>();
+        for (final Map.Entry<String, List<String>> header
+            : headers.entrySet()) {
+            if (header.getKey().equalsIgnoreCase(name)) {
+                found.addAll(header.getValue());
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Directive is present?
+     * @param name Name of the directive, in lower case
+     * @return TRUE if present
+     */
+    public boolean has(final String name) {
+        return this.directives.containsKey(name);
+    }
+
+    /**
+     * Value of a directive in seconds, for example {@code max-age}.
+     * @param name Name of the directive, in lower case
+     * @return Number of seconds or -1 if absent or not a number
+     */
+    public long seconds(final String name) {
+        long seconds = -1L;
+        final String value = this.directives.get(name);
+        if (value != null) {
+            try {
+                seconds = Math.max(0L, Long.parseLong(value));
+            } catch (final NumberFormatException ex) {
+                seconds = -1L;
+            }
+        }
+        return seconds;
+    }
+}
@@ -0,0 +1,340 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.http.wire;
+
+import com.jcabi.http.ImmutableHeader;
+import com.jcabi.http.Response;
+import jakarta.ws.rs.core.HttpHeaders;
+import java.net.HttpURLConnection;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+/**
+ * Response kept in a cache, together with its validators
+ * ({@code ETag} and {@code Last-Modified}) and the moment in time
+ * until which it stays fresh (RFC 7234 §4.2).
+ *
+ * <p>The class is immutable and thread-safe.
+ *
+ * @since 2.0
+ */
+@ToString(of = { "expires", "etag", "modified" })
+@EqualsAndHashCode(of = { "response", "expires" })
+final class CacheEntry implements Shared {
+
+    /**
+     * Age HTTP header name.
+     */
+    private static final String AGE = "Age";
+
+    /**
+     * Max-age directive.
+     */
+    private static final String MAX_AGE = "max-age";
+
+    /**
+     * No-cache directive.
+     */
+    private static final String NO_CACHE = "no-cache";
+
+    /**
+     * No-store directive.
+     */
+    private static final String NO_STORE = "no-store";
+
+    /**
+     * Approximate memory overhead of every entry, in bytes.
+     */
+    private static final long OVERHEAD = 256L;
+
+    /**
+     * The response.
+     */
+    private final transient Response response;
+
+    /**
+     * Moment (in milliseconds) until which the response is fresh.
+     */
+    private final transient long expires;
+
+    /**
+     * Entity tag or NULL if absent.
+     */
+    private final transient String etag;
+
+    /**
+     * Last modification date or NULL if absent.
+     */
+    private final transient String modified;
+
+    /**
+     * Ctor.
+     * @param rsp The response
+     * @param exp Moment in time when it expires, in milliseconds
+     */
+    CacheEntry(final Response rsp, final long exp) {
+        this.response = rsp;
+        this.expires = exp;
+        this.etag = CacheEntry.first(rsp.headers(), HttpHeaders.ETAG);
+        this.modified = CacheEntry.first(
+            rsp.headers(), HttpHeaders.LAST_MODIFIED
+        );
+    }
+
+    /**
+     * Make an entry from a response just received.
+     * @param rsp The response
+     * @param now Current time in milliseconds
+     * @return Entry
+     */
+    static CacheEntry received(final Response rsp, final long now) {
+        return new CacheEntry(rsp, CacheEntry.expiry(rsp.headers(), now));
+    }
+
+    /**
+     * Can this response be stored in a cache?
+     *
+     * <p>Only successful responses are stored, unless the server
+     * explicitly forbids it with {@code Cache-Control: no-store} or
+     * {@code Vary: *}. A response that is neither fresh nor has any
+     * validators is useless for a cache and is not stored either.
+     *
+     * @param rsp The response
+     * @param now Current time in milliseconds
+     * @return TRUE if it can be stored
+     */
+    static boolean storable(final Response rsp, final long now) {
+        final Map<String, List<String>> headers = rsp.headers();
+        return rsp.status() == HttpURLConnection.HTTP_OK
+            && !new CacheControl(
+                CacheControl.values(headers, HttpHeaders.CACHE_CONTROL)
+            ).has(CacheEntry.NO_STORE)
+            && !Fingerprints.wildcard(rsp)
+            && (CacheEntry.first(headers, HttpHeaders.ETAG) != null
+            || CacheEntry.first(headers, HttpHeaders.LAST_MODIFIED) != null
+            || CacheEntry.expiry(headers, now) > now);
+    }
+
+    /**
+     * The response cached.
+     * @return Response
+     */
+    public Response response() {
+        return this.response;
+    }
+
+    /**
+     * Moment until which it is fresh.
+     * @return Time in milliseconds
+     */
+    public long expires() {
+        return this.expires;
+    }
+
+    @Override
+    public void retain() {
+        BodyPool.retain(this.response);
+    }
+
+    @Override
+    public void release() {
+        BodyPool.release(this.response);
+    }
+
+    /**
+     * Is it still fresh?
+     * @param now Current time in milliseconds
+     * @return TRUE if it can be used without revalidation
+     */
+    public boolean fresh(final long now) {
+        return now < this.expires;
+    }
+
+    /**
+     * Does it have any validators?
+     * @return TRUE if {@code ETag} or {@code Last-Modified} is present
+     */
+    public boolean validated() {
+        return this.etag != null || this.modified != null;
+    }
+
+    /**
+     * Make conditional request headers, adding {@code If-None-Match}
+     * and {@code If-Modified-Since} to the original ones.
+     * @param headers Original headers
+     * @return Headers with validators
+     */
+    public Collection<Map.Entry<String, String>> conditional(
+        final Collection<Map.Entry<String, String>> headers
+    ) {
+        final Collection<Map.Entry<String, String>> hdrs =
+            new LinkedList<>(headers);
+        if (this.etag != null) {
+            hdrs.add(new ImmutableHeader(HttpHeaders.IF_NONE_MATCH, this.etag));
+        }
+        if (this.modified != null) {
+            hdrs.add(
+                new ImmutableHeader(
+                    HttpHeaders.IF_MODIFIED_SINCE, this.modified
+                )
+            );
+        }
+        return hdrs;
+    }
+
+    /**
+     * Make a new entry, refreshed by a {@code 304 Not Modified} response.
+     *
+     * <p>If the revalidation response carries its own freshness
+     * information ({@code Cache-Control} or {@code Expires}), it is used,
+     * otherwise the freshness lifetime of the cached response is
+     * reused, starting from now (RFC 7234 §4.3.4).
+     *
+     * @param rsp The 304 response
+     * @param now Current time in milliseconds
+     * @return New entry
+     */
+    public CacheEntry refreshed(final Response rsp, final long now) {
+        final Map<String, List<String>> headers = rsp.headers();
+        final long exp;
+        if (CacheEntry.first(headers, HttpHeaders.CACHE_CONTROL) == null
+            && CacheEntry.first(headers, HttpHeaders.EXPIRES) == null) {
+            exp = CacheEntry.expiry(this.response.headers(), now);
+        } else {
+            exp = CacheEntry.expiry(headers, now);
+        }
+        return new CacheEntry(this.response, exp);
+    }
+
+    /**
+     * Approximate amount of memory taken by this entry, in bytes.
+     * @return Weight of the entry
+     */
+    public long weight() {
+        return CacheEntry.weight(this.response);
+    }
+
+    /**
+     * Approximate amount of memory taken by a response, in bytes.
+     * @param rsp The response
+     * @return Weight of the response
+     */
+    static long weight(final Response rsp) {
+        long weight = CacheEntry.OVERHEAD;
+        if (rsp instanceof CompactResponse) {
+            weight += ((CompactResponse) rsp).weight();
+        } else {
+            weight += (long) rsp.binary().length;
+            for (final Map.Entry<String, List<String>> header
+                : rsp.headers().entrySet()) {
+                for (final String value : header.getValue()) {
+                    weight += 2L * (header.getKey().length() + value.length());
+                }
+            }
+        }
+        return weight;
+    }
+
+    /**
+     * Calculate the moment when the response expires (RFC 7234 §4.2.1).
+     *
+     * <p>{@code max-age} has priority over {@code Expires}, the value
+     * of {@code Age} header is subtracted. No heuristic freshness is
+     * used, a response without explicit freshness information expires
+     * immediately.
+     *
+     * @param headers Response headers
+     * @param now Current time in milliseconds
+     * @return Moment in time, in milliseconds
+     */
+    private static long expiry(
+        final Map<String, List<String>> headers, final long now
+    ) {
+        final CacheControl control = new CacheControl(
+            CacheControl.values(headers, HttpHeaders.CACHE_CONTROL)
+        );
+        final long expiry;
+        if (control.has(CacheEntry.NO_CACHE)) {
+            expiry = now;
+        } else {
+            final long lifetime;
+            final String expires = CacheEntry.first(
+                headers, HttpHeaders.EXPIRES
+            );
+            if (control.seconds(CacheEntry.MAX_AGE) >= 0L) {
+                lifetime = TimeUnit.SECONDS.toMillis(
+                    control.seconds(CacheEntry.MAX_AGE)
+                );
+            } else if (expires == null) {
+                lifetime = 0L;
+            } else {
+                lifetime = CacheEntry.date(expires, 0L)
+                    - CacheEntry.date(
+                        CacheEntry.first(headers, HttpHeaders.DATE), now
+                    );
+            }
+            long age = 0L;
+            final String value = CacheEntry.first(headers, CacheEntry.AGE);
+            if (value != null) {
+                try {
+                    age = Math.max(0L, Long.parseLong(value.trim()));
+                } catch (final NumberFormatException ex) {
+                    age = 0L;
+                }
+            }
+            expiry = now + lifetime - TimeUnit.SECONDS.toMillis(age);
+        }
+        return expiry;
+    }
+
+    /**
+     * Parse HTTP date (RFC 7231 §7.1.1.1).
+     * @param value The value to parse or NULL
+     * @param def Default value, if it's absent or broken
+     * @return Milliseconds
+     */
+    static long date(final String value, final long def) {
+        long millis = def;
+        if (value != null) {
+            try {
+                millis = ZonedDateTime.parse(
+                    value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME
+                ).toInstant().toEpochMilli();
+            } catch (final DateTimeParseException ex) {
+                millis = def;
+            }
+        }
+        return millis;
+    }
+
+    /**
+     * First value of the header, ignoring the case of its name.
+     * @param headers Response headers
+     * @param name Header name
+     * @return The value or NULL if absent
+     */
+    static String first(
+        final Map<String, List<String>> headers, final String name
+    ) {
+        final Iterator<String> values =
+            CacheControl.values(headers, name).iterator();
+        final String value;
+        if (values.hasNext()) {
+            value = values.next();
+        } else {
+            value = null;
+        }
+        return value;
+    }
+}
@@ -0,0 +1,438 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.http.wire;
+
+import com.jcabi.http.Request;
+import com.jcabi.log.Logger;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.BiConsumer;
+
+/**
+ * Snapshot of in-memory caches of {@link CachingWire},
+ * {@link ETagCachingWire}, {@link LastModifiedCachingWire} and
+ * {@link ConditionalCachingWire}.
+ *
+ * <p>The snapshot may be saved into a file, for example on shutdown
+ * or periodically, and restored when the application starts again:
+ *
+ * <pre> // on startup
+ * CacheSnapshot.restore(new File("/var/cache/http.snapshot"));
+ * // on shutdown or by a timer
+ * CacheSnapshot.save(new File("/var/cache/http.snapshot"));</pre>
+ *
+ * <p>Restoring is lazy: the file is mapped into memory and only the keys
+ * are read. A response is decoded only when a wire misses it in its own
+ * cache, and then it is moved into that cache, so that it is found in
+ * the snapshot only once. When {@link CachingWire} is invalidated, by
+ * {@link CachingWire#invalidate()} or by its flushing regular
+ * expression, its responses in the snapshot are forgotten too. Validators
+ * ({@code ETag} and {@code Last-Modified}) and the freshness lifetime
+ * of responses are kept, so restored responses are revalidated the
+ * same way as before the restart.
+ *
+ * <p>The file contains cached responses together with the headers they
+ * depend on, including {@code Authorization} and {@code Cookie}. It must
+ * be protected the same way as the caches themselves.
+ *
+ * <p>The class is thread-safe.
+ *
+ * @since 2.0
+ */
+@SuppressWarnings("PMD.ProhibitPublicStaticMethods")
+public final class CacheSnapshot {
+
+    /**
+     * Magic number at the beginning of the file.
+     */
+    private static final int MAGIC = 0x6a637368;
+
+    /**
+     * Version of the format.
+     */
+    private static final byte VERSION = 1;
+
+    /**
+     * Caches that may be saved.
+     */
+    private static final Set<CacheSnapshot.Source<?>> SOURCES =
+        ConcurrentHashMap.newKeySet();
+
+    /**
+     * Queue of caches that are garbage collected.
+     */
+    private static final ReferenceQueue<Object> GONE = new ReferenceQueue<>();
+
+    /**
+     * Snapshot restored, or NULL if there is none.
+     */
+    private static volatile CacheSnapshot.Restored restored;
+
+    /**
+     * Utility class.
+     */
+    private CacheSnapshot() {
+        // intentionally empty
+    }
+
+    /**
+     * Save all caches into the file.
+     *
+     * <p>The file is written next to the target and then renamed, so
+     * it is either entirely replaced or left intact.
+     *
+     * @param file The file
+     * @return Number of responses saved
+     * @throws IOException If fails
+     */
+    public static int save(final File file) throws IOException {
+        final File temp = new File(
+            file.getAbsoluteFile().getParentFile(),
+            String.format("%s.tmp", file.getName())
+        );
+        final Set<String> keys = new HashSet<>(0);
+        try (DataOutputStream out = new DataOutputStream(
+            new BufferedOutputStream(Files.newOutputStream(temp.toPath()))
+        )) {
+            out.writeInt(CacheSnapshot.MAGIC);
+            out.writeByte(CacheSnapshot.VERSION);
+            for (final CacheSnapshot.Source<?> source : CacheSnapshot.SOURCES) {
+                source.dump(
+                    (key, entry) -> {
+                        if (keys.add(key)) {
+                            CacheSnapshot.write(out, key, entry);
+                        }
+                    }
+                );
+            }
+        } catch (final IllegalStateException ex) {
+            throw new IOException(ex);
+        }
+        Files.move(
+            temp.toPath(), file.toPath(),
+            StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE
+        );
+        Logger.info(
+            CacheSnapshot.class, "%d response(s) saved into %s",
+            keys.size(), file
+        );
+        return keys.size();
+    }
+
+    /**
+     * Restore caches from the file, if it exists.
+     * @param file The file
+     * @return Number of responses available
+     * @throws IOException If fails
+     */
+    public static int restore(final File file) throws IOException {
+        final int total;
+        if (file.exists()) {
+            final CacheSnapshot.Restored snapshot;
+            try (FileChannel channel = FileChannel.open(
+                file.toPath(), StandardOpenOption.READ
+            )) {
+                snapshot = new CacheSnapshot.Restored(
+                    channel.map(
+                        FileChannel.MapMode.READ_ONLY, 0L, channel.size()
+                    )
+                );
+            }
+            CacheSnapshot.restored = snapshot;
+            total = snapshot.size();
+            Logger.info(
+                CacheSnapshot.class, "%d response(s) restored from %s",
+                total, file
+            );
+        } else {
+            total = 0;
+        }
+        return total;
+    }
+
+    /**
+     * Forget the snapshot restored.
+     */
+    public static void forget() {
+        CacheSnapshot.restored = null;
+    }
+
+    /**
+     * Register a cache, which may be saved into a snapshot.
+     *
+     * <p>The cache is referenced weakly, it is forgotten when it is
+     * garbage collected.
+     *
+     * @param kind Kind of the cache, for example name of the wire
+     * @param cache The cache
+     * @param dump Function that sends all entries of the cache to a sink
+     * @param <T> Type of cache
+     */
+    static <T> void register(final String kind, final T cache,
+        final CacheSnapshot.Dump<T> dump) {
+        for (Reference<?> ref = CacheSnapshot.GONE.poll(); ref != null;
+            ref = CacheSnapshot.GONE.poll()) {
+            CacheSnapshot.SOURCES.remove(ref);
+        }
+        CacheSnapshot.SOURCES.add(
+            new CacheSnapshot.Source<>(kind, cache, dump)
+        );
+    }
+
+    /**
+     * Find an entry in the snapshot restored.
+     * @param kind Kind of the cache
+     * @param key Fingerprint of the request
+     * @param req The request to attach the response to
+     * @return Entry or NULL if absent
+     */
+    static CacheEntry find(final String kind, final Fingerprint key,
+        final Request req) {
+        final CacheSnapshot.Restored snapshot = CacheSnapshot.restored;
+        final CacheEntry entry;
+        if (snapshot == null) {
+            entry = null;
+        } else {
+            entry = snapshot.find(CacheSnapshot.key(kind, key), req);
+        }
+        return entry;
+    }
+
+    /**
+     * Forget all entries of this kind of cache in the snapshot restored,
+     * when the cache is invalidated.
+     * @param kind Kind of the cache
+     */
+    static void drop(final String kind) {
+        final CacheSnapshot.Restored snapshot = CacheSnapshot.restored;
+        if (snapshot != null) {
+            snapshot.drop(new StringBuilder(kind).append(' ').toString());
+        }
+    }
+
+    /**
+     * Make a key.
+     * @param kind Kind of the cache
+     * @param key Fingerprint of the request
+     * @return Key
+     */
+    private static String key(final String kind, final Fingerprint key) {
+        return new StringBuilder(kind).append(' ').append(key).toString();
+    }
+
+    /**
+     * Write one entry.
+     * @param out Output
+     * @param key The key
+     * @param entry The entry
+     */
+    private static void write(final DataOutputStream out, final String key,
+        final CacheEntry entry) {
+        try {
+            final byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+            final byte[] rsp = BinaryResponse.encode(entry.response());
+            out.writeInt(bytes.length);
+            out.write(bytes);
+            out.writeLong(entry.expires());
+            out.writeInt(rsp.length);
+            out.write(rsp);
+        } catch (final IOException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /**
+     * Function that sends all entries of a cache to a sink.
+     *
+     * @param <T> Type of cache
+     * @since 2.0
+     */
+    interface Dump<T> {
+        /**
+         * Send all entries to the sink.
+         * @param cache The cache
+         * @param sink The sink
+         */
+        void dump(T cache, BiConsumer<Fingerprint, CacheEntry> sink);
+    }
+
+    /**
+     * Cache registered.
+     *
+     * @param <T> Type of cache
+     * @since 2.0
+     */
+    private static final class Source<T> extends WeakReference<Object> {
+
+        /**
+         * Kind of the cache.
+         */
+        private final transient String kind;
+
+        /**
+         * Function that sends all entries of the cache to a sink.
+         */
+        private final transient CacheSnapshot.Dump<T> func;
+
+        /**
+         * Ctor.
+         * @param knd Kind of the cache
+         * @param cache The cache
+         * @param dump Function that sends all entries of the cache
+         */
+        Source(final String knd, final T cache,
+            final CacheSnapshot.Dump<T> dump) {
+            super(cache, CacheSnapshot.GONE);
+            this.kind = knd;
+            this.func = dump;
+        }
+
+        /**
+         * Send all entries to the sink, if the cache is still alive.
+         * @param sink The sink, accepting keys and entries
+         */
+        @SuppressWarnings("unchecked")
+        void dump(final BiConsumer<String, CacheEntry> sink) {
+            final T cache = (T) this.get();
+            if (cache != null) {
+                this.func.dump(
+                    cache,
+                    (key, entry) -> sink.accept(
+                        CacheSnapshot.key(this.kind, key), entry
+                    )
+                );
+            }
+        }
+    }
+
+    /**
+     * Snapshot restored from a file.
+     *
+     * @since 2.0
+     */
+    private static final class Restored {
+
+        /**
+         * All bytes of the file.
+         */
+        private final transient ByteBuffer buffer;
+
+        /**
+         * Positions of entries, by keys.
+         */
+        private final transient ConcurrentMap<String, Integer> index;
+
+        /**
+         * Ctor.
+         * @param bytes All bytes of the file
+         * @throws IOException If the file is broken
+         */
+        Restored(final ByteBuffer bytes) throws IOException {
+            this.buffer = bytes;
+            this.index = new ConcurrentHashMap<>(0);
+            try {
+                if (bytes.getInt() != CacheSnapshot.MAGIC
+                    || bytes.get() != CacheSnapshot.VERSION) {
+                    throw new IOException("unknown format of cache snapshot");
+                }
+                while (bytes.hasRemaining()) {
+                    final int size = bytes.getInt();
+                    Restored.need(bytes, size);
+                    final byte[] key = new byte[size];
+                    bytes.get(key);
+                    Restored.need(bytes, Long.BYTES + Integer.BYTES);
+                    final int pos = bytes.position();
+                    final int length = bytes.getInt(pos + Long.BYTES);
+                    bytes.position(pos + Long.BYTES + Integer.BYTES);
+                    Restored.need(bytes, length);
+                    bytes.position(bytes.position() + length);
+                    this.index.put(
+                        new String(key, StandardCharsets.UTF_8), pos
+                    );
+                }
+            } catch (final BufferUnderflowException
+                | IllegalArgumentException | IndexOutOfBoundsException
+                | NegativeArraySizeException ex) {
+                throw new IOException("broken cache snapshot", ex);
+            }
+        }
+
+        /**
+         * Make sure the buffer has that many bytes left.
+         * @param bytes The buffer
+         * @param size How many bytes are needed
+         * @throws IOException If the file is truncated
+         */
+        private static void need(final ByteBuffer bytes, final int size)
+            throws IOException {
+            if (size < 0 || size > bytes.remaining()) {
+                throw new IOException(
+                    String.format(
+                        "truncated cache snapshot, %d bytes needed at %d",
+                        size, bytes.position()
+                    )
+                );
+            }
+        }
+
+        /**
+         * Number of entries.
+         * @return Total
+         */
+        int size() {
+            return this.index.size();
+        }
+
+        /**
+         * Forget all entries with keys that start with the prefix.
+         * @param prefix The prefix
+         */
+        void drop(final String prefix) {
+            this.index.keySet().removeIf(key -> key.startsWith(prefix));
+        }
+
+        /**
+         * Find and decode an entry, and forget it, since from now on it
+         * lives in the cache that asked for it.
+         * @param key The key
+         * @param req The request to attach the response to
+         * @return Entry or NULL if absent or broken
+         */
+        CacheEntry find(final String key, final Request req) {
+            final Integer pos = this.index.remove(key);
+            CacheEntry entry = null;
+            if (pos != null) {
+                final ByteBuffer src = this.buffer.duplicate();
+                src.position(pos + Long.BYTES + Integer.BYTES);
+                src.limit(src.position() + src.getInt(pos + Long.BYTES));
+                try {
+                    entry = new CacheEntry(
+                        BinaryResponse.decode(req, src.slice()),
+                        src.getLong(pos)
+                    );
+                } catch (final IOException ex) {
+                    Logger.warn(this, "broken entry in snapshot: %s", ex);
+                }
+            }
+            return entry;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.http.wire;
+
+import com.jcabi.aspects.Immutable;
+import java.io.IOException;
+
+/**
+ * Storage of cached responses, which may be shared by many processes,
+ * for example a network cache, used by {@link SharedCachingWire}.
+ *
+ * <p>Responses are stored in a compact binary form, as arrays of bytes.
+ * Keys are short strings of ASCII letters, digits and punctuation,
+ * without white spaces, not longer than 250 characters.
+ *
+ * <p>A storage may forget any value at any moment, for example when it
+ * runs out of memory, while all failures are reported by
+ * {@link IOException}, which the wire treats as cache misses.
+ *
+ * <p>Implementations must be thread-safe.
+ *
+ * @see MemcachedStore
+ * @since 2.0
+ */
+@Immutable
+public interface CacheStore {
+
+    /**
+     * Find the value.
+     * @param key The key
+     * @return Value or NULL if absent
+     * @throws IOException If fails
+     */
+    byte[] get(String key) throws IOException;
+
+    /**
+     * Save the value.
+     * @param key The key
+     * @param value The value
+     * @param seconds How long to keep it, in seconds, or zero to keep
+     *  it as long as possible
+     * @throws IOException If fails
+     */
+    void put(String key, byte[] value, int seconds) throws IOException;
+
+    /**
+     * Remove the value, if it exists.
+     * @param key The key
+     * @throws IOException If fails
+     */
+    void remove(String key) throws IOException;
+
+    /**
+     * Remove all values.
+     * @throws IOException If fails
+     */
+    void clear() throws IOException;
+}
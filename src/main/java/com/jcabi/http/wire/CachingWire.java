@@ -7,11 +7,14 @@ package com.jcabi.http.wire;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
+import com.google.common.cache.RemovalListener;
 import com.jcabi.aspects.Immutable;
 import com.jcabi.http.Request;
 import com.jcabi.http.Response;
 import com.jcabi.http.Wire;
+import com.jcabi.http.jfr.Flight;
 import jakarta.ws.rs.core.HttpHeaders;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
@@ -20,6 +23,7 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
+import java.util.function.BiConsumer;
 import lombok.EqualsAndHashCode;
 import lombok.ToString;
 
@@ -57,6 +61,23 @@ import lombok.ToString;
  * constructed as an HTTP method, space, path of the URI together with
  * query part.
  *
+ * <p>Since 2.0, responses are cached by the normalized fingerprint of the
+ * request: the order of query parameters doesn't matter and only those
+ * headers are taken into account, which are listed in the {@code Vary}
+ * header of the response (plus {@code Authorization} and {@code Cookie}).
+ * Responses with {@code Vary: *} are not cached at all.
+ *
+ * <p>Since 2.0, bodies of cached responses may be compressed and/or kept
+ * off the heap, and identical bodies of different responses may be kept
+ * only once, see {@link BodyStorage}:
+ *
+ * <pre>new JdkRequest(uri)
+ *   .through(CachingWire.class, "$never", BodyStorage.DEFLATED)
+ *   .fetch();</pre>
+ *
+ * <p>Responses in the default cache may be saved into a file and
+ * restored after a restart, see {@link CacheSnapshot}.
+ *
  * <p>The class is immutable and thread-safe.
  * @since 1.0
  * @todo #179:30m This implementation depends on Guava. Investigate for a
@@ -66,7 +87,7 @@ import lombok.ToString;
  */
 @Immutable
 @ToString
-@EqualsAndHashCode(of = {"origin", "regex"})
+@EqualsAndHashCode(of = {"origin", "regex", "storage"})
 @SuppressWarnings("PMD.OnlyOneConstructorShouldDoInitialization")
 public final class CachingWire implements Wire {
 
@@ -80,15 +101,25 @@ public final class CachingWire implements Wire {
             public LoadingCache<Callable<Response>, Response> load(
                 final Wire key
             ) {
-                return CacheBuilder.newBuilder().build(
-                    new CacheLoader<Callable<Response>, Response>() {
-                        @Override
-                        public Response load(final Callable<Response> query)
-                            throws Exception {
-                            return query.call();
+                final LoadingCache<Callable<Response>, Response> cache =
+                    CacheBuilder.newBuilder().removalListener(
+                        (RemovalListener<Callable<Response>, Response>) ntf
+                            -> BodyPool.release(ntf.getValue())
+                    ).build(
+                        new CacheLoader<Callable<Response>, Response>() {
+                            @Override
+                            public Response load(
+                                final Callable<Response> query
+                            ) throws Exception {
+                                return query.call();
+                            }
                         }
-                    }
+                    );
+                CacheSnapshot.register(
+                    CachingWire.class.getSimpleName(), cache,
+                    CachingWire::dump
                 );
+                return cache;
             }
         };
 
@@ -99,6 +130,11 @@ public final class CachingWire implements Wire {
         LoadingCache<Callable<Response>, Response>> CACHE =
         CacheBuilder.newBuilder().build(CachingWire.LOADER);
 
+    /**
+     * Fingerprints of requests, used as cache keys.
+     */
+    private static final Fingerprints PRINTS = new Fingerprints();
+
     /**
      * Default flushing regex.
      */
@@ -136,6 +172,11 @@ public final class CachingWire implements Wire {
      */
     private final LoadingCache<Callable<Response>, Response> cache;
 
+    /**
+     * How bodies are kept in the cache.
+     */
+    private final transient BodyStorage storage;
+
     /**
      * Public ctor.
      * @param wire Original wire
@@ -151,8 +192,21 @@ public final class CachingWire implements Wire {
      * @since 1.5
      */
     public CachingWire(final Wire wire, final String flsh) {
+        this(wire, flsh, BodyStorage.HEAP);
+    }
+
+    /**
+     * Public ctor.
+     * @param wire Original wire
+     * @param flsh Flushing regular expression
+     * @param bodies How to keep bodies of cached responses
+     * @since 2.0
+     */
+    public CachingWire(final Wire wire, final String flsh,
+        final BodyStorage bodies) {
         this.origin = wire;
         this.regex = flsh;
+        this.storage = bodies;
         this.cache = CACHE.getUnchecked(this);
     }
 
@@ -183,6 +237,7 @@ public final class CachingWire implements Wire {
     ) {
         this.origin = wire;
         this.regex = flsh;
+        this.storage = BodyStorage.HEAP;
         this.cache = storage;
     }
 
@@ -204,19 +259,35 @@ public final class CachingWire implements Wire {
         }
         if (label.toString().matches(this.regex)) {
             this.cache.invalidateAll();
+            CacheSnapshot.drop(CachingWire.class.getSimpleName());
         }
         final Response rsp;
         if (method.equals(Request.GET) && !CachingWire.bypass(headers)) {
+            final byte[] body = Fingerprints.bytes(content);
+            final CachingWire.Query query = new CachingWire.Query(
+                this.origin, this.storage,
+                CachingWire.PRINTS.of(method, home, headers, body),
+                req, home, headers, body, connect, read
+            );
             try {
-                rsp = this.cache.get(
-                    new CachingWire.Query(
-                        this.origin, req, home, headers, content,
-                        connect, read
-                    )
-                );
+                rsp = this.cache.get(query);
             } catch (final ExecutionException ex) {
                 throw new IOException(ex);
             }
+            if (!query.loaded) {
+                Flight.cache(CachingWire.class, home, Flight.Lookup.HIT);
+            }
+            final Fingerprint learnt = CachingWire.PRINTS.learn(
+                query.key, rsp, headers, body
+            );
+            if (Fingerprints.wildcard(rsp)) {
+                this.cache.invalidate(query);
+            } else if (!learnt.equals(query.key)) {
+                final Response kept = this.storage.stored(rsp);
+                BodyPool.retain(kept);
+                this.cache.invalidate(query);
+                this.cache.put(query.with(learnt), kept);
+            }
         } else {
             rsp = this.origin.send(
                 req, home, method, headers, content,
@@ -233,6 +304,27 @@ public final class CachingWire implements Wire {
     @SuppressWarnings("PMD.ProhibitPublicStaticMethods")
     public static void invalidate() {
         CachingWire.CACHE.invalidateAll();
+        CacheSnapshot.drop(CachingWire.class.getSimpleName());
+    }
+
+    /**
+     * Send all entries of the cache to the sink.
+     * @param cache The cache
+     * @param sink The sink
+     */
+    private static void dump(
+        final LoadingCache<Callable<Response>, Response> cache,
+        final BiConsumer<Fingerprint, CacheEntry> sink
+    ) {
+        for (final Map.Entry<Callable<Response>, Response> ent
+            : cache.asMap().entrySet()) {
+            if (ent.getKey() instanceof CachingWire.Query) {
+                sink.accept(
+                    ((CachingWire.Query) ent.getKey()).key,
+                    new CacheEntry(ent.getValue(), 0L)
+                );
+            }
+        }
     }
 
     /**
@@ -274,16 +366,29 @@ public final class CachingWire implements Wire {
     /**
      * Query.
      *
+     * <p>Queries are equal when their fingerprints are equal, see
+     * {@link Fingerprint}.
+     *
      * @since 1.8.3
      */
-    @ToString
-    @EqualsAndHashCode(of = {"origin", "request", "uri", "headers"})
+    @ToString(of = "key")
+    @EqualsAndHashCode(of = {"origin", "key"})
     private static final class Query implements Callable<Response> {
         /**
          * Origin wire.
          */
         private final transient Wire origin;
 
+        /**
+         * How bodies are kept in the cache.
+         */
+        private final transient BodyStorage storage;
+
+        /**
+         * Fingerprint of the request.
+         */
+        private final transient Fingerprint key;
+
         /**
          * Request.
          */
@@ -302,7 +407,8 @@ public final class CachingWire implements Wire {
         /**
          * Body.
          */
-        private final transient InputStream body;
+        @Immutable.Array
+        private final transient byte[] body;
 
         /**
          * Connect timeout.
@@ -314,9 +420,16 @@ public final class CachingWire implements Wire {
          */
         private final transient int read;
 
+        /**
+         * Was it loaded into the cache by this thread?
+         */
+        private transient boolean loaded;
+
         /**
          * Ctor.
          * @param wire Original wire
+         * @param bodies How to keep bodies of cached responses
+         * @param fpt Fingerprint of the request
          * @param req Request
          * @param home URI to fetch
          * @param hdrs Headers
@@ -326,12 +439,14 @@ public final class CachingWire implements Wire {
          * @checkstyle ParameterNumberCheck (5 lines)
          */
         Query(
-            final Wire wire, final Request req, final String home,
+            final Wire wire, final BodyStorage bodies, final Fingerprint fpt,
+            final Request req, final String home,
             final Collection<Map.Entry<String, String>> hdrs,
-            final InputStream input, final int cnct,
-            final int rdd
+            final byte[] input, final int cnct, final int rdd
         ) {
             this.origin = wire;
+            this.storage = bodies;
+            this.key = fpt;
             this.request = req;
             this.uri = home;
             this.headers = hdrs;
@@ -342,9 +457,36 @@ public final class CachingWire implements Wire {
 
         @Override
         public Response call() throws IOException {
-            return this.origin.send(
-                this.request, this.uri, Request.GET, this.headers, this.body,
-                this.connect, this.read
+            final CacheEntry warm = CacheSnapshot.find(
+                CachingWire.class.getSimpleName(), this.key, this.request
+            );
+            this.loaded = true;
+            final Response rsp;
+            if (warm == null) {
+                Flight.cache(CachingWire.class, this.uri, Flight.Lookup.MISS);
+                rsp = this.origin.send(
+                    this.request, this.uri, Request.GET, this.headers,
+                    new ByteArrayInputStream(this.body),
+                    this.connect, this.read
+                );
+            } else {
+                Flight.cache(CachingWire.class, this.uri, Flight.Lookup.HIT);
+                rsp = warm.response();
+            }
+            final Response kept = this.storage.stored(rsp);
+            BodyPool.retain(kept);
+            return kept;
+        }
+
+        /**
+         * Same query, with another fingerprint.
+         * @param fpt Fingerprint
+         * @return New query
+         */
+        public CachingWire.Query with(final Fingerprint fpt) {
+            return new CachingWire.Query(
+                this.origin, this.storage, fpt, this.request, this.uri,
+                this.headers, this.body, this.connect, this.read
             );
         }
     }
@@ -0,0 +1,320 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.http.wire;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import lombok.ToString;
+
+/**
+ * Circuit breakers of hosts, shared by many {@link CircuitBreakerWire}s.
+ *
+ * <p>Every host has its own circuit, which counts calls, failures and
+ * slow calls over a sliding window of time, split into ten buckets.
+ * A call fails if it throws {@link java.io.IOException} or returns a status
+ * code between 500 and 599, it is slow if it takes longer than
+ * the threshold. When both of them together reach the percentage of
+ * all calls, and there were enough calls in the window, the circuit
+ * opens: all calls to the host fail immediately. After a while
+ * the circuit becomes half-open and lets one call through, as a probe.
+ * If the probe succeeds the circuit closes, otherwise it opens again:
+ *
+ * <pre> CircuitBreaker breaker = new CircuitBreaker(
+ *   50, 20, 10_000L, 2_000L, 30_000L
+ * );
+ * new JdkRequest(uri)
+ *   .through(CircuitBreakerWire.class, breaker)
+ *   .fetch();</pre>
+ *
+ * <p>Counters are updated without locks, so they are approximate while
+ * the window slides.
+ *
+ * <p>The class is thread-safe.
+ *
+ * @since 2.0
+ */
+@ToString(of = { "percent", "minimum", "window", "slow", "wait" })
+public final class CircuitBreaker {
+
+    /**
+     * Number of buckets in the window.
+     */
+    private static final int BUCKETS = 10;
+
+    /**
+     * Percentage of bad calls that opens the circuit.
+     */
+    private final transient int percent;
+
+    /**
+     * Minimum number of calls in the window to open the circuit.
+     */
+    private final transient int minimum;
+
+    /**
+     * Length of the window, in milliseconds.
+     */
+    private final transient long window;
+
+    /**
+     * Duration of slow calls, in milliseconds.
+     */
+    private final transient long slow;
+
+    /**
+     * How long the circuit stays open, in milliseconds.
+     */
+    private final transient long wait;
+
+    /**
+     * Circuits, by hosts.
+     */
+    private final transient ConcurrentMap<String, CircuitBreaker.Circuit>
+        circuits;
+
+    /**
+     * Public ctor, with a window of ten seconds, which opens circuits for
+     * thirty seconds, if half of at least 20 calls fail or take longer
+     * than five seconds.
+     */
+    public CircuitBreaker() {
+        // @checkstyle MagicNumber (1 line)
+        this(50, 20, 10_000L, 5_000L, 30_000L);
+    }
+
+    /**
+     * Public ctor.
+     * @param prcnt Percentage of failed and slow calls that opens a circuit
+     * @param min Minimum number of calls in the window to open a circuit
+     * @param length Length of the window, in milliseconds
+     * @param duration Duration of slow calls, in milliseconds
+     * @param pause How long a circuit stays open, in milliseconds
+     * @checkstyle ParameterNumber (3 lines)
+     */
+    public CircuitBreaker(final int prcnt, final int min, final long length,
+        final long duration, final long pause) {
+        this.percent = prcnt;
+        this.minimum = min;
+        this.window = length;
+        this.slow = duration;
+        this.wait = pause;
+        this.circuits = new ConcurrentHashMap<>(0);
+    }
+
+    /**
+     * Current state of the circuit of the host.
+     * @param host The host, with the port if it is not default
+     * @return State
+     */
+    public CircuitBreaker.State state(final String host) {
+        final CircuitBreaker.Circuit circuit = this.circuits.get(host);
+        final CircuitBreaker.State state;
+        if (circuit == null) {
+            state = CircuitBreaker.State.CLOSED;
+        } else {
+            state = circuit.state.get();
+        }
+        return state;
+    }
+
+    /**
+     * Circuit of the host.
+     * @param host The host
+     * @return Circuit
+     */
+    CircuitBreaker.Circuit circuit(final String host) {
+        return this.circuits.computeIfAbsent(
+            host, key -> new CircuitBreaker.Circuit(this)
+        );
+    }
+
+    /**
+     * State of a circuit.
+     *
+     * @since 2.0
+     */
+    public enum State {
+        /**
+         * Calls go through.
+         */
+        CLOSED,
+
+        /**
+         * Calls fail immediately.
+         */
+        OPEN,
+
+        /**
+         * One call goes through, as a probe.
+         */
+        HALF_OPEN
+    }
+
+    /**
+     * Circuit of one host.
+     *
+     * @since 2.0
+     */
+    static final class Circuit {
+
+        /**
+         * Settings.
+         */
+        private final transient CircuitBreaker breaker;
+
+        /**
+         * Current state.
+         */
+        private final transient AtomicReference<CircuitBreaker.State> state;
+
+        /**
+         * Moment when it opened, in milliseconds.
+         */
+        private final transient AtomicLong opened;
+
+        /**
+         * Buckets of the window.
+         */
+        private final transient CircuitBreaker.Bucket[] buckets;
+
+        /**
+         * Ctor.
+         * @param settings Settings
+         */
+        Circuit(final CircuitBreaker settings) {
+            this.breaker = settings;
+            this.state = new AtomicReference<>(CircuitBreaker.State.CLOSED);
+            this.opened = new AtomicLong();
+            this.buckets = new CircuitBreaker.Bucket[CircuitBreaker.BUCKETS];
+            for (int idx = 0; idx < this.buckets.length; ++idx) {
+                this.buckets[idx] = new CircuitBreaker.Bucket();
+            }
+        }
+
+        /**
+         * Admit a call.
+         * @param now Current time, in milliseconds
+         * @return CLOSED for a regular call, HALF_OPEN for a probe, or
+         *  OPEN if the call must fail
+         */
+        CircuitBreaker.State admit(final long now) {
+            CircuitBreaker.State admitted = this.state.get();
+            if (admitted == CircuitBreaker.State.HALF_OPEN) {
+                admitted = CircuitBreaker.State.OPEN;
+            } else if (admitted == CircuitBreaker.State.OPEN
+                && now - this.opened.get() >= this.breaker.wait
+                && this.state.compareAndSet(
+                    CircuitBreaker.State.OPEN, CircuitBreaker.State.HALF_OPEN
+                )) {
+                admitted = CircuitBreaker.State.HALF_OPEN;
+            }
+            return admitted;
+        }
+
+        /**
+         * Record the outcome of a call.
+         * @param admitted State returned by {@link #admit(long)}
+         * @param failed TRUE if the call failed
+         * @param millis Duration of the call, in milliseconds
+         * @param now Current time, in milliseconds
+         */
+        void record(final CircuitBreaker.State admitted, final boolean failed,
+            final long millis, final long now) {
+            final boolean bad = failed || millis >= this.breaker.slow;
+            if (admitted == CircuitBreaker.State.HALF_OPEN && bad) {
+                this.opened.set(now);
+                this.state.set(CircuitBreaker.State.OPEN);
+            } else if (admitted == CircuitBreaker.State.HALF_OPEN) {
+                for (final CircuitBreaker.Bucket bucket : this.buckets) {
+                    bucket.clear();
+                }
+                this.state.set(CircuitBreaker.State.CLOSED);
+            } else if (admitted == CircuitBreaker.State.CLOSED) {
+                final long span = Math.max(
+                    this.breaker.window / CircuitBreaker.BUCKETS, 1L
+                );
+                final long slot = now / span;
+                this.buckets[(int) (slot % CircuitBreaker.BUCKETS)]
+                    .add(slot, bad);
+                if (this.tripped(slot)
+                    && this.state.compareAndSet(
+                        CircuitBreaker.State.CLOSED, CircuitBreaker.State.OPEN
+                    )) {
+                    this.opened.set(now);
+                }
+            }
+        }
+
+        /**
+         * Are there too many bad calls in the window?
+         * @param slot Current slot of time
+         * @return TRUE if the circuit must open
+         */
+        private boolean tripped(final long slot) {
+            long calls = 0L;
+            long bad = 0L;
+            for (final CircuitBreaker.Bucket bucket : this.buckets) {
+                if (bucket.stamp.get() > slot - CircuitBreaker.BUCKETS) {
+                    calls += bucket.calls.get();
+                    bad += bucket.bad.get();
+                }
+            }
+            return calls >= this.breaker.minimum
+                && bad * 100L >= calls * this.breaker.percent;
+        }
+    }
+
+    /**
+     * Counters of one slot of time.
+     *
+     * @since 2.0
+     */
+    private static final class Bucket {
+
+        /**
+         * Slot of time counted.
+         */
+        private final transient AtomicLong stamp = new AtomicLong(-1L);
+
+        /**
+         * All calls.
+         */
+        private final transient AtomicInteger calls = new AtomicInteger();
+
+        /**
+         * Failed and slow calls.
+         */
+        private final transient AtomicInteger bad = new AtomicInteger();
+
+        /**
+         * Count a call.
+         * @param slot Slot of time
+         * @param failed TRUE if it failed or was slow
+         */
+        void add(final long slot, final boolean failed) {
+            final long before = this.stamp.get();
+            if (before != slot && this.stamp.compareAndSet(before, slot)) {
+                this.calls.set(0);
+                this.bad.set(0);
+            }
+            this.calls.incrementAndGet();
+            if (failed) {
+                this.bad.incrementAndGet();
+            }
+        }
+
+        /**
+         * Forget all calls.
+         */
+        void clear() {
+            this.stamp.set(-1L);
+            this.calls.set(0);
+            this.bad.set(0);
+        }
+    }
+}
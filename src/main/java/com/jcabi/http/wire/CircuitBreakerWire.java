@@ -0,0 +1,120 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.http.wire;
+
+import com.jcabi.aspects.Immutable;
+import com.jcabi.http.Request;
+import com.jcabi.http.Requests;
+import com.jcabi.http.Response;
+import com.jcabi.http.Wire;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+/**
+ * Wire that fails fast when a host keeps failing or responding slowly.
+ *
+ * <p>When a server hangs, every request to it waits until the read
+ * timeout expires, and the threads of the client pile up. This wire
+ * counts failed and slow requests to every host and, when there are
+ * too many of them, throws {@link IOException} immediately, without
+ * touching the server, until it recovers, see {@link CircuitBreaker}:
+ *
+ * <pre> String html = new JdkRequest("http://goggle.com")
+ *   .through(CircuitBreakerWire.class)
+ *   .fetch()
+ *   .body();</pre>
+ *
+ * <p>By default, all instances of the wire share the same circuits,
+ * which open for thirty seconds when half of at least 20 requests
+ * in ten seconds fail or take longer than five seconds. Another
+ * {@link CircuitBreaker} may be provided in the constructor.
+ *
+ * <p>The class is immutable and thread-safe.
+ *
+ * @since 2.0
+ */
+@Immutable
+@ToString(of = "origin")
+@EqualsAndHashCode(of = { "origin", "breaker" })
+public final class CircuitBreakerWire implements Wire {
+
+    /**
+     * Circuits shared by all wires by default.
+     */
+    private static final CircuitBreaker BREAKER = new CircuitBreaker();
+
+    /**
+     * Original wire.
+     */
+    private final transient Wire origin;
+
+    /**
+     * Circuits of hosts.
+     */
+    private final transient CircuitBreaker breaker;
+
+    /**
+     * Public ctor.
+     * @param wire Original wire
+     */
+    public CircuitBreakerWire(final Wire wire) {
+        this(wire, CircuitBreakerWire.BREAKER);
+    }
+
+    /**
+     * Public ctor.
+     * @param wire Original wire
+     * @param circuits Circuits of hosts
+     */
+    public CircuitBreakerWire(final Wire wire, final CircuitBreaker circuits) {
+        this.origin = wire;
+        this.breaker = circuits;
+    }
+
+    // @checkstyle ParameterNumber (5 lines)
+    @Override
+    public Response send(final Request req, final String home,
+        final String method,
+        final Collection<Map.Entry<String, String>> headers,
+        final InputStream content,
+        final int connect,
+        final int read) throws IOException {
+        final String host = Requests.host(home);
+        final CircuitBreaker.Circuit circuit = this.breaker.circuit(host);
+        final CircuitBreaker.State admitted = circuit.admit(
+            System.currentTimeMillis()
+        );
+        if (admitted == CircuitBreaker.State.OPEN) {
+            throw new IOException(
+                String.format(
+                    "circuit of %s is open, %s %s is not sent",
+                    host, method, home
+                )
+            );
+        }
+        final long start = System.nanoTime();
+        final Response rsp;
+        boolean failed = true;
+        try {
+            rsp = this.origin.send(
+                req, home, method, headers, content, connect, read
+            );
+            failed = rsp.status() >= HttpURLConnection.HTTP_INTERNAL_ERROR;
+        } finally {
+            circuit.record(
+                admitted, failed,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start),
+                System.currentTimeMillis()
+            );
+        }
+        return rsp;
+    }
+}
@@ -0,0 +1,199 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.http.wire;
+
+import com.jcabi.http.ImmutableHeader;
+import com.jcabi.http.Request;
+import com.jcabi.http.Response;
+import com.jcabi.http.Timings;
+import com.jcabi.http.request.DefaultResponse;
+import com.jcabi.http.response.Representations;
+import com.jcabi.immutable.Array;
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+import lombok.EqualsAndHashCode;
+
+/**
+ * Response with a body from a {@link BodyPool}, which may be compressed
+ * and/or kept off the heap, and shared with other responses.
+ *
+ * <p>The body is decompressed and copied to the heap every time it is
+ * read, nothing is kept in between. Caches retain and release the body
+ * through the response, see {@link Shared}.
+ *
+ * <p>The class is immutable and thread-safe.
+ *
+ * @since 2.0
+ */
+@EqualsAndHashCode(of = { "req", "code", "phrase", "hdrs", "body" })
+final class CompactResponse implements Response, Shared, Representations {
+
+    /**
+     * Request.
+     */
+    private final transient Request req;
+
+    /**
+     * Status code.
+     */
+    private final transient int code;
+
+    /**
+     * Reason phrase.
+     */
+    private final transient String phrase;
+
+    /**
+     * Headers.
+     */
+    private final transient Array<Map.Entry<String, String>> hdrs;
+
+    /**
+     * Body, in the pool.
+     */
+    private final transient BodyPool.Body body;
+
+    /**
+     * Durations of phases of the request.
+     */
+    private final transient Timings phases;
+
+    /**
+     * Ctor.
+     * @param rsp The response
+     * @param pool Pool of bodies
+     */
+    CompactResponse(final Response rsp, final BodyPool pool) {
+        this.req = rsp.back();
+        this.code = rsp.status();
+        this.phrase = rsp.reason();
+        final Collection<Map.Entry<String, String>> headers =
+            new ArrayList<>(rsp.headers().size());
+        for (final Map.Entry<String, List<String>> header
+            : rsp.headers().entrySet()) {
+            for (final String value : header.getValue()) {
+                headers.add(new ImmutableHeader(header.getKey(), value));
+            }
+        }
+        this.hdrs = new Array<>(headers);
+        this.body = pool.body(rsp.binary());
+        this.phases = rsp.timings();
+    }
+
+    @Override
+    public Request back() {
+        return this.req;
+    }
+
+    @Override
+    public int status() {
+        return this.code;
+    }
+
+    @Override
+    public String reason() {
+        return this.phrase;
+    }
+
+    @Override
+    @SuppressWarnings("PMD.AvoidInstantiatingObjectsInLoops")
+    public Map<String, List<String>> headers() {
+        final ConcurrentMap<String, List<String>> map =
+            new ConcurrentHashMap<>(0);
+        for (final Map.Entry<String, String> header : this.hdrs) {
+            map.putIfAbsent(header.getKey(), new LinkedList<String>());
+            map.get(header.getKey()).add(header.getValue());
+        }
+        return map;
+    }
+
+    @Override
+    public String body() {
+        return this.expanded().body();
+    }
+
+    @Override
+    public byte[] binary() {
+        return this.body.bytes();
+    }
+
+    @Override
+    public Timings timings() {
+        return this.phases;
+    }
+
+    // @checkstyle MethodName (4 lines)
+    @Override
+    @SuppressWarnings("PMD.ShortMethodName")
+    public <T extends Response> T as(final Class<T> type) {
+        try {
+            return type.getDeclaredConstructor(Response.class)
+                .newInstance(this);
+        } catch (final InstantiationException
+            | IllegalAccessException | NoSuchMethodException
+            | InvocationTargetException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return this.expanded().toString();
+    }
+
+    @Override
+    public <T> T parsed(final String kind, final Function<byte[], T> parser) {
+        return this.body.parsed(kind, parser);
+    }
+
+    @Override
+    public void retain() {
+        this.body.retain();
+    }
+
+    @Override
+    public void release() {
+        this.body.release();
+    }
+
+    /**
+     * Approximate amount of memory taken by the response, in bytes.
+     * @return Weight
+     */
+    long weight() {
+        long weight = this.body.weight();
+        for (final Map.Entry<String, String> header : this.hdrs) {
+            weight += 2L * (long) (header.getKey().length()
+                + header.getValue().length());
+        }
+        return weight;
+    }
+
+    /**
+     * The body, in the pool.
+     * @return Body
+     */
+    BodyPool.Body shared() {
+        return this.body;
+    }
+
+    /**
+     * Make a plain response with the body decompressed.
+     * @return Response
+     */
+    private Response expanded() {
+        return new DefaultResponse(
+            this.req, this.code, this.phrase, this.hdrs, this.binary(),
+            this.phases
+        );
+    }
+}
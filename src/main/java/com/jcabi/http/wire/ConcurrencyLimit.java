@@ -0,0 +1,246 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.http.wire;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import lombok.ToString;
+
+/**
+ * Adaptive limits of concurrent requests to hosts, shared by many
+ * {@link ConcurrencyLimitingWire}s.
+ *
+ * <p>Every host has its own limit of requests in flight, which is
+ * adjusted after every response with a gradient algorithm, similar to
+ * TCP Vegas. The shortest response time seen recently is taken as
+ * the time of an idle server. While responses are not much slower than
+ * that, the limit grows by about the square root of itself, as long as
+ * it is actually used. When responses slow down, the limit shrinks in
+ * proportion, but no more than by half at once. Failures, server errors
+ * and {@code 429 Too Many Requests} shrink the limit by ten percent.
+ *
+ * <p>Requests over the limit wait for a free slot for a while, and
+ * then fail with {@link java.io.IOException}. If the waiting time is zero,
+ * they fail immediately:
+ *
+ * <pre> ConcurrencyLimit limit = new ConcurrencyLimit(10, 200, 0L);
+ * new JdkRequest(uri)
+ *   .through(ConcurrencyLimitingWire.class, limit)
+ *   .fetch();</pre>
+ *
+ * <p>The class is thread-safe.
+ *
+ * @since 2.0
+ */
+@ToString(of = { "initial", "maximum", "wait" })
+public final class ConcurrencyLimit {
+
+    /**
+     * Responses slower than the idle ones by this factor shrink the limit.
+     */
+    private static final double TOLERANCE = 2.0d;
+
+    /**
+     * Factor of the limit after a failure.
+     */
+    private static final double BACKOFF = 0.9d;
+
+    /**
+     * Weight of the new limit, when it is smoothed.
+     */
+    private static final double SMOOTHING = 0.2d;
+
+    /**
+     * Number of responses after which the idle time is measured again.
+     */
+    private static final int PROBE = 1000;
+
+    /**
+     * Initial limit.
+     */
+    private final transient int initial;
+
+    /**
+     * Maximum limit.
+     */
+    private final transient int maximum;
+
+    /**
+     * How long requests wait for a free slot, in milliseconds.
+     */
+    private final transient long wait;
+
+    /**
+     * Limiters, by hosts.
+     */
+    private final transient ConcurrentMap<String, ConcurrencyLimit.Limiter>
+        limiters;
+
+    /**
+     * Public ctor, with initial limit of 20 requests, which may grow
+     * up to 1000, and waiting time of five seconds.
+     */
+    public ConcurrencyLimit() {
+        // @checkstyle MagicNumber (1 line)
+        this(20, 1000, 5000L);
+    }
+
+    /**
+     * Public ctor.
+     * @param start Initial limit of every host
+     * @param max Maximum limit of every host
+     * @param millis How long requests wait for a free slot, in milliseconds
+     */
+    public ConcurrencyLimit(final int start, final int max,
+        final long millis) {
+        this.initial = Math.max(start, 1);
+        this.maximum = Math.max(max, this.initial);
+        this.wait = millis;
+        this.limiters = new ConcurrentHashMap<>(0);
+    }
+
+    /**
+     * Current limit of the host.
+     * @param host The host, with the port if it is not default
+     * @return Maximum number of requests in flight
+     */
+    public int limit(final String host) {
+        final ConcurrencyLimit.Limiter limiter = this.limiters.get(host);
+        final int limit;
+        if (limiter == null) {
+            limit = this.initial;
+        } else {
+            limit = limiter.limit();
+        }
+        return limit;
+    }
+
+    /**
+     * Limiter of the host.
+     * @param host The host
+     * @return Limiter
+     */
+    ConcurrencyLimit.Limiter limiter(final String host) {
+        return this.limiters.computeIfAbsent(
+            host, key -> new ConcurrencyLimit.Limiter(this)
+        );
+    }
+
+    /**
+     * Limiter of one host.
+     *
+     * @since 2.0
+     */
+    static final class Limiter {
+
+        /**
+         * Settings.
+         */
+        private final transient ConcurrencyLimit settings;
+
+        /**
+         * Current limit.
+         */
+        private transient double current;
+
+        /**
+         * Requests in flight.
+         */
+        private transient int flight;
+
+        /**
+         * Shortest response time seen, in nanoseconds.
+         */
+        private transient long idle;
+
+        /**
+         * Responses seen since the idle time was measured.
+         */
+        private transient int samples;
+
+        /**
+         * Ctor.
+         * @param owner Settings
+         */
+        Limiter(final ConcurrencyLimit owner) {
+            this.settings = owner;
+            this.current = owner.initial;
+            this.idle = Long.MAX_VALUE;
+        }
+
+        /**
+         * Take a slot, waiting for it if necessary.
+         * @param millis How long the caller may wait, in milliseconds
+         * @return TRUE if taken, FALSE if there are no free slots
+         * @throws InterruptedException If interrupted while waiting
+         */
+        synchronized boolean acquire(final long millis)
+            throws InterruptedException {
+            final long deadline = System.nanoTime()
+                + TimeUnit.MILLISECONDS.toNanos(
+                    Math.min(this.settings.wait, millis)
+                );
+            long left = deadline - System.nanoTime();
+            while (this.flight >= (int) this.current && left > 0L) {
+                TimeUnit.NANOSECONDS.timedWait(this, left);
+                left = deadline - System.nanoTime();
+            }
+            final boolean taken = this.flight < (int) this.current;
+            if (taken) {
+                ++this.flight;
+            }
+            return taken;
+        }
+
+        /**
+         * Free the slot and adjust the limit.
+         * @param nanos Response time, in nanoseconds
+         * @param dropped TRUE if the request failed
+         */
+        synchronized void release(final long nanos, final boolean dropped) {
+            --this.flight;
+            double limit = this.current;
+            if (dropped) {
+                limit = limit * ConcurrencyLimit.BACKOFF;
+            } else {
+                ++this.samples;
+                if (this.samples >= ConcurrencyLimit.PROBE) {
+                    this.samples = 0;
+                    this.idle = nanos;
+                } else {
+                    this.idle = Math.min(this.idle, nanos);
+                }
+                final double gradient = Math.max(
+                    0.5d,
+                    Math.min(
+                        1.0d,
+                        ConcurrencyLimit.TOLERANCE * this.idle
+                            / Math.max(nanos, 1L)
+                    )
+                );
+                double target = limit * gradient;
+                if (2 * (this.flight + 1) >= limit) {
+                    target += Math.sqrt(limit);
+                }
+                limit = limit * (1.0d - ConcurrencyLimit.SMOOTHING)
+                    + Math.min(target, limit * 2.0d)
+                    * ConcurrencyLimit.SMOOTHING;
+            }
+            this.current = Math.max(
+                1.0d, Math.min(limit, (double) this.settings.maximum)
+            );
+            this.notifyAll();
+        }
+
+        /**
+         * Current limit.
+         * @return Maximum number of requests in flight
+         */
+        synchronized int limit() {
+            return (int) this.current;
+        }
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.http.wire;
+
+import com.jcabi.aspects.Immutable;
+import com.jcabi.http.Request;
+import com.jcabi.http.Requests;
+import com.jcabi.http.Response;
+import com.jcabi.http.Wire;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.HttpURLConnection;
+import java.util.Collection;
+import java.util.Map;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+/**
+ * Wire that limits the number of concurrent requests to every host,
+ * adjusting the limit to response times.
+ *
+ * <p>A fixed size of a thread pool is always wrong for some servers: too
+ * small for the fast ones and too large for the slow ones. This wire
+ * watches how response times change with the load and lets through only
+ * as many concurrent requests as a server handles without slowing
+ * down, see {@link ConcurrencyLimit}. Requests over the limit wait for
+ * a free slot, or fail with {@link IOException}:
+ *
+ * <pre> String html = new JdkRequest("http://goggle.com")
+ *   .through(ConcurrencyLimitingWire.class)
+ *   .fetch()
+ *   .body();</pre>
+ *
+ * <p>By default, all instances of the wire share the same limits, which
+ * start from 20 requests per host, and requests wait for five seconds
+ * at most.
+ *
+ * <p>The class is immutable and thread-safe.
+ *
+ * @since 2.0
+ */
+@Immutable
+@ToString(of = "origin")
+@EqualsAndHashCode(of = { "origin", "limit" })
+public final class ConcurrencyLimitingWire implements Wire {
+
+    /**
+     * Limits shared by all wires by default.
+     */
+    private static final ConcurrencyLimit LIMIT = new ConcurrencyLimit();
+
+    /**
+     * HTTP status code "Too Many Requests".
+     */
+    private static final int TOO_MANY = 429;
+
+    /**
+     * Original wire.
+     */
+    private final transient Wire origin;
+
+    /**
+     * Concurrency limits.
+     */
+    private final transient ConcurrencyLimit limit;
+
+    /**
+     * Public ctor.
+     * @param wire Original wire
+     */
+    public ConcurrencyLimitingWire(final Wire wire) {
+        this(wire, ConcurrencyLimitingWire.LIMIT);
+    }
+
+    /**
+     * Public ctor.
+     * @param wire Original wire
+     * @param limits Concurrency limits
+     */
+    public ConcurrencyLimitingWire(final Wire wire,
+        final ConcurrencyLimit limits) {
+        this.origin = wire;
+        this.limit = limits;
+    }
+
+    // @checkstyle ParameterNumber (5 lines)
+    @Override
+    public Response send(final Request req, final String home,
+        final String method,
+        final Collection<Map.Entry<String, String>> headers,
+        final InputStream content,
+        final int connect,
+        final int read) throws IOException {
+        final String host = Requests.host(home);
+        final ConcurrencyLimit.Limiter limiter = this.limit.limiter(host);
+        try {
+            if (!limiter.acquire(req.deadline().millis())) {
+                req.deadline().check();
+                throw new IOException(
+                    String.format(
+                        "too many requests in flight to %s, %s %s is not sent",
+                        host, method, home
+                    )
+                );
+            }
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            final InterruptedIOException failure =
+                new InterruptedIOException("interrupted by concurrency limit");
+            failure.initCause(ex);
+            throw failure;
+        }
+        final long start = System.nanoTime();
+        final Response rsp;
+        boolean dropped = true;
+        try {
+            rsp = this.origin.send(
+                req, home, method, headers, content, connect, read
+            );
+            dropped = rsp.status() >= HttpURLConnection.HTTP_INTERNAL_ERROR
+                || rsp.status() == ConcurrencyLimitingWire.TOO_MANY;
+        } finally {
+            limiter.release(System.nanoTime() - start, dropped);
+        }
+        return rsp;
+    }
+}
@@ -0,0 +1,352 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.http.wire;
+
+import com.jcabi.aspects.Immutable;
+import com.jcabi.http.Request;
+import com.jcabi.http.Response;
+import com.jcabi.http.Wire;
+import com.jcabi.http.jfr.Flight;
+import jakarta.ws.rs.core.HttpHeaders;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.BiConsumer;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+/**
+ * Wire that caches GET responses and revalidates them with both
+ * {@code ETag} and {@code Last-Modified}, only when they are stale.
+ *
+ * <p>This decorator combines {@link ETagCachingWire} and
+ * {@link LastModifiedCachingWire} and also respects the freshness
+ * lifetime of responses (RFC 7234 §4.2), defined by
+ * {@code Cache-Control: max-age} or {@code Expires}. While a cached
+ * response is fresh, it is returned without any network round trip.
+ * When it becomes stale, a conditional request is sent, with
+ * {@code If-None-Match} and {@code If-Modified-Since} headers,
+ * and {@code 304 Not Modified} makes it fresh again:
+ *
+ * <pre> String json = new JdkRequest("http://example.com/config.json")
+ *   .through(ConditionalCachingWire.class)
+ *   .fetch()
+ *   .body();</pre>
+ *
+ * <p>The cache is bounded, both by the number of entries and by their
+ * total size in bytes, the least recently used entries are evicted
+ * first. Wires with the same origin, limits and {@link BodyStorage}
+ * share one cache, no matter how many times they are created. The limits
+ * may be configured in the constructor:
+ *
+ * <pre> new JdkRequest(uri)
+ *   .through(ConditionalCachingWire.class, 1000, 16L * 1024 * 1024)
+ *   .fetch();</pre>
+ *
+ * <p>Bodies of cached responses may be compressed and/or kept off
+ * the heap, and shared between responses with identical bodies, see
+ * {@link BodyStorage}.
+ *
+ * <p>Requests with {@code Cache-Control: no-cache} in their headers
+ * are always revalidated, while {@code Cache-Control: no-store} ones
+ * bypass the cache entirely. Requests that already carry
+ * {@code If-None-Match} or {@code If-Modified-Since} go to the
+ * server as is.
+ *
+ * <p>The class is immutable and thread-safe.
+ *
+ * @since 2.0
+ */
+@Immutable
+@ToString(of = "origin")
+@EqualsAndHashCode(of = "origin")
+public final class ConditionalCachingWire implements Wire {
+
+    /**
+     * Default maximum number of entries.
+     */
+    static final int ENTRIES = 4096;
+
+    /**
+     * Default maximum size of all entries, in bytes.
+     */
+    static final long BYTES = 64L * 1024L * 1024L;
+
+    /**
+     * Caches, by configurations of wires.
+     */
+    private static final ConcurrentMap<List<Object>,
+        BoundedCache<Fingerprint, CacheEntry>> CACHES =
+        new ConcurrentHashMap<>(0);
+
+    /**
+     * Fingerprints of requests, used as cache keys.
+     */
+    private static final Fingerprints PRINTS = new Fingerprints();
+
+    /**
+     * No-cache directive.
+     */
+    private static final String NO_CACHE = "no-cache";
+
+    /**
+     * Pragma HTTP header name (RFC 7234 §5.4).
+     */
+    private static final String PRAGMA = "Pragma";
+
+    /**
+     * No-store directive.
+     */
+    private static final String NO_STORE = "no-store";
+
+    /**
+     * Original wire.
+     */
+    private final transient Wire origin;
+
+    /**
+     * Cache.
+     */
+    private final transient BoundedCache<Fingerprint, CacheEntry> cache;
+
+    /**
+     * How bodies are kept in the cache.
+     */
+    private final transient BodyStorage storage;
+
+    /**
+     * Public ctor.
+     * @param wire Original wire
+     */
+    public ConditionalCachingWire(final Wire wire) {
+        this(
+            wire, ConditionalCachingWire.ENTRIES,
+            ConditionalCachingWire.BYTES
+        );
+    }
+
+    /**
+     * Public ctor.
+     * @param wire Original wire
+     * @param entries Maximum number of cached responses
+     * @param bytes Maximum total size of cached responses, in bytes
+     */
+    public ConditionalCachingWire(final Wire wire, final int entries,
+        final long bytes) {
+        this(wire, entries, bytes, BodyStorage.HEAP);
+    }
+
+    /**
+     * Public ctor.
+     * @param wire Original wire
+     * @param bodies How to keep bodies of cached responses
+     */
+    public ConditionalCachingWire(final Wire wire, final BodyStorage bodies) {
+        this(
+            wire, ConditionalCachingWire.ENTRIES,
+            ConditionalCachingWire.BYTES, bodies
+        );
+    }
+
+    /**
+     * Public ctor.
+     * @param wire Original wire
+     * @param entries Maximum number of cached responses
+     * @param bytes Maximum total size of cached responses, in bytes
+     * @param bodies How to keep bodies of cached responses
+     */
+    public ConditionalCachingWire(final Wire wire, final int entries,
+        final long bytes, final BodyStorage bodies) {
+        this.origin = wire;
+        this.storage = bodies;
+        this.cache = ConditionalCachingWire.CACHES.computeIfAbsent(
+            Arrays.asList(wire, entries, bytes, bodies),
+            key -> {
+                final BoundedCache<Fingerprint, CacheEntry> created =
+                    new BoundedCache<>(entries, bytes, CacheEntry::weight);
+                CacheSnapshot.register(
+                    ConditionalCachingWire.class.getSimpleName(), created,
+                    ConditionalCachingWire::dump
+                );
+                return created;
+            }
+        );
+    }
+
+    // @checkstyle ParameterNumber (5 lines)
+    @Override
+    public Response send(final Request req, final String home,
+        final String method,
+        final Collection<Map.Entry<String, String>> headers,
+        final InputStream content,
+        final int connect,
+        final int read) throws IOException {
+        final CacheControl control = CacheControl.of(
+            headers, HttpHeaders.CACHE_CONTROL
+        );
+        final Response rsp;
+        if (method.equals(Request.GET)
+            && !control.has(ConditionalCachingWire.NO_STORE)
+            && CacheControl.values(headers, HttpHeaders.IF_NONE_MATCH)
+                .isEmpty()
+            && CacheControl.values(headers, HttpHeaders.IF_MODIFIED_SINCE)
+                .isEmpty()) {
+            final byte[] body = Fingerprints.bytes(content);
+            final Fingerprint key = ConditionalCachingWire.PRINTS.of(
+                method, home, headers, body
+            );
+            rsp = this.consult(
+                key, !ConditionalCachingWire.revalidate(control, headers),
+                req, home, headers, body, connect, read
+            );
+            final Fingerprint learnt = ConditionalCachingWire.PRINTS.learn(
+                key, rsp, headers, body
+            );
+            if (!learnt.equals(key)) {
+                this.update(learnt, rsp, System.currentTimeMillis());
+                this.cache.remove(key);
+            }
+        } else {
+            rsp = this.origin.send(
+                req, home, method, headers, content, connect, read
+            );
+        }
+        return rsp;
+    }
+
+    /**
+     * Consult the cache and the server, if necessary.
+     * @param key Cache key
+     * @param reuse TRUE if a fresh response can be reused without checking
+     * @param req Request
+     * @param home URI to fetch
+     * @param headers Headers
+     * @param content HTTP body
+     * @param connect The connect timeout
+     * @param read The read timeout
+     * @return Response obtained
+     * @throws IOException if fails
+     * @checkstyle ParameterNumber (6 lines)
+     */
+    private Response consult(final Fingerprint key, final boolean reuse,
+        final Request req, final String home,
+        final Collection<Map.Entry<String, String>> headers,
+        final byte[] content, final int connect, final int read)
+        throws IOException {
+        CacheEntry entry = this.cache.get(key);
+        if (entry == null) {
+            entry = CacheSnapshot.find(
+                ConditionalCachingWire.class.getSimpleName(), key, req
+            );
+            if (entry != null) {
+                entry = new CacheEntry(
+                    this.storage.stored(entry.response()), entry.expires()
+                );
+                this.cache.put(key, entry);
+            }
+        }
+        final long now = System.currentTimeMillis();
+        final Response rsp;
+        if (entry == null) {
+            Flight.cache(
+                ConditionalCachingWire.class, home, Flight.Lookup.MISS
+            );
+            rsp = this.origin.send(
+                req, home, Request.GET, headers,
+                new ByteArrayInputStream(content), connect, read
+            );
+            this.update(key, rsp, now);
+        } else if (reuse && entry.fresh(now)) {
+            Flight.cache(ConditionalCachingWire.class, home, Flight.Lookup.HIT);
+            rsp = entry.response();
+        } else if (entry.validated()) {
+            Flight.cache(
+                ConditionalCachingWire.class, home, Flight.Lookup.STALE
+            );
+            final Response fresh = this.origin.send(
+                req, home, Request.GET, entry.conditional(headers),
+                new ByteArrayInputStream(content), connect, read
+            );
+            if (fresh.status() == HttpURLConnection.HTTP_NOT_MODIFIED) {
+                this.cache.put(key, entry.refreshed(fresh, now));
+                rsp = entry.response();
+            } else {
+                this.update(key, fresh, now);
+                rsp = fresh;
+            }
+        } else {
+            Flight.cache(
+                ConditionalCachingWire.class, home, Flight.Lookup.STALE
+            );
+            rsp = this.origin.send(
+                req, home, Request.GET, headers,
+                new ByteArrayInputStream(content), connect, read
+            );
+            this.update(key, rsp, now);
+        }
+        return rsp;
+    }
+
+    /**
+     * Store the response in cache or evict the old one.
+     * @param key Cache key
+     * @param rsp Response received
+     * @param now Moment when it was received, in milliseconds
+     */
+    private void update(final Fingerprint key, final Response rsp,
+        final long now) {
+        if (CacheEntry.storable(rsp, now)) {
+            this.cache.put(
+                key, CacheEntry.received(this.storage.stored(rsp), now)
+            );
+        } else if (rsp.status() == HttpURLConnection.HTTP_OK) {
+            this.cache.remove(key);
+        }
+    }
+
+    /**
+     * Send all entries of the cache to the sink.
+     * @param cache The cache
+     * @param sink The sink
+     */
+    private static void dump(final BoundedCache<Fingerprint, CacheEntry> cache,
+        final BiConsumer<Fingerprint, CacheEntry> sink) {
+        for (final Map.Entry<Fingerprint, CacheEntry> ent : cache.entries()) {
+            sink.accept(ent.getKey(), ent.getValue());
+        }
+    }
+
+    /**
+     * Does the request demand revalidation of a cached response?
+     *
+     * <p>Per RFC 7234 §5.2.1.4, {@code Cache-Control: no-cache} in a request
+     * means that a cached response must not be used without successful
+     * validation on the origin server, {@code Pragma: no-cache} means
+     * the same for HTTP/1.0 (RFC 7234 §5.4).
+     *
+     * @param control Cache control directives of the request
+     * @param headers Request headers
+     * @return TRUE if the cached response must be validated
+     */
+    static boolean revalidate(final CacheControl control,
+        final Collection<Map.Entry<String, String>> headers) {
+        boolean revalidate = control.has(ConditionalCachingWire.NO_CACHE);
+        for (final String value
+            : CacheControl.values(headers, ConditionalCachingWire.PRAGMA)) {
+            if (value.contains(ConditionalCachingWire.NO_CACHE)) {
+                revalidate = true;
+                break;
+            }
+        }
+        return revalidate;
+    }
+}
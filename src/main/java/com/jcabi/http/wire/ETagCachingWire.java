@@ -43,4 +43,13 @@ public final class ETagCachingWire extends AbstractHeaderBasedCachingWire {
     public ETagCachingWire(final Wire wire) {
         super(HttpHeaders.ETAG, HttpHeaders.IF_NONE_MATCH, wire);
     }
+
+    /**
+     * Public ctor.
+     * @param wire Original wire
+     * @param bodies How to keep bodies of cached responses
+     */
+    public ETagCachingWire(final Wire wire, final BodyStorage bodies) {
+        super(HttpHeaders.ETAG, HttpHeaders.IF_NONE_MATCH, wire, bodies);
+    }
 }
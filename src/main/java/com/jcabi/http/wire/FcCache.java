@@ -4,67 +4,102 @@
  */
 package com.jcabi.http.wire;
 
-import com.google.common.base.Joiner;
 import com.jcabi.aspects.Immutable;
 import com.jcabi.http.Request;
 import com.jcabi.http.Response;
 import com.jcabi.http.Wire;
-import com.jcabi.http.request.DefaultResponse;
-import com.jcabi.immutable.Array;
 import com.jcabi.log.Logger;
-import jakarta.json.Json;
-import jakarta.json.JsonArrayBuilder;
-import jakarta.json.JsonObject;
-import jakarta.json.JsonObjectBuilder;
-import jakarta.json.JsonString;
-import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.OutputStream;
-import java.io.UnsupportedEncodingException;
-import java.net.URLEncoder;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.FileSystems;
 import java.nio.file.Files;
-import java.util.AbstractMap;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFileAttributes;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.LinkedList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import lombok.EqualsAndHashCode;
 import lombok.ToString;
-import org.apache.commons.io.FileUtils;
 
 /**
  * Cache for FcWire.
  *
+ * <p>Responses are kept in a {@link SegmentLog} in the directory,
+ * in binary form (see {@link BinaryResponse}), so binary bodies are
+ * preserved byte by byte. All caches with the same directory share
+ * the same log, even if they live in different processes.
+ *
+ * <p>Bodies longer than a few dozen bytes are kept separately from the
+ * rest of responses, by the SHA-256 digest of their content, so
+ * identical bodies of different responses are written to disk only
+ * once. The log counts the responses that link to a body and deletes
+ * the body together with the last of them.
+ *
+ * <p>At most sixteen logs are open at the same time in a process: when
+ * one more is needed, the least recently used one is closed, releasing
+ * its files and memory, and it opens again when used next time.
+ *
+ * <p>Labels of responses are not written to disk, only their SHA-256
+ * digests, because labels may contain values of headers like
+ * {@code Authorization} or {@code Cookie}.
+ *
+ * <p>By default, the directory is {@code com.jcabi.http.wire.FcCache-}
+ * followed by the name of the user in {@code java.io.tmpdir}, shared by
+ * all processes of the user and readable by nobody else. If it can't be
+ * made private, for example because another user created it first, the
+ * process uses a directory of its own instead. Responses stay there
+ * until they are invalidated or dropped when the quota is exceeded,
+ * even after a restart.
+ *
  * @since 1.16
  */
 @Immutable
 @ToString
 @EqualsAndHashCode
-@SuppressWarnings("PMD.ExcessiveImports")
 final class FcCache {
 
     /**
-     * Body key.
+     * Default maximum size of the cache on disk, in bytes.
+     */
+    static final long QUOTA = 256L * 1024L * 1024L;
+
+    /**
+     * Bodies shorter than this are kept together with their responses.
+     */
+    private static final int SHORT = 128;
+
+    /**
+     * Prefix of keys of bodies in the log.
      */
-    private static final String BODY = "body";
+    private static final String BODY = "sha256:";
 
     /**
-     * Status key.
+     * Maximum number of logs open at the same time.
      */
-    private static final String STATUS = "status";
+    private static final int OPEN = 16;
 
     /**
-     * Reason key.
+     * Logs, by directories.
      */
-    private static final String REASON = "reason";
+    private static final ConcurrentMap<String, SegmentLog> LOGS =
+        new ConcurrentHashMap<>(0);
 
     /**
-     * Headers key.
+     * Default directory.
      */
-    private static final String HEADERS = "headers";
+    private static final String SHARED = FcCache.shared();
 
     /**
      * Directory to keep files in.
@@ -72,19 +107,15 @@ final class FcCache {
     private final transient String dir;
 
     /**
-     * Ctor.
+     * Maximum size of the cache on disk, in bytes.
+     */
+    private final transient long quota;
+
+    /**
+     * Ctor, with the private directory of the user.
      */
     FcCache() {
-        this(
-            new File(
-                new File(System.getProperty("java.io.tmpdir")),
-                String.format(
-                    "%s-%d",
-                    FcCache.class.getCanonicalName(),
-                    System.nanoTime()
-                )
-            ).getAbsolutePath()
-        );
+        this(FcCache.SHARED);
     }
 
     /**
@@ -92,7 +123,17 @@ final class FcCache {
      * @param path Dir with files
      */
     FcCache(final String path) {
+        this(path, FcCache.QUOTA);
+    }
+
+    /**
+     * Ctor.
+     * @param path Dir with files
+     * @param max Maximum size of the cache on disk, in bytes
+     */
+    FcCache(final String path, final long max) {
         this.dir = path;
+        this.quota = max;
     }
 
     /**
@@ -100,11 +141,8 @@ final class FcCache {
      * @throws IOException If fails
      */
     public void invalidate() throws IOException {
-        final File file = this.file("").getParentFile();
-        if (file.exists()) {
-            FileUtils.deleteDirectory(file);
-            Logger.debug(this, "cache invalidated in %s", file);
-        }
+        this.log().clear();
+        Logger.debug(this, "cache invalidated in %s", this.dir);
     }
 
     /**
@@ -127,107 +165,223 @@ final class FcCache {
         final Collection<Map.Entry<String, String>> headers,
         final InputStream input, final int connect, final int read)
         throws IOException {
-        final File file = this.file(label);
-        final Response rsp;
-        if (file.exists()) {
-            rsp = this.response(request, file);
-        } else {
-            rsp = this.saved(
-                wire.send(
-                    request, home, method,
-                    headers, input, connect, read
-                ),
-                file
+        Response rsp = this.lookup(label, request);
+        if (rsp == null) {
+            rsp = wire.send(
+                request, home, method,
+                headers, input, connect, read
             );
+            this.store(label, rsp);
         }
         return rsp;
     }
 
     /**
-     * Get response from file.
-     * @param req Request
-     * @param file File to read
-     * @return Response
+     * Find a response in the cache.
+     * @param label Label to use
+     * @param request The request to attach the response to
+     * @return Response or NULL if absent
      * @throws IOException If fails
      */
-    @SuppressWarnings("PMD.AvoidInstantiatingObjectsInLoops")
-    private Response response(final Request req, final File file)
+    public Response lookup(final String label, final Request request)
         throws IOException {
-        final JsonObject json = Json.createReader(
-            new ByteArrayInputStream(
-                FileUtils.readFileToByteArray(file)
-            )
-        ).readObject();
-        final List<Map.Entry<String, String>> map = new LinkedList<>();
-        final JsonObject headers = json.getJsonObject(FcCache.HEADERS);
-        for (final String name : headers.keySet()) {
-            for (final JsonString value
-                : headers.getJsonArray(name).getValuesAs(JsonString.class)) {
-                map.add(new AbstractMap.SimpleEntry<>(name, value.getString()));
+        final SegmentLog log = this.log();
+        final String key = FcCache.key(label);
+        final ByteBuffer found = log.get(key);
+        Response rsp = null;
+        if (found != null) {
+            try {
+                rsp = BinaryResponse.decode(
+                    request, found, log.linked(key)
+                );
+                Logger.debug(this, "cache loaded from %s", this.dir);
+            } catch (final IOException ex) {
+                Logger.warn(this, "broken cache entry removed: %s", ex);
+                log.remove(key);
             }
         }
-        Logger.debug(this, "cache loaded from %s", file);
-        return new DefaultResponse(
-            req,
-            json.getInt(FcCache.STATUS),
-            json.getString(FcCache.REASON),
-            new Array<>(map),
-            json.getString(FcCache.BODY).getBytes(StandardCharsets.UTF_8)
-        );
+        return rsp;
     }
 
     /**
-     * Save response to file.
-     * @param response Response to save
-     * @param file File to read
-     * @return Response
+     * Is there a response in the cache?
+     * @param label Label to use
+     * @return TRUE if present
+     * @throws IOException If fails
+     */
+    public boolean has(final String label) throws IOException {
+        return this.log().has(FcCache.key(label));
+    }
+
+    /**
+     * Remove a response from the cache, if it is there.
+     * @param label Label to use
+     * @throws IOException If fails
+     */
+    public void remove(final String label) throws IOException {
+        this.log().remove(FcCache.key(label));
+    }
+
+    /**
+     * Save a response into the cache.
+     * @param label Label to use
+     * @param rsp The response
      * @throws IOException If fails
      */
-    private Response saved(final Response response, final File file)
+    public void store(final String label, final Response rsp)
         throws IOException {
-        final JsonObjectBuilder json = Json.createObjectBuilder();
-        json.add(FcCache.STATUS, response.status());
-        json.add(FcCache.REASON, response.reason());
-        final JsonObjectBuilder headers = Json.createObjectBuilder();
-        for (final Map.Entry<String, List<String>> pair
-            : response.headers().entrySet()) {
-            final JsonArrayBuilder array = Json.createArrayBuilder();
-            for (final String value : pair.getValue()) {
-                array.add(value);
-            }
-            headers.add(pair.getKey(), array);
+        final byte[] body = rsp.binary();
+        final String key = FcCache.key(label);
+        if (body.length < FcCache.SHORT) {
+            this.log().put(key, BinaryResponse.encode(rsp));
+        } else {
+            this.log().put(
+                key, BinaryResponse.head(rsp),
+                FcCache.BODY.concat(BodyPool.digest(body)), body
+            );
         }
-        json.add(FcCache.HEADERS, headers);
-        json.add(FcCache.BODY, response.body());
-        if (file.getParentFile().mkdirs()) {
-            Logger.debug(this, "directory created for %s", file);
+        Logger.debug(this, "cache saved into %s", this.dir);
+    }
+
+    /**
+     * The log of this directory.
+     *
+     * <p>There is only one log of a directory in the JVM, no matter how
+     * the directory is spelled, since two logs of one directory would
+     * fail to lock its files. All caches of the directory must use the
+     * same quota.
+     * @return Log
+     * @throws IOException If the path can't be resolved
+     */
+    private SegmentLog log() throws IOException {
+        final SegmentLog log = FcCache.LOGS.computeIfAbsent(
+            new File(this.dir).getCanonicalPath(),
+            path -> new SegmentLog(new File(path), this.quota)
+        );
+        if (log.quota() != this.quota) {
+            throw new IllegalArgumentException(
+                String.format(
+                    "cache in %s has quota of %d bytes already, not %d",
+                    this.dir, log.quota(), this.quota
+                )
+            );
         }
-        try (OutputStream out = Files.newOutputStream(file.toPath())) {
-            Json.createWriter(out).write(json.build());
+        if (!log.isOpen()) {
+            FcCache.vacate(log);
         }
-        Logger.debug(this, "cache saved into %s", file);
-        return response;
+        return log;
     }
 
     /**
-     * Make file from label.
-     * @param label Label to use
-     * @return File
+     * Key of a label in the log.
+     * @param label The label
+     * @return Its digest
      */
-    private File file(final String label) {
-        final String path;
+    private static String key(final String label) {
+        return BodyPool.digest(label.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Private directory of the user, or a directory of this process if
+     * it can't be made private.
+     * @return Absolute path
+     */
+    private static String shared() {
+        final File tmp = new File(System.getProperty("java.io.tmpdir"));
+        final File dir = new File(
+            tmp,
+            String.format(
+                "%s-%s", FcCache.class.getCanonicalName(),
+                System.getProperty("user.name", "")
+                    .replaceAll("[^A-Za-z0-9._-]", "_")
+            )
+        );
+        String path;
         try {
-            path = Joiner.on("/").join(
-                URLEncoder.encode(label, StandardCharsets.UTF_8.toString())
-                    .replaceAll("_", "__")
-                    .replaceAll("\\+", "_")
-                    .replaceAll("%", "_")
-                    .split("(?<=\\G.{4})")
+            FcCache.secure(dir.toPath());
+            path = dir.getAbsolutePath();
+        } catch (final IOException ex) {
+            path = new File(
+                tmp,
+                String.format(
+                    "%s-%d", FcCache.class.getCanonicalName(),
+                    System.nanoTime()
+                )
+            ).getAbsolutePath();
+            Logger.warn(
+                FcCache.class, "Can't use %s, %s is used instead: %s",
+                dir, path, ex.getMessage()
+            );
+        }
+        return path;
+    }
+
+    /**
+     * Create the directory, readable by its owner only, or make sure
+     * that it is so, if it already exists.
+     * @param dir The directory
+     * @throws IOException If it is not private
+     */
+    private static void secure(final Path dir) throws IOException {
+        if (FileSystems.getDefault().supportedFileAttributeViews()
+            .contains("posix")) {
+            final Set<PosixFilePermission> owner =
+                PosixFilePermissions.fromString("rwx------");
+            try {
+                Files.createDirectory(
+                    dir, PosixFilePermissions.asFileAttribute(owner)
+                );
+            } catch (final FileAlreadyExistsException ex) {
+                Logger.debug(FcCache.class, "%s already exists", dir);
+            }
+            final PosixFileAttributes attrs = Files.readAttributes(
+                dir, PosixFileAttributes.class, LinkOption.NOFOLLOW_LINKS
             );
-        } catch (final UnsupportedEncodingException ex) {
-            throw new IllegalStateException(ex);
+            final Path probe = Files.createTempFile(
+                dir.getParent(), "fccache", ".owner"
+            );
+            try {
+                if (!attrs.isDirectory()
+                    || !attrs.owner().equals(Files.getOwner(probe))
+                    || !attrs.permissions().equals(owner)) {
+                    throw new IOException(
+                        String.format(
+                            "%s is not a private directory of the user", dir
+                        )
+                    );
+                }
+            } finally {
+                Files.delete(probe);
+            }
+        } else {
+            Files.createDirectories(dir);
+        }
+    }
+
+    /**
+     * Close least recently used logs, so that there is room for one more.
+     * @param log The log that is going to be opened
+     */
+    private static void vacate(final SegmentLog log) {
+        synchronized (FcCache.LOGS) {
+            final List<SegmentLog> open = new ArrayList<>(FcCache.OPEN);
+            for (final SegmentLog other : FcCache.LOGS.values()) {
+                if (other != log && other.isOpen()) {
+                    open.add(other);
+                }
+            }
+            open.sort(Comparator.comparingLong(SegmentLog::used));
+            for (int idx = 0; idx <= open.size() - FcCache.OPEN; ++idx) {
+                try {
+                    open.get(idx).close();
+                } catch (final IOException ex) {
+                    Logger.warn(
+                        FcCache.class, "failed to close %s: %s",
+                        open.get(idx), ex
+                    );
+                }
+            }
         }
-        return new File(this.dir, String.format("%s.json", path));
     }
 
 }
@@ -8,6 +8,8 @@ import com.jcabi.aspects.Immutable;
 import com.jcabi.http.Request;
 import com.jcabi.http.Response;
 import com.jcabi.http.Wire;
+import com.jcabi.http.jfr.Flight;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
@@ -40,6 +42,26 @@ import lombok.ToString;
  * constructed as an HTTP method, space, path of the URI together with
  * query part.
  *
+ * <p>Responses are stored by the normalized fingerprint of the request,
+ * which includes the values of only those headers that are listed
+ * in the {@code Vary} header of the response.
+ *
+ * <p>Responses are appended, in binary form, to a log of segment files
+ * in the directory. When the files grow beyond the quota (256 MiB by
+ * default), the least recently used responses are dropped:
+ *
+ * <pre>new JdkRequest(uri)
+ *   .through(FcWire.class, "$never", "/tmp/cache", 64L * 1024L * 1024L)
+ *   .fetch();</pre>
+ *
+ * <p>Many processes on the same machine may use the same directory at
+ * the same time, sharing the responses fetched by each other. By default,
+ * all processes of the same user use one directory in
+ * {@code java.io.tmpdir}, which other users can't read, so responses
+ * fetched by one process, or before a restart, are found by others.
+ * Only digests of request fingerprints are written to disk, never the
+ * values of headers like {@code Authorization}.
+ *
  * <p>The class is immutable and thread-safe.
  *
  * @since 1.16
@@ -49,6 +71,11 @@ import lombok.ToString;
 @EqualsAndHashCode(of = { "origin", "regex" })
 public final class FcWire implements Wire {
 
+    /**
+     * Fingerprints of requests, used as cache keys.
+     */
+    private static final Fingerprints PRINTS = new Fingerprints();
+
     /**
      * Cache in files.
      */
@@ -91,6 +118,18 @@ public final class FcWire implements Wire {
         this(wire, flsh, new FcCache(path));
     }
 
+    /**
+     * Public ctor.
+     * @param wire Original wire
+     * @param flsh Flushing regular expression
+     * @param path Path for the files
+     * @param quota Maximum size of the files, in bytes
+     */
+    public FcWire(final Wire wire, final String flsh, final String path,
+        final long quota) {
+        this(wire, flsh, new FcCache(path, quota));
+    }
+
     /**
      * Public ctor.
      * @param wire Original wire
@@ -122,10 +161,30 @@ public final class FcWire implements Wire {
         }
         final Response rsp;
         if (method.equals(Request.GET)) {
-            rsp = this.cache.get(
-                label.toString(), this.origin, req,
-                home, method, headers, content, connect, read
+            final byte[] body = Fingerprints.bytes(content);
+            final Fingerprint key = FcWire.PRINTS.of(
+                method, home, headers, body
+            );
+            final Response found = this.cache.lookup(key.toString(), req);
+            if (found == null) {
+                Flight.cache(FcWire.class, home, Flight.Lookup.MISS);
+                rsp = this.origin.send(
+                    req, home, method, headers,
+                    new ByteArrayInputStream(body), connect, read
+                );
+            } else {
+                Flight.cache(FcWire.class, home, Flight.Lookup.HIT);
+                rsp = found;
+            }
+            final Fingerprint learnt = FcWire.PRINTS.learn(
+                key, rsp, headers, body
             );
+            if (found == null && !Fingerprints.wildcard(rsp)) {
+                this.cache.store(learnt.toString(), rsp);
+            }
+            if (!learnt.equals(key)) {
+                this.cache.remove(key.toString());
+            }
         } else {
             rsp = this.origin.send(
                 req, home, method, headers, content,
@@ -0,0 +1,325 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.http.wire;
+
+import jakarta.ws.rs.core.HttpHeaders;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Normalized fingerprint of an HTTP request, used as a cache key.
+ *
+ * <p>Two requests have equal fingerprints when they have the same method,
+ * the same URI (with its query parameters sorted by name), the same
+ * values of the headers listed in {@code Vary} of the response
+ * (RFC 7231 §7.1.4), and the same body. Credentials
+ * ({@code Authorization} and {@code Cookie}) are always a part of the
+ * fingerprint, in order to never share responses between users. All
+ * other headers, like tracing IDs, are ignored.
+ *
+ * <p>The body is never stored, only its 64-bit hash. The hash of the
+ * entire fingerprint is calculated once, in the constructor, which makes
+ * hashing and comparing of fingerprints cheap.
+ *
+ * <p>The class is immutable and thread-safe.
+ *
+ * @since 2.0
+ */
+final class Fingerprint {
+
+    /**
+     * Headers that are always a part of the fingerprint.
+     */
+    private static final String[] ALWAYS = {
+        HttpHeaders.AUTHORIZATION.toLowerCase(Locale.ENGLISH),
+        HttpHeaders.COOKIE.toLowerCase(Locale.ENGLISH),
+    };
+
+    /**
+     * FNV-1a 64-bit offset basis.
+     */
+    private static final long BASIS = 0xcbf29ce484222325L;
+
+    /**
+     * FNV-1a 64-bit prime.
+     */
+    private static final long PRIME = 0x100000001b3L;
+
+    /**
+     * Hash of an empty body.
+     */
+    private static final long EMPTY = Fingerprint.hash(new byte[0]);
+
+    /**
+     * HTTP method and normalized URI.
+     */
+    private final transient String target;
+
+    /**
+     * Names and values of headers, sorted by name.
+     */
+    private final transient String[] headers;
+
+    /**
+     * Hash of the body.
+     */
+    private final transient long body;
+
+    /**
+     * Hash of the entire fingerprint.
+     */
+    private final transient long hash;
+
+    /**
+     * Ctor.
+     * @param trgt HTTP method and normalized URI, see {@link #target()}
+     * @param hdrs All request headers
+     * @param vary Names of headers to include, in lower case
+     * @param content Request body
+     */
+    Fingerprint(final String trgt,
+        final Collection<Map.Entry<String, String>> hdrs,
+        final Collection<String> vary, final byte[] content) {
+        this(
+            trgt,
+            Fingerprint.selected(hdrs, vary),
+            Fingerprint.hash(content)
+        );
+    }
+
+    /**
+     * Ctor.
+     * @param trgt HTTP method and normalized URI
+     * @param hdrs Names and values of headers, sorted by name
+     * @param bdy Hash of the body
+     */
+    private Fingerprint(final String trgt, final String[] hdrs,
+        final long bdy) {
+        this.target = trgt;
+        this.headers = hdrs;
+        this.body = bdy;
+        long hsh = Fingerprint.mix(Fingerprint.hash(trgt) ^ bdy);
+        for (final String header : hdrs) {
+            hsh = Fingerprint.mix(hsh ^ Fingerprint.hash(header));
+        }
+        this.hash = hsh;
+    }
+
+    /**
+     * HTTP method and normalized URI, without headers and body.
+     * @return Target of the request, for example "GET http://a.com/?x=1"
+     */
+    public String target() {
+        return this.target;
+    }
+
+    /**
+     * The 64-bit hash of the fingerprint.
+     * @return Hash
+     */
+    public long hash() {
+        return this.hash;
+    }
+
+    @Override
+    public int hashCode() {
+        return (int) (this.hash ^ (this.hash >>> 32));
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        return this == obj
+            || obj instanceof Fingerprint
+            && ((Fingerprint) obj).hash == this.hash
+            && ((Fingerprint) obj).body == this.body
+            && ((Fingerprint) obj).target.equals(this.target)
+            && Arrays.equals(((Fingerprint) obj).headers, this.headers);
+    }
+
+    /**
+     * Canonical text form, which is unique for every fingerprint.
+     * @return Text
+     */
+    @Override
+    public String toString() {
+        final StringBuilder text = new StringBuilder(this.target);
+        for (final String header : this.headers) {
+            text.append('\n').append(header);
+        }
+        if (this.body != Fingerprint.EMPTY) {
+            text.append("\n#").append(Long.toHexString(this.body));
+        }
+        return text.toString();
+    }
+
+    /**
+     * Calculate 64-bit hash of a byte array (FNV-1a, with a final mix).
+     * @param bytes The bytes
+     * @return Hash
+     */
+    static long hash(final byte[] bytes) {
+        long hsh = Fingerprint.BASIS;
+        for (final byte chr : bytes) {
+            hsh = (hsh ^ (chr & 0xff)) * Fingerprint.PRIME;
+        }
+        return Fingerprint.mix(hsh);
+    }
+
+    /**
+     * Calculate 64-bit hash of a string.
+     * @param text The text
+     * @return Hash
+     */
+    private static long hash(final String text) {
+        long hsh = Fingerprint.BASIS;
+        for (int pos = 0; pos < text.length(); ++pos) {
+            hsh = (hsh ^ text.charAt(pos)) * Fingerprint.PRIME;
+        }
+        return hsh;
+    }
+
+    /**
+     * Finalization mix of MurmurHash3, to spread bits of a hash.
+     * @param value The value
+     * @return Mixed value
+     * @checkstyle MagicNumberCheck (10 lines)
+     */
+    private static long mix(final long value) {
+        long mixed = value;
+        mixed ^= mixed >>> 33;
+        mixed *= 0xff51afd7ed558ccdL;
+        mixed ^= mixed >>> 33;
+        mixed *= 0xc4ceb9fe1a85ec53L;
+        mixed ^= mixed >>> 33;
+        return mixed;
+    }
+
+    /**
+     * Make the target: HTTP method and normalized URI.
+     *
+     * <p>Scheme and host are lower-cased, default ports and the fragment
+     * are removed, query parameters are sorted by name, keeping the order
+     * of parameters with the same name.
+     *
+     * @param method HTTP method
+     * @param home URI
+     * @return Target
+     */
+    static String target(final String method, final String home) {
+        String normal;
+        try {
+            final URI uri = new URI(home);
+            int port = uri.getPort();
+            final String scheme = Fingerprint.lower(uri.getScheme());
+            if ("http".equals(scheme) && port == 80
+                || "https".equals(scheme) && port == 443) {
+                port = -1;
+            }
+            String path = uri.getRawPath();
+            if (path == null || path.isEmpty()) {
+                path = "/";
+            }
+            final StringBuilder text = new StringBuilder(home.length());
+            if (scheme != null) {
+                text.append(scheme).append("://");
+            }
+            if (uri.getRawUserInfo() != null) {
+                text.append(uri.getRawUserInfo()).append('@');
+            }
+            if (uri.getHost() != null) {
+                text.append(Fingerprint.lower(uri.getHost()));
+            }
+            if (port >= 0) {
+                text.append(':').append(port);
+            }
+            text.append(path);
+            if (uri.getRawQuery() != null) {
+                text.append('?').append(Fingerprint.sorted(uri.getRawQuery()));
+            }
+            normal = text.toString();
+        } catch (final URISyntaxException ex) {
+            normal = home;
+        }
+        return new StringBuilder(method.length() + normal.length() + 1)
+            .append(method).append(' ').append(normal).toString();
+    }
+
+    /**
+     * Sort query parameters by name.
+     * @param query Raw query
+     * @return Query with sorted parameters
+     */
+    private static String sorted(final String query) {
+        final List<String> params = new ArrayList<>(
+            Arrays.asList(query.split("&"))
+        );
+        params.sort(Comparator.comparing(Fingerprint::name));
+        return String.join("&", params);
+    }
+
+    /**
+     * Name of a query parameter.
+     * @param param Parameter, like "a=1"
+     * @return Name, like "a"
+     */
+    private static String name(final String param) {
+        final int equals = param.indexOf('=');
+        final String name;
+        if (equals < 0) {
+            name = param;
+        } else {
+            name = param.substring(0, equals);
+        }
+        return name;
+    }
+
+    /**
+     * Select headers to include into the fingerprint.
+     * @param hdrs All request headers
+     * @param vary Names of headers to include, in lower case
+     * @return Names and values, sorted by name
+     */
+    private static String[] selected(
+        final Collection<Map.Entry<String, String>> hdrs,
+        final Collection<String> vary) {
+        final List<String> found = new ArrayList<>(vary.size());
+        for (final Map.Entry<String, String> header : hdrs) {
+            final String name = Fingerprint.lower(header.getKey());
+            if (vary.contains(name)
+                || Arrays.asList(Fingerprint.ALWAYS).contains(name)) {
+                found.add(
+                    new StringBuilder(name).append(": ")
+                        .append(header.getValue().trim()).toString()
+                );
+            }
+        }
+        found.sort(
+            Comparator.comparing(hdr -> hdr.substring(0, hdr.indexOf(':')))
+        );
+        return found.toArray(new String[0]);
+    }
+
+    /**
+     * Lower case.
+     * @param text Text or NULL
+     * @return Text in lower case or NULL
+     */
+    private static String lower(final String text) {
+        final String lower;
+        if (text == null) {
+            lower = null;
+        } else {
+            lower = text.toLowerCase(Locale.ENGLISH);
+        }
+        return lower;
+    }
+}
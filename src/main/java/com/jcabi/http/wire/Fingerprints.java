@@ -0,0 +1,175 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.http.wire;
+
+import com.jcabi.http.Response;
+import jakarta.ws.rs.core.HttpHeaders;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import lombok.ToString;
+
+/**
+ * Factory of {@link Fingerprint}s, which remembers the {@code Vary}
+ * headers of responses.
+ *
+ * <p>The headers that make a difference for a resource are known only
+ * after its first response is received. This class remembers them,
+ * for every method and URI, and uses them to make fingerprints of
+ * subsequent requests to the same resource.
+ *
+ * <p>The class is thread-safe.
+ *
+ * @since 2.0
+ */
+@ToString
+final class Fingerprints {
+
+    /**
+     * Maximum number of resources to remember.
+     */
+    private static final int RESOURCES = 16384;
+
+    /**
+     * Maximum memory taken by the remembered headers, in bytes.
+     */
+    private static final long BYTES = 4L * 1024L * 1024L;
+
+    /**
+     * The {@code Vary} value that matches any request.
+     */
+    private static final String ANY = "*";
+
+    /**
+     * Names of headers in {@code Vary}, by request target.
+     */
+    private final transient BoundedCache<String, Set<String>> varies;
+
+    /**
+     * Ctor.
+     */
+    Fingerprints() {
+        this.varies = new BoundedCache<>(
+            Fingerprints.RESOURCES, Fingerprints.BYTES,
+            names -> 64L + names.stream().mapToLong(String::length).sum()
+        );
+    }
+
+    /**
+     * Make a fingerprint of a request.
+     * @param method HTTP method
+     * @param home URI
+     * @param headers Request headers
+     * @param body Request body
+     * @return Fingerprint
+     */
+    public Fingerprint of(final String method, final String home,
+        final Collection<Map.Entry<String, String>> headers,
+        final byte[] body) {
+        final String target = Fingerprint.target(method, home);
+        return new Fingerprint(target, headers, this.names(target), body);
+    }
+
+    /**
+     * Learn the {@code Vary} header of the response and make a new
+     * fingerprint of the request, if it changes.
+     *
+     * <p>A response with {@code Vary: *} varies on something outside of
+     * the request, so nothing is learnt from it and the fingerprint is
+     * returned as is: such a response must not be stored at all,
+     * see {@link #wildcard(Response)}.
+     * @param fpt Fingerprint made by {@link #of(String, String,
+     *  Collection, byte[])}
+     * @param rsp Response received
+     * @param headers Request headers
+     * @param body Request body
+     * @return Fingerprint to store the response with
+     */
+    public Fingerprint learn(final Fingerprint fpt, final Response rsp,
+        final Collection<Map.Entry<String, String>> headers,
+        final byte[] body) {
+        final Set<String> names = Fingerprints.varies(rsp);
+        final Fingerprint learnt;
+        if (names.contains(Fingerprints.ANY)
+            || names.equals(this.names(fpt.target()))) {
+            learnt = fpt;
+        } else {
+            if (names.isEmpty()) {
+                this.varies.remove(fpt.target());
+            } else {
+                this.varies.put(
+                    fpt.target(), Collections.unmodifiableSet(names)
+                );
+            }
+            learnt = new Fingerprint(fpt.target(), headers, names, body);
+        }
+        return learnt;
+    }
+
+    /**
+     * Does the response vary on everything, with {@code Vary: *}?
+     * Such a response can't be served from a cache to any other request
+     * (RFC 9111 §4.1), so it must not be stored.
+     * @param rsp Response
+     * @return TRUE if one of its {@code Vary} values is {@code *}
+     */
+    static boolean wildcard(final Response rsp) {
+        return Fingerprints.varies(rsp).contains(Fingerprints.ANY);
+    }
+
+    /**
+     * Read the entire body of a request.
+     * @param content The stream
+     * @return All bytes
+     * @throws IOException If fails
+     */
+    static byte[] bytes(final InputStream content) throws IOException {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        // @checkstyle MagicNumber (1 line)
+        final byte[] buffer = new byte[8192];
+        for (int bytes = content.read(buffer); bytes != -1;
+            bytes = content.read(buffer)) {
+            output.write(buffer, 0, bytes);
+        }
+        return output.toByteArray();
+    }
+
+    /**
+     * Names of headers in the {@code Vary} header of the response.
+     * @param rsp Response
+     * @return Names, in lower case
+     */
+    private static Set<String> varies(final Response rsp) {
+        final Set<String> names = new TreeSet<>();
+        for (final String value
+            : CacheControl.values(rsp.headers(), HttpHeaders.VARY)) {
+            for (final String name : value.split(",")) {
+                if (!name.trim().isEmpty()) {
+                    names.add(name.trim().toLowerCase(Locale.ENGLISH));
+                }
+            }
+        }
+        return names;
+    }
+
+    /**
+     * Names of headers known to make a difference for the target.
+     * @param target Request target
+     * @return Names, in lower case
+     */
+    private Set<String> names(final String target) {
+        Set<String> names = this.varies.get(target);
+        if (names == null) {
+            names = Collections.emptySet();
+        }
+        return names;
+    }
+}
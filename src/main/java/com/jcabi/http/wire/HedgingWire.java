@@ -0,0 +1,335 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.http.wire;
+
+import com.jcabi.aspects.Immutable;
+import com.jcabi.http.Deadline;
+import com.jcabi.http.ReplayableStream;
+import com.jcabi.http.Request;
+import com.jcabi.http.Requests;
+import com.jcabi.http.Response;
+import com.jcabi.http.Wire;
+import com.jcabi.log.VerboseThreads;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+/**
+ * Wire that sends a duplicate of a slow request and takes the response
+ * that arrives first.
+ *
+ * <p>A small share of requests is always much slower than the others,
+ * because of a garbage collection, a busy node or a lost packet. When
+ * there are many replicas behind the host, the duplicate most likely
+ * lands on another one and returns much earlier. This wire sends a
+ * duplicate when there is no response for as long as 95 percent of
+ * recent requests to the host took, see {@link Latencies}, so that only
+ * about five percent of requests are sent twice:
+ *
+ * <pre> String html = new JdkRequest("http://goggle.com")
+ *   .through(HedgingWire.class)
+ *   .fetch()
+ *   .body();</pre>
+ *
+ * <p>The delay may also be fixed, in milliseconds, for example
+ * {@code .through(HedgingWire.class, 50L)}. Until twenty responses of a
+ * host are seen, its requests are not duplicated. Only idempotent
+ * requests are duplicated, the others are sent as they are. Each request
+ * has its own {@link Deadline}, which ends with the deadline of the
+ * original request. The request that loses is cancelled through its
+ * deadline, which closes its connection, and its response, if any, is
+ * ignored. Both requests are sent from a pool of up to 256 daemon
+ * threads, while the calling thread waits for them; when all of them are
+ * busy, requests are sent by the calling thread, without duplicates.
+ *
+ * <p>The class is immutable and thread-safe.
+ *
+ * @since 2.0
+ */
+@Immutable
+@ToString(of = { "origin", "delay" })
+@EqualsAndHashCode(of = { "origin", "latencies", "delay" })
+public final class HedgingWire implements Wire {
+
+    /**
+     * Response times shared by all wires by default.
+     */
+    private static final Latencies LATENCIES = new Latencies();
+
+    /**
+     * Threads sending requests.
+     */
+    private static final ExecutorService THREADS = new ThreadPoolExecutor(
+        // @checkstyle MagicNumber (1 line)
+        0, 256, 1L, TimeUnit.MINUTES, new SynchronousQueue<>(),
+        new VerboseThreads(HedgingWire.class)
+    );
+
+    /**
+     * Original wire.
+     */
+    private final transient Wire origin;
+
+    /**
+     * Response times of hosts.
+     */
+    private final transient Latencies latencies;
+
+    /**
+     * Fixed delay in milliseconds, or -1 if it is learned from latencies.
+     */
+    private final transient long delay;
+
+    /**
+     * Public ctor.
+     * @param wire Original wire
+     */
+    public HedgingWire(final Wire wire) {
+        this(wire, HedgingWire.LATENCIES);
+    }
+
+    /**
+     * Public ctor.
+     * @param wire Original wire
+     * @param lats Response times of hosts
+     */
+    public HedgingWire(final Wire wire, final Latencies lats) {
+        this(wire, lats, -1L);
+    }
+
+    /**
+     * Public ctor.
+     * @param wire Original wire
+     * @param millis Delay before the duplicate is sent, in milliseconds
+     */
+    public HedgingWire(final Wire wire, final long millis) {
+        this(wire, HedgingWire.LATENCIES, Math.max(millis, 0L));
+    }
+
+    /**
+     * Public ctor.
+     * @param wire Original wire
+     * @param lats Response times of hosts
+     * @param millis Delay in milliseconds, or -1 to learn it from latencies
+     */
+    public HedgingWire(final Wire wire, final Latencies lats,
+        final long millis) {
+        this.origin = wire;
+        this.latencies = lats;
+        this.delay = millis;
+    }
+
+    // @checkstyle ParameterNumber (5 lines)
+    @Override
+    public Response send(final Request req, final String home,
+        final String method,
+        final Collection<Map.Entry<String, String>> headers,
+        final InputStream content,
+        final int connect,
+        final int read) throws IOException {
+        final Response rsp;
+        if (RetryWire.IDEMPOTENT.contains(
+            method.toUpperCase(Locale.ENGLISH)
+        )) {
+            rsp = this.hedged(
+                req, home, method, headers, content, connect, read
+            );
+        } else {
+            rsp = this.origin.send(
+                req, home, method, headers, content, connect, read
+            );
+        }
+        return rsp;
+    }
+
+    /**
+     * Send the request and, if it is slow, its duplicate.
+     * @param req Request
+     * @param home URI to fetch
+     * @param method HTTP method
+     * @param headers Headers
+     * @param content HTTP body
+     * @param connect The connect timeout
+     * @param read The read timeout
+     * @return Response of the request that finished first
+     * @throws IOException If both fail
+     * @checkstyle ParameterNumberCheck (15 lines)
+     */
+    private Response hedged(final Request req, final String home,
+        final String method,
+        final Collection<Map.Entry<String, String>> headers,
+        final InputStream content,
+        final int connect,
+        final int read) throws IOException {
+        final String host = Requests.host(home);
+        final ReplayableStream body = ReplayableStream.of(content);
+        long wait = this.delay;
+        if (wait < 0L) {
+            wait = this.latencies.millis(host);
+        }
+        if (wait >= req.deadline().millis()) {
+            wait = -1L;
+        }
+        final CompletionService<Response> service =
+            new ExecutorCompletionService<>(HedgingWire.THREADS);
+        final List<Future<Response>> sent = new ArrayList<>(2);
+        final List<Deadline> children = new CopyOnWriteArrayList<>();
+        final Function<Deadline, Callable<Response>> attempt =
+            child -> () -> {
+                final long start = System.nanoTime();
+                final Response response = this.origin.send(
+                    req.deadline(child), home, method, headers,
+                    body.replay(), connect, read
+                );
+                this.latencies.record(host, System.nanoTime() - start);
+                return response;
+            };
+        final Closeable link = req.deadline().watch(
+            () -> children.forEach(Deadline::cancel)
+        );
+        final Response rsp;
+        try {
+            if (HedgingWire.submit(service, attempt, req, sent, children)) {
+                Future<Response> done = null;
+                if (wait >= 0L) {
+                    done = service.poll(wait, TimeUnit.MILLISECONDS);
+                    if (done == null) {
+                        HedgingWire.submit(
+                            service, attempt, req, sent, children
+                        );
+                    }
+                }
+                rsp = HedgingWire.first(service, done, sent.size());
+            } else {
+                rsp = this.origin.send(
+                    req, home, method, headers, body.replay(), connect, read
+                );
+            }
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            final InterruptedIOException failure =
+                new InterruptedIOException("interrupted while hedging");
+            failure.initCause(ex);
+            throw failure;
+        } finally {
+            link.close();
+            for (int idx = 0; idx < sent.size(); ++idx) {
+                if (!sent.get(idx).isDone()) {
+                    children.get(idx).cancel();
+                    sent.get(idx).cancel(true);
+                }
+            }
+        }
+        return rsp;
+    }
+
+    /**
+     * Send one more request, with its own deadline.
+     * @param service Completion service
+     * @param attempt Request to send, with the deadline given
+     * @param req Original request
+     * @param sent Requests sent so far
+     * @param children Their deadlines
+     * @return FALSE if all threads are busy and nothing was sent
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    private static boolean submit(final CompletionService<Response> service,
+        final Function<Deadline, Callable<Response>> attempt,
+        final Request req, final List<Future<Response>> sent,
+        final List<Deadline> children) {
+        final Deadline child = new Deadline(req.deadline().millis());
+        children.add(child);
+        if (req.deadline().over()) {
+            child.cancel();
+        }
+        boolean submitted;
+        try {
+            sent.add(service.submit(attempt.apply(child)));
+            submitted = true;
+        } catch (final RejectedExecutionException ex) {
+            children.remove(child);
+            submitted = false;
+        }
+        return submitted;
+    }
+
+    /**
+     * Take the first successful response.
+     * @param service Completion service
+     * @param done Completed future, or NULL if none yet
+     * @param total How many requests were sent
+     * @return Response
+     * @throws IOException If all requests failed
+     * @throws InterruptedException If interrupted
+     */
+    private static Response first(final CompletionService<Response> service,
+        final Future<Response> done, final int total)
+        throws IOException, InterruptedException {
+        Future<Response> next = done;
+        Response rsp = null;
+        IOException failure = null;
+        int left = total;
+        while (rsp == null && left > 0) {
+            if (next == null) {
+                next = service.take();
+            }
+            --left;
+            try {
+                rsp = next.get();
+            } catch (final ExecutionException ex) {
+                if (failure == null) {
+                    failure = HedgingWire.unwrap(ex);
+                }
+            }
+            next = null;
+        }
+        if (rsp == null) {
+            throw failure;
+        }
+        return rsp;
+    }
+
+    /**
+     * Exception thrown by a request.
+     * @param ex Exception of the future
+     * @return The exception
+     */
+    private static IOException unwrap(final ExecutionException ex) {
+        final Throwable cause = ex.getCause();
+        if (cause instanceof RuntimeException) {
+            throw (RuntimeException) cause;
+        }
+        if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+        final IOException failure;
+        if (cause instanceof IOException) {
+            failure = (IOException) cause;
+        } else {
+            failure = new IOException(cause);
+        }
+        return failure;
+    }
+}
@@ -24,4 +24,17 @@ public final class LastModifiedCachingWire
     public LastModifiedCachingWire(final Wire origin) {
         super(HttpHeaders.LAST_MODIFIED, HttpHeaders.IF_MODIFIED_SINCE, origin);
     }
+
+    /**
+     * Public ctor.
+     * @param origin Original wire
+     * @param bodies How to keep bodies of cached responses
+     */
+    public LastModifiedCachingWire(final Wire origin,
+        final BodyStorage bodies) {
+        super(
+            HttpHeaders.LAST_MODIFIED, HttpHeaders.IF_MODIFIED_SINCE,
+            origin, bodies
+        );
+    }
 }
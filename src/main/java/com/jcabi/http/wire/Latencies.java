@@ -0,0 +1,241 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.http.wire;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+import lombok.ToString;
+
+/**
+ * Recent response times of hosts, shared by many {@link HedgingWire}s.
+ *
+ * <p>Every host has its own histogram of response times, with buckets
+ * growing exponentially, see {@link Buckets}, so that any percentile is
+ * known with the precision of about twelve percent. The histogram only
+ * remembers the current and the previous window of time, in order to
+ * follow the changes of the server. Recording is lock-free and never
+ * allocates memory, except when a window starts:
+ *
+ * <pre> Latencies latencies = new Latencies(99.0d, 30_000L);
+ * new JdkRequest(uri)
+ *   .through(HedgingWire.class, latencies)
+ *   .fetch();</pre>
+ *
+ * <p>The class is thread-safe and lock-free.
+ *
+ * @since 2.0
+ */
+@ToString(of = { "percentile", "window" })
+public final class Latencies {
+
+    /**
+     * Responses to see before the percentile is known.
+     */
+    private static final long MIN = 20L;
+
+    /**
+     * Window without responses.
+     */
+    private static final Latencies.Window EMPTY = new Latencies.Window(0L);
+
+    /**
+     * Percentile to report, between zero and one hundred.
+     */
+    private final transient double percentile;
+
+    /**
+     * Length of a window, in nanoseconds.
+     */
+    private final transient long window;
+
+    /**
+     * Histograms, by hosts.
+     */
+    private final transient ConcurrentMap<String, Latencies.Histogram> hosts;
+
+    /**
+     * Public ctor, with the 95th percentile of one minute.
+     */
+    public Latencies() {
+        // @checkstyle MagicNumber (1 line)
+        this(95.0d, TimeUnit.MINUTES.toMillis(1L));
+    }
+
+    /**
+     * Public ctor.
+     * @param pct Percentile to report, between zero and one hundred
+     * @param millis Length of a window of time, in milliseconds
+     */
+    public Latencies(final double pct, final long millis) {
+        // @checkstyle MagicNumber (1 line)
+        this.percentile = Math.max(0.0d, Math.min(pct, 100.0d));
+        this.window = TimeUnit.MILLISECONDS.toNanos(Math.max(millis, 1L));
+        this.hosts = new ConcurrentHashMap<>(0);
+    }
+
+    /**
+     * Record a response time of the host.
+     * @param host The host, with the port if it is not default
+     * @param nanos Response time, in nanoseconds
+     */
+    public void record(final String host, final long nanos) {
+        this.hosts.computeIfAbsent(
+            host, key -> new Latencies.Histogram(this.window)
+        ).record(nanos, System.nanoTime());
+    }
+
+    /**
+     * Response time of the host at the percentile.
+     * @param host The host, with the port if it is not default
+     * @return Milliseconds, or -1 if there are not enough responses yet
+     */
+    public long millis(final String host) {
+        final Latencies.Histogram histogram = this.hosts.get(host);
+        final long millis;
+        if (histogram == null) {
+            millis = -1L;
+        } else {
+            millis = histogram.value(this.percentile, System.nanoTime());
+        }
+        return millis;
+    }
+
+    /**
+     * Histogram of the current and the previous windows.
+     *
+     * @since 2.0
+     */
+    private static final class Histogram {
+
+        /**
+         * Length of a window, in nanoseconds.
+         */
+        private final transient long length;
+
+        /**
+         * Current window.
+         */
+        private final transient AtomicReference<Latencies.Window> current;
+
+        /**
+         * Previous window.
+         */
+        private final transient AtomicReference<Latencies.Window> previous;
+
+        /**
+         * Ctor.
+         * @param nanos Length of a window, in nanoseconds
+         */
+        Histogram(final long nanos) {
+            this.length = nanos;
+            this.current = new AtomicReference<>(
+                new Latencies.Window(System.nanoTime())
+            );
+            this.previous = new AtomicReference<>(this.current.get());
+        }
+
+        /**
+         * Record a response time.
+         * @param nanos Response time, in nanoseconds
+         * @param now Current time, in nanoseconds
+         */
+        void record(final long nanos, final long now) {
+            this.recent(now).add(TimeUnit.NANOSECONDS.toMicros(nanos));
+        }
+
+        /**
+         * Value at the percentile.
+         * @param pct Percentile
+         * @param now Current time, in nanoseconds
+         * @return Milliseconds, or -1 if there are not enough responses
+         */
+        long value(final double pct, final long now) {
+            final Latencies.Window last = this.recent(now);
+            Latencies.Window before = this.previous.get();
+            if (before == last || now - before.start > 2L * this.length) {
+                before = Latencies.EMPTY;
+            }
+            final long total = last.total.get() + before.total.get();
+            long millis = -1L;
+            if (total >= Latencies.MIN) {
+                // @checkstyle MagicNumber (1 line)
+                final long rank = (long) Math.ceil(total * pct / 100.0d);
+                int idx = 0;
+                long seen = last.counts.get(idx) + before.counts.get(idx);
+                while (seen < rank && idx < Buckets.SIZE - 1) {
+                    ++idx;
+                    seen += last.counts.get(idx) + before.counts.get(idx);
+                }
+                // @checkstyle MagicNumber (1 line)
+                millis = (Buckets.upper(idx) + 999L) / 1000L;
+            }
+            return millis;
+        }
+
+        /**
+         * Current window, starting a new one if it is time.
+         * @param now Current time, in nanoseconds
+         * @return The window
+         */
+        private Latencies.Window recent(final long now) {
+            final Latencies.Window window = this.current.get();
+            Latencies.Window recent = window;
+            if (now - window.start >= this.length) {
+                final Latencies.Window next = new Latencies.Window(now);
+                if (this.current.compareAndSet(window, next)) {
+                    this.previous.set(window);
+                }
+                recent = this.current.get();
+            }
+            return recent;
+        }
+    }
+
+    /**
+     * Counters of response times in one window.
+     *
+     * @since 2.0
+     */
+    private static final class Window {
+
+        /**
+         * When the window started, in nanoseconds.
+         */
+        private final transient long start;
+
+        /**
+         * Counters of buckets.
+         */
+        private final transient AtomicLongArray counts;
+
+        /**
+         * Total count.
+         */
+        private final transient AtomicLong total;
+
+        /**
+         * Ctor.
+         * @param now Current time, in nanoseconds
+         */
+        Window(final long now) {
+            this.start = now;
+            this.counts = new AtomicLongArray(Buckets.SIZE);
+            this.total = new AtomicLong();
+        }
+
+        /**
+         * Count a value.
+         * @param micros Response time, in microseconds
+         */
+        void add(final long micros) {
+            this.counts.incrementAndGet(Buckets.index(micros));
+            this.total.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,427 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.http.wire;
+
+import com.jcabi.aspects.Immutable;
+import com.jcabi.log.Logger;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+/**
+ * Storage of cached responses in a memcached server.
+ *
+ * <p>The storage talks to the server with the text protocol of memcached,
+ * which is also understood by many compatible servers and proxies,
+ * for example:
+ *
+ * <pre> new JdkRequest(uri)
+ *   .through(
+ *     SharedCachingWire.class,
+ *     new MemcachedStore("cache.example.com", 11211)
+ *   )
+ *   .fetch();</pre>
+ *
+ * <p>Connections are opened on demand and reused, up to 16 of them are
+ * kept open while idle. Reading and connecting time out after one second
+ * by default, so that a slow or unavailable server only turns into
+ * cache misses. Values are kept for 30 days at most, which is the
+ * longest relative expiration time in the protocol.
+ *
+ * <p>{@link #clear()} flushes the entire server, not only the values
+ * stored by this class, so the server should be used by one
+ * {@link SharedCachingWire} only, if it flushes the cache.
+ *
+ * <p>The class is immutable and thread-safe.
+ *
+ * @see com.jcabi.http.mock.MkMemcached
+ * @since 2.0
+ */
+@Immutable
+@ToString(of = { "host", "port" })
+@EqualsAndHashCode(of = { "host", "port", "timeout" })
+public final class MemcachedStore implements CacheStore {
+
+    /**
+     * Default timeout, in milliseconds.
+     */
+    private static final int TIMEOUT = 1000;
+
+    /**
+     * Maximum number of idle connections.
+     */
+    private static final int IDLE = 16;
+
+    /**
+     * Longest relative expiration time, in seconds.
+     */
+    private static final int MONTH = 30 * 24 * 60 * 60;
+
+    /**
+     * Longest key.
+     */
+    private static final int KEY = 250;
+
+    /**
+     * Longest reply line.
+     */
+    private static final int LINE = 1024;
+
+    /**
+     * Host name of the server.
+     */
+    private final transient String host;
+
+    /**
+     * Port of the server.
+     */
+    private final transient int port;
+
+    /**
+     * Connect and read timeout, in milliseconds.
+     */
+    private final transient int timeout;
+
+    /**
+     * Idle connections.
+     */
+    private final transient BlockingQueue<MemcachedStore.Connection> idle;
+
+    /**
+     * Public ctor.
+     * @param hst Host name of the server
+     * @param prt Port of the server
+     */
+    public MemcachedStore(final String hst, final int prt) {
+        this(hst, prt, MemcachedStore.TIMEOUT);
+    }
+
+    /**
+     * Public ctor.
+     * @param hst Host name of the server
+     * @param prt Port of the server
+     * @param millis Connect and read timeout, in milliseconds
+     */
+    public MemcachedStore(final String hst, final int prt, final int millis) {
+        this.host = hst;
+        this.port = prt;
+        this.timeout = millis;
+        this.idle = new ArrayBlockingQueue<>(MemcachedStore.IDLE);
+    }
+
+    @Override
+    public byte[] get(final String key) throws IOException {
+        final String command = String.format(
+            "get %s", MemcachedStore.valid(key)
+        );
+        return this.call(
+            conn -> {
+                conn.send(command, null);
+                final String line = conn.line();
+                byte[] value = null;
+                if (line.startsWith("VALUE ")) {
+                    value = conn.bytes(
+                        Integer.parseInt(
+                            line.substring(line.lastIndexOf(' ') + 1)
+                        )
+                    );
+                    MemcachedStore.expect(conn.line(), "END");
+                } else {
+                    MemcachedStore.expect(line, "END");
+                }
+                return value;
+            }
+        );
+    }
+
+    @Override
+    public void put(final String key, final byte[] value, final int seconds)
+        throws IOException {
+        final String command = String.format(
+            "set %s 0 %d %d", MemcachedStore.valid(key),
+            Math.min(Math.max(seconds, 0), MemcachedStore.MONTH),
+            value.length
+        );
+        this.call(
+            conn -> {
+                conn.send(command, value);
+                return MemcachedStore.expect(conn.line(), "STORED");
+            }
+        );
+    }
+
+    @Override
+    public void remove(final String key) throws IOException {
+        final String command = String.format(
+            "delete %s", MemcachedStore.valid(key)
+        );
+        this.call(
+            conn -> {
+                conn.send(command, null);
+                return MemcachedStore.expect(
+                    conn.line(), "DELETED", "NOT_FOUND"
+                );
+            }
+        );
+    }
+
+    @Override
+    public void clear() throws IOException {
+        this.call(
+            conn -> {
+                conn.send("flush_all", null);
+                return MemcachedStore.expect(conn.line(), "OK");
+            }
+        );
+    }
+
+    /**
+     * Make an exchange with the server, through an idle connection if
+     * there is one.
+     *
+     * <p>An idle connection may be closed by the server already, so
+     * the exchange is repeated once through a new connection if it fails.
+     * All commands used are idempotent.
+     *
+     * @param exchange The exchange
+     * @param <T> Type of result
+     * @return Result
+     * @throws IOException If fails
+     */
+    private <T> T call(final MemcachedStore.Exchange<T> exchange)
+        throws IOException {
+        final MemcachedStore.Connection pooled = this.idle.poll();
+        T result;
+        if (pooled == null) {
+            result = this.call(this.connect(), exchange);
+        } else {
+            try {
+                result = this.call(pooled, exchange);
+            } catch (final IOException ex) {
+                result = this.call(this.connect(), exchange);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Make an exchange through the connection and keep the connection
+     * for later, unless it fails.
+     * @param conn The connection
+     * @param exchange The exchange
+     * @param <T> Type of result
+     * @return Result
+     * @throws IOException If fails
+     */
+    private <T> T call(final MemcachedStore.Connection conn,
+        final MemcachedStore.Exchange<T> exchange) throws IOException {
+        final T result;
+        try {
+            result = exchange.exchange(conn);
+        } catch (final IOException ex) {
+            conn.close();
+            throw ex;
+        } catch (final NumberFormatException ex) {
+            conn.close();
+            throw new IOException("broken reply of memcached", ex);
+        }
+        if (!this.idle.offer(conn)) {
+            conn.close();
+        }
+        return result;
+    }
+
+    /**
+     * Open a new connection.
+     * @return Connection
+     * @throws IOException If fails
+     */
+    private MemcachedStore.Connection connect() throws IOException {
+        final Socket socket = new Socket();
+        try {
+            socket.setTcpNoDelay(true);
+            socket.setSoTimeout(this.timeout);
+            socket.connect(
+                new InetSocketAddress(this.host, this.port), this.timeout
+            );
+        } catch (final IOException ex) {
+            socket.close();
+            throw ex;
+        }
+        return new MemcachedStore.Connection(socket);
+    }
+
+    /**
+     * Check the key.
+     * @param key The key
+     * @return The same key
+     */
+    private static String valid(final String key) {
+        if (key.isEmpty() || key.length() > MemcachedStore.KEY) {
+            throw new IllegalArgumentException(
+                String.format("invalid length of memcached key: %s", key)
+            );
+        }
+        for (int idx = 0; idx < key.length(); ++idx) {
+            final char chr = key.charAt(idx);
+            if (chr <= ' ' || chr > '~') {
+                throw new IllegalArgumentException(
+                    String.format("invalid memcached key: %s", key)
+                );
+            }
+        }
+        return key;
+    }
+
+    /**
+     * Check the reply.
+     * @param line The reply
+     * @param expected Replies expected
+     * @return The reply
+     * @throws IOException If it is not expected
+     */
+    private static String expect(final String line, final String... expected)
+        throws IOException {
+        boolean found = false;
+        for (final String reply : expected) {
+            if (reply.equals(line)) {
+                found = true;
+                break;
+            }
+        }
+        if (!found) {
+            throw new IOException(
+                String.format("unexpected reply of memcached: %s", line)
+            );
+        }
+        return line;
+    }
+
+    /**
+     * Exchange with the server.
+     *
+     * @param <T> Type of result
+     * @since 2.0
+     */
+    private interface Exchange<T> {
+        /**
+         * Make the exchange.
+         * @param conn Connection to the server
+         * @return Result
+         * @throws IOException If fails
+         */
+        T exchange(MemcachedStore.Connection conn) throws IOException;
+    }
+
+    /**
+     * Connection to the server.
+     *
+     * @since 2.0
+     */
+    private static final class Connection {
+
+        /**
+         * The socket.
+         */
+        private final transient Socket socket;
+
+        /**
+         * Input of the socket.
+         */
+        private final transient InputStream input;
+
+        /**
+         * Output of the socket.
+         */
+        private final transient OutputStream output;
+
+        /**
+         * Ctor.
+         * @param sock The socket, connected
+         * @throws IOException If fails
+         */
+        Connection(final Socket sock) throws IOException {
+            this.socket = sock;
+            this.input = new BufferedInputStream(sock.getInputStream());
+            this.output = new BufferedOutputStream(sock.getOutputStream());
+        }
+
+        /**
+         * Send a command.
+         * @param command The command, without line ending
+         * @param data Data block or NULL if the command doesn't have it
+         * @throws IOException If fails
+         */
+        void send(final String command, final byte[] data)
+            throws IOException {
+            this.output.write(command.getBytes(StandardCharsets.US_ASCII));
+            this.output.write('\r');
+            this.output.write('\n');
+            if (data != null) {
+                this.output.write(data);
+                this.output.write('\r');
+                this.output.write('\n');
+            }
+            this.output.flush();
+        }
+
+        /**
+         * Read a reply line.
+         * @return The line, without line ending
+         * @throws IOException If fails
+         */
+        String line() throws IOException {
+            final ByteArrayOutputStream line = new ByteArrayOutputStream();
+            int chr = this.input.read();
+            while (chr != '\n') {
+                if (chr < 0 || line.size() > MemcachedStore.LINE) {
+                    throw new IOException("broken reply of memcached");
+                }
+                if (chr != '\r') {
+                    line.write(chr);
+                }
+                chr = this.input.read();
+            }
+            return new String(line.toByteArray(), StandardCharsets.US_ASCII);
+        }
+
+        /**
+         * Read a data block.
+         * @param length Length of the block
+         * @return Bytes of the block
+         * @throws IOException If fails
+         */
+        byte[] bytes(final int length) throws IOException {
+            final byte[] data = new byte[length];
+            new DataInputStream(this.input).readFully(data);
+            if (!this.line().isEmpty()) {
+                throw new IOException("broken data block of memcached");
+            }
+            return data;
+        }
+
+        /**
+         * Close it.
+         */
+        void close() {
+            try {
+                this.socket.close();
+            } catch (final IOException ex) {
+                Logger.debug(this, "failed to close %s: %s", this.socket, ex);
+            }
+        }
+    }
+}
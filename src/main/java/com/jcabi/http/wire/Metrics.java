@@ -0,0 +1,608 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.http.wire;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.AttributeNotFoundException;
+import javax.management.DynamicMBean;
+import javax.management.JMException;
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanInfo;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.ReflectionException;
+import lombok.ToString;
+
+/**
+ * Counters and response times of requests, shared by many
+ * {@link MetricsWire}s.
+ *
+ * <p>Requests are counted separately for every host, method and class of
+ * status, such as {@code 2xx}, while requests that failed without a
+ * response go to the class {@code failed}. Every series counts requests,
+ * errors (failures and {@code 5xx}), bytes sent and received, and keeps
+ * a histogram of response times, see {@link Buckets}. Recording never
+ * blocks and, once a series exists, never allocates memory: counters are
+ * {@link LongAdder}s and the histogram is split into stripes, picked by
+ * the thread, which are merged only when read:
+ *
+ * <pre> Metrics metrics = new Metrics();
+ * new JdkRequest(uri).through(MetricsWire.class, metrics).fetch();
+ * for (final Metrics.Stats stats : metrics.all()) {
+ *   System.out.printf(
+ *     "%s %s %s: %d, p99=%dus%n", stats.method(), stats.host(),
+ *     stats.status(), stats.requests(), stats.percentile(99.0d)
+ *   );
+ * }</pre>
+ *
+ * <p>The numbers may also be exported to JMX, see {@link #export(String)}.
+ *
+ * <p>The class is thread-safe and lock-free.
+ *
+ * @since 2.0
+ */
+@ToString(of = "hosts")
+public final class Metrics {
+
+    /**
+     * Names of classes of status, the first one is for failures.
+     */
+    private static final String[] CLASSES = {
+        "failed", "1xx", "2xx", "3xx", "4xx", "5xx",
+    };
+
+    /**
+     * Class of server errors.
+     */
+    private static final int SERVER = 5;
+
+    /**
+     * Number of stripes of a histogram, a power of two.
+     */
+    private static final int STRIPES = Metrics.stripes();
+
+    /**
+     * Series, by hosts and methods.
+     */
+    private final transient ConcurrentMap<String,
+        ConcurrentMap<String, AtomicReferenceArray<Metrics.Series>>> hosts;
+
+    /**
+     * Public ctor.
+     */
+    public Metrics() {
+        this.hosts = new ConcurrentHashMap<>(0);
+    }
+
+    /**
+     * Numbers of all series seen so far.
+     * @return Numbers, one item per host, method and class of status
+     */
+    public Collection<Metrics.Stats> all() {
+        final Collection<Metrics.Stats> all = new ArrayList<>(0);
+        for (final Map.Entry<String, ConcurrentMap<String,
+            AtomicReferenceArray<Metrics.Series>>> host
+            : this.hosts.entrySet()) {
+            for (final Map.Entry<String, AtomicReferenceArray<Metrics.Series>>
+                method : host.getValue().entrySet()) {
+                for (int idx = 0; idx < Metrics.CLASSES.length; ++idx) {
+                    final Metrics.Series series = method.getValue().get(idx);
+                    if (series != null) {
+                        all.add(
+                            new Metrics.Stats(
+                                host.getKey(), method.getKey(),
+                                Metrics.CLASSES[idx], series
+                            )
+                        );
+                    }
+                }
+            }
+        }
+        return all;
+    }
+
+    /**
+     * Register the numbers in the platform MBean server, as attributes
+     * of the bean {@code com.jcabi.http:type=Metrics,name=...}.
+     * @param name Name of the bean
+     * @return Registration, which removes the bean when closed
+     */
+    public Closeable export(final String name) {
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        final ObjectName bean;
+        try {
+            bean = new ObjectName(
+                String.format(
+                    "com.jcabi.http:type=Metrics,name=%s",
+                    ObjectName.quote(name)
+                )
+            );
+            server.registerMBean(new Metrics.Bean(this), bean);
+        } catch (final JMException ex) {
+            throw new IllegalStateException(ex);
+        }
+        return () -> {
+            try {
+                server.unregisterMBean(bean);
+            } catch (final JMException ex) {
+                throw new IOException(ex);
+            }
+        };
+    }
+
+    /**
+     * Record a request.
+     * @param host The host, with the port if it is not default
+     * @param method HTTP method
+     * @param status HTTP status, or zero if failed without a response
+     * @param nanos Response time, in nanoseconds
+     * @param sent Bytes of the body sent
+     * @param received Bytes of the body received
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    void record(final String host, final String method, final int status,
+        final long nanos, final long sent, final long received) {
+        final int cls = Math.max(
+            // @checkstyle MagicNumber (1 line)
+            0, Math.min(status / 100, Metrics.CLASSES.length - 1)
+        );
+        final AtomicReferenceArray<Metrics.Series> classes = Metrics.get(
+            Metrics.get(this.hosts, host, key -> new ConcurrentHashMap<>(0)),
+            method,
+            key -> new AtomicReferenceArray<>(Metrics.CLASSES.length)
+        );
+        Metrics.Series series = classes.get(cls);
+        if (series == null) {
+            classes.compareAndSet(cls, null, new Metrics.Series());
+            series = classes.get(cls);
+        }
+        series.record(
+            nanos, sent, received, cls == 0 || cls == Metrics.SERVER
+        );
+    }
+
+    /**
+     * Get a value of the map, or create it, without locking when it is
+     * there already.
+     * @param map The map
+     * @param key The key
+     * @param create How to create a value
+     * @param <T> Type of values
+     * @return The value
+     */
+    private static <T> T get(final ConcurrentMap<String, T> map,
+        final String key,
+        final Function<String, T> create) {
+        T value = map.get(key);
+        if (value == null) {
+            value = map.computeIfAbsent(key, create);
+        }
+        return value;
+    }
+
+    /**
+     * Number of stripes, the power of two that is not smaller than the
+     * number of processors, but not larger than 64.
+     * @return Number of stripes
+     */
+    private static int stripes() {
+        final int cpus = Runtime.getRuntime().availableProcessors();
+        int stripes = 1;
+        // @checkstyle MagicNumber (1 line)
+        while (stripes < cpus && stripes < 64) {
+            stripes <<= 1;
+        }
+        return stripes;
+    }
+
+    /**
+     * Numbers of one host, method and class of status.
+     *
+     * @since 2.0
+     */
+    @ToString(of = { "host", "method", "status", "count", "fails" })
+    public static final class Stats {
+
+        /**
+         * The host.
+         */
+        private final transient String host;
+
+        /**
+         * HTTP method.
+         */
+        private final transient String method;
+
+        /**
+         * Class of status.
+         */
+        private final transient String status;
+
+        /**
+         * Number of requests.
+         */
+        private final transient long count;
+
+        /**
+         * Number of errors.
+         */
+        private final transient long fails;
+
+        /**
+         * Bytes sent.
+         */
+        private final transient long out;
+
+        /**
+         * Bytes received.
+         */
+        private final transient long in;
+
+        /**
+         * Total response time, in microseconds.
+         */
+        private final transient long time;
+
+        /**
+         * Counters of buckets of the histogram.
+         */
+        private final transient long[] counts;
+
+        /**
+         * Ctor.
+         * @param name The host
+         * @param mtd HTTP method
+         * @param cls Class of status
+         * @param series The series to read
+         * @checkstyle ParameterNumberCheck (5 lines)
+         */
+        Stats(final String name, final String mtd, final String cls,
+            final Metrics.Series series) {
+            this.host = name;
+            this.method = mtd;
+            this.status = cls;
+            this.count = series.requests.sum();
+            this.fails = series.errors.sum();
+            this.out = series.sent.sum();
+            this.in = series.received.sum();
+            this.time = series.time.sum();
+            this.counts = series.counts();
+        }
+
+        /**
+         * The host, with the port if it is not default.
+         * @return Host
+         */
+        public String host() {
+            return this.host;
+        }
+
+        /**
+         * HTTP method.
+         * @return Method
+         */
+        public String method() {
+            return this.method;
+        }
+
+        /**
+         * Class of status, like {@code 2xx}, or {@code failed}.
+         * @return Class of status
+         */
+        public String status() {
+            return this.status;
+        }
+
+        /**
+         * Number of requests.
+         * @return Number
+         */
+        public long requests() {
+            return this.count;
+        }
+
+        /**
+         * Number of requests that failed or got a server error.
+         * @return Number
+         */
+        public long errors() {
+            return this.fails;
+        }
+
+        /**
+         * Bytes of bodies sent.
+         * @return Bytes
+         */
+        public long sent() {
+            return this.out;
+        }
+
+        /**
+         * Bytes of bodies received.
+         * @return Bytes
+         */
+        public long received() {
+            return this.in;
+        }
+
+        /**
+         * Average response time.
+         * @return Microseconds, or zero if there are no requests
+         */
+        public long mean() {
+            final long mean;
+            if (this.count == 0L) {
+                mean = 0L;
+            } else {
+                mean = this.time / this.count;
+            }
+            return mean;
+        }
+
+        /**
+         * Response time at the percentile, about twelve percent larger
+         * than the real one at most.
+         * @param pct Percentile, between zero and one hundred
+         * @return Microseconds, or zero if there are no requests
+         */
+        public long percentile(final double pct) {
+            long total = 0L;
+            for (final long num : this.counts) {
+                total += num;
+            }
+            long micros = 0L;
+            if (total > 0L) {
+                final long rank = Math.max(
+                    // @checkstyle MagicNumber (1 line)
+                    1L, (long) Math.ceil(total * pct / 100.0d)
+                );
+                int idx = 0;
+                long seen = this.counts[idx];
+                while (seen < rank && idx < this.counts.length - 1) {
+                    ++idx;
+                    seen += this.counts[idx];
+                }
+                micros = Buckets.upper(idx);
+            }
+            return micros;
+        }
+    }
+
+    /**
+     * Counters of one host, method and class of status.
+     *
+     * @since 2.0
+     */
+    private static final class Series {
+
+        /**
+         * Number of requests.
+         */
+        private final transient LongAdder requests;
+
+        /**
+         * Number of errors.
+         */
+        private final transient LongAdder errors;
+
+        /**
+         * Bytes sent.
+         */
+        private final transient LongAdder sent;
+
+        /**
+         * Bytes received.
+         */
+        private final transient LongAdder received;
+
+        /**
+         * Total response time, in microseconds.
+         */
+        private final transient LongAdder time;
+
+        /**
+         * Stripes of the histogram, created when first used.
+         */
+        private final transient AtomicReferenceArray<AtomicLongArray> stripes;
+
+        /**
+         * Ctor.
+         */
+        Series() {
+            this.requests = new LongAdder();
+            this.errors = new LongAdder();
+            this.sent = new LongAdder();
+            this.received = new LongAdder();
+            this.time = new LongAdder();
+            this.stripes = new AtomicReferenceArray<>(Metrics.STRIPES);
+        }
+
+        /**
+         * Record a request.
+         * @param nanos Response time, in nanoseconds
+         * @param out Bytes sent
+         * @param in Bytes received
+         * @param error Is it an error?
+         * @checkstyle ParameterNumberCheck (5 lines)
+         */
+        void record(final long nanos, final long out, final long in,
+            final boolean error) {
+            final long micros = TimeUnit.NANOSECONDS.toMicros(nanos);
+            this.requests.increment();
+            if (error) {
+                this.errors.increment();
+            }
+            this.sent.add(out);
+            this.received.add(in);
+            this.time.add(micros);
+            this.stripe().incrementAndGet(Buckets.index(micros));
+        }
+
+        /**
+         * Counters of buckets of all stripes, merged.
+         * @return Counters
+         */
+        long[] counts() {
+            final long[] counts = new long[Buckets.SIZE];
+            for (int idx = 0; idx < this.stripes.length(); ++idx) {
+                final AtomicLongArray stripe = this.stripes.get(idx);
+                if (stripe != null) {
+                    for (int bucket = 0; bucket < counts.length; ++bucket) {
+                        counts[bucket] += stripe.get(bucket);
+                    }
+                }
+            }
+            return counts;
+        }
+
+        /**
+         * Stripe of the current thread.
+         * @return The stripe
+         */
+        private AtomicLongArray stripe() {
+            final int idx = (int) Thread.currentThread().getId()
+                & Metrics.STRIPES - 1;
+            AtomicLongArray stripe = this.stripes.get(idx);
+            if (stripe == null) {
+                this.stripes.compareAndSet(
+                    idx, null, new AtomicLongArray(Buckets.SIZE)
+                );
+                stripe = this.stripes.get(idx);
+            }
+            return stripe;
+        }
+    }
+
+    /**
+     * MBean with the numbers as read-only attributes, like
+     * {@code GET example.com 2xx p99}.
+     *
+     * @since 2.0
+     */
+    private static final class Bean implements DynamicMBean {
+
+        /**
+         * Percentiles to export.
+         */
+        private static final double[] PERCENTILES = {
+            // @checkstyle MagicNumber (1 line)
+            50.0d, 90.0d, 99.0d, 99.9d,
+        };
+
+        /**
+         * The metrics.
+         */
+        private final transient Metrics metrics;
+
+        /**
+         * Ctor.
+         * @param source The metrics
+         */
+        Bean(final Metrics source) {
+            this.metrics = source;
+        }
+
+        @Override
+        public Object getAttribute(final String name)
+            throws AttributeNotFoundException {
+            final Long value = this.values().get(name);
+            if (value == null) {
+                throw new AttributeNotFoundException(name);
+            }
+            return value;
+        }
+
+        @Override
+        public void setAttribute(final Attribute attr)
+            throws AttributeNotFoundException {
+            throw new AttributeNotFoundException(
+                String.format("attribute %s is read-only", attr.getName())
+            );
+        }
+
+        @Override
+        public AttributeList getAttributes(final String[] names) {
+            final Map<String, Long> values = this.values();
+            final AttributeList list = new AttributeList();
+            for (final String name : names) {
+                if (values.containsKey(name)) {
+                    list.add(new Attribute(name, values.get(name)));
+                }
+            }
+            return list;
+        }
+
+        @Override
+        public AttributeList setAttributes(final AttributeList list) {
+            return new AttributeList();
+        }
+
+        @Override
+        public Object invoke(final String action, final Object[] params,
+            final String[] signature) throws ReflectionException {
+            throw new ReflectionException(new NoSuchMethodException(action));
+        }
+
+        @Override
+        public MBeanInfo getMBeanInfo() {
+            final Collection<MBeanAttributeInfo> attrs = new ArrayList<>(0);
+            for (final String name : this.values().keySet()) {
+                attrs.add(
+                    new MBeanAttributeInfo(
+                        name, Long.class.getName(), name, true, false, false
+                    )
+                );
+            }
+            return new MBeanInfo(
+                Metrics.class.getName(), "Metrics of HTTP requests",
+                attrs.toArray(new MBeanAttributeInfo[0]), null, null, null
+            );
+        }
+
+        /**
+         * All values, by names of attributes.
+         * @return Values
+         */
+        private Map<String, Long> values() {
+            final Map<String, Long> values = new TreeMap<>();
+            for (final Metrics.Stats stats : this.metrics.all()) {
+                final String prefix = String.format(
+                    "%s %s %s ", stats.method(), stats.host(), stats.status()
+                );
+                values.put(prefix.concat("requests"), stats.requests());
+                values.put(prefix.concat("errors"), stats.errors());
+                values.put(prefix.concat("sent"), stats.sent());
+                values.put(prefix.concat("received"), stats.received());
+                values.put(prefix.concat("mean"), stats.mean());
+                for (final double pct : Metrics.Bean.PERCENTILES) {
+                    values.put(
+                        String.format(
+                            "%sp%s", prefix,
+                            Double.toString(pct).replace(".0", "")
+                                .replace(".", "")
+                        ),
+                        stats.percentile(pct)
+                    );
+                }
+            }
+            return values;
+        }
+    }
+}
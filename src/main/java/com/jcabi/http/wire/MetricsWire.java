@@ -0,0 +1,166 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.http.wire;
+
+import com.jcabi.aspects.Immutable;
+import com.jcabi.http.Request;
+import com.jcabi.http.Requests;
+import com.jcabi.http.Response;
+import com.jcabi.http.Wire;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collection;
+import java.util.Map;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+/**
+ * Wire that counts requests and measures their response times.
+ *
+ * <p>Every request is recorded in {@link Metrics}, by its host, method
+ * and class of status, together with the bytes of bodies sent and
+ * received. The numbers are read when needed, or exported to JMX:
+ *
+ * <pre> Metrics metrics = new Metrics();
+ * metrics.export("github");
+ * String html = new JdkRequest("http://goggle.com")
+ *   .through(MetricsWire.class, metrics)
+ *   .fetch()
+ *   .body();</pre>
+ *
+ * <p>By default, all instances of the wire share the same metrics, see
+ * {@link #metrics()}. The response time includes everything the
+ * original wire does, so this wire usually goes last, right above the
+ * network, in order to see every attempt of {@link RetryWire} or
+ * {@link AutoRedirectingWire} separately.
+ *
+ * <p>The class is immutable and thread-safe.
+ *
+ * @since 2.0
+ */
+@Immutable
+@ToString(of = "origin")
+@EqualsAndHashCode(of = { "origin", "metrics" })
+public final class MetricsWire implements Wire {
+
+    /**
+     * Metrics shared by all wires by default.
+     */
+    private static final Metrics METRICS = new Metrics();
+
+    /**
+     * Original wire.
+     */
+    private final transient Wire origin;
+
+    /**
+     * Metrics to record to.
+     */
+    private final transient Metrics metrics;
+
+    /**
+     * Public ctor.
+     * @param wire Original wire
+     */
+    public MetricsWire(final Wire wire) {
+        this(wire, MetricsWire.METRICS);
+    }
+
+    /**
+     * Public ctor.
+     * @param wire Original wire
+     * @param mtx Metrics to record to
+     */
+    public MetricsWire(final Wire wire, final Metrics mtx) {
+        this.origin = wire;
+        this.metrics = mtx;
+    }
+
+    /**
+     * Metrics shared by all wires made without their own.
+     * @return Metrics
+     */
+    @SuppressWarnings("PMD.ProhibitPublicStaticMethods")
+    public static Metrics metrics() {
+        return MetricsWire.METRICS;
+    }
+
+    // @checkstyle ParameterNumber (5 lines)
+    @Override
+    public Response send(final Request req, final String home,
+        final String method,
+        final Collection<Map.Entry<String, String>> headers,
+        final InputStream content,
+        final int connect,
+        final int read) throws IOException {
+        final MetricsWire.Counting body = new MetricsWire.Counting(content);
+        final String host = Requests.host(home);
+        final long start = System.nanoTime();
+        final Response rsp;
+        try {
+            rsp = this.origin.send(
+                req, home, method, headers, body, connect, read
+            );
+        } catch (final IOException ex) {
+            this.metrics.record(
+                host, method, 0, System.nanoTime() - start, body.count, 0L
+            );
+            throw ex;
+        }
+        this.metrics.record(
+            host, method, rsp.status(), System.nanoTime() - start,
+            body.count, rsp.binary().length
+        );
+        return rsp;
+    }
+
+    /**
+     * Stream that counts bytes read from it.
+     *
+     * @since 2.0
+     */
+    private static final class Counting extends FilterInputStream {
+
+        /**
+         * Bytes read so far.
+         */
+        private transient long count;
+
+        /**
+         * Ctor.
+         * @param stream Original stream
+         */
+        Counting(final InputStream stream) {
+            super(stream);
+        }
+
+        @Override
+        public int read() throws IOException {
+            final int data = super.read();
+            if (data >= 0) {
+                ++this.count;
+            }
+            return data;
+        }
+
+        @Override
+        public int read(final byte[] buf, final int off, final int len)
+            throws IOException {
+            final int num = super.read(buf, off, len);
+            if (num > 0) {
+                this.count += num;
+            }
+            return num;
+        }
+
+        @Override
+        public long skip(final long num) throws IOException {
+            final long skipped = super.skip(num);
+            this.count += skipped;
+            return skipped;
+        }
+    }
+}
@@ -30,6 +30,12 @@ import lombok.ToString;
  *   .fetch()
  *   .body();</pre>
  *
+ * <p>The limit applies to every call of the wire, so with retries or
+ * redirects above it the entire request may take much longer. Since
+ * version 2.0 a {@link com.jcabi.http.Deadline} of the request limits
+ * all its attempts together and aborts connections, instead of
+ * interrupting threads.
+ *
  * <p>The class is immutable and thread-safe.
  *
  * @since 0.10
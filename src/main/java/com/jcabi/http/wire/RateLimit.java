@@ -0,0 +1,336 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.http.wire;
+
+import com.jcabi.http.Requests;
+import java.net.HttpURLConnection;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.ToString;
+
+/**
+ * Rate limits of hosts, shared by many {@link RateLimitingWire}s.
+ *
+ * <p>Every host, or any other key, has its own bucket of tokens, which
+ * is refilled with the configured number of permits per second and
+ * can't keep more tokens than the burst size. Every request takes one
+ * token. When the bucket is empty, the request either waits for the next
+ * token, or fails immediately:
+ *
+ * <pre> RateLimit limit = new RateLimit(10.0d, 20, RateLimit.Mode.FAIL);
+ * new JdkRequest(uri)
+ *   .through(RateLimitingWire.class, limit)
+ *   .fetch();</pre>
+ *
+ * <p>Limits are also learnt from responses. {@code RateLimit-Remaining}
+ * and {@code RateLimit-Reset} headers, or their {@code X-RateLimit-*}
+ * versions, slow the bucket down, so that the remaining requests are
+ * spread until the reset. When nothing remains, and also after
+ * {@code 429 Too Many Requests}, the bucket is paused until the reset
+ * or for the time in {@code Retry-After}. The reset is either
+ * a number of seconds or, if it is large, a Unix timestamp.
+ *
+ * <p>Buckets are a variant of the generic cell rate algorithm: each of
+ * them is a few atomic numbers, updated without locks. Waiting requests
+ * reserve their tokens, so they are served in the order of arrival.
+ *
+ * <p>The class is thread-safe.
+ *
+ * @since 2.0
+ */
+@ToString(of = { "interval", "burst", "mode" })
+public final class RateLimit {
+
+    /**
+     * Reset values larger than this are Unix timestamps.
+     */
+    private static final long EPOCH = 1_000_000_000L;
+
+    /**
+     * Longest time an empty bucket may take to fill up, in nanoseconds,
+     * short enough for moments in the future to never overflow.
+     */
+    private static final long FOREVER = TimeUnit.DAYS.toNanos(36_500L);
+
+    /**
+     * HTTP status code "Too Many Requests".
+     */
+    private static final int TOO_MANY = 429;
+
+    /**
+     * Nanoseconds between two tokens.
+     */
+    private final transient long interval;
+
+    /**
+     * Maximum number of tokens.
+     */
+    private final transient int burst;
+
+    /**
+     * What to do when there are no tokens.
+     */
+    private final transient RateLimit.Mode mode;
+
+    /**
+     * Key of requests.
+     */
+    private final transient RateLimit.Key key;
+
+    /**
+     * Buckets, by keys.
+     */
+    private final transient ConcurrentMap<String, RateLimit.Bucket> buckets;
+
+    /**
+     * Public ctor, with blocking mode.
+     * @param rate Permits per second
+     * @param size Burst size
+     */
+    public RateLimit(final double rate, final int size) {
+        this(rate, size, RateLimit.Mode.BLOCK);
+    }
+
+    /**
+     * Public ctor, with a bucket per host.
+     * @param rate Permits per second
+     * @param size Burst size
+     * @param mde What to do when there are no tokens
+     */
+    public RateLimit(final double rate, final int size,
+        final RateLimit.Mode mde) {
+        this(
+            rate, size, mde,
+            (home, headers) -> Requests.host(home)
+        );
+    }
+
+    /**
+     * Public ctor.
+     * @param rate Permits per second
+     * @param size Burst size
+     * @param mde What to do when there are no tokens
+     * @param func Key of requests, which share the same bucket
+     */
+    public RateLimit(final double rate, final int size,
+        final RateLimit.Mode mde, final RateLimit.Key func) {
+        if (!(rate > 0.0d)) {
+            throw new IllegalArgumentException(
+                String.format("rate must be positive: %f", rate)
+            );
+        }
+        this.interval = (long) (TimeUnit.SECONDS.toNanos(1L) / rate);
+        this.burst = Math.max(size, 1);
+        this.mode = mde;
+        this.key = func;
+        this.buckets = new ConcurrentHashMap<>(0);
+    }
+
+    /**
+     * Shall requests wait for tokens?
+     * @return TRUE if they wait, FALSE if they fail
+     */
+    boolean blocking() {
+        return this.mode == RateLimit.Mode.BLOCK;
+    }
+
+    /**
+     * Bucket of the request.
+     * @param home URI of the request
+     * @param headers Headers of the request
+     * @return Bucket
+     */
+    RateLimit.Bucket bucket(final String home,
+        final Collection<Map.Entry<String, String>> headers) {
+        return this.buckets.computeIfAbsent(
+            this.key.of(home, headers), name -> new RateLimit.Bucket(this)
+        );
+    }
+
+    /**
+     * Parse the reset time.
+     * @param value Number of seconds or Unix timestamp, or NULL
+     * @return Nanoseconds until the reset, or -1 if absent or broken
+     */
+    private static long reset(final String value) {
+        long nanos = -1L;
+        if (value != null && value.trim().matches("\\d{1,12}")) {
+            final long num = Long.parseLong(value.trim());
+            if (num > RateLimit.EPOCH) {
+                nanos = TimeUnit.MILLISECONDS.toNanos(
+                    Math.max(
+                        TimeUnit.SECONDS.toMillis(num)
+                            - System.currentTimeMillis(),
+                        0L
+                    )
+                );
+            } else {
+                nanos = TimeUnit.SECONDS.toNanos(num);
+            }
+        }
+        return nanos;
+    }
+
+    /**
+     * First value of either of the headers.
+     * @param headers Response headers
+     * @param name Name of the header, without {@code X-} prefix
+     * @return The value or NULL if absent
+     */
+    private static String header(final Map<String, List<String>> headers,
+        final String name) {
+        String value = CacheEntry.first(headers, name);
+        if (value == null) {
+            value = CacheEntry.first(headers, "X-".concat(name));
+        }
+        return value;
+    }
+
+    /**
+     * What to do when there are no tokens.
+     *
+     * @since 2.0
+     */
+    public enum Mode {
+        /**
+         * Wait for the next token.
+         */
+        BLOCK,
+
+        /**
+         * Throw {@link java.io.IOException} immediately.
+         */
+        FAIL
+    }
+
+    /**
+     * Key of requests, which share the same bucket.
+     *
+     * @since 2.0
+     */
+    public interface Key {
+        /**
+         * Make a key of the request.
+         * @param home URI of the request
+         * @param headers Headers of the request
+         * @return Key
+         */
+        String of(String home, Collection<Map.Entry<String, String>> headers);
+    }
+
+    /**
+     * Bucket of tokens.
+     *
+     * @since 2.0
+     */
+    static final class Bucket {
+
+        /**
+         * Settings.
+         */
+        private final transient RateLimit limit;
+
+        /**
+         * Moment when the bucket becomes full again, if nothing is
+         * taken from it, in nanoseconds.
+         */
+        private final transient AtomicLong full;
+
+        /**
+         * Moment until which the bucket is paused, in nanoseconds.
+         */
+        private final transient AtomicLong paused;
+
+        /**
+         * Current nanoseconds between two tokens.
+         */
+        private final transient AtomicLong interval;
+
+        /**
+         * Ctor.
+         * @param settings Settings
+         */
+        Bucket(final RateLimit settings) {
+            this.limit = settings;
+            final long now = System.nanoTime();
+            this.full = new AtomicLong(now);
+            this.paused = new AtomicLong(now);
+            this.interval = new AtomicLong(settings.interval);
+        }
+
+        /**
+         * Take a token.
+         *
+         * <p>If the token is not available now, it is reserved only
+         * if the caller is going to wait for it.
+         *
+         * @param now Current time, in nanoseconds
+         * @param reserve Reserve the token if it is not available now
+         * @return How long to wait for the token, in nanoseconds,
+         *  zero if it is taken
+         */
+        long acquire(final long now, final boolean reserve) {
+            final long step = Math.min(
+                this.interval.get(), RateLimit.FOREVER / this.limit.burst
+            );
+            final long tolerance = step * this.limit.burst;
+            final long start = Math.max(now, this.paused.get());
+            long wait;
+            while (true) {
+                final long before = this.full.get();
+                final long after = Math.max(before, start) + step;
+                wait = start - now + Math.max(after - start - tolerance, 0L);
+                if ((wait > 0L && !reserve)
+                    || this.full.compareAndSet(before, after)) {
+                    break;
+                }
+            }
+            return wait;
+        }
+
+        /**
+         * Learn the limits from the response.
+         * @param status Status of the response
+         * @param headers Headers of the response
+         * @param now Current time, in nanoseconds
+         */
+        void learn(final int status, final Map<String, List<String>> headers,
+            final long now) {
+            final String text = RateLimit.header(
+                headers, "RateLimit-Remaining"
+            );
+            long remaining = -1L;
+            if (text != null && text.matches("\\d{1,9}")) {
+                remaining = Long.parseLong(text);
+            }
+            final long reset = RateLimit.reset(
+                RateLimit.header(headers, "RateLimit-Reset")
+            );
+            long pause = -1L;
+            if (status == RateLimit.TOO_MANY
+                || status == HttpURLConnection.HTTP_UNAVAILABLE) {
+                pause = TimeUnit.MILLISECONDS.toNanos(
+                    RetryWire.after(CacheEntry.first(headers, "Retry-After"))
+                );
+            }
+            if (pause < 0L && (status == RateLimit.TOO_MANY
+                || remaining == 0L)) {
+                pause = reset;
+            }
+            if (pause >= 0L) {
+                this.paused.accumulateAndGet(now + pause, Math::max);
+            } else if (remaining > 0L && reset > 0L) {
+                this.interval.set(
+                    Math.max(this.limit.interval, reset / remaining)
+                );
+            }
+        }
+    }
+}
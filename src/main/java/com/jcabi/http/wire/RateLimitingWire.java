@@ -0,0 +1,124 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.http.wire;
+
+import com.jcabi.aspects.Immutable;
+import com.jcabi.http.Deadline;
+import com.jcabi.http.Request;
+import com.jcabi.http.Response;
+import com.jcabi.http.Wire;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+/**
+ * Wire that limits the rate of requests to every host.
+ *
+ * <p>This decorator can be used when a server has strict quotas, to
+ * avoid {@code 429 Too Many Requests} and the round trips wasted on
+ * them, for example:
+ *
+ * <pre> String json = new JdkRequest("http://api.example.com/items")
+ *   .through(RateLimitingWire.class, new RateLimit(5.0d, 10))
+ *   .fetch()
+ *   .body();</pre>
+ *
+ * <p>Requests wait for their turn, or fail immediately with
+ * {@link IOException} if the limit is in {@link RateLimit.Mode#FAIL}
+ * mode. The limit also learns from {@code RateLimit-*} and
+ * {@code X-RateLimit-*} headers of responses, see {@link RateLimit}.
+ * Without arguments, the wire allows ten requests per second to every
+ * host, with bursts of ten, and the limits are shared by all instances
+ * of the wire.
+ *
+ * <p>The class is immutable and thread-safe.
+ *
+ * @since 2.0
+ */
+@Immutable
+@ToString(of = "origin")
+@EqualsAndHashCode(of = { "origin", "limit" })
+public final class RateLimitingWire implements Wire {
+
+    /**
+     * Limits shared by all wires by default.
+     */
+    private static final RateLimit LIMIT = new RateLimit(10.0d, 10);
+
+    /**
+     * Original wire.
+     */
+    private final transient Wire origin;
+
+    /**
+     * Rate limits.
+     */
+    private final transient RateLimit limit;
+
+    /**
+     * Public ctor.
+     * @param wire Original wire
+     */
+    public RateLimitingWire(final Wire wire) {
+        this(wire, RateLimitingWire.LIMIT);
+    }
+
+    /**
+     * Public ctor.
+     * @param wire Original wire
+     * @param limits Rate limits
+     */
+    public RateLimitingWire(final Wire wire, final RateLimit limits) {
+        this.origin = wire;
+        this.limit = limits;
+    }
+
+    // @checkstyle ParameterNumber (5 lines)
+    @Override
+    public Response send(final Request req, final String home,
+        final String method,
+        final Collection<Map.Entry<String, String>> headers,
+        final InputStream content,
+        final int connect,
+        final int read) throws IOException {
+        final RateLimit.Bucket bucket = this.limit.bucket(home, headers);
+        final long wait = bucket.acquire(
+            System.nanoTime(), this.limit.blocking()
+        );
+        if (wait > 0L && !this.limit.blocking()) {
+            throw new IOException(
+                String.format(
+                    "rate limit exceeded, %s %s is not sent for %dms",
+                    method, home, TimeUnit.NANOSECONDS.toMillis(wait)
+                )
+            );
+        }
+        final Deadline deadline = req.deadline();
+        if (TimeUnit.NANOSECONDS.toMillis(wait) >= deadline.millis()) {
+            throw deadline.failure(null);
+        }
+        if (wait > 0L) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(wait);
+            } catch (final InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                final InterruptedIOException failure =
+                    new InterruptedIOException("interrupted by rate limit");
+                failure.initCause(ex);
+                throw failure;
+            }
+        }
+        final Response rsp = this.origin.send(
+            req, home, method, headers, content, connect, read
+        );
+        bucket.learn(rsp.status(), rsp.headers(), System.nanoTime());
+        return rsp;
+    }
+}
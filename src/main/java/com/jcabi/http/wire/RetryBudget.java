@@ -0,0 +1,90 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.http.wire;
+
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.ToString;
+
+/**
+ * Budget of retries, shared by many {@link RetryWire}s, which limits
+ * retries to a percentage of all requests.
+ *
+ * <p>The budget is a bucket of tokens. Every request adds a fraction of
+ * a token, for example one fifth of it if the budget is 20 percent,
+ * while every retry takes one entire token. When the bucket is empty,
+ * failures are not retried, so that during an outage clients don't
+ * multiply the load of the server. The bucket is full at the beginning
+ * and it can't keep more than the reserve, which is also the number of
+ * retries allowed in a burst:
+ *
+ * <pre> RetryBudget budget = new RetryBudget(10, 50);
+ * new JdkRequest(uri)
+ *   .through(RetryWire.class, 4, 100L, 10_000L, budget)
+ *   .fetch();</pre>
+ *
+ * <p>The class is thread-safe and lock-free.
+ *
+ * @since 2.0
+ */
+@ToString(of = { "deposit", "capacity", "tokens" })
+public final class RetryBudget {
+
+    /**
+     * Cost of one retry, in thousandths of a token.
+     */
+    private static final long TOKEN = 1000L;
+
+    /**
+     * Thousandths of a token added by every request.
+     */
+    private final transient long deposit;
+
+    /**
+     * Maximum number of tokens, in thousandths.
+     */
+    private final transient long capacity;
+
+    /**
+     * Tokens available, in thousandths.
+     */
+    private final transient AtomicLong tokens;
+
+    /**
+     * Public ctor.
+     * @param percent Retries allowed, in percent of requests
+     * @param reserve Retries allowed in a burst
+     */
+    public RetryBudget(final int percent, final int reserve) {
+        this.deposit = RetryBudget.TOKEN * percent / 100L;
+        this.capacity = RetryBudget.TOKEN * reserve;
+        this.tokens = new AtomicLong(this.capacity);
+    }
+
+    /**
+     * One more request is made.
+     */
+    public void deposit() {
+        long before = this.tokens.get();
+        while (before < this.capacity && !this.tokens.compareAndSet(
+            before, Math.min(before + this.deposit, this.capacity)
+        )) {
+            before = this.tokens.get();
+        }
+    }
+
+    /**
+     * Try to take one retry from the budget.
+     * @return TRUE if the retry is allowed
+     */
+    public boolean withdraw() {
+        long before = this.tokens.get();
+        while (before >= RetryBudget.TOKEN && !this.tokens.compareAndSet(
+            before, before - RetryBudget.TOKEN
+        )) {
+            before = this.tokens.get();
+        }
+        return before >= RetryBudget.TOKEN;
+    }
+}
@@ -5,17 +5,26 @@
 package com.jcabi.http.wire;
 
 import com.jcabi.aspects.Immutable;
+import com.jcabi.http.ReplayableStream;
 import com.jcabi.http.Request;
 import com.jcabi.http.Response;
 import com.jcabi.http.Wire;
+import com.jcabi.http.jfr.Flight;
 import com.jcabi.log.Logger;
 import jakarta.ws.rs.core.UriBuilder;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
 import java.net.HttpURLConnection;
 import java.net.URI;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashSet;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 import lombok.EqualsAndHashCode;
 import lombok.ToString;
 
@@ -34,58 +43,344 @@ import lombok.ToString;
  * <p>Since version 1.9 this wire retries also if HTTP status code
  * is between 500 and 599.
  *
+ * <p>Since version 2.0 only idempotent requests are retried, that is
+ * {@code GET}, {@code HEAD}, {@code OPTIONS}, {@code TRACE}, {@code PUT}
+ * and {@code DELETE}, and also {@code 429 Too Many Requests}. Retries
+ * are delayed with exponential backoff and full jitter: before the
+ * retry number N the wire sleeps for a random time between zero
+ * and {@code base * 2^(N-1)} milliseconds, but not longer than
+ * the cap. The number of attempts, the base and the cap, in
+ * milliseconds, may be configured:
+ *
+ * <pre> new JdkRequest(uri)
+ *   .through(RetryWire.class, 5, 200L, 30_000L)
+ *   .fetch();</pre>
+ *
+ * <p>When {@code 429 Too Many Requests} or {@code 503 Service Unavailable}
+ * comes with {@code Retry-After}, the wire waits exactly as long as
+ * the server asks, or returns the response if that is longer than the cap.
+ *
+ * <p>The body of the request is sent again on every attempt, without
+ * copying, if it is a {@link ReplayableStream}, otherwise it is read into
+ * memory first.
+ *
+ * <p>All retries are also limited by a {@link RetryBudget}, shared by
+ * all instances of the wire in the JVM by default, which allows retries
+ * of 20 percent of requests, plus a reserve of 10 retries. When
+ * the budget is exhausted, the failure is not retried: the response
+ * is returned or the exception is thrown as is.
+ *
  * <p>The class is immutable and thread-safe.
  *
  * @since 0.10
  */
 @Immutable
 @ToString(of = "origin")
-@EqualsAndHashCode(of = "origin")
+@EqualsAndHashCode(of = { "origin", "attempts", "base", "cap", "budget" })
 public final class RetryWire implements Wire {
 
+    /**
+     * Default number of attempts.
+     */
+    private static final int ATTEMPTS = 4;
+
+    /**
+     * Default base of backoff, in milliseconds.
+     */
+    private static final long BASE = 100L;
+
+    /**
+     * Default cap of backoff, in milliseconds.
+     */
+    private static final long CAP = 10_000L;
+
+    /**
+     * Budget shared by all wires by default.
+     */
+    private static final RetryBudget BUDGET = new RetryBudget(20, 10);
+
+    /**
+     * HTTP status code "Too Many Requests".
+     */
+    private static final int TOO_MANY = 429;
+
+    /**
+     * Retry-After HTTP header name.
+     */
+    private static final String RETRY_AFTER = "Retry-After";
+
+    /**
+     * Idempotent methods.
+     */
+    static final Set<String> IDEMPOTENT = new HashSet<>(
+        Arrays.asList(
+            Request.GET, Request.HEAD, Request.OPTIONS, Request.TRACE,
+            Request.PUT, Request.DELETE
+        )
+    );
+
     /**
      * Original wire.
      */
     private final transient Wire origin;
 
+    /**
+     * Maximum number of attempts.
+     */
+    private final transient int attempts;
+
+    /**
+     * Base of backoff, in milliseconds.
+     */
+    private final transient long base;
+
+    /**
+     * Cap of backoff, in milliseconds.
+     */
+    private final transient long cap;
+
+    /**
+     * Budget of retries.
+     */
+    private final transient RetryBudget budget;
+
     /**
      * Public ctor.
      * @param wire Original wire
      */
     public RetryWire(final Wire wire) {
+        this(wire, RetryWire.ATTEMPTS, RetryWire.BASE, RetryWire.CAP);
+    }
+
+    /**
+     * Public ctor.
+     * @param wire Original wire
+     * @param total Maximum number of attempts, including the first one
+     * @param bse Base of backoff, in milliseconds
+     * @param most Cap of backoff, in milliseconds
+     */
+    public RetryWire(final Wire wire, final int total, final long bse,
+        final long most) {
+        this(wire, total, bse, most, RetryWire.BUDGET);
+    }
+
+    /**
+     * Public ctor.
+     * @param wire Original wire
+     * @param total Maximum number of attempts, including the first one
+     * @param bse Base of backoff, in milliseconds
+     * @param most Cap of backoff, in milliseconds
+     * @param bdgt Budget of retries
+     * @checkstyle ParameterNumber (3 lines)
+     */
+    public RetryWire(final Wire wire, final int total, final long bse,
+        final long most, final RetryBudget bdgt) {
         this.origin = wire;
+        this.attempts = total;
+        this.base = bse;
+        this.cap = most;
+        this.budget = bdgt;
     }
 
     // @checkstyle ParameterNumber (13 lines)
     @Override
-    public Response send(final Request req, final String home, final String method,
-        final Collection<Map.Entry<String, String>> hdrs, final InputStream cont,
-        final int conn, final int read) throws IOException {
+    public Response send(final Request req, final String home,
+        final String method, final Collection<Map.Entry<String, String>> hdrs,
+        final InputStream cont, final int conn, final int read)
+        throws IOException {
+        final Response rsp;
+        if (RetryWire.IDEMPOTENT.contains(
+            method.toUpperCase(Locale.ENGLISH)
+        )) {
+            this.budget.deposit();
+            rsp = this.retried(req, home, method, hdrs, cont, conn, read);
+        } else {
+            rsp = this.origin.send(req, home, method, hdrs, cont, conn, read);
+        }
+        return rsp;
+    }
+
+    /**
+     * Send the request and retry it, if necessary.
+     * @param req Request
+     * @param home URI to fetch
+     * @param method HTTP method
+     * @param hdrs Headers
+     * @param cont HTTP body
+     * @param conn The connect timeout
+     * @param read The read timeout
+     * @return Response obtained
+     * @throws IOException If fails
+     * @checkstyle ParameterNumber (4 lines)
+     */
+    private Response retried(final Request req, final String home,
+        final String method, final Collection<Map.Entry<String, String>> hdrs,
+        final InputStream cont, final int conn, final int read)
+        throws IOException {
+        final ReplayableStream body = ReplayableStream.of(cont);
+        Response rsp = null;
         int attempt = 0;
-        while (true) {
-            if (attempt > 3) {
-                throw new IOException(
-                    String.format("failed after %d attempts", attempt)
-                );
-            }
+        while (rsp == null) {
+            Response last = null;
+            IOException failure = null;
             try {
-                final Response rsp = this.sendRequest(req, home, method, hdrs, cont, conn, read);
-                if (rsp.status() < HttpURLConnection.HTTP_INTERNAL_ERROR) {
-                    return rsp;
-                }
-                this.logWarning(method, home, rsp.status(), attempt);
+                last = this.origin.send(
+                    req, home, method, hdrs, body.replay(), conn, read
+                );
             } catch (final IOException ex) {
+                if (req.deadline().over()) {
+                    throw ex;
+                }
                 this.logWarning(ex);
+                failure = ex;
+            }
+            if (last != null && !RetryWire.retriable(last.status())) {
+                rsp = last;
+            } else {
+                if (last != null) {
+                    this.logWarning(method, home, last.status(), attempt);
+                }
+                ++attempt;
+                if (attempt >= this.attempts) {
+                    throw new IOException(
+                        String.format("failed after %d attempts", attempt),
+                        failure
+                    );
+                }
+                final long delay = this.delay(last, attempt);
+                if (delay < 0L || delay >= req.deadline().millis()
+                    || !this.budget.withdraw()) {
+                    if (last == null) {
+                        throw failure;
+                    }
+                    rsp = last;
+                } else {
+                    RetryWire.flight(
+                        method, home, attempt, last, failure, delay
+                    );
+                    RetryWire.sleep(delay);
+                }
+            }
+        }
+        return rsp;
+    }
+
+    /**
+     * How long to wait before the retry.
+     * @param last Last response or NULL if it failed
+     * @param attempt Number of the retry, starting from one
+     * @return Delay in milliseconds, or -1 if it must not be retried
+     */
+    private long delay(final Response last, final int attempt) {
+        long after = -1L;
+        if (last != null && (last.status() == RetryWire.TOO_MANY
+            || last.status() == HttpURLConnection.HTTP_UNAVAILABLE)) {
+            after = RetryWire.after(
+                CacheEntry.first(last.headers(), RetryWire.RETRY_AFTER)
+            );
+        }
+        final long delay;
+        if (after > this.cap) {
+            delay = -1L;
+        } else if (after >= 0L) {
+            delay = after;
+        } else {
+            delay = ThreadLocalRandom.current().nextLong(
+                RetryWire.ceiling(this.base, this.cap, attempt) + 1L
+            );
+        }
+        return delay;
+    }
+
+    /**
+     * The longest delay before the retry: the base doubled for every
+     * attempt, but never more than the cap, even when doubling overflows.
+     * @param base Base of backoff, in milliseconds
+     * @param cap Cap of backoff, in milliseconds
+     * @param attempt Number of the retry, starting from one
+     * @return Delay in milliseconds, from zero to the cap
+     */
+    static long ceiling(final long base, final long cap, final int attempt) {
+        final long most = Math.min(Math.max(cap, 0L), Long.MAX_VALUE - 1L);
+        final long first = Math.min(Math.max(base, 0L), most);
+        final int shift = Math.min(Math.max(attempt - 1, 0), Long.SIZE - 2);
+        final long ceiling;
+        if (first > most >> shift) {
+            ceiling = most;
+        } else {
+            ceiling = first << shift;
+        }
+        return ceiling;
+    }
+
+    /**
+     * Parse the value of {@code Retry-After} (RFC 7231 §7.1.3).
+     * @param value Number of seconds or HTTP date, or NULL if absent
+     * @return Delay in milliseconds, or -1 if absent or broken
+     */
+    static long after(final String value) {
+        long delay = -1L;
+        if (value != null && value.trim().matches("\\d{1,9}")) {
+            delay = TimeUnit.SECONDS.toMillis(Long.parseLong(value.trim()));
+        } else if (value != null) {
+            final long when = CacheEntry.date(value, -1L);
+            if (when >= 0L) {
+                delay = Math.max(when - System.currentTimeMillis(), 0L);
             }
-            ++attempt;
         }
+        return delay;
+    }
+
+    /**
+     * Shall the response be retried?
+     * @param status HTTP status of it
+     * @return TRUE if it is a server error or too many requests
+     */
+    private static boolean retriable(final int status) {
+        return status >= HttpURLConnection.HTTP_INTERNAL_ERROR
+            || status == RetryWire.TOO_MANY;
+    }
+
+    /**
+     * Emit the event of the retry.
+     * @param method HTTP method
+     * @param home URI
+     * @param attempt Number of the attempt that failed
+     * @param last Response of it, or NULL
+     * @param failure Failure of it, or NULL
+     * @param delay Delay before the next attempt, in milliseconds
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    private static void flight(final String method, final String home,
+        final int attempt, final Response last, final IOException failure,
+        final long delay) {
+        int status = 0;
+        String message = null;
+        if (last != null) {
+            status = last.status();
+        }
+        if (failure != null) {
+            message = String.valueOf(failure.getMessage());
+        }
+        Flight.retry(method, home, attempt, status, message, delay);
     }
 
-    // @checkstyle ParameterNumber (4 lines)
-    private Response sendRequest(final Request req, final String home, final String method,
-        final Collection<Map.Entry<String, String>> headers, final InputStream content,
-        final int connect, final int read) throws IOException {
-        return this.origin.send(req, home, method, headers, content, connect, read);
+    /**
+     * Wait before the retry.
+     * @param millis Delay in milliseconds
+     * @throws InterruptedIOException If interrupted
+     */
+    private static void sleep(final long millis)
+        throws InterruptedIOException {
+        try {
+            Thread.sleep(millis);
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            final InterruptedIOException failure =
+                new InterruptedIOException("interrupted between retries");
+            failure.initCause(ex);
+            throw failure;
+        }
     }
 
     // @checkstyle ParameterNumber (17 lines)
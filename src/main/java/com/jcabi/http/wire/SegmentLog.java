@@ -0,0 +1,1411 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.http.wire;
+
+import com.jcabi.log.Logger;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.CRC32;
+import lombok.ToString;
+
+/**
+ * Log-structured storage of binary values on disk, which may be shared
+ * by many processes.
+ *
+ * <p>Values are appended to segment files ({@code 00000001.seg},
+ * {@code 00000002.seg}, etc.) in a directory, while an in-memory index
+ * points to the position of the latest value of every key. Every record
+ * in a segment is: length of the rest of the record (four bytes),
+ * CRC32 of the rest of the record (four bytes), type of the record
+ * (one byte, either "put", "link" or "delete"), length of the key (four
+ * bytes), the key in UTF-8, length of the value (four bytes) and the
+ * value. A "link" record also has the length and the key it links to,
+ * right after its own key. Segments are read through memory-mapped
+ * buffers, without copying.
+ *
+ * <p>A value may link to a value of another key, which is shared by
+ * many values, for example, a body of many responses. The target is
+ * written only if it is absent, and the number of live values that link
+ * to it is counted. The target is deleted together with the last value
+ * that links to it, while compaction copies it together with the values
+ * that link to it.
+ *
+ * <p>The index is rebuilt from the segments when the log is opened, on
+ * the first access. A record with a broken checksum, for example
+ * written partially before a crash, is ignored together with everything
+ * after it, and is cut off by the next writer.
+ *
+ * <p>When the total size of the segments exceeds the quota, or when
+ * there are more obsolete records than live ones, the log is compacted,
+ * one segment at a time, starting from the oldest one: its live values
+ * are appended to the end of the log, as usual records, and the segment
+ * is deleted. Values that are not among the most recently used ones,
+ * which take three quarters of the quota, are dropped instead of being
+ * copied. Every segment stays within its size limit and the lock file
+ * is held only while one segment is compacted. If the process dies in
+ * the middle of compaction, the log stays consistent: copies are newer
+ * than their originals and simply replace them when the log is read.
+ *
+ * <p>Many processes on the same machine may use the same directory at
+ * the same time. Writers take an exclusive lock on the file
+ * {@code segments.lock} and increment a counter, which is kept in the
+ * same file and is mapped into memory by every process. Readers don't
+ * take any locks: when they see that the counter has changed, they read
+ * the records appended since their last visit, or rebuild the index
+ * if segments were compacted or deleted. A record becomes visible to
+ * readers only after it is entirely written and the counter is
+ * incremented.
+ *
+ * <p>A log may be closed, to release its files and memory, and it opens
+ * again when it is used next time.
+ *
+ * <p>The class is thread-safe.
+ *
+ * @since 2.0
+ */
+@ToString(of = { "dir", "quota" })
+@SuppressWarnings({ "PMD.TooManyMethods", "PMD.GodClass" })
+final class SegmentLog implements Closeable {
+
+    /**
+     * Magic number at the beginning of every segment.
+     */
+    private static final int MAGIC = 0x6a636c67;
+
+    /**
+     * Version of the segment format.
+     */
+    private static final byte VERSION = 2;
+
+    /**
+     * Size of the segment header: magic number and version.
+     */
+    private static final int HEADER = 5;
+
+    /**
+     * Size of the record prefix: length and checksum.
+     */
+    private static final int PREFIX = 8;
+
+    /**
+     * Minimum length of a record, after the prefix.
+     */
+    private static final int MINIMUM = 9;
+
+    /**
+     * Type of record: new value of a key.
+     */
+    private static final byte PUT = 1;
+
+    /**
+     * Type of record: deletion of a key.
+     */
+    private static final byte DEL = 2;
+
+    /**
+     * Type of record: new value of a key, which links to another key.
+     */
+    private static final byte LINK = 3;
+
+    /**
+     * Suffix of segment files.
+     */
+    private static final String SUFFIX = ".seg";
+
+    /**
+     * Name of the file with the lock and the counter of changes.
+     */
+    private static final String LOCK = "segments.lock";
+
+    /**
+     * Maximum size of a segment, in bytes.
+     */
+    private static final long SEGMENT = 16L * 1024L * 1024L;
+
+    /**
+     * Directory with segments.
+     */
+    private final transient File dir;
+
+    /**
+     * Maximum total size of all segments, in bytes.
+     */
+    private final transient long quota;
+
+    /**
+     * Maximum size of one segment, in bytes.
+     */
+    private final transient long limit;
+
+    /**
+     * Positions of live values, by keys.
+     */
+    private final transient ConcurrentMap<String, SegmentLog.Slot> index;
+
+    /**
+     * Numbers of live values that link to keys, guarded by the write lock.
+     */
+    private final transient Map<String, Integer> refs;
+
+    /**
+     * Open segments, by their numbers.
+     */
+    private final transient NavigableMap<Integer, SegmentLog.Segment> segments;
+
+    /**
+     * Lock, taken for reading by readers and for writing by writers.
+     */
+    private final transient ReadWriteLock lock;
+
+    /**
+     * Logical clock of accesses, to find least recently used values.
+     */
+    private final transient AtomicLong ticks;
+
+    /**
+     * Channel of the lock file, or NULL if not opened yet.
+     */
+    private transient FileChannel guard;
+
+    /**
+     * Counter of changes, mapped from the lock file.
+     */
+    private transient MappedByteBuffer counter;
+
+    /**
+     * Value of the counter when the index was synchronized last time.
+     */
+    private transient volatile long seen;
+
+    /**
+     * Total size of all segments, in bytes.
+     */
+    private transient long total;
+
+    /**
+     * Total size of live records, in bytes.
+     */
+    private transient long live;
+
+    /**
+     * Are the segments already loaded?
+     */
+    private transient volatile boolean opened;
+
+    /**
+     * When the log was used last time, in nanoseconds.
+     */
+    private transient volatile long used;
+
+    /**
+     * Ctor.
+     * @param path Directory with segments
+     * @param max Maximum total size of all segments, in bytes
+     */
+    SegmentLog(final File path, final long max) {
+        this.dir = path;
+        this.quota = max;
+        this.limit = Math.max(
+            // @checkstyle MagicNumber (1 line)
+            64L * 1024L, Math.min(SegmentLog.SEGMENT, max / 4L)
+        );
+        this.index = new ConcurrentHashMap<>(0);
+        this.refs = new HashMap<>(0);
+        this.segments = new TreeMap<>();
+        this.lock = new ReentrantReadWriteLock();
+        this.ticks = new AtomicLong();
+    }
+
+    /**
+     * Get the value of a key.
+     *
+     * <p>The buffer returned is a read-only view of the mapped segment,
+     * which stays valid even after the segment is compacted away.
+     *
+     * @param key The key
+     * @return The value or NULL if absent
+     * @throws IOException If fails
+     */
+    public ByteBuffer get(final String key) throws IOException {
+        this.refresh();
+        this.lock.readLock().lock();
+        try {
+            final SegmentLog.Slot slot = this.index.get(key);
+            final ByteBuffer value;
+            if (slot == null) {
+                value = null;
+            } else {
+                slot.touch(this.ticks.incrementAndGet());
+                value = this.segments.get(slot.segment()).read(
+                    slot.value(), slot.length()
+                );
+            }
+            return value;
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Get the value the key links to.
+     *
+     * <p>The buffer returned is a read-only view of the mapped segment,
+     * the same as in {@link #get(String)}.
+     *
+     * @param key The key
+     * @return The value or NULL if the key is absent or doesn't link
+     * @throws IOException If fails
+     */
+    public ByteBuffer linked(final String key) throws IOException {
+        this.refresh();
+        this.lock.readLock().lock();
+        try {
+            final SegmentLog.Slot slot = this.index.get(key);
+            SegmentLog.Slot target = null;
+            if (slot != null && slot.link() != null) {
+                target = this.index.get(slot.link());
+            }
+            final ByteBuffer value;
+            if (target == null) {
+                value = null;
+            } else {
+                target.touch(this.ticks.incrementAndGet());
+                value = this.segments.get(target.segment()).read(
+                    target.value(), target.length()
+                );
+            }
+            return value;
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Is there a value for the key?
+     * @param key The key
+     * @return TRUE if present
+     * @throws IOException If fails
+     */
+    public boolean has(final String key) throws IOException {
+        this.refresh();
+        return this.index.containsKey(key);
+    }
+
+    /**
+     * Put a value.
+     * @param key The key
+     * @param value The value
+     * @throws IOException If fails
+     */
+    public void put(final String key, final byte[] value) throws IOException {
+        this.write(key, value, null, new byte[0]);
+    }
+
+    /**
+     * Put a value, which links to another key.
+     *
+     * <p>The target is written under the link key only if there is no
+     * such key yet, otherwise the existing value is shared.
+     *
+     * @param key The key
+     * @param value The value
+     * @param link The key to link to
+     * @param target The value of the key to link to
+     * @throws IOException If fails
+     */
+    public void put(final String key, final byte[] value, final String link,
+        final byte[] target) throws IOException {
+        this.write(key, value, link, target);
+    }
+
+    /**
+     * Remove a key.
+     *
+     * <p>If it was the last one linking to another key, that key is
+     * removed too.
+     *
+     * @param key The key
+     * @throws IOException If fails
+     */
+    public void remove(final String key) throws IOException {
+        this.lock.writeLock().lock();
+        try {
+            this.open();
+            final FileLock exclusive = this.guard.lock();
+            try {
+                this.sync();
+                if (this.erase(key)) {
+                    this.publish();
+                }
+            } finally {
+                exclusive.release();
+            }
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove all keys and delete all segments.
+     * @throws IOException If fails
+     */
+    public void clear() throws IOException {
+        this.lock.writeLock().lock();
+        try {
+            this.open();
+            final FileLock exclusive = this.guard.lock();
+            try {
+                for (final SegmentLog.Segment seg : this.segments.values()) {
+                    seg.delete();
+                }
+                for (final File file : this.files()) {
+                    Files.deleteIfExists(file.toPath());
+                }
+                this.segments.clear();
+                this.index.clear();
+                this.refs.clear();
+                this.total = 0L;
+                this.live = 0L;
+                this.publish();
+            } finally {
+                exclusive.release();
+            }
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Total number of live keys.
+     * @return Number of keys
+     * @throws IOException If fails
+     */
+    public int size() throws IOException {
+        this.refresh();
+        return this.index.size();
+    }
+
+    /**
+     * Total size of all segments on disk.
+     * @return Size in bytes
+     * @throws IOException If fails
+     */
+    public long bytes() throws IOException {
+        this.refresh();
+        this.lock.readLock().lock();
+        try {
+            return this.total;
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Is it open now?
+     * @return TRUE if its files are open
+     */
+    public boolean isOpen() {
+        return this.opened;
+    }
+
+    /**
+     * When was it used last time?
+     * @return Moment, in nanoseconds, see {@link System#nanoTime()}
+     */
+    public long used() {
+        return this.used;
+    }
+
+    /**
+     * Maximum total size of all segments.
+     * @return Bytes
+     */
+    public long quota() {
+        return this.quota;
+    }
+
+    /**
+     * Close all files and forget the index, until the log is used again.
+     *
+     * <p>Buffers returned by {@link #get(String)} stay valid.
+     *
+     * @throws IOException If fails
+     */
+    @Override
+    public void close() throws IOException {
+        this.lock.writeLock().lock();
+        try {
+            if (this.opened) {
+                this.opened = false;
+                for (final SegmentLog.Segment seg : this.segments.values()) {
+                    seg.close();
+                }
+                this.segments.clear();
+                this.index.clear();
+                this.refs.clear();
+                this.total = 0L;
+                this.live = 0L;
+                this.guard.close();
+                Logger.debug(this, "closed %s", this.dir);
+            }
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Open the log, if not yet, and read the changes made by other
+     * processes, if there are any.
+     * @throws IOException If fails
+     */
+    private void refresh() throws IOException {
+        this.open();
+        if (this.counter.getLong(0) != this.seen) {
+            this.lock.writeLock().lock();
+            try {
+                this.open();
+                this.sync();
+            } finally {
+                this.lock.writeLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * Open the lock file and load all existing segments, if not yet done,
+     * and remember the moment of use.
+     * @throws IOException If fails
+     */
+    private void open() throws IOException {
+        this.used = System.nanoTime();
+        if (!this.opened) {
+            this.lock.writeLock().lock();
+            try {
+                if (!this.opened) {
+                    if (this.dir.mkdirs()) {
+                        Logger.debug(this, "directory %s created", this.dir);
+                    }
+                    this.guard = FileChannel.open(
+                        new File(this.dir, SegmentLog.LOCK).toPath(),
+                        StandardOpenOption.CREATE,
+                        StandardOpenOption.READ, StandardOpenOption.WRITE
+                    );
+                    this.counter = this.guard.map(
+                        FileChannel.MapMode.READ_WRITE, 0L, (long) Long.BYTES
+                    );
+                    this.seen = this.counter.getLong(0);
+                    for (final File file : this.files()) {
+                        this.load(file);
+                    }
+                    this.opened = true;
+                    Logger.debug(
+                        this, "%d key(s) in %d segment(s) loaded from %s",
+                        this.index.size(), this.segments.size(), this.dir
+                    );
+                }
+            } finally {
+                this.lock.writeLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * Bring the index up to date with the files, while holding the
+     * write lock.
+     *
+     * <p>If any known segment is gone, the index is rebuilt from scratch,
+     * otherwise only new records and new segments are read.
+     *
+     * @throws IOException If fails
+     */
+    private void sync() throws IOException {
+        final long now = this.counter.getLong(0);
+        if (now != this.seen) {
+            final File[] files = this.files();
+            boolean gone = false;
+            for (final SegmentLog.Segment seg : this.segments.values()) {
+                gone |= !seg.exists();
+            }
+            if (gone) {
+                for (final SegmentLog.Segment seg : this.segments.values()) {
+                    seg.close();
+                }
+                this.segments.clear();
+                this.index.clear();
+                this.refs.clear();
+                this.total = 0L;
+                this.live = 0L;
+            } else {
+                for (final SegmentLog.Segment seg : this.segments.values()) {
+                    this.scan(seg);
+                }
+            }
+            for (final File file : files) {
+                if (!this.segments.containsKey(SegmentLog.number(file))) {
+                    this.load(file);
+                }
+            }
+            this.seen = now;
+        }
+    }
+
+    /**
+     * Load one segment, if it is complete.
+     * @param file The file
+     * @throws IOException If fails
+     */
+    private void load(final File file) throws IOException {
+        final SegmentLog.Segment seg = new SegmentLog.Segment(
+            file, SegmentLog.number(file)
+        );
+        final ByteBuffer head = seg.read(
+            0L, (int) Math.min(seg.length(), (long) SegmentLog.HEADER)
+        );
+        if (head.limit() < SegmentLog.HEADER
+            || head.getInt(0) != SegmentLog.MAGIC
+            || head.get(4) < 1 || head.get(4) > SegmentLog.VERSION) {
+            Logger.debug(this, "incomplete segment %s ignored", file);
+            seg.close();
+        } else {
+            this.segments.put(seg.number(), seg);
+            seg.skip(SegmentLog.HEADER);
+            this.total += (long) SegmentLog.HEADER;
+            this.scan(seg);
+        }
+    }
+
+    /**
+     * Read new records of a segment.
+     *
+     * <p>Records are read through windows of the file, each of them
+     * smaller than two gigabytes, so that segments of any size can be
+     * read.
+     *
+     * @param seg The segment
+     * @throws IOException If fails
+     */
+    private void scan(final SegmentLog.Segment seg) throws IOException {
+        final long from = seg.scanned();
+        final long length = seg.length();
+        long base = from;
+        boolean more = length > from;
+        while (more) {
+            final ByteBuffer all = seg.read(
+                base, (int) Math.min(length - base, Integer.MAX_VALUE)
+            );
+            int pos = 0;
+            while (pos < all.limit()) {
+                final int next = this.replay(seg.number(), all, base, pos);
+                if (next < 0) {
+                    all.limit(pos);
+                } else {
+                    pos = next;
+                }
+            }
+            base += (long) pos;
+            more = pos > 0 && base < length;
+        }
+        seg.skip(base);
+        this.total += base - from;
+    }
+
+    /**
+     * Apply one record of a segment to the index.
+     * @param number Number of the segment
+     * @param all Bytes of the segment, starting from the base
+     * @param base Position of the bytes in the segment
+     * @param pos Position of the record in the bytes
+     * @return Position of the next record in the bytes or -1 if this one
+     *  is broken or incomplete
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    private int replay(final int number, final ByteBuffer all,
+        final long base, final int pos) {
+        int next = -1;
+        final int length;
+        if (all.limit() - pos >= SegmentLog.PREFIX) {
+            length = all.getInt(pos);
+        } else {
+            length = -1;
+        }
+        if (length >= SegmentLog.MINIMUM
+            && length <= all.limit() - pos - SegmentLog.PREFIX) {
+            final ByteBuffer body = all.duplicate();
+            body.position(pos + SegmentLog.PREFIX);
+            body.limit(pos + SegmentLog.PREFIX + length);
+            final CRC32 crc = new CRC32();
+            crc.update(body);
+            final int keys = all.getInt(pos + SegmentLog.MINIMUM);
+            if ((int) crc.getValue() == all.getInt(pos + 4)
+                && keys >= 0
+                && keys <= length - SegmentLog.MINIMUM) {
+                final int at = pos + SegmentLog.PREFIX + SegmentLog.MINIMUM - 4;
+                final String key = SegmentLog.text(all, at, keys);
+                final byte type = all.get(pos + SegmentLog.PREFIX);
+                final int size = SegmentLog.PREFIX + length;
+                final int rest = length - SegmentLog.MINIMUM - keys;
+                if (type == SegmentLog.DEL) {
+                    this.forget(this.index.remove(key));
+                    next = pos + size;
+                } else if (type == SegmentLog.PUT) {
+                    this.remember(
+                        key,
+                        new SegmentLog.Slot(
+                            number, base + (long) pos, size, rest, null,
+                            this.ticks.incrementAndGet()
+                        )
+                    );
+                    next = pos + size;
+                } else if (type == SegmentLog.LINK && rest >= 4) {
+                    final int links = all.getInt(at + keys);
+                    if (links >= 0 && links <= rest - 4) {
+                        this.remember(
+                            key,
+                            new SegmentLog.Slot(
+                                number, base + (long) pos, size,
+                                rest - 4 - links,
+                                SegmentLog.text(all, at + keys + 4, links),
+                                this.ticks.incrementAndGet()
+                            )
+                        );
+                        next = pos + size;
+                    }
+                }
+            }
+        }
+        return next;
+    }
+
+    /**
+     * Write a value, while holding the lock file.
+     * @param key The key
+     * @param value The value
+     * @param link The key to link to or NULL
+     * @param target The value of the key to link to
+     * @throws IOException If fails
+     */
+    private void write(final String key, final byte[] value,
+        final String link, final byte[] target) throws IOException {
+        this.lock.writeLock().lock();
+        try {
+            this.open();
+            final FileLock exclusive = this.guard.lock();
+            try {
+                this.sync();
+                if (link != null && !this.index.containsKey(link)) {
+                    this.append(link, target, null);
+                }
+                this.drop(this.append(key, value, link));
+                if (this.wasteful()) {
+                    final long floor = this.floor();
+                    for (int left = this.segments.size();
+                        left > 0 && this.wasteful(); --left) {
+                        this.compact(floor);
+                    }
+                }
+                this.publish();
+            } finally {
+                exclusive.release();
+            }
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Append a value to the active segment and index it, while holding
+     * the lock file.
+     * @param key The key
+     * @param value The value
+     * @param link The key to link to or NULL
+     * @return The slot replaced or NULL
+     * @throws IOException If fails
+     */
+    private SegmentLog.Slot append(final String key, final byte[] value,
+        final String link) throws IOException {
+        final byte type;
+        if (link == null) {
+            type = SegmentLog.PUT;
+        } else {
+            type = SegmentLog.LINK;
+        }
+        final byte[] record = SegmentLog.record(type, key, link, value);
+        final SegmentLog.Segment seg = this.active(record.length);
+        final long start = seg.append(record);
+        this.total += (long) record.length;
+        return this.remember(
+            key,
+            new SegmentLog.Slot(
+                seg.number(), start, record.length, value.length, link,
+                this.ticks.incrementAndGet()
+            )
+        );
+    }
+
+    /**
+     * Remove a key and write a tombstone, while holding the lock file.
+     * @param key The key
+     * @return TRUE if the key was there
+     * @throws IOException If fails
+     */
+    private boolean erase(final String key) throws IOException {
+        final SegmentLog.Slot slot = this.index.remove(key);
+        if (slot != null) {
+            final byte[] record = SegmentLog.record(
+                SegmentLog.DEL, key, null, new byte[0]
+            );
+            this.active(record.length).append(record);
+            this.total += (long) record.length;
+            this.forget(slot);
+            this.drop(slot);
+        }
+        return slot != null;
+    }
+
+    /**
+     * Remove the key the old record linked to, if nothing else links
+     * to it, while holding the lock file.
+     * @param slot The slot of the old record or NULL
+     * @throws IOException If fails
+     */
+    private void drop(final SegmentLog.Slot slot) throws IOException {
+        if (slot != null && slot.link() != null
+            && !this.refs.containsKey(slot.link())) {
+            this.erase(slot.link());
+        }
+    }
+
+    /**
+     * Put the record into the index.
+     * @param key The key
+     * @param slot The slot of the record
+     * @return The slot replaced or NULL
+     */
+    private SegmentLog.Slot remember(final String key,
+        final SegmentLog.Slot slot) {
+        this.live += (long) slot.size();
+        if (slot.link() != null) {
+            this.refs.merge(slot.link(), 1, Integer::sum);
+        }
+        final SegmentLog.Slot before = this.index.put(key, slot);
+        this.forget(before);
+        return before;
+    }
+
+    /**
+     * Take into account that the record is not live any more.
+     * @param slot The slot of the record or NULL
+     */
+    private void forget(final SegmentLog.Slot slot) {
+        if (slot != null) {
+            this.live -= (long) slot.size();
+            if (slot.link() != null) {
+                final int left = this.refs.getOrDefault(slot.link(), 1) - 1;
+                if (left > 0) {
+                    this.refs.put(slot.link(), left);
+                } else {
+                    this.refs.remove(slot.link());
+                }
+            }
+        }
+    }
+
+    /**
+     * Tell other processes that the files have changed, while holding
+     * the lock file.
+     */
+    private void publish() {
+        final long next = this.counter.getLong(0) + 1L;
+        this.counter.putLong(0, next);
+        this.seen = next;
+    }
+
+    /**
+     * Get the segment to append to, starting a new one if necessary,
+     * while holding the lock file.
+     * @param size Size of the record to append
+     * @return Segment
+     * @throws IOException If fails
+     */
+    private SegmentLog.Segment active(final int size) throws IOException {
+        SegmentLog.Segment seg;
+        if (this.segments.isEmpty()) {
+            seg = null;
+        } else {
+            seg = this.segments.lastEntry().getValue();
+        }
+        if (seg == null || seg.scanned() > (long) SegmentLog.HEADER
+            && seg.scanned() + (long) size > this.limit) {
+            seg = this.roll();
+        } else {
+            seg.trim();
+        }
+        return seg;
+    }
+
+    /**
+     * Start a new segment, while holding the lock file.
+     * @return The segment
+     * @throws IOException If fails
+     */
+    private SegmentLog.Segment roll() throws IOException {
+        final int number = this.next();
+        final SegmentLog.Segment seg = new SegmentLog.Segment(
+            this.file(number), number
+        );
+        seg.trim();
+        seg.start();
+        this.segments.put(number, seg);
+        this.total += seg.scanned();
+        return seg;
+    }
+
+    /**
+     * Is it time to compact, because the quota is exceeded or there are
+     * more obsolete records than live ones?
+     * @return TRUE if it is
+     */
+    private boolean wasteful() {
+        return this.total > this.quota || this.total > this.limit
+            && this.total - this.live > this.live;
+    }
+
+    /**
+     * The oldest moment of access of values that survive compaction:
+     * the most recently used ones, which take three quarters of the
+     * quota.
+     * @return Tick
+     */
+    private long floor() {
+        final List<SegmentLog.Slot> slots = new ArrayList<>(
+            this.index.values()
+        );
+        slots.sort(Comparator.comparingLong(SegmentLog.Slot::tick).reversed());
+        final long budget = this.quota / 4L * 3L;
+        long used = 0L;
+        long floor = Long.MIN_VALUE;
+        for (final SegmentLog.Slot slot : slots) {
+            used += (long) slot.size();
+            if (used > budget) {
+                floor = slot.tick() + 1L;
+                break;
+            }
+        }
+        return floor;
+    }
+
+    /**
+     * Move live values of the oldest segment to the end of the log and
+     * delete the segment, while holding the lock file.
+     *
+     * <p>Values used before the floor are dropped, unless other values
+     * link to them. Values that link to others go first, so that the
+     * values they link to are dropped if nothing links to them any more.
+     *
+     * @param floor The oldest moment of access of values to keep
+     * @throws IOException If fails
+     */
+    private void compact(final long floor) throws IOException {
+        final SegmentLog.Segment oldest = this.segments.firstEntry()
+            .getValue();
+        if (oldest == this.segments.lastEntry().getValue()) {
+            this.roll();
+        }
+        final List<Map.Entry<String, SegmentLog.Slot>> slots =
+            new ArrayList<>(0);
+        for (final Map.Entry<String, SegmentLog.Slot> ent
+            : this.index.entrySet()) {
+            if (ent.getValue().segment() == oldest.number()) {
+                slots.add(ent);
+            }
+        }
+        slots.sort(
+            Comparator.comparing(
+                (Map.Entry<String, SegmentLog.Slot> ent)
+                    -> this.refs.containsKey(ent.getKey())
+            )
+        );
+        int kept = 0;
+        for (final Map.Entry<String, SegmentLog.Slot> ent : slots) {
+            final String key = ent.getKey();
+            final SegmentLog.Slot slot = ent.getValue();
+            if (this.index.get(key) == slot) {
+                if (this.refs.containsKey(key) || slot.tick() >= floor) {
+                    this.index.put(key, this.copy(slot));
+                    ++kept;
+                } else {
+                    this.index.remove(key);
+                    this.forget(slot);
+                    this.drop(slot);
+                }
+            }
+        }
+        this.segments.remove(oldest.number());
+        this.total -= oldest.scanned();
+        oldest.delete();
+        Logger.debug(
+            this, "segment %08x compacted, %d key(s) moved, %d byte(s) left",
+            oldest.number(), kept, this.total
+        );
+    }
+
+    /**
+     * Copy the record to the end of the log, while holding the lock file.
+     * @param slot The slot of the record
+     * @return The slot of the copy
+     * @throws IOException If fails
+     */
+    private SegmentLog.Slot copy(final SegmentLog.Slot slot)
+        throws IOException {
+        final byte[] record = new byte[slot.size()];
+        this.segments.get(slot.segment())
+            .read(slot.start(), slot.size()).get(record);
+        final SegmentLog.Segment target = this.active(record.length);
+        final long start = target.append(record);
+        this.total += (long) record.length;
+        return slot.moved(target.number(), start);
+    }
+
+    /**
+     * Number for a new segment.
+     * @return Number, bigger than numbers of all existing segments
+     */
+    private int next() {
+        int max = 0;
+        for (final File file : this.files()) {
+            max = Math.max(max, SegmentLog.number(file));
+        }
+        return max + 1;
+    }
+
+    /**
+     * All segment files in the directory, in order.
+     * @return Files
+     */
+    private File[] files() {
+        File[] files = this.dir.listFiles(
+            (path, name) -> name.matches("[0-9a-f]{8}\\.seg")
+        );
+        if (files == null) {
+            files = new File[0];
+        }
+        Arrays.sort(files);
+        return files;
+    }
+
+    /**
+     * File of a segment.
+     * @param number Number of the segment
+     * @return File
+     */
+    private File file(final int number) {
+        return new File(
+            this.dir, String.format("%08x%s", number, SegmentLog.SUFFIX)
+        );
+    }
+
+    /**
+     * Number of a segment by its file.
+     * @param file The file
+     * @return Number
+     */
+    private static int number(final File file) {
+        return Integer.parseInt(
+            file.getName().substring(
+                0, file.getName().length() - SegmentLog.SUFFIX.length()
+            ),
+            16
+        );
+    }
+
+    /**
+     * Make a record.
+     * @param type Type of the record
+     * @param key The key
+     * @param link The key to link to or NULL
+     * @param value The value
+     * @return Bytes of the record
+     */
+    private static byte[] record(final byte type, final String key,
+        final String link, final byte[] value) {
+        final byte[] name = key.getBytes(StandardCharsets.UTF_8);
+        byte[] target = new byte[0];
+        int extra = 0;
+        if (link != null) {
+            target = link.getBytes(StandardCharsets.UTF_8);
+            extra = 4 + target.length;
+        }
+        final ByteBuffer buf = ByteBuffer.allocate(
+            SegmentLog.PREFIX + SegmentLog.MINIMUM + name.length + extra
+                + value.length
+        );
+        buf.position(SegmentLog.PREFIX);
+        buf.put(type).putInt(name.length).put(name);
+        if (link != null) {
+            buf.putInt(target.length).put(target);
+        }
+        buf.putInt(value.length).put(value);
+        final CRC32 crc = new CRC32();
+        crc.update(
+            buf.array(), SegmentLog.PREFIX,
+            buf.capacity() - SegmentLog.PREFIX
+        );
+        buf.putInt(0, buf.capacity() - SegmentLog.PREFIX);
+        buf.putInt(4, (int) crc.getValue());
+        return buf.array();
+    }
+
+    /**
+     * Read a string in UTF-8.
+     * @param all The bytes
+     * @param pos Position of the string
+     * @param length Length of the string, in bytes
+     * @return The string
+     */
+    private static String text(final ByteBuffer all, final int pos,
+        final int length) {
+        final byte[] bytes = new byte[length];
+        final ByteBuffer src = all.duplicate();
+        src.position(pos);
+        src.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Position of a live record.
+     *
+     * @since 2.0
+     */
+    private static final class Slot {
+
+        /**
+         * Number of the segment.
+         */
+        private final transient int segment;
+
+        /**
+         * Position of the record in the segment.
+         */
+        private final transient long start;
+
+        /**
+         * Size of the entire record.
+         */
+        private final transient int size;
+
+        /**
+         * Size of the value.
+         */
+        private final transient int length;
+
+        /**
+         * The key the record links to, or NULL.
+         */
+        private final transient String link;
+
+        /**
+         * Moment of the last access, by the logical clock.
+         */
+        private transient volatile long tick;
+
+        /**
+         * Ctor.
+         * @param seg Number of the segment
+         * @param pos Position of the record in the segment
+         * @param total Size of the entire record
+         * @param len Size of the value
+         * @param lnk The key the record links to, or NULL
+         * @param time Moment of the last access
+         * @checkstyle ParameterNumberCheck (5 lines)
+         */
+        Slot(final int seg, final long pos, final int total, final int len,
+            final String lnk, final long time) {
+            this.segment = seg;
+            this.start = pos;
+            this.size = total;
+            this.length = len;
+            this.link = lnk;
+            this.tick = time;
+        }
+
+        /**
+         * Number of the segment.
+         * @return Number
+         */
+        int segment() {
+            return this.segment;
+        }
+
+        /**
+         * Position of the record.
+         * @return Position
+         */
+        long start() {
+            return this.start;
+        }
+
+        /**
+         * Position of the value.
+         * @return Position
+         */
+        long value() {
+            return this.start + (long) (this.size - this.length);
+        }
+
+        /**
+         * Size of the entire record.
+         * @return Size
+         */
+        int size() {
+            return this.size;
+        }
+
+        /**
+         * Size of the value.
+         * @return Size
+         */
+        int length() {
+            return this.length;
+        }
+
+        /**
+         * The key the record links to.
+         * @return The key or NULL
+         */
+        String link() {
+            return this.link;
+        }
+
+        /**
+         * Moment of the last access.
+         * @return Tick
+         */
+        long tick() {
+            return this.tick;
+        }
+
+        /**
+         * Record an access.
+         * @param time Moment of access
+         */
+        void touch(final long time) {
+            this.tick = time;
+        }
+
+        /**
+         * Same record, moved to another place.
+         * @param seg Number of the segment
+         * @param pos Position in the segment
+         * @return New slot
+         */
+        Slot moved(final int seg, final long pos) {
+            return new SegmentLog.Slot(
+                seg, pos, this.size, this.length, this.link, this.tick
+            );
+        }
+    }
+
+    /**
+     * Segment file.
+     *
+     * @since 2.0
+     */
+    private static final class Segment implements Closeable {
+
+        /**
+         * The file.
+         */
+        private final transient File file;
+
+        /**
+         * Number of the segment.
+         */
+        private final transient int number;
+
+        /**
+         * Channel of the file.
+         */
+        private final transient FileChannel channel;
+
+        /**
+         * Position right after the last complete record read or written.
+         */
+        private transient volatile long scanned;
+
+        /**
+         * Mapped content of the file, or NULL if not mapped yet.
+         */
+        private transient MappedByteBuffer mapped;
+
+        /**
+         * Ctor.
+         * @param path The file
+         * @param num Number of the segment
+         * @throws IOException If fails
+         */
+        Segment(final File path, final int num) throws IOException {
+            this.file = path;
+            this.number = num;
+            this.channel = FileChannel.open(
+                path.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE
+            );
+        }
+
+        /**
+         * Number of the segment.
+         * @return Number
+         */
+        int number() {
+            return this.number;
+        }
+
+        /**
+         * Position right after the last complete record.
+         * @return Position
+         */
+        long scanned() {
+            return this.scanned;
+        }
+
+        /**
+         * Mark everything before the position as read.
+         * @param pos The position
+         */
+        void skip(final long pos) {
+            this.scanned = pos;
+        }
+
+        /**
+         * Current size of the file, which may include incomplete records.
+         * @return Size in bytes
+         * @throws IOException If fails
+         */
+        long length() throws IOException {
+            return this.channel.size();
+        }
+
+        /**
+         * Does the file still exist?
+         * @return TRUE if it exists
+         */
+        boolean exists() {
+            return this.file.exists();
+        }
+
+        /**
+         * Write the header into a new segment.
+         * @throws IOException If fails
+         */
+        void start() throws IOException {
+            final ByteBuffer header = ByteBuffer.allocate(SegmentLog.HEADER);
+            header.putInt(SegmentLog.MAGIC).put(SegmentLog.VERSION);
+            this.append(header.array());
+        }
+
+        /**
+         * Cut off incomplete records, left by a writer that crashed,
+         * while holding the lock file.
+         * @throws IOException If fails
+         */
+        synchronized void trim() throws IOException {
+            if (this.channel.size() > this.scanned) {
+                Logger.warn(
+                    this, "broken records after %d in %s cut off",
+                    this.scanned, this.file
+                );
+                this.channel.truncate(this.scanned);
+                this.mapped = null;
+            }
+        }
+
+        /**
+         * Append bytes after the last complete record.
+         * @param bytes The bytes
+         * @return Position where they were written
+         * @throws IOException If fails
+         */
+        long append(final byte[] bytes) throws IOException {
+            final long start = this.scanned;
+            final ByteBuffer src = ByteBuffer.wrap(bytes);
+            long pos = start;
+            while (src.hasRemaining()) {
+                pos += (long) this.channel.write(src, pos);
+            }
+            this.scanned = pos;
+            return start;
+        }
+
+        /**
+         * Read bytes, without copying them.
+         *
+         * <p>The entire file is mapped once, if it is smaller than two
+         * gigabytes, otherwise only the bytes requested are mapped.
+         *
+         * @param pos Position in the file
+         * @param len How many bytes to read
+         * @return Read-only buffer
+         * @throws IOException If fails
+         */
+        synchronized ByteBuffer read(final long pos, final int len)
+            throws IOException {
+            final long end = pos + (long) len;
+            if ((this.mapped == null
+                || end > (long) this.mapped.capacity())
+                && this.channel.size() <= (long) Integer.MAX_VALUE) {
+                this.mapped = this.channel.map(
+                    FileChannel.MapMode.READ_ONLY, 0L, this.channel.size()
+                );
+            }
+            final ByteBuffer buf;
+            if (this.mapped == null
+                || end > (long) this.mapped.capacity()) {
+                buf = this.channel.map(
+                    FileChannel.MapMode.READ_ONLY, pos, (long) len
+                );
+            } else {
+                buf = this.mapped.duplicate();
+                buf.position((int) pos);
+                buf.limit((int) end);
+            }
+            return buf.slice().asReadOnlyBuffer();
+        }
+
+        /**
+         * Close and delete the file.
+         * @throws IOException If fails
+         */
+        void delete() throws IOException {
+            this.close();
+            Files.deleteIfExists(this.file.toPath());
+        }
+
+        @Override
+        public void close() throws IOException {
+            this.channel.close();
+        }
+    }
+}
@@ -0,0 +1,28 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.http.wire;
+
+/**
+ * Value that may be kept by many caches at the same time and counts
+ * how many of them keep it.
+ *
+ * <p>A cache calls {@link #retain()} before it starts keeping the value
+ * and {@link #release()} after it stops keeping it, because the value
+ * was evicted, removed, replaced, or the cache was cleared.
+ *
+ * @since 2.0
+ */
+interface Shared {
+
+    /**
+     * One more cache keeps the value.
+     */
+    void retain();
+
+    /**
+     * One cache doesn't keep the value any more.
+     */
+    void release();
+}
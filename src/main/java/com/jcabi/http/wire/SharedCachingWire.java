@@ -0,0 +1,363 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.http.wire;
+
+import com.jcabi.aspects.Immutable;
+import com.jcabi.http.Request;
+import com.jcabi.http.Response;
+import com.jcabi.http.Wire;
+import com.jcabi.http.jfr.Flight;
+import com.jcabi.log.Logger;
+import jakarta.ws.rs.core.HttpHeaders;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+/**
+ * Wire that caches GET responses in a storage shared by many processes,
+ * for example by all nodes of a horizontally scaled service.
+ *
+ * <p>Responses are kept in a {@link CacheStore}, in a compact binary
+ * form, for example in a memcached server:
+ *
+ * <pre> String json = new JdkRequest("http://example.com/config.json")
+ *   .through(
+ *     SharedCachingWire.class,
+ *     new MemcachedStore("cache.example.com", 11211)
+ *   )
+ *   .fetch()
+ *   .body();</pre>
+ *
+ * <p>A response fetched by one node is reused by all of them, so the
+ * load of the server doesn't grow with the number of nodes. The same way
+ * as {@link ConditionalCachingWire} does it, the wire respects
+ * the freshness lifetime of responses ({@code Cache-Control: max-age}
+ * or {@code Expires}) and revalidates stale responses with
+ * {@code If-None-Match} and {@code If-Modified-Since}, only responses
+ * that can be revalidated are kept after they become stale, for one day
+ * by default. Requests with {@code Cache-Control: no-cache} are always
+ * revalidated, while {@code Cache-Control: no-store} ones bypass the
+ * cache entirely. Requests that already carry {@code If-None-Match} or
+ * {@code If-Modified-Since} go to the server as is.
+ *
+ * <p>Responses are stored by the normalized fingerprint of the request,
+ * which includes the values of only those headers that are listed
+ * in the {@code Vary} header of the response. Fingerprints are hashed
+ * with SHA-256 before they leave the process.
+ *
+ * <p>You can also configure it to flush the entire storage
+ * on certain request URI's, for example:
+ *
+ * <pre>new JdkRequest(uri)
+ *   .through(SharedCachingWire.class, store, "POST /save/.*")
+ *   .uri().path("/save/123").back()
+ *   .fetch();</pre>
+ *
+ * <p>Failures of the storage don't break requests, they are logged
+ * and turned into cache misses. {@link com.jcabi.http.mock.MkMemcached}
+ * may be used in tests instead of a real memcached server.
+ *
+ * <p>The class is immutable and thread-safe.
+ *
+ * @since 2.0
+ */
+@Immutable
+@ToString(of = { "origin", "store" })
+@EqualsAndHashCode(of = { "origin", "store", "regex", "ttl" })
+public final class SharedCachingWire implements Wire {
+
+    /**
+     * Fingerprints of requests, used as cache keys.
+     */
+    private static final Fingerprints PRINTS = new Fingerprints();
+
+    /**
+     * Default time to keep stale responses, in seconds.
+     */
+    private static final int DAY = (int) TimeUnit.DAYS.toSeconds(1L);
+
+    /**
+     * Prefix of keys in the storage.
+     */
+    private static final String PREFIX = "jcabi-http:";
+
+    /**
+     * No-store directive.
+     */
+    private static final String NO_STORE = "no-store";
+
+    /**
+     * Original wire.
+     */
+    private final transient Wire origin;
+
+    /**
+     * The storage.
+     */
+    private final transient CacheStore store;
+
+    /**
+     * Flushing regular expression.
+     */
+    private final transient String regex;
+
+    /**
+     * Time to keep stale responses, in seconds.
+     */
+    private final transient int ttl;
+
+    /**
+     * Public ctor.
+     * @param wire Original wire
+     * @param storage The storage
+     */
+    public SharedCachingWire(final Wire wire, final CacheStore storage) {
+        this(wire, storage, "$never");
+    }
+
+    /**
+     * Public ctor.
+     * @param wire Original wire
+     * @param storage The storage
+     * @param flsh Flushing regular expression
+     */
+    public SharedCachingWire(final Wire wire, final CacheStore storage,
+        final String flsh) {
+        this(wire, storage, flsh, SharedCachingWire.DAY);
+    }
+
+    /**
+     * Public ctor.
+     * @param wire Original wire
+     * @param storage The storage
+     * @param flsh Flushing regular expression
+     * @param seconds How long to keep stale responses that can be
+     *  revalidated, in seconds
+     */
+    public SharedCachingWire(final Wire wire, final CacheStore storage,
+        final String flsh, final int seconds) {
+        this.origin = wire;
+        this.store = storage;
+        this.regex = flsh;
+        this.ttl = seconds;
+    }
+
+    // @checkstyle ParameterNumber (5 lines)
+    @Override
+    public Response send(final Request req, final String home,
+        final String method,
+        final Collection<Map.Entry<String, String>> headers,
+        final InputStream content,
+        final int connect,
+        final int read) throws IOException {
+        final URI uri = req.uri().get();
+        final StringBuilder label = new StringBuilder(100)
+            .append(method).append(' ').append(uri.getPath());
+        if (uri.getQuery() != null) {
+            label.append('?').append(uri.getQuery());
+        }
+        if (label.toString().matches(this.regex)) {
+            try {
+                this.store.clear();
+            } catch (final IOException ex) {
+                Logger.warn(this, "failed to flush %s: %s", this.store, ex);
+            }
+        }
+        final CacheControl control = CacheControl.of(
+            headers, HttpHeaders.CACHE_CONTROL
+        );
+        final Response rsp;
+        if (method.equals(Request.GET)
+            && !control.has(SharedCachingWire.NO_STORE)
+            && CacheControl.values(headers, HttpHeaders.IF_NONE_MATCH)
+                .isEmpty()
+            && CacheControl.values(headers, HttpHeaders.IF_MODIFIED_SINCE)
+                .isEmpty()) {
+            final byte[] body = Fingerprints.bytes(content);
+            final Fingerprint key = SharedCachingWire.PRINTS.of(
+                method, home, headers, body
+            );
+            rsp = this.consult(
+                key, !ConditionalCachingWire.revalidate(control, headers),
+                req, home, headers, body, connect, read
+            );
+            final Fingerprint learnt = SharedCachingWire.PRINTS.learn(
+                key, rsp, headers, body
+            );
+            if (!learnt.equals(key)) {
+                this.update(learnt, rsp, System.currentTimeMillis());
+                this.forget(key);
+            }
+        } else {
+            rsp = this.origin.send(
+                req, home, method, headers, content, connect, read
+            );
+        }
+        return rsp;
+    }
+
+    /**
+     * Consult the storage and the server, if necessary.
+     * @param key Cache key
+     * @param reuse TRUE if a fresh response can be reused without checking
+     * @param req Request
+     * @param home URI to fetch
+     * @param headers Headers
+     * @param content HTTP body
+     * @param connect The connect timeout
+     * @param read The read timeout
+     * @return Response obtained
+     * @throws IOException if fails
+     * @checkstyle ParameterNumber (6 lines)
+     */
+    private Response consult(final Fingerprint key, final boolean reuse,
+        final Request req, final String home,
+        final Collection<Map.Entry<String, String>> headers,
+        final byte[] content, final int connect, final int read)
+        throws IOException {
+        final CacheEntry entry = this.load(key, req);
+        final long now = System.currentTimeMillis();
+        final Response rsp;
+        if (entry != null && reuse && entry.fresh(now)) {
+            Flight.cache(SharedCachingWire.class, home, Flight.Lookup.HIT);
+            rsp = entry.response();
+        } else if (entry != null && entry.validated()) {
+            Flight.cache(SharedCachingWire.class, home, Flight.Lookup.STALE);
+            final Response fresh = this.origin.send(
+                req, home, Request.GET, entry.conditional(headers),
+                new ByteArrayInputStream(content), connect, read
+            );
+            if (fresh.status() == HttpURLConnection.HTTP_NOT_MODIFIED) {
+                this.save(key, entry.refreshed(fresh, now), now);
+                rsp = entry.response();
+            } else {
+                this.update(key, fresh, now);
+                rsp = fresh;
+            }
+        } else {
+            if (entry == null) {
+                Flight.cache(SharedCachingWire.class, home, Flight.Lookup.MISS);
+            } else {
+                Flight.cache(
+                    SharedCachingWire.class, home, Flight.Lookup.STALE
+                );
+            }
+            rsp = this.origin.send(
+                req, home, Request.GET, headers,
+                new ByteArrayInputStream(content), connect, read
+            );
+            this.update(key, rsp, now);
+        }
+        return rsp;
+    }
+
+    /**
+     * Store the response or remove the old one.
+     * @param key Cache key
+     * @param rsp Response received
+     * @param now Moment when it was received, in milliseconds
+     */
+    private void update(final Fingerprint key, final Response rsp,
+        final long now) {
+        if (CacheEntry.storable(rsp, now)) {
+            this.save(key, CacheEntry.received(rsp, now), now);
+        } else if (rsp.status() == HttpURLConnection.HTTP_OK) {
+            this.forget(key);
+        }
+    }
+
+    /**
+     * Find the entry in the storage.
+     * @param key Cache key
+     * @param req The request to attach the response to
+     * @return Entry or NULL if absent or the storage fails
+     */
+    private CacheEntry load(final Fingerprint key, final Request req) {
+        CacheEntry entry = null;
+        try {
+            final byte[] bytes = this.store.get(SharedCachingWire.name(key));
+            if (bytes != null) {
+                final ByteBuffer buffer = ByteBuffer.wrap(bytes);
+                final long expires = buffer.getLong();
+                entry = new CacheEntry(
+                    BinaryResponse.decode(req, buffer), expires
+                );
+            }
+        } catch (final IOException | BufferUnderflowException ex) {
+            Logger.warn(this, "failed to load from %s: %s", this.store, ex);
+        }
+        return entry;
+    }
+
+    /**
+     * Save the entry in the storage.
+     *
+     * <p>Responses that can't be revalidated are kept only while they
+     * are fresh.
+     *
+     * @param key Cache key
+     * @param entry The entry
+     * @param now Current time in milliseconds
+     */
+    private void save(final Fingerprint key, final CacheEntry entry,
+        final long now) {
+        final int fresh = (int) Math.min(
+            TimeUnit.MILLISECONDS.toSeconds(entry.expires() - now + 999L),
+            Integer.MAX_VALUE
+        );
+        final int seconds;
+        if (entry.validated()) {
+            seconds = Math.max(fresh, this.ttl);
+        } else {
+            seconds = fresh;
+        }
+        if (seconds > 0) {
+            final byte[] rsp = BinaryResponse.encode(entry.response());
+            try {
+                this.store.put(
+                    SharedCachingWire.name(key),
+                    ByteBuffer.allocate(Long.BYTES + rsp.length)
+                        .putLong(entry.expires()).put(rsp).array(),
+                    seconds
+                );
+            } catch (final IOException ex) {
+                Logger.warn(this, "failed to save to %s: %s", this.store, ex);
+            }
+        }
+    }
+
+    /**
+     * Remove the entry from the storage.
+     * @param key Cache key
+     */
+    private void forget(final Fingerprint key) {
+        try {
+            this.store.remove(SharedCachingWire.name(key));
+        } catch (final IOException ex) {
+            Logger.warn(this, "failed to remove from %s: %s", this.store, ex);
+        }
+    }
+
+    /**
+     * Make a key for the storage.
+     * @param key Fingerprint of the request
+     * @return Key
+     */
+    private static String name(final Fingerprint key) {
+        return SharedCachingWire.PREFIX.concat(
+            BodyPool.digest(key.toString().getBytes(StandardCharsets.UTF_8))
+        );
+    }
+}
@@ -0,0 +1,258 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.http.wire;
+
+import com.jcabi.aspects.Immutable;
+import com.jcabi.http.Request;
+import com.jcabi.http.Response;
+import com.jcabi.http.Wire;
+import com.jcabi.http.jfr.Flight;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+/**
+ * Wire that caches GET requests in memory and on disk.
+ *
+ * <p>The first tier is a bounded in-memory cache of the most recently
+ * used responses, the second tier is a log of files on disk, the same
+ * as in {@link FcWire}. Responses are written to both tiers, so they
+ * stay on the disk when evicted from memory, or after a restart, while
+ * responses found on the disk are promoted back into memory. This way
+ * a small heap may serve a working set much bigger than itself, paying
+ * for disk access only on misses in memory:
+ *
+ * <pre> String html = new JdkRequest("http://goggle.com")
+ *   .through(TieredCachingWire.class)
+ *   .fetch()
+ *   .body();</pre>
+ *
+ * <p>The limits of both tiers may be configured in the constructor,
+ * for example, one thousand responses or 16 MiB in memory and 1 GiB
+ * on disk:
+ *
+ * <pre> new JdkRequest(uri)
+ *   .through(
+ *     TieredCachingWire.class, "$never", "/var/cache/http",
+ *     1000, 16L * 1024 * 1024, 1024L * 1024 * 1024
+ *   )
+ *   .fetch();</pre>
+ *
+ * <p>The regular expression provided flushes both tiers, it is used
+ * against a string constructed as an HTTP method, space, path of the
+ * URI together with query part, the same way as in {@link CachingWire}.
+ *
+ * <p>Responses are stored by the normalized fingerprint of the request,
+ * which includes the values of only those headers that are listed
+ * in the {@code Vary} header of the response. Only responses that a
+ * cache may store are kept: {@code 200 OK}, without
+ * {@code Cache-Control: no-store} or {@code Vary: *}, and either fresh
+ * or with a validator.
+ *
+ * <p>All wires with the same original wire, regular expression,
+ * directory and limits share the same tiers, so the cache works even
+ * though every request makes a new wire.
+ *
+ * <p>The class is immutable and thread-safe.
+ *
+ * @since 2.0
+ */
+@Immutable
+@ToString(of = { "origin", "regex" })
+@EqualsAndHashCode(of = { "origin", "regex" })
+public final class TieredCachingWire implements Wire {
+
+    /**
+     * First tiers, by configurations of wires.
+     */
+    private static final ConcurrentMap<List<Object>,
+        BoundedCache<Fingerprint, Response>> TIERS =
+        new ConcurrentHashMap<>(0);
+
+    /**
+     * Fingerprints of requests, used as cache keys.
+     */
+    private static final Fingerprints PRINTS = new Fingerprints();
+
+    /**
+     * Original wire.
+     */
+    private final transient Wire origin;
+
+    /**
+     * Flushing regular expression.
+     */
+    private final transient String regex;
+
+    /**
+     * Second tier, on disk.
+     */
+    private final transient FcCache disk;
+
+    /**
+     * First tier, in memory.
+     */
+    private final transient BoundedCache<Fingerprint, Response> memory;
+
+    /**
+     * Public ctor.
+     * @param wire Original wire
+     */
+    public TieredCachingWire(final Wire wire) {
+        this(wire, "$never");
+    }
+
+    /**
+     * Public ctor.
+     * @param wire Original wire
+     * @param flsh Flushing regular expression
+     */
+    public TieredCachingWire(final Wire wire, final String flsh) {
+        this(
+            wire, flsh, new FcCache(),
+            ConditionalCachingWire.ENTRIES, ConditionalCachingWire.BYTES
+        );
+    }
+
+    /**
+     * Public ctor.
+     * @param wire Original wire
+     * @param flsh Flushing regular expression
+     * @param path Directory for the files
+     */
+    public TieredCachingWire(final Wire wire, final String flsh,
+        final String path) {
+        this(
+            wire, flsh, new FcCache(path),
+            ConditionalCachingWire.ENTRIES, ConditionalCachingWire.BYTES
+        );
+    }
+
+    /**
+     * Public ctor.
+     * @param wire Original wire
+     * @param flsh Flushing regular expression
+     * @param path Directory for the files
+     * @param entries Maximum number of responses in memory
+     * @param bytes Maximum total size of responses in memory, in bytes
+     * @param quota Maximum size of the files, in bytes
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    public TieredCachingWire(final Wire wire, final String flsh,
+        final String path, final int entries, final long bytes,
+        final long quota) {
+        this(wire, flsh, new FcCache(path, quota), entries, bytes);
+    }
+
+    /**
+     * Ctor.
+     * @param wire Original wire
+     * @param flsh Flushing regular expression
+     * @param fcc Second tier
+     * @param entries Maximum number of responses in memory
+     * @param bytes Maximum total size of responses in memory, in bytes
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    TieredCachingWire(final Wire wire, final String flsh, final FcCache fcc,
+        final int entries, final long bytes) {
+        this.origin = wire;
+        this.regex = flsh;
+        this.disk = fcc;
+        this.memory = TieredCachingWire.TIERS.computeIfAbsent(
+            Arrays.asList(wire, flsh, fcc, entries, bytes),
+            key -> new BoundedCache<>(entries, bytes, CacheEntry::weight)
+        );
+    }
+
+    // @checkstyle ParameterNumber (5 lines)
+    @Override
+    public Response send(final Request req, final String home,
+        final String method,
+        final Collection<Map.Entry<String, String>> headers,
+        final InputStream content,
+        final int connect,
+        final int read) throws IOException {
+        final URI uri = req.uri().get();
+        final StringBuilder label = new StringBuilder(100)
+            .append(method).append(' ').append(uri.getPath());
+        if (uri.getQuery() != null) {
+            label.append('?').append(uri.getQuery());
+        }
+        if (label.toString().matches(this.regex)) {
+            this.memory.clear();
+            this.disk.invalidate();
+        }
+        final Response rsp;
+        if (method.equals(Request.GET)) {
+            final byte[] body = Fingerprints.bytes(content);
+            final Fingerprint key = TieredCachingWire.PRINTS.of(
+                method, home, headers, body
+            );
+            rsp = this.cached(
+                key, req, home, method, headers, body, connect, read
+            );
+        } else {
+            rsp = this.origin.send(
+                req, home, method, headers, content,
+                connect, read
+            );
+        }
+        return rsp;
+    }
+
+    /**
+     * Find the response in memory, then on disk, then ask the server.
+     * @param key Fingerprint of the request
+     * @param req The request
+     * @param home URI to fetch
+     * @param method HTTP method
+     * @param headers Headers
+     * @param body Body of the request
+     * @param connect Connect timeout
+     * @param read Read timeout
+     * @return Response
+     * @throws IOException If fails
+     * @checkstyle ParameterNumberCheck (10 lines)
+     */
+    private Response cached(final Fingerprint key, final Request req,
+        final String home, final String method,
+        final Collection<Map.Entry<String, String>> headers,
+        final byte[] body, final int connect, final int read)
+        throws IOException {
+        Response rsp = this.memory.get(key);
+        if (rsp == null) {
+            rsp = this.disk.lookup(key.toString(), req);
+            if (rsp != null) {
+                this.memory.put(key, rsp);
+            }
+        }
+        if (rsp == null) {
+            Flight.cache(TieredCachingWire.class, home, Flight.Lookup.MISS);
+            rsp = this.origin.send(
+                req, home, method, headers,
+                new ByteArrayInputStream(body), connect, read
+            );
+            if (CacheEntry.storable(rsp, System.currentTimeMillis())) {
+                final Fingerprint learnt = TieredCachingWire.PRINTS.learn(
+                    key, rsp, headers, body
+                );
+                this.disk.store(learnt.toString(), rsp);
+                this.memory.put(learnt, rsp);
+            }
+        } else {
+            Flight.cache(TieredCachingWire.class, home, Flight.Lookup.HIT);
+        }
+        return rsp;
+    }
+}
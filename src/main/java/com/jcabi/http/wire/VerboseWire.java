@@ -5,13 +5,12 @@
 package com.jcabi.http.wire;
 
 import com.jcabi.aspects.Immutable;
+import com.jcabi.http.ReplayableStream;
 import com.jcabi.http.Request;
 import com.jcabi.http.RequestBody;
 import com.jcabi.http.Response;
 import com.jcabi.http.Wire;
 import com.jcabi.log.Logger;
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.Collection;
@@ -61,17 +60,9 @@ public final class VerboseWire implements Wire {
         final InputStream content,
         final int connect,
         final int read) throws IOException {
-        final ByteArrayOutputStream output = new ByteArrayOutputStream();
-        final byte[] buffer = new byte[1000];
-        for (int bytes = content.read(buffer); bytes != -1;
-            bytes = content.read(buffer)) {
-            output.write(buffer, 0, bytes);
-        }
-        output.flush();
+        final ReplayableStream body = ReplayableStream.of(content);
         final Response response = this.origin.send(
-            req, home, method, headers,
-            new ByteArrayInputStream(output.toByteArray()),
-                connect, read
+            req, home, method, headers, body.replay(), connect, read
         );
         final StringBuilder text = new StringBuilder(0);
         for (final Map.Entry<String, String> header : headers) {
@@ -81,7 +72,8 @@ public final class VerboseWire implements Wire {
                 .append('\n');
         }
         text.append('\n').append(
-            new RequestBody.Printable(output.toByteArray()).toString()
+            new RequestBody.Printable(Fingerprints.bytes(body.replay()))
+                .toString()
         );
         Logger.info(
             this,
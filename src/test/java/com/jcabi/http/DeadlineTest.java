@@ -0,0 +1,129 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.http;
+
+import java.io.InterruptedIOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+
+/**
+ * Test case for {@link Deadline}.
+ * @since 2.0
+ */
+final class DeadlineTest extends RequestTestTemplate {
+
+    /**
+     * Deadline can abort a request that takes too long.
+     * @param type Type of Request
+     * @throws Exception If something goes wrong inside
+     */
+    @ParameterizedTest
+    @Values
+    void abortsRequestWhenExpired(final Class<? extends Request> type)
+        throws Exception {
+        try (ServerSocket server = new ServerSocket(0)) {
+            final Request req = RequestTestTemplate.request(
+                DeadlineTest.home(server), type
+            ).deadline(new Deadline(300L));
+            final long start = System.nanoTime();
+            Assertions.assertThrows(InterruptedIOException.class, req::fetch);
+            MatcherAssert.assertThat(
+                "should not wait after the deadline",
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start),
+                Matchers.lessThan(5000L)
+            );
+        }
+    }
+
+    /**
+     * Deadline can abort a request in progress when it is cancelled.
+     * @param type Type of Request
+     * @throws Exception If something goes wrong inside
+     */
+    @ParameterizedTest
+    @Values
+    void abortsRequestWhenCancelled(final Class<? extends Request> type)
+        throws Exception {
+        final ScheduledExecutorService service =
+            Executors.newSingleThreadScheduledExecutor();
+        try (ServerSocket server = new ServerSocket(0)) {
+            final Deadline deadline = new Deadline();
+            final Request req = RequestTestTemplate.request(
+                DeadlineTest.home(server), type
+            ).deadline(deadline);
+            service.schedule(deadline::cancel, 300L, TimeUnit.MILLISECONDS);
+            final InterruptedIOException ex = Assertions.assertThrows(
+                InterruptedIOException.class, req::fetch
+            );
+            MatcherAssert.assertThat(
+                "should explain that the request was cancelled",
+                ex.getMessage(),
+                Matchers.containsString("cancelled")
+            );
+        } finally {
+            service.shutdownNow();
+        }
+    }
+
+    /**
+     * Deadline can give every socket only the time that is left.
+     * @throws Exception If something goes wrong inside
+     */
+    @Test
+    void shortensSocketTimeouts() throws Exception {
+        MatcherAssert.assertThat(
+            "should not let the socket outlive the deadline",
+            new Deadline(1L, TimeUnit.SECONDS).timeout(0),
+            Matchers.allOf(
+                Matchers.greaterThan(0),
+                Matchers.lessThanOrEqualTo(1000)
+            )
+        );
+        MatcherAssert.assertThat(
+            "should keep shorter timeouts",
+            new Deadline(1L, TimeUnit.MINUTES).timeout(100),
+            Matchers.equalTo(100)
+        );
+    }
+
+    /**
+     * Deadline can treat time too long to count as no time limit.
+     */
+    @Test
+    void treatsHugeTimeAsNoLimit() {
+        final Deadline deadline = new Deadline(
+            Long.MAX_VALUE - 1L, TimeUnit.NANOSECONDS
+        );
+        MatcherAssert.assertThat(
+            "should not be over",
+            deadline.over(),
+            Matchers.is(false)
+        );
+        MatcherAssert.assertThat(
+            "should have no time limit",
+            deadline.millis(),
+            Matchers.equalTo(Long.MAX_VALUE)
+        );
+    }
+
+    /**
+     * URI of the server that accepts connections and never responds.
+     * @param server The server
+     * @return URI
+     */
+    private static URI home(final ServerSocket server) {
+        return URI.create(
+            String.format("http://localhost:%d/", server.getLocalPort())
+        );
+    }
+}
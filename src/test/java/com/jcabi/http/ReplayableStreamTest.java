@@ -0,0 +1,64 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.http;
+
+import com.google.common.io.ByteStreams;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test case for {@link ReplayableStream}.
+ * @since 2.0
+ */
+final class ReplayableStreamTest {
+
+    /**
+     * ReplayableStream can read a region of a file many times.
+     * @param dir Temporary directory
+     * @throws Exception If something goes wrong inside
+     */
+    @Test
+    void replaysRegionOfFile(@TempDir final Path dir) throws Exception {
+        final Path file = dir.resolve("body.txt");
+        Files.write(file, "header;payload;footer".getBytes(StandardCharsets.UTF_8));
+        final ReplayableStream stream = new ReplayableStream(
+            file.toFile(), 7L, 7L
+        );
+        for (int idx = 0; idx < 3; ++idx) {
+            try (ReplayableStream body = stream.replay()) {
+                MatcherAssert.assertThat(
+                    "should read the same region again",
+                    new String(
+                        ByteStreams.toByteArray(body), StandardCharsets.UTF_8
+                    ),
+                    Matchers.equalTo("payload")
+                );
+            }
+        }
+    }
+
+    /**
+     * ReplayableStream can make any stream replayable.
+     * @throws Exception If something goes wrong inside
+     */
+    @Test
+    void makesStreamReplayable() throws Exception {
+        final ReplayableStream stream = ReplayableStream.of(
+            new ByteArrayInputStream(new byte[] {1, 2, 3})
+        );
+        ByteStreams.toByteArray(stream.replay());
+        MatcherAssert.assertThat(
+            "should read all bytes again",
+            ByteStreams.toByteArray(stream.replay()),
+            Matchers.equalTo(new byte[] {1, 2, 3})
+        );
+    }
+}
@@ -0,0 +1,225 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.http;
+
+import com.jcabi.http.request.FakeRequest;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test case for {@link RequestGraph}.
+ * @since 2.0
+ */
+final class RequestGraphTest {
+
+    /**
+     * RequestGraph can pass responses along edges of the graph.
+     * @throws Exception If something goes wrong inside
+     */
+    @Test
+    void passesResponsesAlongEdges() throws Exception {
+        final RequestGraph.Results results = new RequestGraph()
+            .node(
+                "list",
+                done -> Collections.singleton(
+                    new FakeRequest().withBody("a,b,c")
+                )
+            )
+            .node(
+                "items", Collections.singleton("list"),
+                done -> {
+                    final Collection<Request> reqs = new ArrayList<>(0);
+                    for (final String name
+                        : done.get("list").get(0).body().split(",")) {
+                        reqs.add(new FakeRequest().withBody(name));
+                    }
+                    return reqs;
+                }
+            )
+            .fetch(4, Deadline.NEVER);
+        final List<String> bodies = new ArrayList<>(0);
+        for (final Response rsp : results.get("items")) {
+            bodies.add(rsp.body());
+        }
+        MatcherAssert.assertThat(
+            "should fetch every item, in order",
+            bodies,
+            Matchers.contains("a", "b", "c")
+        );
+    }
+
+    /**
+     * RequestGraph can run independent branches concurrently.
+     * @throws Exception If something goes wrong inside
+     */
+    @Test
+    void runsBranchesConcurrently() throws Exception {
+        final long start = System.nanoTime();
+        new RequestGraph()
+            .node("left", done -> RequestGraphTest.slow())
+            .node("right", done -> RequestGraphTest.slow())
+            .node(
+                "both", Arrays.asList("left", "right"),
+                done -> Collections.emptyList()
+            )
+            .fetch(4, new Deadline(1L, TimeUnit.MINUTES));
+        MatcherAssert.assertThat(
+            "should take about as long as one branch",
+            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start),
+            Matchers.lessThan(550L)
+        );
+    }
+
+    /**
+     * RequestGraph can stop when a request fails.
+     * @throws Exception If something goes wrong inside
+     */
+    @Test
+    void stopsOnFailure() throws Exception {
+        final AtomicBoolean called = new AtomicBoolean();
+        final RequestGraph graph = new RequestGraph()
+            .node(
+                "broken",
+                done -> Collections.singleton(
+                    new FakeRequest().through(
+                        (req, home, method, headers, content, conn, read) -> {
+                            throw new IOException("broken");
+                        }
+                    )
+                )
+            )
+            .node(
+                "after", Collections.singleton("broken"),
+                done -> {
+                    called.set(true);
+                    return Collections.emptyList();
+                }
+            );
+        Assertions.assertThrows(
+            IOException.class, () -> graph.fetch(2, Deadline.NEVER)
+        );
+        MatcherAssert.assertThat(
+            "should skip dependent nodes",
+            called.get(),
+            Matchers.is(false)
+        );
+    }
+
+    /**
+     * RequestGraph can abort requests in progress when their sibling fails.
+     * @throws Exception If something goes wrong inside
+     */
+    @Test
+    void abortsSiblingsOnFailure() throws Exception {
+        final RequestGraph graph = new RequestGraph().node(
+            "mixed",
+            done -> Arrays.asList(
+                RequestGraphTest.stuck(),
+                new FakeRequest().through(
+                    (req, home, method, headers, content, conn, read) -> {
+                        throw new IOException("failed fast");
+                    }
+                )
+            )
+        );
+        final long start = System.nanoTime();
+        Assertions.assertThrows(
+            IOException.class, () -> graph.fetch(2, Deadline.NEVER)
+        );
+        MatcherAssert.assertThat(
+            "should not wait for the slow sibling",
+            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start),
+            Matchers.lessThan(5000L)
+        );
+    }
+
+    /**
+     * RequestGraph can abort requests when the caller cancels its deadline.
+     * @throws Exception If something goes wrong inside
+     */
+    @Test
+    void abortsWhenCancelled() throws Exception {
+        final Deadline deadline = new Deadline(1L, TimeUnit.MINUTES);
+        final RequestGraph graph = new RequestGraph()
+            .node(
+                "stuck",
+                done -> Collections.singleton(RequestGraphTest.stuck())
+            );
+        final Thread canceller = new Thread(
+            () -> {
+                try {
+                    TimeUnit.MILLISECONDS.sleep(200L);
+                } catch (final InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+                deadline.cancel();
+            }
+        );
+        final long start = System.nanoTime();
+        canceller.start();
+        Assertions.assertThrows(
+            IOException.class, () -> graph.fetch(2, deadline)
+        );
+        canceller.join();
+        MatcherAssert.assertThat(
+            "should stop soon after the cancel",
+            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start),
+            Matchers.lessThan(5000L)
+        );
+    }
+
+    /**
+     * Request that takes a minute, unless its deadline aborts it.
+     * @return Request
+     */
+    private static Request stuck() {
+        return new FakeRequest().through(
+            (req, home, method, headers, content, conn, read) -> {
+                final Thread thread = Thread.currentThread();
+                final Closeable watch = req.deadline().watch(thread::interrupt);
+                try {
+                    TimeUnit.MINUTES.sleep(1L);
+                } catch (final InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    throw req.deadline().failure(ex);
+                } finally {
+                    watch.close();
+                }
+                return new FakeRequest().fetch();
+            }
+        );
+    }
+
+    /**
+     * Requests that take 300 milliseconds each.
+     * @return Requests
+     */
+    private static Collection<Request> slow() {
+        return Collections.singleton(
+            new FakeRequest().through(
+                (req, home, method, headers, content, conn, read) -> {
+                    try {
+                        TimeUnit.MILLISECONDS.sleep(300L);
+                    } catch (final InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                        throw new IOException(ex);
+                    }
+                    return new FakeRequest().fetch();
+                }
+            )
+        );
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.http;
+
+import com.jcabi.http.mock.MkAnswer;
+import com.jcabi.http.mock.MkContainer;
+import com.jcabi.http.mock.MkGrizzlyContainer;
+import com.jcabi.http.request.FakeRequest;
+import com.jcabi.http.request.JdkRequest;
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.net.ProxySelector;
+import java.net.SocketAddress;
+import java.net.URI;
+import java.util.Collections;
+import java.util.List;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+
+/**
+ * Test case for {@link Timings}.
+ * @since 2.0
+ */
+final class TimingsTest extends RequestTestTemplate {
+
+    /**
+     * Timings can be measured by transports.
+     * @param type Type of Request
+     * @throws Exception If something goes wrong inside
+     */
+    @ParameterizedTest
+    @Values
+    void measuresPhases(final Class<? extends Request> type)
+        throws Exception {
+        final MkContainer container = new MkGrizzlyContainer()
+            .next(new MkAnswer.Simple(HttpURLConnection.HTTP_OK, "hi"))
+            .start();
+        final Timings timings;
+        try {
+            timings = RequestTestTemplate.request(container.home(), type)
+                .fetch()
+                .timings();
+        } finally {
+            container.stop();
+        }
+        MatcherAssert.assertThat(
+            "should resolve the name",
+            timings.dns(),
+            Matchers.greaterThanOrEqualTo(0L)
+        );
+        MatcherAssert.assertThat(
+            "should connect",
+            timings.connect(),
+            Matchers.greaterThanOrEqualTo(0L)
+        );
+        MatcherAssert.assertThat(
+            "should not make a handshake over plain HTTP",
+            timings.tls(),
+            Matchers.equalTo(-1L)
+        );
+        MatcherAssert.assertThat(
+            "should wait for the first byte",
+            timings.firstByte(),
+            Matchers.greaterThan(0L)
+        );
+        MatcherAssert.assertThat(
+            "should download the body",
+            timings.download(),
+            Matchers.greaterThanOrEqualTo(0L)
+        );
+        MatcherAssert.assertThat(
+            "should sum up the phases",
+            timings.total(),
+            Matchers.equalTo(
+                timings.dns() + timings.connect() + timings.firstByte()
+                    + timings.download()
+            )
+        );
+    }
+
+    /**
+     * Timings can be unknown for a response not from the network.
+     * @throws Exception If something goes wrong inside
+     */
+    @Test
+    void staysUnknownWithoutNetwork() throws Exception {
+        final Timings timings = new FakeRequest().fetch().timings();
+        MatcherAssert.assertThat(
+            "should know nothing",
+            timings,
+            Matchers.equalTo(Timings.UNKNOWN)
+        );
+        MatcherAssert.assertThat(
+            "should have no total",
+            timings.total(),
+            Matchers.equalTo(-1L)
+        );
+    }
+
+    /**
+     * Timings can skip the name resolution when a proxy resolves it.
+     * @throws Exception If something goes wrong inside
+     */
+    @Test
+    void skipsResolutionThroughProxy() throws Exception {
+        final MkContainer container = new MkGrizzlyContainer()
+            .next(new MkAnswer.Simple(HttpURLConnection.HTTP_OK, "proxied"))
+            .start();
+        final ProxySelector before = ProxySelector.getDefault();
+        final Proxy proxy = new Proxy(
+            Proxy.Type.HTTP,
+            new InetSocketAddress("localhost", container.home().getPort())
+        );
+        ProxySelector.setDefault(
+            new ProxySelector() {
+                @Override
+                public List<Proxy> select(final URI uri) {
+                    final List<Proxy> proxies;
+                    if (uri.getPort() == 1) {
+                        proxies = Collections.singletonList(proxy);
+                    } else {
+                        proxies = Collections.singletonList(Proxy.NO_PROXY);
+                    }
+                    return proxies;
+                }
+
+                @Override
+                public void connectFailed(final URI uri,
+                    final SocketAddress addr, final IOException ex) {
+                    // nothing to do
+                }
+            }
+        );
+        final Response rsp;
+        try {
+            rsp = new JdkRequest("http://localhost:1/through").fetch();
+        } finally {
+            ProxySelector.setDefault(before);
+            container.stop();
+        }
+        MatcherAssert.assertThat(
+            "should get the response through the proxy",
+            rsp.body(),
+            Matchers.equalTo("proxied")
+        );
+        MatcherAssert.assertThat(
+            "should not resolve the name",
+            rsp.timings().dns(),
+            Matchers.equalTo(-1L)
+        );
+    }
+}
@@ -0,0 +1,191 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.http.jfr;
+
+import com.jcabi.http.Request;
+import com.jcabi.http.mock.MkAnswer;
+import com.jcabi.http.mock.MkContainer;
+import com.jcabi.http.mock.MkGrizzlyContainer;
+import com.jcabi.http.request.FakeRequest;
+import com.jcabi.http.request.JdkRequest;
+import com.jcabi.http.wire.AutoRedirectingWire;
+import com.jcabi.http.wire.CachingWire;
+import com.jcabi.http.wire.RetryWire;
+import jakarta.ws.rs.core.HttpHeaders;
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.stream.Collectors;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test case for {@link Flight}.
+ * @since 2.0
+ */
+final class FlightTest {
+
+    /**
+     * Flight can record requests and their failures.
+     * @param dir Temporary directory
+     * @throws Exception If something goes wrong inside
+     */
+    @Test
+    void recordsFetches(@TempDir final Path dir) throws Exception {
+        final List<RecordedEvent> events = FlightTest.record(
+            dir, "com.jcabi.http.Fetch",
+            () -> {
+                new FakeRequest().withBody("hello").fetch();
+                return Assertions.assertThrows(
+                    IOException.class,
+                    new FakeRequest().through(
+                        (req, home, method, headers, content, conn, read) -> {
+                            throw new IOException("refused");
+                        }
+                    )::fetch
+                );
+            }
+        );
+        MatcherAssert.assertThat(
+            "should record both requests",
+            events.stream()
+                .map(
+                    event -> String.format(
+                        "%s %s %d %d %s", event.getString("method"),
+                        event.getString("host"), event.getInt("status"),
+                        event.getLong("received"),
+                        event.getString("failure")
+                    )
+                )
+                .collect(Collectors.toList()),
+            Matchers.contains(
+                "GET localhost:12345 200 5 null",
+                "GET localhost:12345 0 -1 refused"
+            )
+        );
+    }
+
+    /**
+     * Flight can record hits and misses of a cache.
+     * @param dir Temporary directory
+     * @throws Exception If something goes wrong inside
+     */
+    @Test
+    void recordsCacheLookups(@TempDir final Path dir) throws Exception {
+        final Request req = new FakeRequest()
+            .uri().path(String.format("/flight-%d", System.nanoTime()))
+            .back()
+            .through(CachingWire.class);
+        final List<RecordedEvent> events = FlightTest.record(
+            dir, "com.jcabi.http.Cache",
+            () -> {
+                req.fetch();
+                return req.fetch();
+            }
+        );
+        MatcherAssert.assertThat(
+            "should miss and then hit",
+            events.stream()
+                .map(
+                    event -> String.format(
+                        "%s %s", event.getString("wire"),
+                        event.getString("result")
+                    )
+                )
+                .collect(Collectors.toList()),
+            Matchers.contains("CachingWire MISS", "CachingWire HIT")
+        );
+    }
+
+    /**
+     * Flight can record retries and redirects.
+     * @param dir Temporary directory
+     * @throws Exception If something goes wrong inside
+     */
+    @Test
+    void recordsRetriesAndRedirects(@TempDir final Path dir)
+        throws Exception {
+        final MkContainer container = new MkGrizzlyContainer()
+            .next(new MkAnswer.Simple(HttpURLConnection.HTTP_UNAVAILABLE))
+            .next(
+                new MkAnswer.Simple(HttpURLConnection.HTTP_MOVED_TEMP, "")
+                    .withHeader(HttpHeaders.LOCATION, "/next")
+            )
+            .next(new MkAnswer.Simple(HttpURLConnection.HTTP_OK))
+            .start();
+        final List<RecordedEvent> events;
+        try {
+            events = FlightTest.record(
+                dir, "com.jcabi.http.Retry",
+                () -> new JdkRequest(container.home())
+                    .through(RetryWire.class, 4, 10L, 1000L)
+                    .through(AutoRedirectingWire.class)
+                    .fetch(),
+                "com.jcabi.http.Redirect"
+            );
+        } finally {
+            container.stop();
+        }
+        MatcherAssert.assertThat(
+            "should retry once and redirect once",
+            events.stream()
+                .map(
+                    event -> String.format(
+                        "%s %d", event.getEventType().getName(),
+                        event.getInt("status")
+                    )
+                )
+                .collect(Collectors.toList()),
+            Matchers.contains(
+                "com.jcabi.http.Retry 503",
+                "com.jcabi.http.Redirect 302"
+            )
+        );
+    }
+
+    /**
+     * Record events of an action.
+     * @param dir Where to keep the recording
+     * @param name Name of the event
+     * @param action The action
+     * @param more Names of more events
+     * @return Events of these names, in order of their start
+     * @throws Exception If fails
+     */
+    private static List<RecordedEvent> record(final Path dir,
+        final String name, final Callable<?> action, final String... more)
+        throws Exception {
+        final Path file = dir.resolve("flight.jfr");
+        final Collection<String> names = new HashSet<>(Arrays.asList(more));
+        names.add(name);
+        try (Recording recording = new Recording()) {
+            for (final String event : names) {
+                recording.enable(event);
+            }
+            recording.start();
+            action.call();
+            recording.stop();
+            recording.dump(file);
+        }
+        return RecordingFile.readAllEvents(file).stream()
+            .filter(event -> names.contains(event.getEventType().getName()))
+            .sorted(
+                (left, right) -> left.getStartTime()
+                    .compareTo(right.getStartTime())
+            )
+            .collect(Collectors.toList());
+    }
+}
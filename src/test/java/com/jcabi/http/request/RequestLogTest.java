@@ -0,0 +1,120 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.http.request;
+
+import com.jcabi.http.Request;
+import com.jcabi.http.Timings;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test case for {@link RequestLog}.
+ * @since 2.0
+ */
+final class RequestLogTest {
+
+    /**
+     * RequestLog can log requests and failures of all requests.
+     * @throws Exception If something goes wrong inside
+     */
+    @Test
+    void logsRequestsAndFailures() throws Exception {
+        final Collection<String> lines = new ConcurrentLinkedQueue<>();
+        final RequestLog log = new RequestLog(
+            1.0d, 16,
+            event -> lines.add(
+                String.format(
+                    "%s %s %d %s", event.method(), event.home(),
+                    event.status(), event.reason()
+                )
+            )
+        );
+        RequestLog.install(log);
+        try {
+            for (int idx = 0; idx < 3; ++idx) {
+                new FakeRequest().fetch();
+            }
+            final Request broken = new FakeRequest().through(
+                (req, home, method, headers, content, conn, read) -> {
+                    throw new IOException("refused");
+                }
+            );
+            Assertions.assertThrows(IOException.class, broken::fetch);
+        } finally {
+            RequestLog.install(new RequestLog());
+        }
+        MatcherAssert.assertThat(
+            "should write all events before closing",
+            lines,
+            Matchers.contains(
+                "GET http://localhost:12345/see-FakeRequest-class 200 OK",
+                "GET http://localhost:12345/see-FakeRequest-class 200 OK",
+                "GET http://localhost:12345/see-FakeRequest-class 200 OK",
+                "GET http://localhost:12345/see-FakeRequest-class 0 refused"
+            )
+        );
+    }
+
+    /**
+     * RequestLog can sample successful requests, but keep errors.
+     */
+    @Test
+    void samplesButKeepsErrors() {
+        final Collection<Integer> statuses = new ConcurrentLinkedQueue<>();
+        final RequestLog log = new RequestLog(
+            0.0d, 256, event -> statuses.add(event.status())
+        );
+        for (int idx = 0; idx < 100; ++idx) {
+            log.record("GET", "http://a/", 200, "OK", 1L, Timings.UNKNOWN);
+        }
+        log.record("GET", "http://a/", 503, "Busy", 1L, Timings.UNKNOWN);
+        log.close();
+        MatcherAssert.assertThat(
+            "should log only the error",
+            statuses,
+            Matchers.contains(503)
+        );
+    }
+
+    /**
+     * RequestLog can drop events when the writer can't keep up.
+     * @throws Exception If something goes wrong inside
+     */
+    @Test
+    void dropsEventsWhenFull() throws Exception {
+        final CountDownLatch writing = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final RequestLog log = new RequestLog(
+            1.0d, 4,
+            event -> {
+                writing.countDown();
+                try {
+                    release.await();
+                } catch (final InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        );
+        log.record("GET", "http://a/", 200, "OK", 1L, Timings.UNKNOWN);
+        writing.await(1L, TimeUnit.MINUTES);
+        for (int idx = 0; idx < 20; ++idx) {
+            log.record("GET", "http://a/", 200, "OK", 1L, Timings.UNKNOWN);
+        }
+        release.countDown();
+        log.close();
+        MatcherAssert.assertThat(
+            "should drop events that don't fit",
+            log.dropped(),
+            Matchers.equalTo(17L)
+        );
+    }
+}
@@ -4,6 +4,7 @@
  */
 package com.jcabi.http.wire;
 
+import com.jcabi.http.Request;
 import com.jcabi.http.mock.MkAnswer;
 import com.jcabi.http.mock.MkContainer;
 import com.jcabi.http.mock.MkGrizzlyContainer;
@@ -11,6 +12,7 @@ import com.jcabi.http.mock.MkQuery;
 import com.jcabi.http.request.JdkRequest;
 import com.jcabi.http.response.RestResponse;
 import jakarta.ws.rs.core.HttpHeaders;
+import java.util.concurrent.TimeUnit;
 import org.apache.http.HttpStatus;
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.Matchers;
@@ -84,4 +86,112 @@ final class AutoRedirectingWireTest {
         }
     }
 
+    /**
+     * AutoRedirectingWire follows redirects without delays.
+     * @throws Exception If something goes wrong inside
+     */
+    @Test
+    void followsRedirectsWithoutDelay() throws Exception {
+        final MkContainer container = new MkGrizzlyContainer().next(
+            new MkAnswer.Simple(HttpStatus.SC_MOVED_TEMPORARILY, "")
+                .withHeader(HttpHeaders.LOCATION, "/next"),
+            Matchers.any(MkQuery.class),
+            3
+        ).next(new MkAnswer.Simple("done")).start();
+        try {
+            final long start = System.nanoTime();
+            new JdkRequest(container.home())
+                .through(AutoRedirectingWire.class)
+                .fetch().as(RestResponse.class)
+                .assertStatus(HttpStatus.SC_OK);
+            MatcherAssert.assertThat(
+                "should not sleep between redirects",
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start),
+                Matchers.lessThan(1000L)
+            );
+        } finally {
+            container.stop();
+        }
+    }
+
+    /**
+     * AutoRedirectingWire switches to GET without a body after 303.
+     * @throws Exception If something goes wrong inside
+     */
+    @Test
+    void switchesToGetAfterSeeOther() throws Exception {
+        final MkContainer container = new MkGrizzlyContainer()
+            .next(
+                new MkAnswer.Simple(HttpStatus.SC_SEE_OTHER, "")
+                    .withHeader(HttpHeaders.LOCATION, "/result")
+            )
+            .next(new MkAnswer.Simple("created"))
+            .start();
+        try {
+            new JdkRequest(container.home())
+                .method(Request.POST)
+                .body().set("name=test").back()
+                .through(AutoRedirectingWire.class)
+                .fetch().as(RestResponse.class)
+                .assertStatus(HttpStatus.SC_OK);
+            MatcherAssert.assertThat(
+                "should send POST first",
+                container.take().method(),
+                Matchers.equalTo(Request.POST)
+            );
+            final MkQuery query = container.take();
+            MatcherAssert.assertThat(
+                "should switch to GET",
+                query.method(),
+                Matchers.equalTo(Request.GET)
+            );
+            MatcherAssert.assertThat(
+                "should not send the body again",
+                query.body(),
+                Matchers.emptyString()
+            );
+        } finally {
+            container.stop();
+        }
+    }
+
+    /**
+     * AutoRedirectingWire remembers permanent redirects.
+     * @throws Exception If something goes wrong inside
+     */
+    @Test
+    void remembersPermanentRedirects() throws Exception {
+        final MkContainer container = new MkGrizzlyContainer()
+            .next(
+                new MkAnswer.Simple(HttpStatus.SC_MOVED_PERMANENTLY, "")
+                    .withHeader(HttpHeaders.LOCATION, "/moved")
+            )
+            .next(
+                new MkAnswer.Simple("here"),
+                Matchers.any(MkQuery.class),
+                2
+            )
+            .start();
+        try {
+            final Request req = new JdkRequest(
+                container.home().resolve("/old")
+            ).through(AutoRedirectingWire.class);
+            req.fetch();
+            req.fetch();
+            MatcherAssert.assertThat(
+                "should go straight to the new location",
+                container.queries(),
+                Matchers.equalTo(3)
+            );
+            container.take();
+            container.take();
+            MatcherAssert.assertThat(
+                "should request the new location",
+                container.take().uri().getPath(),
+                Matchers.equalTo("/moved")
+            );
+        } finally {
+            container.stop();
+        }
+    }
 }
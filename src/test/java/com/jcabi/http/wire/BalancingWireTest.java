@@ -0,0 +1,176 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.http.wire;
+
+import com.jcabi.http.Request;
+import com.jcabi.http.Response;
+import com.jcabi.http.mock.MkAnswer;
+import com.jcabi.http.mock.MkContainer;
+import com.jcabi.http.mock.MkGrizzlyContainer;
+import com.jcabi.http.mock.MkQuery;
+import com.jcabi.http.request.FakeRequest;
+import com.jcabi.http.request.JdkRequest;
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test case for {@link BalancingWire}.
+ * @since 2.0
+ */
+final class BalancingWireTest {
+
+    /**
+     * BalancingWire can take endpoints in turn, keeping path and query.
+     * @throws Exception If something goes wrong inside
+     */
+    @Test
+    void takesEndpointsInTurn() throws Exception {
+        final MkContainer first = BalancingWireTest.server(
+            HttpURLConnection.HTTP_OK
+        );
+        final MkContainer second = BalancingWireTest.server(
+            HttpURLConnection.HTTP_OK
+        );
+        try {
+            final Request req = new JdkRequest("http://service/items?id=1")
+                .through(
+                    BalancingWire.class,
+                    new Balancer(
+                        Arrays.asList(
+                            first.home().toString(), second.home().toString()
+                        ),
+                        Balancer.Policy.ROUND_ROBIN
+                    )
+                );
+            for (int idx = 0; idx < 4; ++idx) {
+                req.fetch();
+            }
+            MatcherAssert.assertThat(
+                "should send half of requests to the first endpoint",
+                first.queries(),
+                Matchers.equalTo(2)
+            );
+            MatcherAssert.assertThat(
+                "should send half of requests to the second endpoint",
+                second.queries(),
+                Matchers.equalTo(2)
+            );
+            MatcherAssert.assertThat(
+                "should keep the path and the query",
+                first.take().uri().toString(),
+                Matchers.endsWith("/items?id=1")
+            );
+        } finally {
+            first.stop();
+            second.stop();
+        }
+    }
+
+    /**
+     * BalancingWire can eject a failing endpoint.
+     * @throws Exception If something goes wrong inside
+     */
+    @Test
+    void ejectsFailingEndpoint() throws Exception {
+        final MkContainer broken = BalancingWireTest.server(
+            HttpURLConnection.HTTP_INTERNAL_ERROR
+        );
+        final MkContainer healthy = BalancingWireTest.server(
+            HttpURLConnection.HTTP_OK
+        );
+        try {
+            final Balancer balancer = new Balancer(
+                Arrays.asList(
+                    broken.home().toString(), healthy.home().toString()
+                ),
+                Balancer.Policy.ROUND_ROBIN, 2, 10_000L, 60_000L
+            );
+            final Request req = new JdkRequest("http://service/")
+                .through(BalancingWire.class, balancer);
+            for (int idx = 0; idx < 8; ++idx) {
+                req.fetch();
+            }
+            MatcherAssert.assertThat(
+                "should stop sending requests to the broken endpoint",
+                broken.queries(),
+                Matchers.equalTo(2)
+            );
+            MatcherAssert.assertThat(
+                "should list only the healthy endpoint",
+                balancer.available(),
+                Matchers.contains(healthy.home().toString())
+            );
+        } finally {
+            broken.stop();
+            healthy.stop();
+        }
+    }
+
+    /**
+     * BalancingWire can avoid an endpoint that fails faster than others
+     * respond.
+     * @throws Exception If something goes wrong inside
+     */
+    @Test
+    void avoidsEndpointFailingFast() throws Exception {
+        final AtomicInteger broken = new AtomicInteger();
+        final Request req = new FakeRequest()
+            .through(
+                (rqst, home, method, headers, content, connect, read) -> {
+                    final Response rsp;
+                    if (home.startsWith("http://broken")) {
+                        broken.incrementAndGet();
+                        rsp = new FakeRequest()
+                            .withStatus(HttpURLConnection.HTTP_INTERNAL_ERROR)
+                            .fetch();
+                    } else {
+                        try {
+                            TimeUnit.MILLISECONDS.sleep(20L);
+                        } catch (final InterruptedException ex) {
+                            Thread.currentThread().interrupt();
+                            throw new IOException(ex);
+                        }
+                        rsp = new FakeRequest().fetch();
+                    }
+                    return rsp;
+                }
+            )
+            .through(
+                BalancingWire.class,
+                new Balancer(
+                    Arrays.asList("http://broken", "http://healthy"),
+                    Balancer.Policy.TWO_CHOICES, 1000, 10_000L, 60_000L
+                )
+            );
+        for (int idx = 0; idx < 20; ++idx) {
+            req.fetch();
+        }
+        MatcherAssert.assertThat(
+            "should prefer the slower but healthy endpoint",
+            broken.get(),
+            Matchers.lessThanOrEqualTo(2)
+        );
+    }
+
+    /**
+     * Start a server that always responds with the status.
+     * @param status HTTP status
+     * @return Container
+     * @throws Exception If fails
+     */
+    private static MkContainer server(final int status) throws Exception {
+        return new MkGrizzlyContainer().next(
+            new MkAnswer.Simple(status),
+            Matchers.any(MkQuery.class),
+            Integer.MAX_VALUE
+        ).start();
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.http.wire;
+
+import com.jcabi.http.request.FakeRequest;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test case for {@link BinaryResponse}.
+ * @since 2.0
+ */
+final class BinaryResponseTest {
+
+    /**
+     * BinaryResponse can decode what it encodes.
+     * @throws Exception If something goes wrong inside
+     */
+    @Test
+    void decodesEncodedResponse() throws Exception {
+        MatcherAssert.assertThat(
+            "should restore the body",
+            BinaryResponse.decode(
+                new FakeRequest(),
+                ByteBuffer.wrap(
+                    BinaryResponse.encode(
+                        new FakeRequest().withBody("hello").fetch()
+                    )
+                )
+            ).body(),
+            Matchers.equalTo("hello")
+        );
+    }
+
+    /**
+     * BinaryResponse can refuse lengths that don't fit into the buffer,
+     * without allocating memory for them.
+     * @throws Exception If something goes wrong inside
+     */
+    @Test
+    void refusesCorruptLengths() throws Exception {
+        final int[][] corrupt = {
+            {2, Integer.MAX_VALUE, 0},
+            {-2, 0, 0},
+            {2, 0, Integer.MAX_VALUE},
+            {2, 0, -2},
+        };
+        for (final int[] lengths : corrupt) {
+            Assertions.assertThrows(
+                IOException.class,
+                () -> BinaryResponse.decode(
+                    new FakeRequest(),
+                    ByteBuffer.wrap(BinaryResponseTest.bytes(lengths))
+                )
+            );
+        }
+    }
+
+    /**
+     * Binary response with the lengths given.
+     * @param lengths Lengths of the reason, number of headers and length
+     *  of the body
+     * @return Bytes
+     * @throws IOException If fails
+     */
+    private static byte[] bytes(final int... lengths) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final DataOutputStream out = new DataOutputStream(bytes);
+        out.writeByte(1);
+        // @checkstyle MagicNumber (1 line)
+        out.writeInt(200);
+        out.writeInt(lengths[0]);
+        out.write("OK".getBytes(StandardCharsets.UTF_8));
+        out.writeInt(lengths[1]);
+        out.writeInt(lengths[2]);
+        out.write("body".getBytes(StandardCharsets.UTF_8));
+        out.flush();
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.http.wire;
+
+import com.jcabi.http.Response;
+import com.jcabi.http.request.DefaultResponse;
+import com.jcabi.http.request.FakeRequest;
+import com.jcabi.immutable.Array;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test case for {@link BodyPool}.
+ * @since 2.0
+ */
+final class BodyPoolTest {
+
+    /**
+     * BodyPool can share identical bodies between cached responses.
+     */
+    @Test
+    void sharesIdenticalBodies() {
+        final BodyPool pool = new BodyPool(false, false);
+        final BoundedCache<String, Response> cache = new BoundedCache<>(
+            10, 1024L * 1024L, CacheEntry::weight
+        );
+        cache.put("a", new CompactResponse(BodyPoolTest.response(), pool));
+        cache.put("b", new CompactResponse(BodyPoolTest.response(), pool));
+        MatcherAssert.assertThat(
+            "should keep the body once",
+            pool.size(),
+            Matchers.equalTo(1)
+        );
+        final BodyPool.Body body = ((CompactResponse) cache.get("a")).shared();
+        MatcherAssert.assertThat(
+            "should share the body",
+            ((CompactResponse) cache.get("b")).shared(),
+            Matchers.sameInstance(body)
+        );
+        cache.remove("a");
+        MatcherAssert.assertThat(
+            "should count the remaining response",
+            body.references(),
+            Matchers.equalTo(1)
+        );
+        cache.clear();
+        MatcherAssert.assertThat(
+            "should drop the body with the last response",
+            pool.size(),
+            Matchers.equalTo(0)
+        );
+    }
+
+    /**
+     * Make a response.
+     * @return Response
+     */
+    private static Response response() {
+        return new DefaultResponse(
+            new FakeRequest(), 200, "OK",
+            new Array<Map.Entry<String, String>>(),
+            "{\"same\": true}".getBytes(StandardCharsets.UTF_8)
+        );
+    }
+}
@@ -0,0 +1,239 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.http.wire;
+
+import com.jcabi.http.Request;
+import com.jcabi.http.mock.MkAnswer;
+import com.jcabi.http.mock.MkContainer;
+import com.jcabi.http.mock.MkGrizzlyContainer;
+import com.jcabi.http.request.FakeRequest;
+import com.jcabi.http.request.JdkRequest;
+import com.jcabi.http.response.RestResponse;
+import com.jcabi.log.Logger;
+import jakarta.ws.rs.core.HttpHeaders;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test case for {@link CacheSnapshot}.
+ * @since 2.0
+ */
+final class CacheSnapshotTest {
+
+    /**
+     * CacheSnapshot can restore responses together with their validators.
+     * @param dir Temporary directory
+     * @throws Exception If something goes wrong inside
+     */
+    @Test
+    void restoresValidators(@TempDir final Path dir) throws Exception {
+        final MkContainer container = new MkGrizzlyContainer()
+            .next(
+                new MkAnswer.Simple("saved body")
+                    .withHeader(HttpHeaders.ETAG, "\"v1\"")
+            )
+            .next(new MkAnswer.Simple(HttpURLConnection.HTTP_NOT_MODIFIED))
+            .start();
+        final File file = dir.resolve("http.snapshot").toFile();
+        try {
+            new JdkRequest(container.home())
+                .through(ETagCachingWire.class)
+                .fetch();
+            CacheSnapshot.save(file);
+            CacheSnapshot.restore(file);
+            new JdkRequest(container.home())
+                .through(ETagCachingWire.class)
+                .fetch()
+                .as(RestResponse.class)
+                .assertStatus(HttpURLConnection.HTTP_OK)
+                .assertBody(Matchers.equalTo("saved body"));
+            container.take();
+            MatcherAssert.assertThat(
+                "should revalidate with the restored ETag",
+                container.take().headers(),
+                Matchers.hasEntry(
+                    Matchers.equalToIgnoringCase(HttpHeaders.IF_NONE_MATCH),
+                    Matchers.contains("\"v1\"")
+                )
+            );
+        } finally {
+            CacheSnapshot.forget();
+            container.stop();
+        }
+    }
+
+    /**
+     * CacheSnapshot can restore responses of CachingWire.
+     * @param dir Temporary directory
+     * @throws Exception If something goes wrong inside
+     */
+    @Test
+    void restoresCachedResponses(@TempDir final Path dir) throws Exception {
+        final MkContainer container = new MkGrizzlyContainer()
+            .next(new MkAnswer.Simple("warm"))
+            .start();
+        final File file = dir.resolve("http.snapshot").toFile();
+        try {
+            new JdkRequest(container.home())
+                .through(CachingWire.class)
+                .fetch();
+            CacheSnapshot.save(file);
+            CachingWire.invalidate();
+            CacheSnapshot.restore(file);
+            new JdkRequest(container.home())
+                .through(CachingWire.class)
+                .fetch()
+                .as(RestResponse.class)
+                .assertBody(Matchers.equalTo("warm"));
+            MatcherAssert.assertThat(
+                "should not hit the server after restore",
+                container.queries(),
+                Matchers.equalTo(1)
+            );
+        } finally {
+            CacheSnapshot.forget();
+            container.stop();
+        }
+    }
+
+    /**
+     * CacheSnapshot can refuse a snapshot cut anywhere but after its
+     * header.
+     * @param dir Temporary directory
+     * @throws Exception If something goes wrong inside
+     */
+    @Test
+    void refusesTruncatedSnapshot(@TempDir final Path dir) throws Exception {
+        final File file = dir.resolve("http.snapshot").toFile();
+        CacheSnapshot.save(file);
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        bytes.write(Files.readAllBytes(file.toPath()), 0, 5);
+        final byte[] key = "CachingWire GET http://localhost/"
+            .getBytes(StandardCharsets.UTF_8);
+        final byte[] rsp = BinaryResponse.encode(
+            new FakeRequest().withBody("truncated").fetch()
+        );
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(key.length);
+            out.write(key);
+            out.writeLong(Long.MAX_VALUE);
+            out.writeInt(rsp.length);
+            out.write(rsp);
+        }
+        final byte[] full = bytes.toByteArray();
+        final List<Integer> accepted = new ArrayList<>(1);
+        try {
+            for (int len = 1; len < full.length; ++len) {
+                Files.write(file.toPath(), Arrays.copyOf(full, len));
+                try {
+                    CacheSnapshot.restore(file);
+                    accepted.add(len);
+                } catch (final IOException ex) {
+                    Logger.debug(this, "refused at %d: %s", len, ex);
+                }
+            }
+            Files.write(file.toPath(), full);
+            MatcherAssert.assertThat(
+                "should accept the whole snapshot",
+                CacheSnapshot.restore(file),
+                Matchers.equalTo(1)
+            );
+        } finally {
+            CacheSnapshot.forget();
+        }
+        MatcherAssert.assertThat(
+            "should accept only the header without entries",
+            accepted,
+            Matchers.contains(5)
+        );
+    }
+
+    /**
+     * CacheSnapshot can forget restored responses when CachingWire is
+     * flushed.
+     * @param dir Temporary directory
+     * @throws Exception If something goes wrong inside
+     */
+    @Test
+    void forgetsRestoredOnFlush(@TempDir final Path dir) throws Exception {
+        final MkContainer container = new MkGrizzlyContainer()
+            .next(new MkAnswer.Simple("stale"))
+            .next(new MkAnswer.Simple("flushed"))
+            .next(new MkAnswer.Simple("fresh"))
+            .start();
+        final File file = dir.resolve("http.snapshot").toFile();
+        try {
+            final Request req = new JdkRequest(container.home())
+                .through(CachingWire.class, "GET /flush");
+            req.fetch();
+            CacheSnapshot.save(file);
+            CachingWire.invalidate();
+            CacheSnapshot.restore(file);
+            req.uri().path("/flush").back().fetch();
+            MatcherAssert.assertThat(
+                "should fetch again after the flush",
+                req.fetch().body(),
+                Matchers.equalTo("fresh")
+            );
+        } finally {
+            CacheSnapshot.forget();
+            CachingWire.invalidate();
+            container.stop();
+        }
+    }
+
+    /**
+     * CacheSnapshot can give a restored response only once, so that it
+     * doesn't come back after the cache drops it.
+     * @param dir Temporary directory
+     * @throws Exception If something goes wrong inside
+     */
+    @Test
+    void movesRestoredIntoCache(@TempDir final Path dir) throws Exception {
+        final MkContainer container = new MkGrizzlyContainer()
+            .next(new MkAnswer.Simple("first"))
+            .start();
+        final File file = dir.resolve("http.snapshot").toFile();
+        try {
+            final Request req = new JdkRequest(container.home())
+                .through(CachingWire.class);
+            req.fetch();
+            CacheSnapshot.save(file);
+            CachingWire.invalidate();
+            CacheSnapshot.restore(file);
+            final Fingerprint key = new Fingerprints().of(
+                Request.GET, container.home().toString(),
+                Collections.emptyList(), new byte[0]
+            );
+            MatcherAssert.assertThat(
+                "should find the response in the snapshot",
+                CacheSnapshot.find("CachingWire", key, req),
+                Matchers.notNullValue()
+            );
+            MatcherAssert.assertThat(
+                "should not find it there twice",
+                CacheSnapshot.find("CachingWire", key, req),
+                Matchers.nullValue()
+            );
+        } finally {
+            CacheSnapshot.forget();
+            container.stop();
+        }
+    }
+}
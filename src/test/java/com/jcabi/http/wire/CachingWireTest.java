@@ -209,4 +209,93 @@ final class CachingWireTest {
         MatcherAssert.assertThat("should be equal 1", container.queries(), Matchers.equalTo(1));
     }
 
+    /**
+     * CachingWire ignores the order of query parameters and headers
+     * that are not listed in {@code Vary}.
+     * @throws Exception If something goes wrong inside
+     */
+    @Test
+    void ignoresQueryOrderAndUnrelatedHeaders() throws Exception {
+        final MkContainer container = new MkGrizzlyContainer()
+            .next(new MkAnswer.Simple("same"))
+            .start();
+        final Request req = new JdkRequest(container.home())
+            .through(CachingWire.class);
+        req.uri().queryParam("alpha", "1").queryParam("beta", "2").back()
+            .header("X-Trace-Id", "first")
+            .fetch();
+        req.uri().queryParam("beta", "2").queryParam("alpha", "1").back()
+            .header("X-Trace-Id", "second")
+            .fetch().as(RestResponse.class)
+            .assertBody(Matchers.equalTo("same"));
+        container.stop();
+        MatcherAssert.assertThat(
+            "should be served from cache",
+            container.queries(),
+            Matchers.equalTo(1)
+        );
+    }
+
+    /**
+     * CachingWire keeps separate responses for headers listed
+     * in {@code Vary}.
+     * @throws Exception If something goes wrong inside
+     */
+    @Test
+    void separatesVariantsListedInVary() throws Exception {
+        final MkContainer container = new MkGrizzlyContainer()
+            .next(
+                new MkAnswer.Simple("json")
+                    .withHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT)
+            )
+            .next(
+                new MkAnswer.Simple("xml")
+                    .withHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT)
+            )
+            .start();
+        final Request req = new JdkRequest(container.home())
+            .through(CachingWire.class);
+        req.header(HttpHeaders.ACCEPT, "application/json").fetch();
+        req.header(HttpHeaders.ACCEPT, "text/xml").fetch();
+        req.header(HttpHeaders.ACCEPT, "application/json").fetch()
+            .as(RestResponse.class)
+            .assertBody(Matchers.equalTo("json"));
+        req.header(HttpHeaders.ACCEPT, "text/xml").fetch()
+            .as(RestResponse.class)
+            .assertBody(Matchers.equalTo("xml"));
+        container.stop();
+        MatcherAssert.assertThat(
+            "should fetch every variant once",
+            container.queries(),
+            Matchers.equalTo(2)
+        );
+    }
+
+    /**
+     * CachingWire can skip responses that vary on anything.
+     * @throws Exception If something goes wrong inside
+     */
+    @Test
+    void skipsResponsesVaryingOnAnything() throws Exception {
+        final MkContainer container = new MkGrizzlyContainer()
+            .next(
+                new MkAnswer.Simple("first")
+                    .withHeader(HttpHeaders.VARY, "Accept, *")
+            )
+            .next(new MkAnswer.Simple("second"))
+            .start();
+        try {
+            new JdkRequest(container.home())
+                .through(CachingWire.class).fetch();
+            MatcherAssert.assertThat(
+                "should not serve a response with Vary: *",
+                new JdkRequest(container.home())
+                    .through(CachingWire.class).fetch().body(),
+                Matchers.equalTo("second")
+            );
+        } finally {
+            container.stop();
+        }
+    }
+
 }
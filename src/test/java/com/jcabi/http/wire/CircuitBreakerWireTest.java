@@ -0,0 +1,93 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.http.wire;
+
+import com.jcabi.http.Request;
+import com.jcabi.http.Requests;
+import com.jcabi.http.mock.MkAnswer;
+import com.jcabi.http.mock.MkContainer;
+import com.jcabi.http.mock.MkGrizzlyContainer;
+import com.jcabi.http.request.JdkRequest;
+import com.jcabi.http.response.RestResponse;
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.util.concurrent.TimeUnit;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test case for {@link CircuitBreakerWire}.
+ * @since 2.0
+ */
+final class CircuitBreakerWireTest {
+
+    /**
+     * CircuitBreakerWire can fail fast after too many failures.
+     * @throws Exception If something goes wrong inside
+     */
+    @Test
+    void failsFastWhenHostKeepsFailing() throws Exception {
+        final MkContainer container = new MkGrizzlyContainer()
+            .next(new MkAnswer.Simple(HttpURLConnection.HTTP_INTERNAL_ERROR))
+            .next(new MkAnswer.Simple(HttpURLConnection.HTTP_BAD_GATEWAY))
+            .start();
+        try {
+            final Request req = new JdkRequest(container.home()).through(
+                CircuitBreakerWire.class,
+                new CircuitBreaker(50, 2, 10_000L, 10_000L, 60_000L)
+            );
+            req.fetch();
+            req.fetch();
+            Assertions.assertThrows(IOException.class, req::fetch);
+            MatcherAssert.assertThat(
+                "should not hit the server when the circuit is open",
+                container.queries(),
+                Matchers.equalTo(2)
+            );
+        } finally {
+            container.stop();
+        }
+    }
+
+    /**
+     * CircuitBreakerWire can close the circuit after a successful probe.
+     * @throws Exception If something goes wrong inside
+     */
+    @Test
+    void closesAfterSuccessfulProbe() throws Exception {
+        final MkContainer container = new MkGrizzlyContainer()
+            .next(new MkAnswer.Simple(HttpURLConnection.HTTP_UNAVAILABLE))
+            .next(new MkAnswer.Simple(HttpURLConnection.HTTP_OK))
+            .start();
+        try {
+            final CircuitBreaker breaker = new CircuitBreaker(
+                50, 1, 10_000L, 10_000L, 100L
+            );
+            final Request req = new JdkRequest(container.home())
+                .through(CircuitBreakerWire.class, breaker);
+            req.fetch();
+            final String host = Requests.host(
+                container.home().toString()
+            );
+            MatcherAssert.assertThat(
+                "should open the circuit",
+                breaker.state(host),
+                Matchers.equalTo(CircuitBreaker.State.OPEN)
+            );
+            TimeUnit.MILLISECONDS.sleep(200L);
+            req.fetch().as(RestResponse.class)
+                .assertStatus(HttpURLConnection.HTTP_OK);
+            MatcherAssert.assertThat(
+                "should close the circuit",
+                breaker.state(host),
+                Matchers.equalTo(CircuitBreaker.State.CLOSED)
+            );
+        } finally {
+            container.stop();
+        }
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.http.wire;
+
+import com.jcabi.http.Response;
+import com.jcabi.http.request.DefaultResponse;
+import com.jcabi.http.request.FakeRequest;
+import com.jcabi.http.response.JacksonResponse;
+import com.jcabi.http.response.JsonResponse;
+import com.jcabi.http.response.XmlResponse;
+import com.jcabi.immutable.Array;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test case for {@link CompactResponse}.
+ * @since 2.0
+ */
+final class CompactResponseTest {
+
+    /**
+     * CompactResponse can restore binary bodies byte by byte.
+     */
+    @Test
+    void restoresBinaryBodies() {
+        final byte[] body = new byte[4096];
+        for (int idx = 0; idx < body.length; ++idx) {
+            body[idx] = (byte) (idx % 7);
+        }
+        final Response rsp = CompactResponseTest.response(body);
+        for (final BodyStorage storage : BodyStorage.values()) {
+            MatcherAssert.assertThat(
+                String.format("should keep the body in %s", storage),
+                storage.stored(rsp).binary(),
+                Matchers.equalTo(body)
+            );
+        }
+    }
+
+    /**
+     * CompactResponse can weigh less when the body is deflated.
+     */
+    @Test
+    void weighsLessWhenDeflated() {
+        final byte[] body = new byte[8192];
+        Arrays.fill(body, (byte) 'x');
+        final Response rsp = CompactResponseTest.response(body);
+        MatcherAssert.assertThat(
+            "should be lighter than the original response",
+            CacheEntry.weight(BodyStorage.DEFLATED.stored(rsp)),
+            Matchers.lessThan(CacheEntry.weight(rsp) / 10L)
+        );
+    }
+
+    /**
+     * CompactResponse can keep the parsed JSON structure.
+     */
+    @Test
+    void parsesJsonOnce() {
+        final Response rsp = BodyStorage.PARSED.stored(
+            CompactResponseTest.response(
+                "{\"a\": [1, 2]}".getBytes(StandardCharsets.UTF_8)
+            )
+        );
+        MatcherAssert.assertThat(
+            "should read the same structure",
+            rsp.as(JsonResponse.class).json().readObject(),
+            Matchers.sameInstance(
+                rsp.as(JsonResponse.class).json().readObject()
+            )
+        );
+    }
+
+    /**
+     * CompactResponse can give out copies of mutable representations.
+     * @throws IOException If something goes wrong inside
+     */
+    @Test
+    void copiesMutableRepresentations() throws IOException {
+        final Response rsp = BodyStorage.PARSED.stored(
+            CompactResponseTest.response(
+                "<r><x>1</x></r>".getBytes(StandardCharsets.UTF_8)
+            )
+        );
+        rsp.as(XmlResponse.class).xml();
+        final Response json = BodyStorage.PARSED.stored(
+            CompactResponseTest.response(
+                "{\"b\": 1}".getBytes(StandardCharsets.UTF_8)
+            )
+        );
+        json.as(JacksonResponse.class).json().readObject().put("b", 2);
+        MatcherAssert.assertThat(
+            "should not change the kept tree",
+            json.as(JacksonResponse.class).json().readObject()
+                .get("b").asInt(),
+            Matchers.equalTo(1)
+        );
+        MatcherAssert.assertThat(
+            "should read XML",
+            rsp.as(XmlResponse.class).xml().xpath("/r/x/text()"),
+            Matchers.contains("1")
+        );
+    }
+
+    /**
+     * Make a response.
+     * @param body Body
+     * @return Response
+     */
+    private static Response response(final byte[] body) {
+        return new DefaultResponse(
+            new FakeRequest(), 200, "OK",
+            new Array<Map.Entry<String, String>>(),
+            body
+        );
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.http.wire;
+
+import com.jcabi.http.Request;
+import com.jcabi.http.Response;
+import com.jcabi.http.Wire;
+import com.jcabi.http.request.FakeRequest;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test case for {@link ConcurrencyLimitingWire}.
+ * @since 2.0
+ */
+final class ConcurrencyLimitingWireTest {
+
+    /**
+     * Home of requests.
+     */
+    private static final String HOME = "http://localhost:8080/";
+
+    /**
+     * ConcurrencyLimitingWire can shed requests over the limit.
+     * @throws Exception If something goes wrong inside
+     */
+    @Test
+    void shedsRequestsOverLimit() throws Exception {
+        final CountDownLatch entered = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final Wire wire = new ConcurrencyLimitingWire(
+            (req, home, method, headers, content, connect, read) -> {
+                entered.countDown();
+                try {
+                    release.await();
+                } catch (final InterruptedException ex) {
+                    throw new IllegalStateException(ex);
+                }
+                return new FakeRequest().fetch();
+            },
+            new ConcurrencyLimit(1, 10, 0L)
+        );
+        final ExecutorService service = Executors.newSingleThreadExecutor();
+        try {
+            final Future<Response> first = service.submit(
+                () -> ConcurrencyLimitingWireTest.send(wire)
+            );
+            entered.await();
+            Assertions.assertThrows(
+                IOException.class,
+                () -> ConcurrencyLimitingWireTest.send(wire)
+            );
+            release.countDown();
+            MatcherAssert.assertThat(
+                "should let the first request through",
+                first.get().status(),
+                Matchers.equalTo(HttpURLConnection.HTTP_OK)
+            );
+        } finally {
+            service.shutdownNow();
+        }
+    }
+
+    /**
+     * ConcurrencyLimitingWire can shrink the limit when the server fails.
+     * @throws Exception If something goes wrong inside
+     */
+    @Test
+    void shrinksLimitOnFailures() throws Exception {
+        final ConcurrencyLimit limit = new ConcurrencyLimit(20, 100, 0L);
+        final Wire wire = new ConcurrencyLimitingWire(
+            (req, home, method, headers, content, connect, read) ->
+                new FakeRequest()
+                    .withStatus(HttpURLConnection.HTTP_UNAVAILABLE)
+                    .fetch(),
+            limit
+        );
+        for (int idx = 0; idx < 10; ++idx) {
+            ConcurrencyLimitingWireTest.send(wire);
+        }
+        MatcherAssert.assertThat(
+            "should shrink the limit",
+            limit.limit("localhost:8080"),
+            Matchers.lessThan(20)
+        );
+    }
+
+    /**
+     * Send a request through the wire.
+     * @param wire The wire
+     * @return Response
+     * @throws IOException If fails
+     */
+    private static Response send(final Wire wire) throws IOException {
+        return wire.send(
+            new FakeRequest(), ConcurrencyLimitingWireTest.HOME, Request.GET,
+            Collections.emptyList(), new ByteArrayInputStream(new byte[0]),
+            0, 0
+        );
+    }
+}
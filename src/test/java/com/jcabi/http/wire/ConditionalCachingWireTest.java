@@ -0,0 +1,204 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.http.wire;
+
+import com.jcabi.http.Request;
+import com.jcabi.http.mock.MkAnswer;
+import com.jcabi.http.mock.MkContainer;
+import com.jcabi.http.mock.MkGrizzlyContainer;
+import com.jcabi.http.mock.MkQuery;
+import com.jcabi.http.request.JdkRequest;
+import com.jcabi.http.response.RestResponse;
+import jakarta.ws.rs.core.HttpHeaders;
+import java.net.HttpURLConnection;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test case for {@link ConditionalCachingWire}.
+ * @since 2.0
+ */
+final class ConditionalCachingWireTest {
+
+    /**
+     * ConditionalCachingWire can serve a fresh response without the server.
+     * @throws Exception If something goes wrong inside
+     */
+    @Test
+    void servesFreshResponseWithoutServer() throws Exception {
+        final MkContainer container = new MkGrizzlyContainer().next(
+            new MkAnswer.Simple("fresh content")
+                .withHeader(HttpHeaders.CACHE_CONTROL, "public, max-age=600")
+                .withHeader(HttpHeaders.ETAG, "\"a1\"")
+        ).start();
+        try {
+            final Request req = new JdkRequest(container.home())
+                .through(ConditionalCachingWire.class);
+            for (int idx = 0; idx < 5; ++idx) {
+                req.fetch().as(RestResponse.class)
+                    .assertStatus(HttpURLConnection.HTTP_OK)
+                    .assertBody(Matchers.equalTo("fresh content"));
+            }
+            MatcherAssert.assertThat(
+                "should hit the server only once",
+                container.queries(),
+                Matchers.equalTo(1)
+            );
+        } finally {
+            container.stop();
+        }
+    }
+
+    /**
+     * ConditionalCachingWire can share its cache between separate requests.
+     * @throws Exception If something goes wrong inside
+     */
+    @Test
+    void sharesCacheBetweenRequests() throws Exception {
+        final MkContainer container = new MkGrizzlyContainer()
+            .next(
+                new MkAnswer.Simple("shared")
+                    .withHeader(HttpHeaders.CACHE_CONTROL, "max-age=600")
+            )
+            .next(new MkAnswer.Simple("other"))
+            .start();
+        try {
+            new JdkRequest(container.home())
+                .through(ConditionalCachingWire.class)
+                .fetch();
+            new JdkRequest(container.home())
+                .through(ConditionalCachingWire.class)
+                .fetch().as(RestResponse.class)
+                .assertBody(Matchers.equalTo("shared"));
+            MatcherAssert.assertThat(
+                "should hit the server only once",
+                container.queries(),
+                Matchers.equalTo(1)
+            );
+        } finally {
+            container.stop();
+        }
+    }
+
+    /**
+     * ConditionalCachingWire can revalidate a stale response with both
+     * ETag and Last-Modified.
+     * @throws Exception If something goes wrong inside
+     */
+    @Test
+    void revalidatesStaleResponseWithBothValidators() throws Exception {
+        final String modified = "Wed, 21 Oct 2015 07:28:00 GMT";
+        final MkContainer container = new MkGrizzlyContainer()
+            .next(
+                new MkAnswer.Simple("stale content")
+                    .withHeader(HttpHeaders.CACHE_CONTROL, "max-age=0")
+                    .withHeader(HttpHeaders.ETAG, "\"b2\"")
+                    .withHeader(HttpHeaders.LAST_MODIFIED, modified)
+            )
+            .next(new MkAnswer.Simple(HttpURLConnection.HTTP_NOT_MODIFIED))
+            .start();
+        try {
+            final Request req = new JdkRequest(container.home())
+                .through(ConditionalCachingWire.class);
+            req.fetch();
+            req.fetch().as(RestResponse.class)
+                .assertStatus(HttpURLConnection.HTTP_OK)
+                .assertBody(Matchers.equalTo("stale content"));
+            container.take();
+            final MkQuery query = container.take();
+            MatcherAssert.assertThat(
+                "should send both validators",
+                query.headers(),
+                Matchers.allOf(
+                    Matchers.hasEntry(
+                        Matchers.equalToIgnoringCase(HttpHeaders.IF_NONE_MATCH),
+                        Matchers.contains("\"b2\"")
+                    ),
+                    Matchers.hasEntry(
+                        Matchers.equalToIgnoringCase(
+                            HttpHeaders.IF_MODIFIED_SINCE
+                        ),
+                        Matchers.contains(modified)
+                    )
+                )
+            );
+        } finally {
+            container.stop();
+        }
+    }
+
+    /**
+     * ConditionalCachingWire can evict least recently used responses.
+     * @throws Exception If something goes wrong inside
+     */
+    @Test
+    void evictsLeastRecentlyUsedResponses() throws Exception {
+        final MkContainer container = new MkGrizzlyContainer()
+            .next(
+                new MkAnswer.Simple("first")
+                    .withHeader(HttpHeaders.CACHE_CONTROL, "max-age=600")
+            )
+            .next(
+                new MkAnswer.Simple("second")
+                    .withHeader(HttpHeaders.CACHE_CONTROL, "max-age=600")
+            )
+            .next(
+                new MkAnswer.Simple("third")
+                    .withHeader(HttpHeaders.CACHE_CONTROL, "max-age=600")
+            )
+            .start();
+        try {
+            final Request req = new JdkRequest(container.home())
+                .through(ConditionalCachingWire.class, 1, 1024L * 1024L);
+            req.uri().path("/a").back().fetch();
+            req.uri().path("/b").back().fetch();
+            req.uri().path("/a").back().fetch().as(RestResponse.class)
+                .assertBody(Matchers.equalTo("third"));
+            MatcherAssert.assertThat(
+                "should fetch evicted response again",
+                container.queries(),
+                Matchers.equalTo(3)
+            );
+        } finally {
+            container.stop();
+        }
+    }
+
+    /**
+     * ConditionalCachingWire can keep bodies compressed off the heap.
+     * @throws Exception If something goes wrong inside
+     */
+    @Test
+    void keepsBodiesDeflatedOffHeap() throws Exception {
+        final StringBuilder json = new StringBuilder("[");
+        for (int idx = 0; idx < 500; ++idx) {
+            json.append("{\"id\":").append(idx).append(",\"on\":true},");
+        }
+        final String body = json.append("{}]").toString();
+        final MkContainer container = new MkGrizzlyContainer().next(
+            new MkAnswer.Simple(body)
+                .withHeader(HttpHeaders.CACHE_CONTROL, "max-age=600")
+        ).start();
+        try {
+            final Request req = new JdkRequest(container.home()).through(
+                ConditionalCachingWire.class, BodyStorage.DEFLATED_DIRECT
+            );
+            req.fetch();
+            MatcherAssert.assertThat(
+                "should inflate cached body",
+                req.fetch().body(),
+                Matchers.equalTo(body)
+            );
+            MatcherAssert.assertThat(
+                "should not hit the server twice",
+                container.queries(),
+                Matchers.equalTo(1)
+            );
+        } finally {
+            container.stop();
+        }
+    }
+}
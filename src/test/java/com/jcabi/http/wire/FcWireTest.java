@@ -4,16 +4,39 @@
  */
 package com.jcabi.http.wire;
 
+import com.jcabi.http.ImmutableHeader;
 import com.jcabi.http.Request;
+import com.jcabi.http.Response;
 import com.jcabi.http.mock.MkAnswer;
 import com.jcabi.http.mock.MkContainer;
 import com.jcabi.http.mock.MkGrizzlyContainer;
+import com.jcabi.http.request.FakeRequest;
 import com.jcabi.http.request.JdkRequest;
 import com.jcabi.http.response.RestResponse;
+import jakarta.ws.rs.core.HttpHeaders;
+import java.io.File;
 import java.net.HttpURLConnection;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.junit.jupiter.api.io.TempDir;
 
 /**
  * Test case for {@link FcWire}.
@@ -92,4 +115,366 @@ final class FcWireTest {
         );
     }
 
+    /**
+     * FcWire can preserve binary bodies byte by byte.
+     * @throws Exception If something goes wrong inside
+     */
+    @Test
+    void preservesBinaryBodies() throws Exception {
+        final byte[] body = {0, -1, -2, 0x7f, (byte) 0xc3, 0x28};
+        final MkContainer container = new MkGrizzlyContainer().next(
+            new MkAnswer.Simple("").withBody(body)
+        ).start();
+        try {
+            final Request req = new JdkRequest(container.home())
+                .through(FcWire.class);
+            req.fetch();
+            MatcherAssert.assertThat(
+                "should return the same bytes from cache",
+                req.fetch().binary(),
+                Matchers.equalTo(body)
+            );
+            MatcherAssert.assertThat(
+                "should hit the server only once",
+                container.queries(),
+                Matchers.equalTo(1)
+            );
+        } finally {
+            container.stop();
+        }
+    }
+
+    /**
+     * FcWire can keep its files within the quota.
+     * @param dir Temporary directory
+     * @throws Exception If something goes wrong inside
+     */
+    @Test
+    void keepsFilesWithinQuota(@TempDir final Path dir) throws Exception {
+        final int total = 40;
+        final long quota = 256L * 1024L;
+        final char[] body = new char[16 * 1024];
+        Arrays.fill(body, 'x');
+        final MkGrizzlyContainer container = new MkGrizzlyContainer();
+        for (int idx = 0; idx < total; ++idx) {
+            container.next(
+                new MkAnswer.Simple(
+                    String.format("%d%s", idx, new String(body))
+                )
+            );
+        }
+        container.start();
+        try {
+            final Request req = new JdkRequest(container.home()).through(
+                FcWire.class, "$never", dir.toString(), quota
+            );
+            for (int idx = 0; idx < total; ++idx) {
+                req.uri().path(Integer.toString(idx)).back().fetch();
+            }
+            req.uri().path(Integer.toString(total - 1)).back().fetch();
+            long size = 0L;
+            for (final File file : dir.toFile().listFiles()) {
+                size += file.length();
+            }
+            MatcherAssert.assertThat(
+                "should stay within the quota",
+                size,
+                Matchers.lessThanOrEqualTo(quota)
+            );
+            MatcherAssert.assertThat(
+                "should keep the most recent response",
+                container.queries(),
+                Matchers.equalTo(total)
+            );
+        } finally {
+            container.stop();
+        }
+    }
+
+    /**
+     * FcWire can keep identical bodies of different responses only once.
+     * @param dir Temporary directory
+     * @throws Exception If something goes wrong inside
+     */
+    @Test
+    void sharesIdenticalBodies(@TempDir final Path dir) throws Exception {
+        final int total = 10;
+        final char[] body = new char[32 * 1024];
+        Arrays.fill(body, 'y');
+        final MkGrizzlyContainer container = new MkGrizzlyContainer();
+        for (int idx = 0; idx < total; ++idx) {
+            container.next(new MkAnswer.Simple(new String(body)));
+        }
+        container.start();
+        try {
+            final Request req = new JdkRequest(container.home()).through(
+                FcWire.class, "$never", dir.toString(), FcCache.QUOTA
+            );
+            for (int idx = 0; idx < total; ++idx) {
+                req.uri().queryParam("utm", idx).back().fetch();
+            }
+            MatcherAssert.assertThat(
+                "should serve the body from disk",
+                req.uri().queryParam("utm", 0).back().fetch().body(),
+                Matchers.equalTo(new String(body))
+            );
+            MatcherAssert.assertThat(
+                "should not ask the server again",
+                container.queries(),
+                Matchers.equalTo(total)
+            );
+            long size = 0L;
+            for (final File file : dir.toFile().listFiles()) {
+                size += file.length();
+            }
+            MatcherAssert.assertThat(
+                "should write the body only once",
+                size,
+                Matchers.lessThan(2L * body.length)
+            );
+        } finally {
+            container.stop();
+        }
+    }
+
+    /**
+     * FcWire can store varying responses under their full fingerprints,
+     * so that a process that didn't learn them yet doesn't find them.
+     * @param dir Temporary directory
+     * @throws Exception If something goes wrong inside
+     */
+    @Test
+    void storesVaryingResponsesUnderLearntKeys(@TempDir final Path dir)
+        throws Exception {
+        final MkContainer container = new MkGrizzlyContainer().next(
+            new MkAnswer.Simple("bonjour")
+                .withHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_LANGUAGE)
+        ).start();
+        try {
+            final Request req = new JdkRequest(container.home())
+                .header(HttpHeaders.ACCEPT_LANGUAGE, "fr")
+                .through(FcWire.class, "$never", dir.toString());
+            req.fetch();
+            MatcherAssert.assertThat(
+                "should not store under the key without Vary",
+                new FcCache(dir.toString()).has(
+                    new Fingerprints().of(
+                        Request.GET, container.home().toString(),
+                        Collections.singletonList(
+                            new ImmutableHeader(
+                                HttpHeaders.ACCEPT_LANGUAGE, "fr"
+                            )
+                        ),
+                        new byte[0]
+                    ).toString()
+                ),
+                Matchers.is(false)
+            );
+            MatcherAssert.assertThat(
+                "should return the stored response",
+                req.fetch().body(),
+                Matchers.equalTo("bonjour")
+            );
+        } finally {
+            container.stop();
+        }
+    }
+
+    /**
+     * FcWire can use more directories than logs open at the same time.
+     * @param dir Temporary directory
+     * @throws Exception If something goes wrong inside
+     */
+    @Test
+    void usesManyDirectories(@TempDir final Path dir) throws Exception {
+        final int total = 20;
+        final MkGrizzlyContainer container = new MkGrizzlyContainer();
+        for (int idx = 0; idx < total; ++idx) {
+            container.next(new MkAnswer.Simple(Integer.toString(idx)));
+        }
+        container.start();
+        try {
+            for (int idx = 0; idx < total; ++idx) {
+                new JdkRequest(container.home()).through(
+                    FcWire.class, "$never",
+                    dir.resolve(Integer.toString(idx)).toString()
+                ).fetch();
+            }
+            MatcherAssert.assertThat(
+                "should find the response in the first directory",
+                new JdkRequest(container.home()).through(
+                    FcWire.class, "$never", dir.resolve("0").toString()
+                ).fetch().body(),
+                Matchers.equalTo("0")
+            );
+            MatcherAssert.assertThat(
+                "should not send the request again",
+                container.queries(),
+                Matchers.equalTo(total)
+            );
+        } finally {
+            container.stop();
+        }
+    }
+
+    /**
+     * FcWire can keep values of headers out of its files.
+     * @param dir Temporary directory
+     * @throws Exception If something goes wrong inside
+     */
+    @Test
+    void keepsCredentialsOffDisk(@TempDir final Path dir) throws Exception {
+        final MkContainer container = new MkGrizzlyContainer().next(
+            new MkAnswer.Simple("private")
+                .withHeader(HttpHeaders.VARY, HttpHeaders.AUTHORIZATION)
+        ).start();
+        try {
+            final Request req = new JdkRequest(container.home())
+                .header(HttpHeaders.AUTHORIZATION, "Bearer s3cr3t-t0ken")
+                .through(FcWire.class, "$never", dir.toString());
+            req.fetch();
+            MatcherAssert.assertThat(
+                "should find the response by the credentials",
+                req.fetch().body(),
+                Matchers.equalTo("private")
+            );
+        } finally {
+            container.stop();
+        }
+        final StringBuilder all = new StringBuilder(0);
+        try (Stream<Path> files = Files.walk(dir)) {
+            for (final Path file : files.filter(Files::isRegularFile)
+                .collect(Collectors.toList())) {
+                all.append(
+                    new String(
+                        Files.readAllBytes(file), StandardCharsets.ISO_8859_1
+                    )
+                );
+            }
+        }
+        MatcherAssert.assertThat(
+            "should not write the token to disk",
+            all.toString(),
+            Matchers.not(Matchers.containsString("s3cr3t-t0ken"))
+        );
+    }
+
+    /**
+     * FcCache can use one log of a directory, however its path is spelled,
+     * so that writers through different paths don't clash.
+     * @param dir Temporary directory
+     * @throws Exception If something goes wrong inside
+     */
+    @Test
+    void sharesLogOfDirectory(@TempDir final Path dir) throws Exception {
+        Files.createDirectory(dir.resolve("sub"));
+        final String[] paths = {
+            dir.toString(), dir.resolve("sub").resolve("..").toString(),
+        };
+        final Response rsp = new FakeRequest().withBody("spelled").fetch();
+        final ExecutorService service = Executors.newFixedThreadPool(2);
+        try {
+            final List<Future<?>> futures = new ArrayList<>(paths.length);
+            for (final String path : paths) {
+                futures.add(
+                    service.submit(
+                        () -> {
+                            final FcCache cache = new FcCache(path);
+                            // @checkstyle MagicNumber (1 line)
+                            for (int idx = 0; idx < 200; ++idx) {
+                                cache.store(String.valueOf(idx), rsp);
+                            }
+                            return null;
+                        }
+                    )
+                );
+            }
+            for (final Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            service.shutdownNow();
+        }
+        MatcherAssert.assertThat(
+            "should find the response by another path",
+            new FcCache(paths[1]).has("0"),
+            Matchers.is(true)
+        );
+    }
+
+    /**
+     * FcCache can refuse a quota different from the one of the log
+     * already open.
+     * @param dir Temporary directory
+     * @throws Exception If something goes wrong inside
+     */
+    @Test
+    void refusesConflictingQuota(@TempDir final Path dir) throws Exception {
+        new FcCache(dir.toString(), 1024L * 1024L).has("two");
+        Assertions.assertThrows(
+            IllegalArgumentException.class,
+            () -> new FcCache(dir.toString(), 2048L * 1024L).has("two")
+        );
+    }
+
+    /**
+     * FcWire can keep its default directory private to the user.
+     * @throws Exception If something goes wrong inside
+     */
+    @Test
+    @DisabledOnOs(OS.WINDOWS)
+    void usesPrivateDefaultDirectory() throws Exception {
+        final MkContainer container = new MkGrizzlyContainer().next(
+            new MkAnswer.Simple("default")
+        ).start();
+        try {
+            new JdkRequest(container.home()).through(FcWire.class).fetch();
+        } finally {
+            container.stop();
+        }
+        MatcherAssert.assertThat(
+            "should be readable by the user only",
+            PosixFilePermissions.toString(
+                Files.getPosixFilePermissions(
+                    Paths.get(
+                        System.getProperty("java.io.tmpdir"),
+                        String.format(
+                            "%s-%s", FcCache.class.getCanonicalName(),
+                            System.getProperty("user.name")
+                                .replaceAll("[^A-Za-z0-9._-]", "_")
+                        )
+                    )
+                )
+            ),
+            Matchers.equalTo("rwx------")
+        );
+    }
+
+    /**
+     * FcWire can skip responses that vary on anything.
+     * @throws Exception If something goes wrong inside
+     */
+    @Test
+    void skipsResponsesVaryingOnAnything() throws Exception {
+        final MkContainer container = new MkGrizzlyContainer()
+            .next(
+                new MkAnswer.Simple("first")
+                    .withHeader(HttpHeaders.VARY, "Accept, *")
+            )
+            .next(new MkAnswer.Simple("second"))
+            .start();
+        try {
+            new JdkRequest(container.home())
+                .through(FcWire.class).fetch();
+            MatcherAssert.assertThat(
+                "should not serve a response with Vary: *",
+                new JdkRequest(container.home())
+                    .through(FcWire.class).fetch().body(),
+                Matchers.equalTo("second")
+            );
+        } finally {
+            container.stop();
+        }
+    }
+
 }
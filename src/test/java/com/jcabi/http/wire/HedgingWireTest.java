@@ -0,0 +1,191 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.http.wire;
+
+import com.jcabi.http.Request;
+import com.jcabi.http.Response;
+import com.jcabi.http.Wire;
+import com.jcabi.http.request.FakeRequest;
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test case for {@link HedgingWire}.
+ * @since 2.0
+ */
+final class HedgingWireTest {
+
+    /**
+     * HedgingWire can take the response of the duplicate, when it is faster.
+     * @throws Exception If something goes wrong inside
+     */
+    @Test
+    void takesFasterDuplicate() throws Exception {
+        final AtomicInteger calls = new AtomicInteger();
+        final Wire wire = new HedgingWire(
+            HedgingWireTest.hanging(calls, 1), 50L
+        );
+        final long start = System.nanoTime();
+        final Response rsp = HedgingWireTest.send(wire, Request.GET);
+        MatcherAssert.assertThat(
+            "should return the response of the duplicate",
+            rsp.body(),
+            Matchers.equalTo("2")
+        );
+        MatcherAssert.assertThat(
+            "should not wait for the slow request",
+            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start),
+            Matchers.lessThan(5000L)
+        );
+    }
+
+    /**
+     * HedgingWire can abort the slow request through its deadline, even
+     * if it ignores interrupts.
+     * @throws Exception If something goes wrong inside
+     */
+    @Test
+    void abortsLoserThroughDeadline() throws Exception {
+        final AtomicInteger calls = new AtomicInteger();
+        final CountDownLatch aborted = new CountDownLatch(1);
+        final Wire wire = new HedgingWire(
+            (req, home, method, headers, content, connect, read) -> {
+                if (calls.incrementAndGet() == 1) {
+                    final CountDownLatch abort = new CountDownLatch(1);
+                    final Closeable watch =
+                        req.deadline().watch(abort::countDown);
+                    try {
+                        HedgingWireTest.block(abort);
+                    } finally {
+                        watch.close();
+                    }
+                    aborted.countDown();
+                    throw new IOException("aborted");
+                }
+                return new FakeRequest().fetch();
+            },
+            50L
+        );
+        HedgingWireTest.send(wire, Request.GET);
+        MatcherAssert.assertThat(
+            "should abort the slow request",
+            aborted.await(5L, TimeUnit.SECONDS),
+            Matchers.is(true)
+        );
+    }
+
+    /**
+     * HedgingWire can learn the delay from response times of the host.
+     * @throws Exception If something goes wrong inside
+     */
+    @Test
+    void learnsDelayFromLatencies() throws Exception {
+        final AtomicInteger calls = new AtomicInteger();
+        final Wire wire = new HedgingWire(
+            HedgingWireTest.hanging(calls, 21), new Latencies()
+        );
+        for (int idx = 0; idx < 20; ++idx) {
+            HedgingWireTest.send(wire, Request.GET);
+        }
+        MatcherAssert.assertThat(
+            "should hedge once the percentile is known",
+            HedgingWireTest.send(wire, Request.GET).body(),
+            Matchers.equalTo("22")
+        );
+    }
+
+    /**
+     * HedgingWire can send non-idempotent requests only once.
+     * @throws Exception If something goes wrong inside
+     */
+    @Test
+    void doesNotDuplicatePost() throws Exception {
+        final AtomicInteger calls = new AtomicInteger();
+        final Wire wire = new HedgingWire(
+            (req, home, method, headers, content, connect, read) -> {
+                calls.incrementAndGet();
+                try {
+                    TimeUnit.MILLISECONDS.sleep(100L);
+                } catch (final InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException(ex);
+                }
+                return new FakeRequest().fetch();
+            },
+            1L
+        );
+        HedgingWireTest.send(wire, Request.POST);
+        MatcherAssert.assertThat(
+            "should send POST once",
+            calls.get(),
+            Matchers.equalTo(1)
+        );
+    }
+
+    /**
+     * Wire that hangs on one call and returns the number of the call.
+     * @param calls Counter of calls
+     * @param slow Number of the call that hangs
+     * @return Wire
+     */
+    private static Wire hanging(final AtomicInteger calls, final int slow) {
+        return (req, home, method, headers, content, connect, read) -> {
+            final int call = calls.incrementAndGet();
+            if (call == slow) {
+                try {
+                    TimeUnit.MINUTES.sleep(1L);
+                } catch (final InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException(ex);
+                }
+            }
+            return new FakeRequest()
+                .withStatus(HttpURLConnection.HTTP_OK)
+                .withBody(Integer.toString(call))
+                .fetch();
+        };
+    }
+
+    /**
+     * Wait for the latch for up to ten seconds, ignoring interrupts, like
+     * a blocking read of a socket.
+     * @param latch The latch
+     */
+    private static void block(final CountDownLatch latch) {
+        final long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(10L);
+        while (latch.getCount() > 0L && System.nanoTime() < end) {
+            try {
+                latch.await(10L, TimeUnit.MILLISECONDS);
+            } catch (final InterruptedException ex) {
+                Thread.interrupted();
+            }
+        }
+    }
+
+    /**
+     * Send a request through the wire.
+     * @param wire The wire
+     * @param method HTTP method
+     * @return Response
+     * @throws IOException If fails
+     */
+    private static Response send(final Wire wire, final String method)
+        throws IOException {
+        return wire.send(
+            new FakeRequest(), "http://localhost:8080/", method,
+            Collections.emptyList(), new ByteArrayInputStream(new byte[0]),
+            0, 0
+        );
+    }
+}
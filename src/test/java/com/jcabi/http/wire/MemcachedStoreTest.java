@@ -0,0 +1,82 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.http.wire;
+
+import com.jcabi.http.mock.MkMemcached;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test case for {@link MemcachedStore}.
+ * @since 2.0
+ */
+final class MemcachedStoreTest {
+
+    /**
+     * MemcachedStore can store, find and remove binary values.
+     * @throws Exception If something goes wrong inside
+     */
+    @Test
+    void storesBinaryValues() throws Exception {
+        final MkMemcached cache = new MkMemcached().start();
+        try {
+            final CacheStore store = new MemcachedStore(
+                "localhost", cache.port()
+            );
+            final byte[] value = {0, '\r', '\n', -1, 'E', 'N', 'D'};
+            store.put("first", value, 0);
+            MatcherAssert.assertThat(
+                "should find the value",
+                store.get("first"),
+                Matchers.equalTo(value)
+            );
+            store.remove("first");
+            MatcherAssert.assertThat(
+                "should remove the value",
+                store.get("first"),
+                Matchers.nullValue()
+            );
+        } finally {
+            cache.stop();
+        }
+    }
+
+    /**
+     * MemcachedStore can remove all values.
+     * @throws Exception If something goes wrong inside
+     */
+    @Test
+    void clearsAllValues() throws Exception {
+        final MkMemcached cache = new MkMemcached().start();
+        try {
+            final CacheStore store = new MemcachedStore(
+                "localhost", cache.port()
+            );
+            store.put("alpha", new byte[] {1}, 60);
+            store.put("beta", new byte[] {2}, 60);
+            store.clear();
+            MatcherAssert.assertThat(
+                "should remove all values",
+                cache.size(),
+                Matchers.equalTo(0)
+            );
+        } finally {
+            cache.stop();
+        }
+    }
+
+    /**
+     * MemcachedStore can reject keys with white spaces.
+     */
+    @Test
+    void rejectsKeysWithSpaces() {
+        Assertions.assertThrows(
+            IllegalArgumentException.class,
+            () -> new MemcachedStore("localhost", 1).get("flush_all\r\n")
+        );
+    }
+}
@@ -0,0 +1,191 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.http.wire;
+
+import com.jcabi.http.Request;
+import com.jcabi.http.mock.MkAnswer;
+import com.jcabi.http.mock.MkContainer;
+import com.jcabi.http.mock.MkGrizzlyContainer;
+import com.jcabi.http.mock.MkQuery;
+import com.jcabi.http.request.FakeRequest;
+import com.jcabi.http.request.JdkRequest;
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.HttpURLConnection;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import javax.management.MBeanAttributeInfo;
+import javax.management.ObjectName;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test case for {@link MetricsWire}.
+ * @since 2.0
+ */
+final class MetricsWireTest {
+
+    /**
+     * MetricsWire can count requests and bytes by status.
+     * @throws Exception If something goes wrong inside
+     */
+    @Test
+    void countsRequestsByStatus() throws Exception {
+        final MkContainer container = new MkGrizzlyContainer()
+            .next(
+                new MkAnswer.Simple(HttpURLConnection.HTTP_OK, "hello"),
+                Matchers.any(MkQuery.class),
+                3
+            )
+            .next(new MkAnswer.Simple(HttpURLConnection.HTTP_UNAVAILABLE))
+            .start();
+        final Metrics metrics = new Metrics();
+        try {
+            final Request req = new JdkRequest(container.home())
+                .method(Request.POST)
+                .body().set("1234").back()
+                .through(MetricsWire.class, metrics);
+            for (int idx = 0; idx < 4; ++idx) {
+                req.fetch();
+            }
+        } finally {
+            container.stop();
+        }
+        final Metrics.Stats success = MetricsWireTest.stats(metrics, "2xx");
+        MatcherAssert.assertThat(
+            "should count successful requests",
+            success.requests(),
+            Matchers.equalTo(3L)
+        );
+        MatcherAssert.assertThat(
+            "should count bytes sent",
+            success.sent(),
+            Matchers.equalTo(12L)
+        );
+        MatcherAssert.assertThat(
+            "should count bytes received",
+            success.received(),
+            Matchers.equalTo(15L)
+        );
+        MatcherAssert.assertThat(
+            "should know the method",
+            success.method(),
+            Matchers.equalTo(Request.POST)
+        );
+        MatcherAssert.assertThat(
+            "should count server errors",
+            MetricsWireTest.stats(metrics, "5xx").errors(),
+            Matchers.equalTo(1L)
+        );
+    }
+
+    /**
+     * MetricsWire can record failures and response times.
+     * @throws Exception If something goes wrong inside
+     */
+    @Test
+    void recordsFailuresAndTimes() throws Exception {
+        final Metrics metrics = new Metrics();
+        final Request broken = new FakeRequest()
+            .through(
+                (req, home, method, headers, content, conn, read) -> {
+                    throw new IOException("refused");
+                }
+            )
+            .through(MetricsWire.class, metrics);
+        Assertions.assertThrows(IOException.class, broken::fetch);
+        final Request slow = new FakeRequest()
+            .through(
+                (req, home, method, headers, content, conn, read) -> {
+                    try {
+                        TimeUnit.MILLISECONDS.sleep(20L);
+                    } catch (final InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                        throw new IOException(ex);
+                    }
+                    return new FakeRequest().fetch();
+                }
+            )
+            .through(MetricsWire.class, metrics);
+        for (int idx = 0; idx < 10; ++idx) {
+            slow.fetch();
+        }
+        MatcherAssert.assertThat(
+            "should count failures as errors",
+            MetricsWireTest.stats(metrics, "failed").errors(),
+            Matchers.equalTo(1L)
+        );
+        final Metrics.Stats stats = MetricsWireTest.stats(metrics, "2xx");
+        MatcherAssert.assertThat(
+            "should know the median, in microseconds",
+            stats.percentile(50.0d),
+            Matchers.allOf(
+                Matchers.greaterThanOrEqualTo(20_000L),
+                Matchers.lessThan(stats.percentile(100.0d) + 1L)
+            )
+        );
+    }
+
+    /**
+     * Metrics can export numbers to JMX.
+     * @throws Exception If something goes wrong inside
+     */
+    @Test
+    void exportsToJmx() throws Exception {
+        final Metrics metrics = new Metrics();
+        new FakeRequest().through(MetricsWire.class, metrics).fetch();
+        final Closeable registration = metrics.export("test");
+        try {
+            final ObjectName name = new ObjectName(
+                "com.jcabi.http:type=Metrics,name=\"test\""
+            );
+            final List<String> attrs = new ArrayList<>(0);
+            for (final MBeanAttributeInfo info
+                : ManagementFactory.getPlatformMBeanServer()
+                    .getMBeanInfo(name).getAttributes()) {
+                attrs.add(info.getName());
+            }
+            final String attr = attrs.stream()
+                .filter(item -> item.endsWith(" 2xx requests"))
+                .findFirst()
+                .orElseThrow(IllegalStateException::new);
+            MatcherAssert.assertThat(
+                "should export the number of requests",
+                ManagementFactory.getPlatformMBeanServer()
+                    .getAttribute(name, attr),
+                Matchers.equalTo(1L)
+            );
+        } finally {
+            registration.close();
+        }
+    }
+
+    /**
+     * Find numbers of the class of status.
+     * @param metrics The metrics
+     * @param status Class of status
+     * @return Numbers
+     */
+    private static Metrics.Stats stats(final Metrics metrics,
+        final String status) {
+        final Collection<Metrics.Stats> found = new ArrayList<>(0);
+        for (final Metrics.Stats stats : metrics.all()) {
+            if (stats.status().equals(status)) {
+                found.add(stats);
+            }
+        }
+        MatcherAssert.assertThat(
+            "should have one series of the status",
+            found,
+            Matchers.hasSize(1)
+        );
+        return found.iterator().next();
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.http.wire;
+
+import com.jcabi.http.Request;
+import com.jcabi.http.mock.MkAnswer;
+import com.jcabi.http.mock.MkContainer;
+import com.jcabi.http.mock.MkGrizzlyContainer;
+import com.jcabi.http.mock.MkQuery;
+import com.jcabi.http.request.JdkRequest;
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.util.concurrent.TimeUnit;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test case for {@link RateLimitingWire}.
+ * @since 2.0
+ */
+final class RateLimitingWireTest {
+
+    /**
+     * RateLimitingWire can fail fast when the burst is exhausted.
+     * @throws Exception If something goes wrong inside
+     */
+    @Test
+    void failsFastWhenBurstIsExhausted() throws Exception {
+        final MkContainer container = new MkGrizzlyContainer().next(
+            new MkAnswer.Simple(HttpURLConnection.HTTP_OK),
+            Matchers.any(MkQuery.class),
+            2
+        ).start();
+        try {
+            final Request req = new JdkRequest(container.home()).through(
+                RateLimitingWire.class,
+                new RateLimit(0.1d, 2, RateLimit.Mode.FAIL)
+            );
+            req.fetch();
+            req.fetch();
+            Assertions.assertThrows(IOException.class, req::fetch);
+            MatcherAssert.assertThat(
+                "should not hit the server over the limit",
+                container.queries(),
+                Matchers.equalTo(2)
+            );
+        } finally {
+            container.stop();
+        }
+    }
+
+    /**
+     * RateLimit can refuse a rate that is not positive.
+     */
+    @Test
+    void refusesNonPositiveRate() {
+        for (final double rate : new double[] {0.0d, -1.0d, Double.NaN}) {
+            Assertions.assertThrows(
+                IllegalArgumentException.class,
+                () -> new RateLimit(rate, 1)
+            );
+        }
+    }
+
+    /**
+     * RateLimit can keep the burst of a very slow rate without overflow.
+     */
+    @Test
+    void keepsBurstOfVerySlowRate() {
+        final RateLimit.Bucket bucket = new RateLimit.Bucket(
+            new RateLimit(1.0e-12d, 3, RateLimit.Mode.FAIL)
+        );
+        final long now = System.nanoTime();
+        for (int idx = 0; idx < 3; ++idx) {
+            MatcherAssert.assertThat(
+                "should give a token of the burst",
+                bucket.acquire(now, false),
+                Matchers.equalTo(0L)
+            );
+        }
+        MatcherAssert.assertThat(
+            "should make the next token wait",
+            bucket.acquire(now, false),
+            Matchers.greaterThan(TimeUnit.DAYS.toNanos(365L))
+        );
+    }
+
+    /**
+     * RateLimitingWire can space out requests in blocking mode.
+     * @throws Exception If something goes wrong inside
+     */
+    @Test
+    void spacesOutRequests() throws Exception {
+        final MkContainer container = new MkGrizzlyContainer().next(
+            new MkAnswer.Simple(HttpURLConnection.HTTP_OK),
+            Matchers.any(MkQuery.class),
+            3
+        ).start();
+        try {
+            final Request req = new JdkRequest(container.home())
+                .through(RateLimitingWire.class, new RateLimit(10.0d, 1));
+            final long start = System.nanoTime();
+            for (int idx = 0; idx < 3; ++idx) {
+                req.fetch();
+            }
+            MatcherAssert.assertThat(
+                "should wait for tokens",
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start),
+                Matchers.greaterThanOrEqualTo(190L)
+            );
+        } finally {
+            container.stop();
+        }
+    }
+
+    /**
+     * RateLimitingWire can pause until the reset, when nothing remains.
+     * @throws Exception If something goes wrong inside
+     */
+    @Test
+    void pausesUntilReset() throws Exception {
+        final MkContainer container = new MkGrizzlyContainer()
+            .next(
+                new MkAnswer.Simple(HttpURLConnection.HTTP_OK)
+                    .withHeader("X-RateLimit-Remaining", "0")
+                    .withHeader("X-RateLimit-Reset", "60")
+            )
+            .start();
+        try {
+            final Request req = new JdkRequest(container.home()).through(
+                RateLimitingWire.class,
+                new RateLimit(100.0d, 10, RateLimit.Mode.FAIL)
+            );
+            req.fetch();
+            Assertions.assertThrows(IOException.class, req::fetch);
+        } finally {
+            container.stop();
+        }
+    }
+
+    /**
+     * RateLimitingWire can pause when nothing remains, written with
+     * leading zeros.
+     * @throws Exception If something goes wrong inside
+     */
+    @Test
+    void pausesWhenZeroIsPadded() throws Exception {
+        final MkContainer container = new MkGrizzlyContainer()
+            .next(
+                new MkAnswer.Simple(HttpURLConnection.HTTP_OK)
+                    .withHeader("RateLimit-Remaining", "00")
+                    .withHeader("RateLimit-Reset", "60")
+            )
+            .start();
+        try {
+            final Request req = new JdkRequest(container.home()).through(
+                RateLimitingWire.class,
+                new RateLimit(100.0d, 10, RateLimit.Mode.FAIL)
+            );
+            req.fetch();
+            Assertions.assertThrows(IOException.class, req::fetch);
+        } finally {
+            container.stop();
+        }
+    }
+}
@@ -4,12 +4,17 @@
  */
 package com.jcabi.http.wire;
 
+import com.jcabi.http.Deadline;
+import com.jcabi.http.Request;
 import com.jcabi.http.mock.MkAnswer;
 import com.jcabi.http.mock.MkContainer;
 import com.jcabi.http.mock.MkGrizzlyContainer;
 import com.jcabi.http.request.JdkRequest;
 import com.jcabi.http.response.RestResponse;
 import java.net.HttpURLConnection;
+import java.util.concurrent.TimeUnit;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
 import org.junit.jupiter.api.Test;
 
 /**
@@ -38,4 +43,197 @@ final class RetryWireTest {
             .assertStatus(HttpURLConnection.HTTP_OK);
         container.stop();
     }
+
+    /**
+     * RetryWire can return the response, if the server asks to wait
+     * longer than the cap.
+     * @throws Exception If something goes wrong inside
+     */
+    @Test
+    void returnsResponseWhenRetryAfterIsTooLong() throws Exception {
+        final MkContainer container = new MkGrizzlyContainer()
+            .next(
+                new MkAnswer.Simple(HttpURLConnection.HTTP_UNAVAILABLE)
+                    .withHeader("Retry-After", "120")
+            )
+            .start();
+        try {
+            new JdkRequest(container.home())
+                .through(RetryWire.class, 4, 10L, 1000L)
+                .fetch()
+                .as(RestResponse.class)
+                .assertStatus(HttpURLConnection.HTTP_UNAVAILABLE);
+            MatcherAssert.assertThat(
+                "should not retry",
+                container.queries(),
+                Matchers.equalTo(1)
+            );
+        } finally {
+            container.stop();
+        }
+    }
+
+    /**
+     * RetryWire can wait as long as the server asks.
+     * @throws Exception If something goes wrong inside
+     */
+    @Test
+    void waitsForRetryAfter() throws Exception {
+        final MkContainer container = new MkGrizzlyContainer()
+            .next(
+                new MkAnswer.Simple(429)
+                    .withHeader("Retry-After", "1")
+            )
+            .next(new MkAnswer.Simple(HttpURLConnection.HTTP_OK))
+            .start();
+        try {
+            final long start = System.nanoTime();
+            new JdkRequest(container.home())
+                .through(RetryWire.class)
+                .fetch()
+                .as(RestResponse.class)
+                .assertStatus(HttpURLConnection.HTTP_OK);
+            MatcherAssert.assertThat(
+                "should wait for a second",
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start),
+                Matchers.greaterThanOrEqualTo(1000L)
+            );
+        } finally {
+            container.stop();
+        }
+    }
+
+    /**
+     * RetryWire can stop retrying when the deadline comes before the retry.
+     * @throws Exception If something goes wrong inside
+     */
+    @Test
+    void stopsRetryingBeforeDeadline() throws Exception {
+        final MkContainer container = new MkGrizzlyContainer()
+            .next(
+                new MkAnswer.Simple(HttpURLConnection.HTTP_UNAVAILABLE)
+                    .withHeader("Retry-After", "2")
+            )
+            .start();
+        try {
+            final long start = System.nanoTime();
+            new JdkRequest(container.home())
+                .through(RetryWire.class)
+                .deadline(new Deadline(1L, TimeUnit.SECONDS))
+                .fetch()
+                .as(RestResponse.class)
+                .assertStatus(HttpURLConnection.HTTP_UNAVAILABLE);
+            MatcherAssert.assertThat(
+                "should not wait for the retry",
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start),
+                Matchers.lessThan(1000L)
+            );
+        } finally {
+            container.stop();
+        }
+    }
+
+    /**
+     * RetryWire can leave non-idempotent requests alone.
+     * @throws Exception If something goes wrong inside
+     */
+    @Test
+    void doesNotRetryPost() throws Exception {
+        final MkContainer container = new MkGrizzlyContainer()
+            .next(new MkAnswer.Simple(HttpURLConnection.HTTP_INTERNAL_ERROR))
+            .start();
+        try {
+            new JdkRequest(container.home())
+                .method(Request.POST)
+                .through(RetryWire.class)
+                .fetch()
+                .as(RestResponse.class)
+                .assertStatus(HttpURLConnection.HTTP_INTERNAL_ERROR);
+            MatcherAssert.assertThat(
+                "should not retry",
+                container.queries(),
+                Matchers.equalTo(1)
+            );
+        } finally {
+            container.stop();
+        }
+    }
+
+    /**
+     * RetryWire can stop retrying when the budget is exhausted.
+     * @throws Exception If something goes wrong inside
+     */
+    @Test
+    void respectsRetryBudget() throws Exception {
+        final MkContainer container = new MkGrizzlyContainer()
+            .next(new MkAnswer.Simple(HttpURLConnection.HTTP_INTERNAL_ERROR))
+            .next(new MkAnswer.Simple(HttpURLConnection.HTTP_BAD_GATEWAY))
+            .next(new MkAnswer.Simple(HttpURLConnection.HTTP_OK))
+            .start();
+        try {
+            new JdkRequest(container.home())
+                .through(RetryWire.class, 4, 1L, 10L, new RetryBudget(0, 1))
+                .fetch()
+                .as(RestResponse.class)
+                .assertStatus(HttpURLConnection.HTTP_BAD_GATEWAY);
+            MatcherAssert.assertThat(
+                "should retry only once",
+                container.queries(),
+                Matchers.equalTo(2)
+            );
+        } finally {
+            container.stop();
+        }
+    }
+
+    /**
+     * RetryWire can send the same body again.
+     * @throws Exception If something goes wrong inside
+     */
+    @Test
+    void resendsRequestBody() throws Exception {
+        final MkContainer container = new MkGrizzlyContainer()
+            .next(new MkAnswer.Simple(HttpURLConnection.HTTP_UNAVAILABLE))
+            .next(new MkAnswer.Simple(HttpURLConnection.HTTP_OK))
+            .start();
+        try {
+            new JdkRequest(container.home())
+                .method(Request.PUT)
+                .body().set("the same content").back()
+                .through(RetryWire.class)
+                .fetch()
+                .as(RestResponse.class)
+                .assertStatus(HttpURLConnection.HTTP_OK);
+            container.take();
+            MatcherAssert.assertThat(
+                "should send the body again",
+                container.take().body(),
+                Matchers.equalTo("the same content")
+            );
+        } finally {
+            container.stop();
+        }
+    }
+
+    /**
+     * RetryWire can keep the backoff of late attempts within the cap.
+     */
+    @Test
+    void capsBackoffOfManyAttempts() {
+        MatcherAssert.assertThat(
+            "should double the base for early attempts",
+            RetryWire.ceiling(100L, 60000L, 3),
+            Matchers.equalTo(400L)
+        );
+        MatcherAssert.assertThat(
+            "should not overflow for late attempts",
+            RetryWire.ceiling(100L, 60000L, 100),
+            Matchers.equalTo(60000L)
+        );
+        MatcherAssert.assertThat(
+            "should not overflow with the largest cap",
+            RetryWire.ceiling(3L, Long.MAX_VALUE, 1000),
+            Matchers.equalTo(Long.MAX_VALUE - 1L)
+        );
+    }
 }
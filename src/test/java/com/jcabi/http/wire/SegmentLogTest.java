@@ -0,0 +1,352 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.http.wire;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test case for {@link SegmentLog}.
+ * @since 2.0
+ */
+final class SegmentLogTest {
+
+    /**
+     * SegmentLog can load values written before.
+     * @param dir Temporary directory
+     * @throws Exception If something goes wrong inside
+     */
+    @Test
+    void reloadsValuesFromDisk(@TempDir final Path dir) throws Exception {
+        final SegmentLog log = new SegmentLog(dir.toFile(), 1024L * 1024L);
+        log.put("a", SegmentLogTest.bytes("first"));
+        log.put("b", SegmentLogTest.bytes("second"));
+        log.put("b", SegmentLogTest.bytes("third"));
+        log.remove("a");
+        final SegmentLog again = new SegmentLog(dir.toFile(), 1024L * 1024L);
+        MatcherAssert.assertThat(
+            "should load the latest value",
+            SegmentLogTest.text(again.get("b")),
+            Matchers.equalTo("third")
+        );
+        MatcherAssert.assertThat(
+            "should not load removed value",
+            again.get("a"),
+            Matchers.nullValue()
+        );
+    }
+
+    /**
+     * SegmentLog can share a linked value and drop it with the last link.
+     * @param dir Temporary directory
+     * @throws Exception If something goes wrong inside
+     */
+    @Test
+    void sharesLinkedValues(@TempDir final Path dir) throws Exception {
+        final SegmentLog log = new SegmentLog(dir.toFile(), 1024L * 1024L);
+        log.put("a", SegmentLogTest.bytes("A"), "t", SegmentLogTest.bytes("T"));
+        log.put("b", SegmentLogTest.bytes("B"), "t", SegmentLogTest.bytes("U"));
+        log.remove("a");
+        final SegmentLog again = new SegmentLog(dir.toFile(), 1024L * 1024L);
+        MatcherAssert.assertThat(
+            "should keep the first value of the target",
+            SegmentLogTest.text(again.linked("b")),
+            Matchers.equalTo("T")
+        );
+        again.remove("b");
+        MatcherAssert.assertThat(
+            "should drop the target with the last link",
+            again.has("t"),
+            Matchers.is(false)
+        );
+    }
+
+    /**
+     * SegmentLog can cut off a partially written record.
+     * @param dir Temporary directory
+     * @throws Exception If something goes wrong inside
+     */
+    @Test
+    void truncatesBrokenTail(@TempDir final Path dir) throws Exception {
+        final SegmentLog log = new SegmentLog(dir.toFile(), 1024L * 1024L);
+        log.put("x", SegmentLogTest.bytes("complete"));
+        log.put("y", SegmentLogTest.bytes("partial"));
+        final File file = dir.toFile().listFiles(
+            (path, name) -> name.endsWith(".seg")
+        )[0];
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.setLength(raf.length() - 3L);
+        }
+        final SegmentLog again = new SegmentLog(dir.toFile(), 1024L * 1024L);
+        again.put("z", SegmentLogTest.bytes("appended"));
+        final SegmentLog last = new SegmentLog(dir.toFile(), 1024L * 1024L);
+        MatcherAssert.assertThat(
+            "should keep complete records",
+            SegmentLogTest.text(last.get("x")),
+            Matchers.equalTo("complete")
+        );
+        MatcherAssert.assertThat(
+            "should drop the broken record",
+            last.get("y"),
+            Matchers.nullValue()
+        );
+        MatcherAssert.assertThat(
+            "should append after the cut",
+            SegmentLogTest.text(last.get("z")),
+            Matchers.equalTo("appended")
+        );
+    }
+
+    /**
+     * SegmentLog can drop least recently used values on compaction.
+     * @param dir Temporary directory
+     * @throws Exception If something goes wrong inside
+     */
+    @Test
+    void compactsLeastRecentlyUsed(@TempDir final Path dir) throws Exception {
+        final long quota = 256L * 1024L;
+        final SegmentLog log = new SegmentLog(dir.toFile(), quota);
+        final byte[] value = new byte[10 * 1024];
+        log.put("first", value);
+        for (int idx = 0; idx < 100; ++idx) {
+            log.get("first");
+            log.put(Integer.toString(idx), value);
+        }
+        MatcherAssert.assertThat(
+            "should stay within the quota",
+            log.bytes(),
+            Matchers.lessThanOrEqualTo(quota)
+        );
+        MatcherAssert.assertThat(
+            "should keep recently used value",
+            log.get("first"),
+            Matchers.notNullValue()
+        );
+        MatcherAssert.assertThat(
+            "should drop old values",
+            log.get("0"),
+            Matchers.nullValue()
+        );
+    }
+
+    /**
+     * SegmentLog can compact into many segments, none of them bigger
+     * than the limit, and keep linked values readable.
+     * @param dir Temporary directory
+     * @throws Exception If something goes wrong inside
+     */
+    @Test
+    void compactsIntoSmallSegments(@TempDir final Path dir)
+        throws Exception {
+        final long quota = 1024L * 1024L;
+        final SegmentLog log = new SegmentLog(dir.toFile(), quota);
+        final byte[] value = new byte[8 * 1024];
+        log.put("kept", SegmentLogTest.bytes("K"), "body", value);
+        for (int idx = 0; idx < 400; ++idx) {
+            log.get("kept");
+            log.linked("kept");
+            log.put(Integer.toString(idx), value);
+        }
+        final File[] files = dir.toFile().listFiles(
+            (path, name) -> name.endsWith(".seg")
+        );
+        MatcherAssert.assertThat(
+            "should keep many segments",
+            files.length,
+            Matchers.greaterThan(1)
+        );
+        for (final File file : files) {
+            MatcherAssert.assertThat(
+                "should keep every segment within the limit",
+                file.length(),
+                Matchers.lessThanOrEqualTo(quota / 4L)
+            );
+        }
+        final SegmentLog again = new SegmentLog(dir.toFile(), quota);
+        MatcherAssert.assertThat(
+            "should keep the linked value",
+            again.linked("kept").remaining(),
+            Matchers.equalTo(value.length)
+        );
+        MatcherAssert.assertThat(
+            "should keep the latest value",
+            again.get("399").remaining(),
+            Matchers.equalTo(value.length)
+        );
+        MatcherAssert.assertThat(
+            "should stay within the quota",
+            again.bytes(),
+            Matchers.lessThanOrEqualTo(quota)
+        );
+    }
+
+    /**
+     * SegmentLog can release its files on close and open them again
+     * when used.
+     * @param dir Temporary directory
+     * @throws Exception If something goes wrong inside
+     */
+    @Test
+    void reopensAfterClose(@TempDir final Path dir) throws Exception {
+        final SegmentLog log = new SegmentLog(dir.toFile(), 1024L * 1024L);
+        log.put("a", SegmentLogTest.bytes("alpha"));
+        log.close();
+        MatcherAssert.assertThat(
+            "should be closed",
+            log.isOpen(),
+            Matchers.is(false)
+        );
+        log.put("b", SegmentLogTest.bytes("beta"));
+        MatcherAssert.assertThat(
+            "should read the value written before closing",
+            SegmentLogTest.text(log.get("a")),
+            Matchers.equalTo("alpha")
+        );
+        MatcherAssert.assertThat(
+            "should open again",
+            log.isOpen(),
+            Matchers.is(true)
+        );
+    }
+
+    /**
+     * SegmentLog can see changes made by another writer.
+     * @param dir Temporary directory
+     * @throws Exception If something goes wrong inside
+     */
+    @Test
+    void seesChangesOfOtherWriters(@TempDir final Path dir) throws Exception {
+        final SegmentLog writer = new SegmentLog(dir.toFile(), 1024L * 1024L);
+        final SegmentLog reader = new SegmentLog(dir.toFile(), 1024L * 1024L);
+        writer.put("k", SegmentLogTest.bytes("before"));
+        MatcherAssert.assertThat(
+            "should see the value written",
+            SegmentLogTest.text(reader.get("k")),
+            Matchers.equalTo("before")
+        );
+        writer.put("k", SegmentLogTest.bytes("after"));
+        MatcherAssert.assertThat(
+            "should see the value replaced",
+            SegmentLogTest.text(reader.get("k")),
+            Matchers.equalTo("after")
+        );
+        writer.clear();
+        MatcherAssert.assertThat(
+            "should see the log cleared",
+            reader.get("k"),
+            Matchers.nullValue()
+        );
+    }
+
+    /**
+     * SegmentLog can be written by many processes at the same time.
+     * @param dir Temporary directory
+     * @throws Exception If something goes wrong inside
+     */
+    @Test
+    void sharesFilesBetweenProcesses(@TempDir final Path dir)
+        throws Exception {
+        final int procs = 3;
+        final int keys = 50;
+        final Collection<Process> running = new ArrayList<>(procs);
+        for (int idx = 0; idx < procs; ++idx) {
+            running.add(
+                new ProcessBuilder(
+                    Paths.get(System.getProperty("java.home"), "bin", "java")
+                        .toString(),
+                    "-cp", System.getProperty("java.class.path"),
+                    SegmentLogTest.Writer.class.getName(),
+                    dir.toString(), Integer.toString(idx),
+                    Integer.toString(keys)
+                ).inheritIO().start()
+            );
+        }
+        for (final Process proc : running) {
+            MatcherAssert.assertThat(
+                "should finish in time",
+                proc.waitFor(1L, TimeUnit.MINUTES),
+                Matchers.is(true)
+            );
+            MatcherAssert.assertThat(
+                "should finish successfully",
+                proc.exitValue(),
+                Matchers.equalTo(0)
+            );
+        }
+        final SegmentLog log = new SegmentLog(dir.toFile(), 1024L * 1024L);
+        MatcherAssert.assertThat(
+            "should see keys of all processes",
+            log.size(),
+            Matchers.equalTo(procs * keys)
+        );
+        MatcherAssert.assertThat(
+            "should see values of all processes",
+            SegmentLogTest.text(log.get("2-49")),
+            Matchers.equalTo("value 2-49")
+        );
+    }
+
+    /**
+     * Convert text to bytes.
+     * @param text The text
+     * @return Bytes
+     */
+    private static byte[] bytes(final String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Convert buffer to text.
+     * @param buf The buffer
+     * @return Text
+     */
+    private static String text(final ByteBuffer buf) {
+        return StandardCharsets.UTF_8.decode(buf).toString();
+    }
+
+    /**
+     * Process that writes keys into the log.
+     *
+     * @since 2.0
+     */
+    static final class Writer {
+
+        /**
+         * Utility class.
+         */
+        private Writer() {
+            // intentionally empty
+        }
+
+        /**
+         * Entry point.
+         * @param args Directory, number of the process and number of keys
+         * @throws Exception If something goes wrong inside
+         */
+        public static void main(final String... args) throws Exception {
+            final SegmentLog log = new SegmentLog(
+                new File(args[0]), 1024L * 1024L
+            );
+            for (int idx = 0; idx < Integer.parseInt(args[2]); ++idx) {
+                final String key = String.format("%s-%d", args[1], idx);
+                log.put(
+                    key, SegmentLogTest.bytes(String.format("value %s", key))
+                );
+                log.get(key);
+            }
+        }
+    }
+}
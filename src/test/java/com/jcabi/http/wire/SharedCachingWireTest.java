@@ -0,0 +1,141 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.http.wire;
+
+import com.jcabi.http.mock.MkAnswer;
+import com.jcabi.http.mock.MkContainer;
+import com.jcabi.http.mock.MkGrizzlyContainer;
+import com.jcabi.http.mock.MkMemcached;
+import com.jcabi.http.mock.MkQuery;
+import com.jcabi.http.request.JdkRequest;
+import com.jcabi.http.response.RestResponse;
+import jakarta.ws.rs.core.HttpHeaders;
+import java.net.HttpURLConnection;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test case for {@link SharedCachingWire}.
+ * @since 2.0
+ */
+final class SharedCachingWireTest {
+
+    /**
+     * SharedCachingWire can share a fresh response between nodes.
+     * @throws Exception If something goes wrong inside
+     */
+    @Test
+    void sharesResponsesBetweenNodes() throws Exception {
+        final MkContainer container = new MkGrizzlyContainer().next(
+            new MkAnswer.Simple("shared content")
+                .withHeader(HttpHeaders.CACHE_CONTROL, "max-age=600")
+        ).start();
+        final MkMemcached cache = new MkMemcached().start();
+        try {
+            for (int node = 0; node < 3; ++node) {
+                new JdkRequest(container.home())
+                    .through(
+                        SharedCachingWire.class,
+                        new MemcachedStore("localhost", cache.port())
+                    )
+                    .fetch().as(RestResponse.class)
+                    .assertStatus(HttpURLConnection.HTTP_OK)
+                    .assertBody(Matchers.equalTo("shared content"));
+            }
+            MatcherAssert.assertThat(
+                "should hit the server only once",
+                container.queries(),
+                Matchers.equalTo(1)
+            );
+        } finally {
+            cache.stop();
+            container.stop();
+        }
+    }
+
+    /**
+     * SharedCachingWire can revalidate a stale response stored by
+     * another node.
+     * @throws Exception If something goes wrong inside
+     */
+    @Test
+    void revalidatesResponsesOfOtherNodes() throws Exception {
+        final MkContainer container = new MkGrizzlyContainer()
+            .next(
+                new MkAnswer.Simple("stale content")
+                    .withHeader(HttpHeaders.CACHE_CONTROL, "max-age=0")
+                    .withHeader(HttpHeaders.ETAG, "\"c3\"")
+            )
+            .next(new MkAnswer.Simple(HttpURLConnection.HTTP_NOT_MODIFIED))
+            .start();
+        final MkMemcached cache = new MkMemcached().start();
+        try {
+            new JdkRequest(container.home())
+                .through(
+                    SharedCachingWire.class,
+                    new MemcachedStore("localhost", cache.port())
+                )
+                .fetch();
+            new JdkRequest(container.home())
+                .through(
+                    SharedCachingWire.class,
+                    new MemcachedStore("localhost", cache.port())
+                )
+                .fetch().as(RestResponse.class)
+                .assertStatus(HttpURLConnection.HTTP_OK)
+                .assertBody(Matchers.equalTo("stale content"));
+            container.take();
+            final MkQuery query = container.take();
+            MatcherAssert.assertThat(
+                "should send If-None-Match",
+                query.headers(),
+                Matchers.hasEntry(
+                    Matchers.equalToIgnoringCase(HttpHeaders.IF_NONE_MATCH),
+                    Matchers.hasItem("\"c3\"")
+                )
+            );
+        } finally {
+            cache.stop();
+            container.stop();
+        }
+    }
+
+    /**
+     * SharedCachingWire can fetch responses when the storage is down.
+     * @throws Exception If something goes wrong inside
+     */
+    @Test
+    void fetchesWhenStorageIsDown() throws Exception {
+        final MkContainer container = new MkGrizzlyContainer().next(
+            new MkAnswer.Simple("direct content")
+                .withHeader(HttpHeaders.CACHE_CONTROL, "max-age=600"),
+            Matchers.any(MkQuery.class),
+            2
+        ).start();
+        final MkMemcached cache = new MkMemcached().start();
+        final int port = cache.port();
+        cache.stop();
+        try {
+            for (int idx = 0; idx < 2; ++idx) {
+                new JdkRequest(container.home())
+                    .through(
+                        SharedCachingWire.class,
+                        new MemcachedStore("localhost", port)
+                    )
+                    .fetch().as(RestResponse.class)
+                    .assertStatus(HttpURLConnection.HTTP_OK)
+                    .assertBody(Matchers.equalTo("direct content"));
+            }
+            MatcherAssert.assertThat(
+                "should hit the server every time",
+                container.queries(),
+                Matchers.equalTo(2)
+            );
+        } finally {
+            container.stop();
+        }
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.http.wire;
+
+import com.jcabi.http.Request;
+import com.jcabi.http.mock.MkAnswer;
+import com.jcabi.http.mock.MkContainer;
+import com.jcabi.http.mock.MkGrizzlyContainer;
+import com.jcabi.http.request.JdkRequest;
+import com.jcabi.http.response.RestResponse;
+import jakarta.ws.rs.core.HttpHeaders;
+import java.net.HttpURLConnection;
+import java.nio.file.Path;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test case for {@link TieredCachingWire}.
+ * @since 2.0
+ */
+final class TieredCachingWireTest {
+
+    /**
+     * TieredCachingWire can serve responses evicted from memory from disk,
+     * to requests made separately.
+     * @param dir Temporary directory
+     * @throws Exception If something goes wrong inside
+     */
+    @Test
+    void servesEvictedResponsesFromDisk(@TempDir final Path dir)
+        throws Exception {
+        final MkContainer container = new MkGrizzlyContainer()
+            .next(TieredCachingWireTest.answer("alpha"))
+            .next(TieredCachingWireTest.answer("beta"))
+            .next(TieredCachingWireTest.answer("gamma"))
+            .start();
+        try {
+            TieredCachingWireTest.request(container, dir, 1, "/a").fetch();
+            TieredCachingWireTest.request(container, dir, 1, "/b").fetch();
+            for (int idx = 0; idx < 3; ++idx) {
+                TieredCachingWireTest.request(container, dir, 1, "/a")
+                    .fetch().as(RestResponse.class)
+                    .assertBody(Matchers.equalTo("alpha"));
+                TieredCachingWireTest.request(container, dir, 1, "/b")
+                    .fetch().as(RestResponse.class)
+                    .assertBody(Matchers.equalTo("beta"));
+            }
+            MatcherAssert.assertThat(
+                "should hit the server once per resource",
+                container.queries(),
+                Matchers.equalTo(2)
+            );
+            MatcherAssert.assertThat(
+                "should write files to disk",
+                dir.toFile().list(),
+                Matchers.not(Matchers.emptyArray())
+            );
+        } finally {
+            container.stop();
+        }
+    }
+
+    /**
+     * TieredCachingWire can write responses through to disk, so that
+     * they are found there without memory.
+     * @param dir Temporary directory
+     * @throws Exception If something goes wrong inside
+     */
+    @Test
+    void writesThroughToDisk(@TempDir final Path dir) throws Exception {
+        final MkContainer container = new MkGrizzlyContainer()
+            .next(TieredCachingWireTest.answer("stored"))
+            .next(TieredCachingWireTest.answer("again"))
+            .start();
+        try {
+            TieredCachingWireTest.request(container, dir, 10, "/").fetch();
+            MatcherAssert.assertThat(
+                "should find the response on disk, with empty memory",
+                TieredCachingWireTest.request(container, dir, 20, "/")
+                    .fetch().body(),
+                Matchers.equalTo("stored")
+            );
+        } finally {
+            container.stop();
+        }
+    }
+
+    /**
+     * TieredCachingWire can skip responses that must not be stored.
+     * @param dir Temporary directory
+     * @throws Exception If something goes wrong inside
+     */
+    @Test
+    void skipsUnstorableResponses(@TempDir final Path dir) throws Exception {
+        final MkContainer container = new MkGrizzlyContainer()
+            .next(
+                new MkAnswer.Simple(HttpURLConnection.HTTP_NOT_FOUND, "none")
+                    .withHeader(HttpHeaders.CACHE_CONTROL, "max-age=60")
+            )
+            .next(
+                TieredCachingWireTest.answer("any")
+                    .withHeader(HttpHeaders.VARY, "*")
+            )
+            .next(TieredCachingWireTest.answer("found"))
+            .start();
+        try {
+            for (int idx = 0; idx < 3; ++idx) {
+                TieredCachingWireTest.request(container, dir, 10, "/")
+                    .fetch();
+            }
+            MatcherAssert.assertThat(
+                "should send every request to the server",
+                container.queries(),
+                Matchers.equalTo(3)
+            );
+        } finally {
+            container.stop();
+        }
+    }
+
+    /**
+     * TieredCachingWire can flush both tiers on regular expression match.
+     * @param dir Temporary directory
+     * @throws Exception If something goes wrong inside
+     */
+    @Test
+    void flushesBothTiers(@TempDir final Path dir) throws Exception {
+        final MkContainer container = new MkGrizzlyContainer()
+            .next(TieredCachingWireTest.answer("first"))
+            .next(TieredCachingWireTest.answer("second"))
+            .next(TieredCachingWireTest.answer("third"))
+            .next(TieredCachingWireTest.answer("fourth"))
+            .start();
+        try {
+            TieredCachingWireTest.request(container, dir, 1, "/x").fetch();
+            TieredCachingWireTest.request(container, dir, 1, "/y").fetch();
+            TieredCachingWireTest.request(container, dir, 1, "/flush")
+                .method(Request.POST).fetch();
+            TieredCachingWireTest.request(container, dir, 1, "/x")
+                .fetch().as(RestResponse.class)
+                .assertBody(Matchers.equalTo("fourth"));
+        } finally {
+            container.stop();
+        }
+    }
+
+    /**
+     * New request through the wire.
+     * @param container Server
+     * @param dir Directory of the cache
+     * @param entries Maximum number of responses in memory
+     * @param path Path of the request
+     * @return Request
+     */
+    private static Request request(final MkContainer container,
+        final Path dir, final int entries, final String path) {
+        return new JdkRequest(container.home())
+            .uri().path(path).back()
+            .through(
+                TieredCachingWire.class, "POST /flush", dir.toString(),
+                entries, 1024L * 1024L, 1024L * 1024L
+            );
+    }
+
+    /**
+     * Response that may be cached for a minute.
+     * @param body Body of the response
+     * @return Answer
+     */
+    private static MkAnswer.Simple answer(final String body) {
+        return new MkAnswer.Simple(body)
+            .withHeader(HttpHeaders.CACHE_CONTROL, "max-age=60");
+    }
+}